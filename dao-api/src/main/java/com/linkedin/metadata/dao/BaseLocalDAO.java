@@ -4,23 +4,15 @@ import com.google.common.annotations.VisibleForTesting;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.DataMap;
-import com.linkedin.data.schema.validation.CoercionMode;
 import com.linkedin.data.schema.validation.RequiredMode;
-import com.linkedin.data.schema.validation.UnrecognizedFieldMode;
-import com.linkedin.data.schema.validation.ValidateDataAgainstSchema;
-import com.linkedin.data.schema.validation.ValidationOptions;
-import com.linkedin.data.schema.validation.ValidationResult;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.UnionTemplate;
-import com.linkedin.metadata.annotations.AspectIngestionAnnotation;
-import com.linkedin.metadata.annotations.AspectIngestionAnnotationArray;
 import com.linkedin.metadata.annotations.Mode;
-import com.linkedin.metadata.annotations.UrnFilter;
-import com.linkedin.metadata.annotations.UrnFilterArray;
 import com.linkedin.metadata.backfill.BackfillMode;
 import com.linkedin.metadata.dao.builder.BaseLocalRelationshipBuilder.LocalRelationshipUpdates;
 import com.linkedin.metadata.dao.equality.DefaultEqualityTester;
 import com.linkedin.metadata.dao.equality.EqualityTester;
+import com.linkedin.metadata.dao.equality.FingerprintEqualityTester;
 import com.linkedin.metadata.dao.exception.ModelValidationException;
 import com.linkedin.metadata.dao.ingestion.AspectCallbackResponse;
 import com.linkedin.metadata.dao.ingestion.BaseLambdaFunction;
@@ -29,6 +21,7 @@ import com.linkedin.metadata.dao.ingestion.AspectCallbackRegistry;
 import com.linkedin.metadata.dao.ingestion.AspectCallbackRoutingClient;
 import com.linkedin.metadata.dao.producer.BaseMetadataEventProducer;
 import com.linkedin.metadata.dao.producer.BaseTrackingMetadataEventProducer;
+import com.linkedin.metadata.dao.retention.AsyncRetentionSweeper;
 import com.linkedin.metadata.dao.retention.IndefiniteRetention;
 import com.linkedin.metadata.dao.retention.Retention;
 import com.linkedin.metadata.dao.retention.TimeBasedRetention;
@@ -37,6 +30,9 @@ import com.linkedin.metadata.dao.storage.LocalDAOStorageConfig;
 import com.linkedin.metadata.dao.tracking.BaseTrackingManager;
 import com.linkedin.metadata.dao.tracking.TrackingUtils;
 import com.linkedin.metadata.dao.urnpath.UrnPathExtractor;
+import com.linkedin.metadata.dao.utils.AspectFingerprint;
+import com.linkedin.metadata.dao.utils.IngestionPolicy;
+import com.linkedin.metadata.dao.utils.KeysetIterator;
 import com.linkedin.metadata.dao.utils.ModelUtils;
 import com.linkedin.metadata.events.ChangeType;
 import com.linkedin.metadata.events.IngestionMode;
@@ -48,6 +44,7 @@ import com.linkedin.metadata.query.IndexCriterionArray;
 import com.linkedin.metadata.query.IndexFilter;
 import com.linkedin.metadata.query.IndexGroupByCriterion;
 import com.linkedin.metadata.query.IndexSortCriterion;
+import com.linkedin.metadata.validator.CompiledRecordValidator;
 import java.sql.Timestamp;
 import java.time.Clock;
 import java.util.Collection;
@@ -55,6 +52,7 @@ import java.util.Collections;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -68,6 +66,7 @@ import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.AllArgsConstructor;
@@ -116,10 +115,16 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     @Builder.Default
     boolean isSoftDeleted = false;
 
+    // content fingerprint stored along with the aspect, null if none was, see FingerprintEqualityTester
+    @Nullable
+    String fingerprint;
+
     public AspectEntry(@Nullable ASPECT aspect, @Nullable ExtraInfo extraInfo) {
-      this.aspect = aspect;
-      this.extraInfo = extraInfo;
-      this.isSoftDeleted = false;
+      this(aspect, extraInfo, false);
+    }
+
+    public AspectEntry(@Nullable ASPECT aspect, @Nullable ExtraInfo extraInfo, boolean isSoftDeleted) {
+      this(aspect, extraInfo, isSoftDeleted, null);
     }
   }
 
@@ -190,6 +195,28 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     }
   }
 
+  /**
+   * Immutable class holding a new latest value of an aspect which {@link #addBatch(Map, AuditStamp, int, IngestionTrackingContext)}
+   * decided to persist. The arguments mirror those of
+   * {@link #saveLatest(Urn, Class, RecordTemplate, AuditStamp, RecordTemplate, AuditStamp, boolean, IngestionTrackingContext, boolean, String)}.
+   *
+   * @param <URN> the type of the entity URN
+   * @param <ASPECT> the type of the aspect being saved
+   */
+  @Value
+  public static class LatestAspectWrite<URN extends Urn, ASPECT extends RecordTemplate> {
+    URN urn;
+    Class<ASPECT> aspectClass;
+    ASPECT oldValue;
+    AuditStamp optimisticLockAuditStamp;
+    ASPECT newValue;
+    AuditStamp newAuditStamp;
+    boolean isSoftDeleted;
+    IngestionTrackingContext trackingContext;
+    boolean isTestMode;
+    String newFingerprint;
+  }
+
   @Data
   @AllArgsConstructor
   protected static class AspectUpdateResult<ASPECT extends RecordTemplate> {
@@ -251,6 +278,9 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
 
   private Clock _clock = Clock.systemUTC();
 
+  // Applies retention in the background when set, otherwise retention is applied within each write
+  private volatile AsyncRetentionSweeper<URN> _asyncRetentionSweeper = null;
+
 
   /**
    * Constructor for BaseLocalDAO.
@@ -360,6 +390,41 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     _aspectRetentionMap.put(aspectClass, retention);
   }
 
+  /**
+   * Enables asynchronous retention: writes only enqueue the retention of the aspects they update, once committed, and
+   * a background thread applies it every {@code sweepIntervalMillis}, in one transaction per aspect and batch of at most
+   * {@code maxBatchSize} urns. Writes apply retention themselves while {@code maxBacklog} entries are pending.
+   * Call {@link #shutdownAsyncRetention()} to apply the pending retention before shutting down.
+   */
+  public void enableAsyncRetention(int maxBacklog, int maxBatchSize, long sweepIntervalMillis) {
+    shutdownAsyncRetention();
+    _asyncRetentionSweeper = new AsyncRetentionSweeper<>(
+        (aspectClass, largestVersions) -> runInTransactionWithRetry(() -> {
+          applyRetention(aspectClass, largestVersions);
+          return null;
+        }, DEFAULT_MAX_TRANSACTION_RETRY), maxBacklog, maxBatchSize, sweepIntervalMillis);
+  }
+
+  /**
+   * Applies all pending asynchronous retention and goes back to applying retention within each write.
+   */
+  public void shutdownAsyncRetention() {
+    final AsyncRetentionSweeper<URN> sweeper = _asyncRetentionSweeper;
+    if (sweeper != null) {
+      _asyncRetentionSweeper = null;
+      sweeper.close();
+    }
+  }
+
+  /**
+   * Returns the statistics, including the backlog, of asynchronous retention, or null if it is not enabled.
+   */
+  @Nullable
+  public AsyncRetentionSweeper.Stats getAsyncRetentionStats() {
+    final AsyncRetentionSweeper<URN> sweeper = _asyncRetentionSweeper;
+    return sweeper == null ? null : sweeper.getStats();
+  }
+
   /**
    * Gets the {@link Retention} for an aspect type, or {@link IndefiniteRetention} if none is registered.
    */
@@ -495,13 +560,16 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
    * @param equalityTester {@link EqualityTester} that is an interface for testing equality between two objects of the same type
    * @param trackingContext {@link IngestionTrackingContext} which contains ingestion metadata used for tracking purposes
    * @param ingestionParams {@link IngestionParams} which indicates how the aspect should be ingested
+   * @param deferredWrites if not null, the write is appended to this list instead of being saved right away, and the
+   *                       caller is responsible for saving it and applying retention
    * @param <ASPECT> must be a supported aspect type in {@code ASPECT_UNION}
    * @return {@link AddResult} corresponding to the old and new value of metadata
    */
   private <ASPECT extends RecordTemplate> AddResult<ASPECT> addCommon(@Nonnull URN urn,
       @Nonnull AspectEntry<ASPECT> latest, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
       @Nonnull AuditStamp auditStamp, @Nonnull EqualityTester<ASPECT> equalityTester,
-      @Nullable IngestionTrackingContext trackingContext, @Nonnull IngestionParams ingestionParams) {
+      @Nullable IngestionTrackingContext trackingContext, @Nonnull IngestionParams ingestionParams,
+      @Nullable List<LatestAspectWrite<URN, ? extends RecordTemplate>> deferredWrites) {
 
     final ASPECT oldValue = latest.getAspect() == null ? null : latest.getAspect();
     final AuditStamp oldAuditStamp = latest.getExtraInfo() == null ? null : latest.getExtraInfo().getAudit();
@@ -545,17 +613,28 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
 
     final AuditStamp optimisticLockAuditStamp = extractOptimisticLockForAspectFromIngestionParamsIfPossible(ingestionParams, aspectClass, urn);
 
+    // computed once for both the comparison with the stored fingerprint and the write, which stores it
+    final String newFingerprint =
+        newValue != null && equalityTester instanceof FingerprintEqualityTester ? AspectFingerprint.of(newValue) : null;
+
     // Logic determines whether an update to aspect should be persisted.
-    if (!shouldUpdateAspect(ingestionParams.getIngestionMode(), urn, oldValue, newValue, aspectClass, auditStamp, equalityTester,
-        oldAuditStamp, optimisticLockAuditStamp)) {
+    if (!shouldUpdateAspect(ingestionParams.getIngestionMode(), urn, oldValue, latest.getFingerprint(), newValue,
+        newFingerprint, aspectClass, auditStamp, equalityTester, oldAuditStamp, optimisticLockAuditStamp)) {
       return new AddResult<>(oldValue, oldValue, aspectClass);
     }
 
+    if (deferredWrites != null) {
+      deferredWrites.add(new LatestAspectWrite<>(urn, aspectClass, oldValue,
+          optimisticLockAuditStamp != null ? optimisticLockAuditStamp : oldAuditStamp, newValue, auditStamp,
+          latest.isSoftDeleted, trackingContext, ingestionParams.isTestMode(), newFingerprint));
+      return new AddResult<>(oldValue, newValue, aspectClass);
+    }
+
     // Save the newValue as the latest version
     long largestVersion =
         saveLatest(urn, aspectClass, oldValue,
             optimisticLockAuditStamp != null ? optimisticLockAuditStamp : oldAuditStamp,
-            newValue, auditStamp, latest.isSoftDeleted, trackingContext, ingestionParams.isTestMode());
+            newValue, auditStamp, latest.isSoftDeleted, trackingContext, ingestionParams.isTestMode(), newFingerprint);
 
     // Apply retention policy
     applyRetention(urn, aspectClass, getRetention(aspectClass), largestVersion);
@@ -649,6 +728,156 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     return addMany(urn, aspectUpdateLambdas, auditStamp, DEFAULT_MAX_TRANSACTION_RETRY, trackingContext);
   }
 
+  /**
+   * Same as {@link #addBatch(Map, AuditStamp, int, IngestionTrackingContext)} with the default transaction retry and no
+   * tracking context.
+   */
+  @Nonnull
+  public Map<URN, List<ASPECT_UNION>> addBatch(@Nonnull Map<URN, ? extends List<? extends RecordTemplate>> aspectValues,
+      @Nonnull AuditStamp auditStamp) {
+    return addBatch(aspectValues, auditStamp, DEFAULT_MAX_TRANSACTION_RETRY, null);
+  }
+
+  /**
+   * Adds new versions of aspects for several entities at once.
+   *
+   * <p>Behaves like calling {@link #addMany(Urn, List, AuditStamp, IngestionTrackingContext)} for each entity, except
+   * that the latest values of all aspects are read up front with {@link #getLatest(Set, boolean)}, all updates run in a
+   * single transaction regardless of {@link #_enableAtomicMultipleUpdate}, and the changed values are persisted
+   * together with {@link #saveLatestBatch(List)}. MetadataAuditEvents are emitted once the transaction has committed.</p>
+   *
+   * @param aspectValues new aspect values keyed by the URN of the entity they are attached to. An aspect type may only
+   *                     appear once per entity.
+   * @param auditStamp the audit stamp for the operation
+   * @param maxTransactionRetry the maximum number of times to retry the transaction
+   * @param trackingContext the tracking context for the operation
+   * @return the updated aspects of each entity, each wrapped in an instance of {@link ASPECT_UNION}. Aspects skipped by
+   *         an aspect callback are left out.
+   */
+  @Nonnull
+  public Map<URN, List<ASPECT_UNION>> addBatch(@Nonnull Map<URN, ? extends List<? extends RecordTemplate>> aspectValues,
+      @Nonnull AuditStamp auditStamp, int maxTransactionRetry, @Nullable IngestionTrackingContext trackingContext) {
+    final Map<URN, List<AspectUpdateLambda<? extends RecordTemplate>>> updateLambdas = new LinkedHashMap<>();
+    aspectValues.forEach((urn, values) ->
+        updateLambdas.put(urn, values.stream().map(AspectUpdateLambda::new).collect(Collectors.toList())));
+    return addBatch(updateLambdas, auditStamp, maxTransactionRetry, trackingContext, false, false);
+  }
+
+  /**
+   * Adds new versions of several aspects of an entity, such as all the aspects of an ingested snapshot or asset.
+   *
+   * <p>Each aspect goes through the same callbacks, hooks and checks as with
+   * {@link #add(Urn, RecordTemplate, AuditStamp, IngestionTrackingContext, IngestionParams)}, and a MetadataAuditEvent is
+   * emitted for each aspect that changed. However the latest values of all aspects are read with a single
+   * {@link #getLatest(Set, boolean)}, all updates run in a single transaction, and the changed values are persisted
+   * together with {@link #saveLatestBatch(List)}.</p>
+   *
+   * @param urn the URN of the entity to which the aspects are attached
+   * @param aspectValues the new aspect values. An aspect type may only appear once.
+   * @param auditStamp the audit stamp for the operation
+   * @param trackingContext the tracking context for the operation
+   * @param ingestionParams the ingestion parameters applied to every aspect
+   * @return the updated aspects, each wrapped in an instance of {@link ASPECT_UNION}. Aspects skipped by an aspect
+   *         callback are left out.
+   */
+  @Nonnull
+  public List<ASPECT_UNION> addAll(@Nonnull URN urn, @Nonnull List<? extends RecordTemplate> aspectValues,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext,
+      @Nullable IngestionParams ingestionParams) {
+    return addAll(urn, aspectValues, auditStamp, trackingContext, ingestionParams, false);
+  }
+
+  /**
+   * Same as above {@link #addAll(Urn, List, AuditStamp, IngestionTrackingContext, IngestionParams)} but skips any
+   * aspect callbacks. DO NOT USE THIS METHOD WITHOUT EXPLICIT PERMISSION FROM THE METADATA GRAPH TEAM.
+   * Please use the regular addAll method linked above.
+   */
+  @Nonnull
+  public List<ASPECT_UNION> rawAddAll(@Nonnull URN urn, @Nonnull List<? extends RecordTemplate> aspectValues,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext,
+      @Nullable IngestionParams ingestionParams) {
+    return addAll(urn, aspectValues, auditStamp, trackingContext, ingestionParams, true);
+  }
+
+  @Nonnull
+  private List<ASPECT_UNION> addAll(@Nonnull URN urn, @Nonnull List<? extends RecordTemplate> aspectValues,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext,
+      @Nullable IngestionParams ingestionParams, boolean isRawUpdate) {
+    IngestionParams nonNullIngestionParams = ingestionParams == null
+        ? new IngestionParams().setIngestionMode(IngestionMode.LIVE) : ingestionParams;
+    final IngestionParams nonNullIngestionParamsWithTestMode = !nonNullIngestionParams.hasTestMode()
+        ? nonNullIngestionParams.setTestMode(false) : nonNullIngestionParams;
+    final List<AspectUpdateLambda<? extends RecordTemplate>> updateLambdas = aspectValues.stream()
+        .map(value -> toUpdateLambda(value, nonNullIngestionParamsWithTestMode))
+        .collect(Collectors.toList());
+    return addBatch(Collections.singletonMap(urn, updateLambdas), auditStamp, DEFAULT_MAX_TRANSACTION_RETRY,
+        trackingContext, isRawUpdate, nonNullIngestionParamsWithTestMode.isTestMode()).get(urn);
+  }
+
+  @Nonnull
+  private static <ASPECT extends RecordTemplate> AspectUpdateLambda<ASPECT> toUpdateLambda(@Nonnull ASPECT value,
+      @Nonnull IngestionParams ingestionParams) {
+    return new AspectUpdateLambda<>((Class<ASPECT>) value.getClass(), ignored -> value, ingestionParams);
+  }
+
+  /**
+   * Logic common to {@link #addBatch(Map, AuditStamp, int, IngestionTrackingContext)} and
+   * {@link #addAll(Urn, List, AuditStamp, IngestionTrackingContext, IngestionParams)}. MetadataAuditEvents are not
+   * emitted and post-update hooks are not invoked in test mode, as with a single add.
+   */
+  @Nonnull
+  private Map<URN, List<ASPECT_UNION>> addBatch(
+      @Nonnull Map<URN, List<AspectUpdateLambda<? extends RecordTemplate>>> updateLambdas, @Nonnull AuditStamp auditStamp,
+      int maxTransactionRetry, @Nullable IngestionTrackingContext trackingContext, boolean isRawUpdate, boolean isTestMode) {
+
+    final Set<AspectKey<URN, ? extends RecordTemplate>> keys = new HashSet<>();
+    updateLambdas.forEach((urn, lambdas) -> {
+      for (AspectUpdateLambda<? extends RecordTemplate> lambda : lambdas) {
+        checkValidAspect(lambda.getAspectClass());
+        if (!keys.add(new AspectKey<>(lambda.getAspectClass(), urn, LATEST_VERSION))) {
+          throw new IllegalArgumentException(
+              String.format("Aspect %s is given more than once for %s", lambda.getAspectClass().getCanonicalName(), urn));
+        }
+      }
+    });
+
+    final Map<URN, List<AddResult<? extends RecordTemplate>>> results = runInTransactionWithRetry(() -> {
+      final Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> latest =
+          getLatest(keys, isTestMode);
+      final List<LatestAspectWrite<URN, ? extends RecordTemplate>> writes = new ArrayList<>();
+      final Map<URN, List<AddResult<? extends RecordTemplate>>> addResults = new LinkedHashMap<>();
+      updateLambdas.forEach((urn, lambdas) -> addResults.put(urn, lambdas.stream()
+          .map(lambda -> batchUpdateHelper(urn, lambda, auditStamp, trackingContext, isRawUpdate, latest, writes))
+          .filter(Objects::nonNull)
+          .collect(Collectors.toList())));
+
+      final List<Long> largestVersions = saveLatestBatch(writes);
+      for (int i = 0; i < writes.size(); i++) {
+        final LatestAspectWrite<URN, ? extends RecordTemplate> write = writes.get(i);
+        applyRetention(write.getUrn(), write.getAspectClass(), getRetention(write.getAspectClass()), largestVersions.get(i));
+      }
+      return addResults;
+    }, maxTransactionRetry);
+
+    // send the audit events etc
+    final Map<URN, List<ASPECT_UNION>> unions = new LinkedHashMap<>();
+    results.forEach((urn, addResults) -> unions.put(urn, addResults.stream()
+        .map(x -> isTestMode ? ModelUtils.newEntityUnion(_aspectUnionClass, x.getNewValue())
+            : unwrapAddResultToUnion(urn, x, auditStamp, trackingContext))
+        .collect(Collectors.toList())));
+    return unions;
+  }
+
+  private <ASPECT extends RecordTemplate> AddResult<ASPECT> batchUpdateHelper(URN urn, AspectUpdateLambda<ASPECT> updateTuple,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext, boolean isRawUpdate,
+      @Nonnull Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> latest,
+      @Nonnull List<LatestAspectWrite<URN, ? extends RecordTemplate>> writes) {
+    final AspectEntry<ASPECT> entry =
+        (AspectEntry<ASPECT>) latest.get(new AspectKey<>(updateTuple.getAspectClass(), urn, LATEST_VERSION));
+    return aspectUpdateHelper(urn, updateTuple, auditStamp, trackingContext, isRawUpdate,
+        entry != null ? entry : new AspectEntry<>(null, null), writes);
+  }
+
   private <ASPECT extends RecordTemplate> AddResult<ASPECT> aspectUpdateHelper(URN urn, AspectUpdateLambda<ASPECT> updateTuple,
       @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext) {
     return aspectUpdateHelper(urn, updateTuple, auditStamp, trackingContext, false);
@@ -656,7 +885,13 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
 
   private <ASPECT extends RecordTemplate> AddResult<ASPECT> aspectUpdateHelper(URN urn, AspectUpdateLambda<ASPECT> updateTuple,
       @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext, boolean isRawUpdate) {
-    AspectEntry<ASPECT> latest = getLatest(urn, updateTuple.getAspectClass(), updateTuple.getIngestionParams().isTestMode());
+    return aspectUpdateHelper(urn, updateTuple, auditStamp, trackingContext, isRawUpdate,
+        getLatest(urn, updateTuple.getAspectClass(), updateTuple.getIngestionParams().isTestMode()), null);
+  }
+
+  private <ASPECT extends RecordTemplate> AddResult<ASPECT> aspectUpdateHelper(URN urn, AspectUpdateLambda<ASPECT> updateTuple,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext, boolean isRawUpdate,
+      @Nonnull AspectEntry<ASPECT> latest, @Nullable List<LatestAspectWrite<URN, ? extends RecordTemplate>> deferredWrites) {
 
     // TODO(yanyang) added for job-gms duplicity debug, throwaway afterwards
     if (log.isDebugEnabled()) {
@@ -696,7 +931,7 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     }
 
     return addCommon(urn, latest, newValue, updateTuple.getAspectClass(), auditStamp, getEqualityTester(updateTuple.getAspectClass()),
-        trackingContext, updateTuple.getIngestionParams());
+        trackingContext, updateTuple.getIngestionParams(), deferredWrites);
   }
 
   /**
@@ -1162,7 +1397,8 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     final AddResult<ASPECT> result = runInTransactionWithRetry(() -> {
       final AspectEntry<ASPECT> latest = getLatest(urn, aspectClass, false);
       final IngestionParams ingestionParams = new IngestionParams().setIngestionMode(IngestionMode.LIVE);
-      return addCommon(urn, latest, null, aspectClass, auditStamp, new DefaultEqualityTester<>(), trackingContext, ingestionParams);
+      return addCommon(urn, latest, null, aspectClass, auditStamp, new DefaultEqualityTester<>(), trackingContext, ingestionParams,
+          null);
     }, maxTransactionRetry);
 
     // TODO: add support for sending MAE for soft deleted aspects
@@ -1290,6 +1526,20 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
       return;
     }
 
+    final AsyncRetentionSweeper<URN> sweeper = _asyncRetentionSweeper;
+    if (sweeper != null) {
+      // enqueued once the write is committed, so that retention is never applied for a version that was rolled back
+      runAfterCommit(() -> {
+        if (!sweeper.enqueue(aspectClass, urn, largestVersion)) {
+          runInTransactionWithRetry(() -> {
+            applyRetention(aspectClass, Collections.singletonMap(urn, largestVersion));
+            return null;
+          }, DEFAULT_MAX_TRANSACTION_RETRY);
+        }
+      });
+      return;
+    }
+
     if (retention instanceof VersionBasedRetention) {
       applyVersionBasedRetention(aspectClass, urn, (VersionBasedRetention) retention, largestVersion);
       return;
@@ -1301,6 +1551,19 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     }
   }
 
+  /**
+   * Applies the retention of an aspect to a batch of urns, given the largest version written for each.
+   */
+  private <ASPECT extends RecordTemplate> void applyRetention(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull Map<URN, Long> largestVersions) {
+    final Retention retention = getRetention(aspectClass);
+    if (retention instanceof VersionBasedRetention) {
+      applyVersionBasedRetention(aspectClass, largestVersions, (VersionBasedRetention) retention);
+    } else if (retention instanceof TimeBasedRetention) {
+      applyTimeBasedRetention(aspectClass, largestVersions.keySet(), (TimeBasedRetention) retention, _clock.millis());
+    }
+  }
+
   /**
    * Saves the latest aspect.
    *
@@ -1319,6 +1582,52 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
       @Nullable ASPECT newEntry, @Nonnull AuditStamp newAuditStamp, boolean isSoftDeleted,
       @Nullable IngestionTrackingContext trackingContext, boolean isTestMode);
 
+  /**
+   * Saves the latest aspect along with the content fingerprint of its new value, see {@link FingerprintEqualityTester},
+   * which is computed when the aspect uses that tester so that the new value isn't fingerprinted again for the write.
+   *
+   * <p>The default implementation ignores the fingerprint and calls
+   * {@link #saveLatest(Urn, Class, RecordTemplate, AuditStamp, RecordTemplate, AuditStamp, boolean, IngestionTrackingContext, boolean)}.
+   * Implementations which store fingerprints should override it.</p>
+   *
+   * @param newFingerprint the fingerprint of {@code newEntry}, null if it wasn't computed
+   * @return the largest version
+   */
+  protected <ASPECT extends RecordTemplate> long saveLatest(@Nonnull URN urn, @Nonnull Class<ASPECT> aspectClass,
+      @Nullable ASPECT oldEntry, @Nullable AuditStamp optimisticLockAuditStamp, @Nullable ASPECT newEntry,
+      @Nonnull AuditStamp newAuditStamp, boolean isSoftDeleted, @Nullable IngestionTrackingContext trackingContext,
+      boolean isTestMode, @Nullable String newFingerprint) {
+    return saveLatest(urn, aspectClass, oldEntry, optimisticLockAuditStamp, newEntry, newAuditStamp, isSoftDeleted,
+        trackingContext, isTestMode);
+  }
+
+  /**
+   * Saves the latest values of several aspects, possibly of different entities, within the current transaction.
+   *
+   * <p>The default implementation saves them one at a time with {@link #saveLatest}. Implementations may override it
+   * to persist them with fewer round trips.</p>
+   *
+   * @param writes the values to save
+   * @return the largest version of each write, in the same order as the writes
+   */
+  @Nonnull
+  protected List<Long> saveLatestBatch(@Nonnull List<LatestAspectWrite<URN, ? extends RecordTemplate>> writes) {
+    final List<Long> largestVersions = new ArrayList<>(writes.size());
+    for (LatestAspectWrite<URN, ? extends RecordTemplate> write : writes) {
+      largestVersions.add(saveLatestWrite(write));
+    }
+    return largestVersions;
+  }
+
+  /**
+   * Saves a single {@link LatestAspectWrite} with {@link #saveLatest}.
+   */
+  protected <ASPECT extends RecordTemplate> long saveLatestWrite(@Nonnull LatestAspectWrite<URN, ASPECT> write) {
+    return saveLatest(write.getUrn(), write.getAspectClass(), write.getOldValue(), write.getOptimisticLockAuditStamp(),
+        write.getNewValue(), write.getNewAuditStamp(), write.isSoftDeleted(), write.getTrackingContext(),
+        write.isTestMode(), write.getNewFingerprint());
+  }
+
   protected abstract <ASPECT_UNION extends RecordTemplate> int createNewAssetWithAspects(@NonNull URN urn,
       @Nonnull List<AspectCreateLambda<? extends RecordTemplate>> aspectCreateLambdas,
       @Nonnull List<? extends RecordTemplate> aspectValues, @Nonnull AuditStamp newAuditStamp,
@@ -1403,6 +1712,47 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     return listUrns(indexFilter, lastUrn, pageSize);
   }
 
+  /**
+   * Similar to {@link #listUrns(Class, Urn, int)} but streams all the urns after {@code lastUrn} rather than a single
+   * page. Urns are fetched {@code pageSize} at a time as the stream is consumed, so memory use does not depend on the
+   * number of urns.
+   */
+  @Nonnull
+  public Stream<URN> streamUrns(@Nonnull Class<URN> urnClazz, @Nullable URN lastUrn, int pageSize) {
+    return KeysetIterator.stream((last, size) -> listUrns(urnClazz, last, size), Function.identity(), lastUrn, pageSize);
+  }
+
+  /**
+   * Streams the latest value of an aspect for all urns in urn order, starting after {@code lastUrn}. The extra info of
+   * each value holds its urn and audit. Values are fetched {@code pageSize} at a time as the stream is consumed, each
+   * page starting after the last urn of the previous one instead of at an offset, so deep pages cost no more than the
+   * first one and memory use does not depend on the number of urns. Soft deleted aspects are skipped.
+   *
+   * @param aspectClass the type of the aspect to list
+   * @param lastUrn the urn to start after, null to start from the first urn
+   * @param pageSize the number of values fetched at a time
+   * @param <ASPECT> must be a supported aspect type in {@code ASPECT_UNION}.
+   * @return the stream of the latest values of the aspect
+   */
+  @Nonnull
+  public <ASPECT extends RecordTemplate> Stream<AspectWithExtraInfo<ASPECT>> streamLatest(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize) {
+    checkValidAspect(aspectClass);
+    return KeysetIterator.<Urn, AspectWithExtraInfo<ASPECT>>stream((last, size) -> listLatestAfter(aspectClass, last, size),
+        value -> value.getExtraInfo().getUrn(), lastUrn, pageSize);
+  }
+
+  /**
+   * Lists up to {@code pageSize} latest values of an aspect, for the urns after {@code lastUrn} in urn order, with their
+   * urn and audit in the extra info. Backs {@link #streamLatest(Class, Urn, int)}, which is only supported by the DAOs
+   * overriding this method.
+   */
+  @Nonnull
+  protected <ASPECT extends RecordTemplate> List<AspectWithExtraInfo<ASPECT>> listLatestAfter(
+      @Nonnull Class<ASPECT> aspectClass, @Nullable Urn lastUrn, int pageSize) {
+    throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support listing aspects after an urn.");
+  }
+
   /**
    * Retrieves list of urn aspect entries corresponding to the aspect classes and urns.
    *
@@ -1507,6 +1857,16 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   @Nonnull
   protected abstract <T> T runInTransactionWithRetry(@Nonnull Supplier<T> block, int maxTransactionRetry);
 
+  /**
+   * Runs the action once the transaction in progress, if any, is committed, and not at all if it rolls back. This
+   * implementation runs it right away, DAOs whose writes run in transactions must override it.
+   *
+   * @param action the action to run
+   */
+  protected void runAfterCommit(@Nonnull Runnable action) {
+    action.run();
+  }
+
   /**
    * Gets the latest version of a specific aspect type for an entity.
    *
@@ -1519,6 +1879,24 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   protected abstract <ASPECT extends RecordTemplate> AspectEntry<ASPECT> getLatest(@Nonnull URN urn,
       @Nonnull Class<ASPECT> aspectClass, boolean isTestMode);
 
+  /**
+   * Gets the latest versions of several aspects, possibly of different entities.
+   *
+   * <p>The default implementation calls {@link #getLatest(Urn, Class, boolean)} for each key. Implementations may
+   * override it to read all of them at once.</p>
+   *
+   * @param keys the aspects to get, the versions of the keys are ignored
+   * @param isTestMode whether the test mode is enabled or not
+   * @return {@link AspectEntry} corresponding to the latest version of each aspect, keyed by the given keys
+   */
+  @Nonnull
+  protected Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> getLatest(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys, boolean isTestMode) {
+    final Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> latest = new HashMap<>();
+    keys.forEach(key -> latest.put(key, getLatest(key.getUrn(), key.getAspectClass(), isTestMode)));
+    return latest;
+  }
+
   /**
    * Gets the next version to use for an entity's specific aspect type.
    *
@@ -1566,6 +1944,28 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
    */
   public abstract boolean exists(@Nonnull URN urn);
 
+  /**
+   * Returns the latest versions of the aspects of an entity if it exists, or empty otherwise. It is the same as
+   * {@link #exists(Urn)} followed by {@link #get(Set)}, which implementations may answer with one read.
+   * @param urn {@link Urn} for the entity
+   * @param aspectClasses the aspects to get
+   * @return the latest version of each aspect, empty if it isn't present, or empty if the entity doesn't exist
+   */
+  @Nonnull
+  public Optional<Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>>> getIfExists(
+      @Nonnull URN urn, @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses) {
+    if (!exists(urn)) {
+      return Optional.empty();
+    }
+    if (aspectClasses.isEmpty()) {
+      return Optional.of(Collections.emptyMap());
+    }
+    final Set<AspectKey<URN, ? extends RecordTemplate>> keys = aspectClasses.stream()
+        .map(aspectClass -> new AspectKey<>(aspectClass, urn, LATEST_VERSION))
+        .collect(Collectors.toSet());
+    return Optional.of(get(keys));
+  }
+
   /**
    * Applies version-based retention against a specific aspect type for an entity.
    *
@@ -1588,6 +1988,34 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   protected abstract <ASPECT extends RecordTemplate> void applyTimeBasedRetention(@Nonnull Class<ASPECT> aspectClass,
       @Nonnull URN urn, @Nonnull TimeBasedRetention retention, long currentTime);
 
+  /**
+   * Applies version-based retention against a specific aspect type for a batch of entities. The default implementation
+   * applies it to one entity at a time; implementations can override it to do so with fewer statements.
+   *
+   * @param aspectClass the type of aspect to apply retention to
+   * @param largestVersions the largest version number for the aspect type of each entity
+   * @param retention the retention configuration
+   */
+  protected <ASPECT extends RecordTemplate> void applyVersionBasedRetention(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull Map<URN, Long> largestVersions, @Nonnull VersionBasedRetention retention) {
+    largestVersions.forEach((urn, largestVersion) ->
+        applyVersionBasedRetention(aspectClass, urn, retention, largestVersion));
+  }
+
+  /**
+   * Applies time-based retention against a specific aspect type for a batch of entities. The default implementation
+   * applies it to one entity at a time; implementations can override it to do so with fewer statements.
+   *
+   * @param aspectClass the type of aspect to apply retention to
+   * @param urns {@link Urn}s for the entities
+   * @param retention the retention configuration
+   * @param currentTime the current timestamp
+   */
+  protected <ASPECT extends RecordTemplate> void applyTimeBasedRetention(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull Set<URN> urns, @Nonnull TimeBasedRetention retention, long currentTime) {
+    urns.forEach(urn -> applyTimeBasedRetention(aspectClass, urn, retention, currentTime));
+  }
+
   /**
    * Emits backfill MAE for the latest version of an aspect and also backfills SCSI (if it exists and is enabled).
    *
@@ -1722,6 +2150,54 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     return backfill(mode, aspectClasses, new HashSet(urnList));
   }
 
+  /**
+   * Similar to {@link #backfill(BackfillMode, Set, Class, Urn, int)} but backfills all the urns after {@code lastUrn}
+   * rather than a single page. Urns are streamed and backfilled {@code pageSize} at a time, so memory use does not depend
+   * on the number of urns, and the backfilled values are not returned.
+   *
+   * @param mode backfill mode to scope the backfill process
+   * @param aspectClasses set of aspects to backfill, if null, all valid aspects inside the entity snapshot will be backfilled
+   * @param urnClazz the type of urn to backfill - needed to list urns using SCSI
+   * @param lastUrn the urn to start after, null to start from the first urn
+   * @param pageSize the number of entities to backfill at a time
+   * @return the number of urns backfilled
+   */
+  public long backfillAll(@Nonnull BackfillMode mode, @Nullable Set<Class<? extends RecordTemplate>> aspectClasses,
+      @Nonnull Class<URN> urnClazz, @Nullable URN lastUrn, int pageSize) {
+    final Iterator<URN> urns = streamUrns(urnClazz, lastUrn, pageSize).iterator();
+    final Set<URN> page = new HashSet<>();
+    long backfilledCount = 0;
+    while (urns.hasNext()) {
+      page.add(urns.next());
+      if (page.size() == pageSize || !urns.hasNext()) {
+        backfill(mode, aspectClasses, page);
+        backfilledCount += page.size();
+        page.clear();
+      }
+    }
+    return backfilledCount;
+  }
+
+  /**
+   * Similar to {@link #backfillMAE(BackfillMode, Set, Set)} but backfills all the urns of the entity after
+   * {@code lastUrn}, see {@link #backfillAll(BackfillMode, Set, Class, Urn, int)}.
+   *
+   * @return the number of urns backfilled
+   */
+  public long backfillAllMAE(@Nonnull BackfillMode mode, @Nullable Set<String> aspects, @Nullable String lastUrn,
+      int pageSize) {
+    if (_urnClass == null) { // _urnClass can be null in testing scenarios
+      throw new IllegalStateException("urn class is null, unable to convert string to urn");
+    }
+
+    Set<Class<? extends RecordTemplate>> aspectSet = null;
+    if (aspects != null) {
+      aspectSet = aspects.stream().map(ModelUtils::getAspectClass).collect(Collectors.toSet());
+    }
+
+    return backfillAll(mode, aspectSet, _urnClass, getUrnFromString(lastUrn, _urnClass), pageSize);
+  }
+
   /**
    * Emits backfill MAE for an aspect of an entity depending on the backfill mode.
    *
@@ -1898,15 +2374,13 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   }
 
   /**
-   * Validates a model against its schema.
+   * Validates a model against its schema, filling in the defaults of absent required fields, with the validator
+   * compiled for its class.
    */
   public static void validateAgainstSchemaAndFillinDefault(@Nonnull RecordTemplate model) {
-    ValidationResult result = ValidateDataAgainstSchema.validate(model,
-        new ValidationOptions(RequiredMode.FIXUP_ABSENT_WITH_DEFAULT, CoercionMode.NORMAL,
-            UnrecognizedFieldMode.DISALLOW));
-
-    if (!result.isValid()) {
-      throw new ModelValidationException(result.getMessages().toString());
+    final String errors = CompiledRecordValidator.of(model.getClass(), RequiredMode.FIXUP_ABSENT_WITH_DEFAULT).validate(model);
+    if (errors != null) {
+      throw new ModelValidationException(errors);
     }
   }
 
@@ -2002,19 +2476,31 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
         && eTagValue.getTime() < oldValue.getTime();
   }
 
+  /**
+   * Tests the old and new value for equality, comparing the stored fingerprint of the old value with the fingerprint of
+   * the new value instead of the values if both are known, i.e. the aspect uses a {@link FingerprintEqualityTester} and a
+   * fingerprint is stored.
+   */
+  private <ASPECT extends RecordTemplate> boolean areEqual(@Nonnull ASPECT oldValue, @Nullable String oldFingerprint,
+      @Nonnull ASPECT newValue, @Nullable String newFingerprint, @Nonnull EqualityTester<ASPECT> equalityTester) {
+    if (oldFingerprint != null && newFingerprint != null) {
+      return oldFingerprint.equals(newFingerprint);
+    }
+    return equalityTester.equals(oldValue, newValue);
+  }
+
   /**
    * The logic determines if we will update the aspect.
    */
   private <ASPECT extends RecordTemplate> boolean shouldUpdateAspect(IngestionMode ingestionMode, URN urn, ASPECT oldValue,
-      ASPECT newValue, Class<ASPECT> aspectClass, AuditStamp auditStamp, EqualityTester<ASPECT> equalityTester,
-      AuditStamp oldValueAuditStamp, AuditStamp eTagAuditStamp) {
+      @Nullable String oldFingerprint, ASPECT newValue, @Nullable String newFingerprint, Class<ASPECT> aspectClass,
+      AuditStamp auditStamp, EqualityTester<ASPECT> equalityTester, AuditStamp oldValueAuditStamp, AuditStamp eTagAuditStamp) {
 
-    final boolean oldAndNewEqual = (oldValue == null && newValue == null) || (oldValue != null && newValue != null && equalityTester.equals(
-        oldValue, newValue));
+    final boolean oldAndNewEqual = (oldValue == null && newValue == null) || (oldValue != null && newValue != null
+        && areEqual(oldValue, oldFingerprint, newValue, newFingerprint, equalityTester));
 
-    AspectIngestionAnnotationArray ingestionAnnotations = parseIngestionModeFromAnnotation(aspectClass);
-    AspectIngestionAnnotation annotation = findIngestionAnnotationForEntity(ingestionAnnotations, urn);
-    Mode mode = annotation == null || !annotation.hasMode() ? Mode.DEFAULT : annotation.getMode();
+    final IngestionPolicy ingestionPolicy = IngestionPolicy.of(aspectClass, urn.getClass());
+    final Mode mode = ingestionPolicy.getMode();
 
     final boolean shouldSkipBasedOnValueVersionAuditStamp =
         oldAndNewEqual || aspectVersionSkipWrite(newValue, oldValue) || aspectTimestampSkipWrite(eTagAuditStamp, oldValueAuditStamp);
@@ -2037,26 +2523,14 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
 
     if (mode == Mode.FORCE_UPDATE) {
       // If no filters specified in the annotation, FORCE_UPDATE
-      if (!annotation.hasFilter() || annotation.getFilter() == null) {
+      if (!ingestionPolicy.hasFilters()) {
         log.info((String.format("@gma.aspect.ingestion is FORCE_UPDATE on aspect %s and no filters set in annotation."
             + " Force update aspect.", aspectClass.getCanonicalName())));
         return true;
       }
 
-      UrnFilterArray filters = annotation.getFilter();
-      Map<String, Object> urnPaths = _urnPathExtractor.extractPaths(urn);
-
       // If there are filters in annotation, at least one filter conditions has to be met.
-      boolean atLeastOneFilterPass = false;
-      for (UrnFilter filter : filters) {
-        if (urnPaths.containsKey(filter.getPath())
-            && urnPaths.get(filter.getPath()).toString().equals(filter.getValue())) {
-          atLeastOneFilterPass = true;
-          break;
-        }
-      }
-
-      if (atLeastOneFilterPass) {
+      if (ingestionPolicy.matchesAnyFilter(_urnPathExtractor.extractPaths(urn))) {
         return true;
       }
     }
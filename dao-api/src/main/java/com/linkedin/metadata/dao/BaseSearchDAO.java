@@ -3,6 +3,7 @@ package com.linkedin.metadata.dao;
 import com.linkedin.data.DataMap;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.metadata.dao.exception.ModelConversionException;
+import com.linkedin.metadata.dao.utils.TemplateFactories;
 import com.linkedin.metadata.query.AutoCompleteResult;
 import com.linkedin.metadata.query.Filter;
 import com.linkedin.metadata.query.SortCriterion;
@@ -88,7 +89,7 @@ public abstract class BaseSearchDAO<DOCUMENT extends RecordTemplate> {
   @Nonnull
   protected DOCUMENT newDocument(@Nonnull DataMap dataMap) {
     try {
-      return _documentClass.getConstructor(DataMap.class).newInstance(dataMap);
+      return TemplateFactories.dataMapConstructor(_documentClass).apply(dataMap);
     } catch (Exception ex) {
       throw new ModelConversionException("Metadata Conversion error", ex);
     }
@@ -0,0 +1,40 @@
+package com.linkedin.metadata.dao.equality;
+
+import com.linkedin.data.template.DataTemplateUtil;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.utils.AspectFingerprint;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * A {@link EqualityTester} for aspects whose content fingerprint, see {@link AspectFingerprint}, is stored along with
+ * them. The DAO tells a new value apart from the stored one by comparing the fingerprint of the new value with the
+ * stored fingerprint, which doesn't walk the stored aspect, and falls back to
+ * {@link DataTemplateUtil#areEqual(com.linkedin.data.template.DataTemplate, com.linkedin.data.template.DataTemplate)}
+ * when there is no stored fingerprint, e.g. for aspects written before the fingerprint was.
+ *
+ * <p>Setting this tester for an aspect on a DAO that supports fingerprints also makes it store the fingerprint on
+ * writes. Like any hash, two different values may share a fingerprint, though with 128 bits that is negligible.
+ */
+public class FingerprintEqualityTester<T extends RecordTemplate> implements EqualityTester<T> {
+
+  /**
+   * Creates a new instance of {@link FingerprintEqualityTester}.
+   */
+  public static <CLASS extends RecordTemplate> FingerprintEqualityTester<CLASS> newInstance() {
+    return new FingerprintEqualityTester<>();
+  }
+
+  @Override
+  public boolean equals(@Nonnull T o1, @Nonnull T o2) {
+    return o1 == o2 || DataTemplateUtil.areEqual(o1, o2);
+  }
+
+  /**
+   * Returns true if the new value has the stored fingerprint, false if it hasn't or there is no stored fingerprint.
+   */
+  public boolean matches(@Nullable String storedFingerprint, @Nonnull T newValue) {
+    return storedFingerprint != null && storedFingerprint.equals(AspectFingerprint.of(newValue));
+  }
+}
@@ -0,0 +1,378 @@
+package com.linkedin.metadata.dao.producer;
+
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.data.template.UnionTemplate;
+import com.linkedin.metadata.events.ChangeType;
+import com.linkedin.metadata.events.IngestionMode;
+import com.linkedin.metadata.events.IngestionTrackingContext;
+import com.linkedin.mxe.TopicConventionV5;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * A {@link BaseTrackingMetadataEventProducer} which produces events through another producer in the background, so
+ * that a slow producer doesn't add to the latency of writes.
+ *
+ * <p>Events are queued in one of several bounded queues picked by urn, each drained by its own thread. A thread
+ * flushes the events it has queued once {@code maxBatchSize} of them are available, or {@code lingerMillis} after the
+ * first one was queued. A flush hands the events to the delegate producer grouped by topic, as named by the
+ * {@link TopicConventionV5}, keeping the order in which they were queued within each topic. Events of an urn are thus
+ * produced in order within each topic.
+ *
+ * <p>Once the queue of an urn is full, producing an event blocks until there is room, which slows writers down to what
+ * the delegate producer can keep up with. Events produced after the producer is closed are produced right away on the
+ * calling thread. Metadata graph search metrics are always produced right away.
+ *
+ * <p>Aspect values, audit stamps and tracking contexts are copied when an event is queued, as callers may change them
+ * afterwards.
+ */
+@Slf4j
+public class AsyncMetadataEventProducer<SNAPSHOT extends RecordTemplate, ASPECT_UNION extends UnionTemplate, URN extends Urn>
+    extends BaseTrackingMetadataEventProducer<SNAPSHOT, ASPECT_UNION, URN> implements AutoCloseable {
+
+  // topic of the events which are neither aspect specific MAEs nor MCEs
+  static final String METADATA_AUDIT_EVENT_TOPIC = "MetadataAuditEvent";
+
+  // how long a flushing thread waits for an event before checking whether the producer is closed
+  private static final long IDLE_POLL_MILLIS = 100;
+
+  /**
+   * Statistics of an {@link AsyncMetadataEventProducer}.
+   */
+  @Value
+  public static class Stats {
+    // events waiting to be produced
+    int queueDepth;
+    // events produced successfully by the delegate producer
+    long producedCount;
+    // events which the delegate producer failed to produce
+    long failedCount;
+    // events whose caller had to wait for room in a full queue
+    long blockedCount;
+    // flushes done
+    long flushCount;
+    // total time spent flushing, in nanoseconds
+    long totalFlushNanos;
+    // longest flush, in nanoseconds
+    long maxFlushNanos;
+  }
+
+  private static final class PendingEvent {
+    private final String _topic;
+    private final Runnable _produce;
+
+    private PendingEvent(@Nonnull String topic, @Nonnull Runnable produce) {
+      _topic = topic;
+      _produce = produce;
+    }
+  }
+
+  private final BaseMetadataEventProducer<SNAPSHOT, ASPECT_UNION, URN> _delegate;
+  private final TopicConventionV5 _topicConvention;
+  private final int _maxBatchSize;
+  private final long _lingerNanos;
+  private final List<BlockingQueue<PendingEvent>> _queues;
+  private final List<Thread> _flushers;
+  private final AtomicLong _producedCount = new AtomicLong();
+  private final AtomicLong _failedCount = new AtomicLong();
+  private final AtomicLong _blockedCount = new AtomicLong();
+  private final AtomicLong _flushCount = new AtomicLong();
+  private final AtomicLong _totalFlushNanos = new AtomicLong();
+  private final AtomicLong _maxFlushNanos = new AtomicLong();
+  private volatile boolean _closed = false;
+
+  /**
+   * Constructor for AsyncMetadataEventProducer, which starts its flushing threads right away.
+   *
+   * @param delegate the producer actually producing the events. Tracking contexts are only passed on if it is a
+   *                 {@link BaseTrackingMetadataEventProducer}.
+   * @param topicConvention names the topic of each event
+   * @param threads number of queues, each flushed by its own thread
+   * @param queueCapacity maximum number of events waiting in each queue
+   * @param maxBatchSize maximum number of events produced by a flush
+   * @param lingerMillis maximum time the first event of a flush waits for more events to be queued
+   */
+  public AsyncMetadataEventProducer(@Nonnull BaseMetadataEventProducer<SNAPSHOT, ASPECT_UNION, URN> delegate,
+      @Nonnull TopicConventionV5 topicConvention, int threads, int queueCapacity, int maxBatchSize, long lingerMillis) {
+    super(delegate._snapshotClass, delegate._aspectUnionClass);
+    if (threads < 1 || queueCapacity < 1 || maxBatchSize < 1 || lingerMillis < 0) {
+      throw new IllegalArgumentException(String.format(
+          "threads, queueCapacity and maxBatchSize must be positive and lingerMillis non-negative: %d, %d, %d, %d",
+          threads, queueCapacity, maxBatchSize, lingerMillis));
+    }
+    _delegate = delegate;
+    _topicConvention = topicConvention;
+    _maxBatchSize = maxBatchSize;
+    _lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+    _queues = new ArrayList<>(threads);
+    _flushers = new ArrayList<>(threads);
+    for (int i = 0; i < threads; i++) {
+      final BlockingQueue<PendingEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+      final Thread flusher = new Thread(() -> drain(queue), "metadata-event-producer-" + i);
+      flusher.setDaemon(true);
+      _queues.add(queue);
+      _flushers.add(flusher);
+    }
+    _flushers.forEach(Thread::start);
+  }
+
+  @Override
+  public <ASPECT extends RecordTemplate> void produceSnapshotBasedMetadataChangeEvent(@Nonnull URN urn,
+      @Nonnull ASPECT newValue) {
+    final ASPECT newValueCopy = copy(newValue);
+    enqueue(urn, _topicConvention.getMetadataChangeEventTopicName(urn, newValue),
+        () -> _delegate.produceSnapshotBasedMetadataChangeEvent(urn, newValueCopy));
+  }
+
+  @Override
+  public <ASPECT extends RecordTemplate> void produceMetadataAuditEvent(@Nonnull URN urn, @Nullable ASPECT oldValue,
+      @Nullable ASPECT newValue) {
+    final ASPECT oldValueCopy = copy(oldValue);
+    final ASPECT newValueCopy = copy(newValue);
+    enqueue(urn, METADATA_AUDIT_EVENT_TOPIC, () -> _delegate.produceMetadataAuditEvent(urn, oldValueCopy, newValueCopy));
+  }
+
+  @Override
+  public <ASPECT extends RecordTemplate> void produceAspectSpecificMetadataAuditEvent(@Nonnull URN urn,
+      @Nullable ASPECT oldValue, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
+      @Nullable AuditStamp auditStamp, @Nullable IngestionMode ingestionMode) {
+    final ASPECT oldValueCopy = copy(oldValue);
+    final ASPECT newValueCopy = copy(newValue);
+    final AuditStamp auditStampCopy = copy(auditStamp);
+    enqueue(urn, getAspectSpecificTopic(urn, oldValue, newValue), () -> _delegate.produceAspectSpecificMetadataAuditEvent(
+        urn, oldValueCopy, newValueCopy, aspectClass, auditStampCopy, ingestionMode));
+  }
+
+  @Override
+  public <ASPECT extends RecordTemplate> void produceAspectSpecificMetadataAuditEvent(@Nonnull URN urn,
+      @Nullable ASPECT oldValue, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
+      @Nullable AuditStamp auditStamp, @Nullable IngestionMode ingestionMode, ChangeType changeType) {
+    final ASPECT oldValueCopy = copy(oldValue);
+    final ASPECT newValueCopy = copy(newValue);
+    final AuditStamp auditStampCopy = copy(auditStamp);
+    enqueue(urn, getAspectSpecificTopic(urn, oldValue, newValue), () -> _delegate.produceAspectSpecificMetadataAuditEvent(
+        urn, oldValueCopy, newValueCopy, aspectClass, auditStampCopy, ingestionMode, changeType));
+  }
+
+  @Override
+  public <ASPECT extends RecordTemplate> void produceAspectSpecificMetadataAuditEvent(@Nonnull URN urn,
+      @Nullable ASPECT oldValue, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
+      @Nullable AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext,
+      @Nullable IngestionMode ingestionMode) {
+    if (!(_delegate instanceof BaseTrackingMetadataEventProducer)) {
+      produceAspectSpecificMetadataAuditEvent(urn, oldValue, newValue, aspectClass, auditStamp, ingestionMode);
+      return;
+    }
+    final ASPECT oldValueCopy = copy(oldValue);
+    final ASPECT newValueCopy = copy(newValue);
+    final AuditStamp auditStampCopy = copy(auditStamp);
+    final IngestionTrackingContext trackingContextCopy = copy(trackingContext);
+    enqueue(urn, getAspectSpecificTopic(urn, oldValue, newValue),
+        () -> ((BaseTrackingMetadataEventProducer<SNAPSHOT, ASPECT_UNION, URN>) _delegate)
+            .produceAspectSpecificMetadataAuditEvent(urn, oldValueCopy, newValueCopy, aspectClass, auditStampCopy,
+                trackingContextCopy, ingestionMode));
+  }
+
+  @Override
+  public <ASPECT extends RecordTemplate> void produceAspectSpecificMetadataAuditEvent(@Nonnull URN urn,
+      @Nullable ASPECT oldValue, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
+      @Nullable AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext,
+      @Nullable IngestionMode ingestionMode, @Nonnull ChangeType changeType) {
+    if (!(_delegate instanceof BaseTrackingMetadataEventProducer)) {
+      produceAspectSpecificMetadataAuditEvent(urn, oldValue, newValue, aspectClass, auditStamp, ingestionMode,
+          changeType);
+      return;
+    }
+    final ASPECT oldValueCopy = copy(oldValue);
+    final ASPECT newValueCopy = copy(newValue);
+    final AuditStamp auditStampCopy = copy(auditStamp);
+    final IngestionTrackingContext trackingContextCopy = copy(trackingContext);
+    enqueue(urn, getAspectSpecificTopic(urn, oldValue, newValue),
+        () -> ((BaseTrackingMetadataEventProducer<SNAPSHOT, ASPECT_UNION, URN>) _delegate)
+            .produceAspectSpecificMetadataAuditEvent(urn, oldValueCopy, newValueCopy, aspectClass, auditStampCopy,
+                trackingContextCopy, ingestionMode, changeType));
+  }
+
+  @Override
+  public void produceMetadataGraphSearchMetric(@Nonnull String input, @Nonnull String request, @Nonnull String index,
+      @Nonnull List<String> topHits, @Nonnull String api) {
+    _delegate.produceMetadataGraphSearchMetric(input, request, index, topHits, api);
+  }
+
+  /**
+   * Returns the current statistics of the producer.
+   */
+  @Nonnull
+  public Stats getStats() {
+    int queueDepth = 0;
+    for (BlockingQueue<PendingEvent> queue : _queues) {
+      queueDepth += queue.size();
+    }
+    return new Stats(queueDepth, _producedCount.get(), _failedCount.get(), _blockedCount.get(), _flushCount.get(),
+        _totalFlushNanos.get(), _maxFlushNanos.get());
+  }
+
+  /**
+   * Stops queueing events and waits up to the given time for the queued events to be produced.
+   *
+   * @return true if all queued events were produced in time
+   */
+  public boolean close(long timeout, @Nonnull TimeUnit unit) throws InterruptedException {
+    _closed = true;
+    final long deadline = System.nanoTime() + unit.toNanos(timeout);
+    for (Thread flusher : _flushers) {
+      TimeUnit.NANOSECONDS.timedJoin(flusher, Math.max(1, deadline - System.nanoTime()));
+      if (flusher.isAlive()) {
+        return false;
+      }
+    }
+    // events queued concurrently with closing, after their flushing thread stopped
+    _queues.forEach(this::flushRemaining);
+    return true;
+  }
+
+  /**
+   * Stops queueing events and waits up to 30 seconds for the queued events to be produced.
+   */
+  @Override
+  public void close() throws InterruptedException {
+    if (!close(30, TimeUnit.SECONDS)) {
+      log.warn("Metadata events were still queued when closing the producer: {}", getStats());
+    }
+  }
+
+  private void enqueue(@Nonnull URN urn, @Nonnull String topic, @Nonnull Runnable produce) {
+    if (_closed) {
+      produce.run();
+      return;
+    }
+    final PendingEvent event = new PendingEvent(topic, produce);
+    final BlockingQueue<PendingEvent> queue = _queues.get(Math.floorMod(urn.hashCode(), _queues.size()));
+    if (!queue.offer(event)) {
+      _blockedCount.incrementAndGet();
+      try {
+        while (!queue.offer(event, IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+          if (_closed) {
+            produce.run();
+            return;
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        log.warn("Interrupted while waiting to queue an event for {}, producing it right away", urn);
+        produce.run();
+        return;
+      }
+    }
+    if (_closed) {
+      // closed in the meantime, the queue may already have been drained for the last time
+      flushRemaining(queue);
+    }
+  }
+
+  /**
+   * Produces the events left in the queue on the calling thread, after the events being flushed from it.
+   */
+  private void flushRemaining(@Nonnull BlockingQueue<PendingEvent> queue) {
+    synchronized (queue) {
+      final List<PendingEvent> remaining = new ArrayList<>();
+      queue.drainTo(remaining);
+      flush(remaining);
+    }
+  }
+
+  private void drain(@Nonnull BlockingQueue<PendingEvent> queue) {
+    final List<PendingEvent> batch = new ArrayList<>(_maxBatchSize);
+    while (!_closed || !queue.isEmpty()) {
+      try {
+        final PendingEvent first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, _maxBatchSize - batch.size());
+        final long deadline = System.nanoTime() + _lingerNanos;
+        // stop lingering once the producer is closed, the remaining events are flushed right away
+        while (batch.size() < _maxBatchSize && !_closed) {
+          final long remaining = deadline - System.nanoTime();
+          if (remaining <= 0) {
+            break;
+          }
+          final PendingEvent next =
+              queue.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(IDLE_POLL_MILLIS)), TimeUnit.NANOSECONDS);
+          if (next != null) {
+            batch.add(next);
+            queue.drainTo(batch, _maxBatchSize - batch.size());
+          }
+        }
+      } catch (InterruptedException e) {
+        // the thread is the only one draining the queue, it keeps going until the producer is closed
+        log.warn("Interrupted while waiting for metadata events, ignoring it until the producer is closed");
+      }
+      // under the lock of the queue, so that events queued after closing are produced after the batch
+      synchronized (queue) {
+        flush(batch);
+      }
+      batch.clear();
+    }
+  }
+
+  private void flush(@Nonnull List<PendingEvent> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    final long start = System.nanoTime();
+    final Map<String, List<PendingEvent>> batchByTopic = new LinkedHashMap<>();
+    for (PendingEvent event : batch) {
+      batchByTopic.computeIfAbsent(event._topic, unused -> new ArrayList<>()).add(event);
+    }
+    for (Map.Entry<String, List<PendingEvent>> topicBatch : batchByTopic.entrySet()) {
+      for (PendingEvent event : topicBatch.getValue()) {
+        try {
+          event._produce.run();
+          _producedCount.incrementAndGet();
+        } catch (RuntimeException e) {
+          _failedCount.incrementAndGet();
+          log.error("Failed to produce an event to {}", topicBatch.getKey(), e);
+        }
+      }
+    }
+    final long elapsed = System.nanoTime() - start;
+    _flushCount.incrementAndGet();
+    _totalFlushNanos.addAndGet(elapsed);
+    _maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+  }
+
+  @Nonnull
+  private <ASPECT extends RecordTemplate> String getAspectSpecificTopic(@Nonnull URN urn, @Nullable ASPECT oldValue,
+      @Nullable ASPECT newValue) {
+    final ASPECT aspect = newValue != null ? newValue : oldValue;
+    return aspect == null ? METADATA_AUDIT_EVENT_TOPIC : _topicConvention.getMetadataAuditEventTopicName(urn, aspect);
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  private static <T extends RecordTemplate> T copy(@Nullable T record) {
+    if (record == null) {
+      return null;
+    }
+    try {
+      return (T) record.copy();
+    } catch (CloneNotSupportedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
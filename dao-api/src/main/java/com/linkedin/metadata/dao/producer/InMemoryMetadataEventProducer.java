@@ -0,0 +1,141 @@
+package com.linkedin.metadata.dao.producer;
+
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.data.template.UnionTemplate;
+import com.linkedin.metadata.events.ChangeType;
+import com.linkedin.metadata.events.IngestionMode;
+import com.linkedin.metadata.events.IngestionTrackingContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+
+/**
+ * A metadata event producer keeping the events it produces in memory instead of sending them anywhere, optionally
+ * taking a fixed time to produce each event. It stands in for a real producer in tests and benchmarks.
+ */
+public class InMemoryMetadataEventProducer<SNAPSHOT extends RecordTemplate, ASPECT_UNION extends UnionTemplate, URN extends Urn>
+    extends BaseTrackingMetadataEventProducer<SNAPSHOT, ASPECT_UNION, URN> {
+
+  /**
+   * An event produced by an {@link InMemoryMetadataEventProducer}. Aspect class is null for MCEs and for MAEs which
+   * aren't aspect specific.
+   */
+  @Value
+  public static class ProducedEvent {
+    Urn urn;
+    Class<? extends RecordTemplate> aspectClass;
+    RecordTemplate oldValue;
+    RecordTemplate newValue;
+    IngestionTrackingContext trackingContext;
+    Thread thread;
+  }
+
+  private final long _latencyNanos;
+  private final boolean _recordEvents;
+  private final ConcurrentLinkedQueue<ProducedEvent> _events = new ConcurrentLinkedQueue<>();
+  private final AtomicLong _producedCount = new AtomicLong();
+
+  /**
+   * Constructor for InMemoryMetadataEventProducer.
+   *
+   * @param latencyNanos time taken to produce each event, during which the producing thread is parked
+   * @param recordEvents whether to keep the produced events, or only count them
+   */
+  public InMemoryMetadataEventProducer(@Nonnull Class<SNAPSHOT> snapshotClass,
+      @Nonnull Class<ASPECT_UNION> aspectUnionClass, long latencyNanos, boolean recordEvents) {
+    super(snapshotClass, aspectUnionClass);
+    _latencyNanos = latencyNanos;
+    _recordEvents = recordEvents;
+  }
+
+  /**
+   * Returns the events produced so far, in the order they were produced, if they are recorded.
+   */
+  @Nonnull
+  public List<ProducedEvent> getEvents() {
+    return new ArrayList<>(_events);
+  }
+
+  /**
+   * Returns the number of events produced so far.
+   */
+  public long getProducedCount() {
+    return _producedCount.get();
+  }
+
+  /**
+   * Forgets the events produced so far.
+   */
+  public void clear() {
+    _events.clear();
+    _producedCount.set(0);
+  }
+
+  @Override
+  public <ASPECT extends RecordTemplate> void produceSnapshotBasedMetadataChangeEvent(@Nonnull URN urn,
+      @Nonnull ASPECT newValue) {
+    produce(urn, null, null, newValue, null);
+  }
+
+  @Override
+  public <ASPECT extends RecordTemplate> void produceMetadataAuditEvent(@Nonnull URN urn, @Nullable ASPECT oldValue,
+      @Nullable ASPECT newValue) {
+    produce(urn, null, oldValue, newValue, null);
+  }
+
+  @Override
+  public <ASPECT extends RecordTemplate> void produceAspectSpecificMetadataAuditEvent(@Nonnull URN urn,
+      @Nullable ASPECT oldValue, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
+      @Nullable AuditStamp auditStamp, @Nullable IngestionMode ingestionMode) {
+    produce(urn, aspectClass, oldValue, newValue, null);
+  }
+
+  @Override
+  public <ASPECT extends RecordTemplate> void produceAspectSpecificMetadataAuditEvent(@Nonnull URN urn,
+      @Nullable ASPECT oldValue, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
+      @Nullable AuditStamp auditStamp, @Nullable IngestionMode ingestionMode, ChangeType changeType) {
+    produce(urn, aspectClass, oldValue, newValue, null);
+  }
+
+  @Override
+  public <ASPECT extends RecordTemplate> void produceAspectSpecificMetadataAuditEvent(@Nonnull URN urn,
+      @Nullable ASPECT oldValue, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
+      @Nullable AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext,
+      @Nullable IngestionMode ingestionMode) {
+    produce(urn, aspectClass, oldValue, newValue, trackingContext);
+  }
+
+  @Override
+  public <ASPECT extends RecordTemplate> void produceAspectSpecificMetadataAuditEvent(@Nonnull URN urn,
+      @Nullable ASPECT oldValue, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
+      @Nullable AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext,
+      @Nullable IngestionMode ingestionMode, @Nonnull ChangeType changeType) {
+    produce(urn, aspectClass, oldValue, newValue, trackingContext);
+  }
+
+  @Override
+  public void produceMetadataGraphSearchMetric(@Nonnull String input, @Nonnull String request, @Nonnull String index,
+      @Nonnull List<String> topHits, @Nonnull String api) {
+    // Do nothing
+  }
+
+  private void produce(@Nonnull URN urn, @Nullable Class<? extends RecordTemplate> aspectClass,
+      @Nullable RecordTemplate oldValue, @Nullable RecordTemplate newValue,
+      @Nullable IngestionTrackingContext trackingContext) {
+    if (_latencyNanos > 0) {
+      LockSupport.parkNanos(_latencyNanos);
+    }
+    if (_recordEvents) {
+      _events.add(new ProducedEvent(urn, aspectClass, oldValue, newValue, trackingContext, Thread.currentThread()));
+    }
+    _producedCount.incrementAndGet();
+  }
+}
@@ -0,0 +1,206 @@
+package com.linkedin.metadata.dao.retention;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Applies retention in the background, in batches, instead of within each write.
+ *
+ * <p>Writes enqueue the (urn, aspect, largest version) they produced. Entries of the same (urn, aspect) are coalesced,
+ * keeping the largest version, and a background thread periodically hands them to a {@link BatchApplier}, per aspect
+ * and at most {@code maxBatchSize} urns at a time. Once {@code maxBacklog} (urn, aspect) entries are pending, new
+ * entries are rejected so that the caller applies retention itself, which slows writers down to what retention can
+ * keep up with. Closing the sweeper applies all pending entries.
+ *
+ * @param <URN> must be the entity URN type of the DAO
+ */
+@Slf4j
+public class AsyncRetentionSweeper<URN extends Urn> implements AutoCloseable {
+
+  /**
+   * Applies the retention of an aspect to a batch of urns.
+   */
+  @FunctionalInterface
+  public interface BatchApplier<URN extends Urn> {
+
+    /**
+     * Applies retention of the aspect to each urn of the batch, given the largest version written for it.
+     */
+    void apply(@Nonnull Class<? extends RecordTemplate> aspectClass, @Nonnull Map<URN, Long> largestVersions);
+  }
+
+  /**
+   * Statistics of an {@link AsyncRetentionSweeper}.
+   */
+  @Value
+  public static class Stats {
+    // (urn, aspect) entries waiting to be swept
+    int backlog;
+    // entries applied successfully
+    long sweptCount;
+    // entries whose batch failed, they are enqueued again
+    long failedCount;
+    // entries rejected because the backlog was full, whose retention was applied by the writer
+    long rejectedCount;
+    // entries of failed batches that could not be enqueued again, because the sweeper was closed or its backlog full,
+    // whose retention is only applied with the next write of the aspect
+    long droppedCount;
+  }
+
+  private final BatchApplier<URN> _batchApplier;
+  private final int _maxBacklog;
+  private final int _maxBatchSize;
+  private final ConcurrentMap<Class<? extends RecordTemplate>, ConcurrentMap<URN, Long>> _pending =
+      new ConcurrentHashMap<>();
+  private final AtomicInteger _backlog = new AtomicInteger();
+  private final AtomicLong _sweptCount = new AtomicLong();
+  private final AtomicLong _failedCount = new AtomicLong();
+  private final AtomicLong _rejectedCount = new AtomicLong();
+  private final AtomicLong _droppedCount = new AtomicLong();
+  private final ScheduledExecutorService _scheduler;
+  private volatile boolean _closed = false;
+
+  /**
+   * Constructor for AsyncRetentionSweeper, which starts sweeping right away.
+   *
+   * @param batchApplier applies the retention of a batch
+   * @param maxBacklog maximum number of pending (urn, aspect) entries
+   * @param maxBatchSize maximum number of urns handed to the batch applier at once
+   * @param sweepIntervalMillis delay between the end of a sweep and the start of the next one
+   */
+  public AsyncRetentionSweeper(@Nonnull BatchApplier<URN> batchApplier, int maxBacklog, int maxBatchSize,
+      long sweepIntervalMillis) {
+    if (maxBacklog < 1 || maxBatchSize < 1 || sweepIntervalMillis < 1) {
+      throw new IllegalArgumentException(String.format(
+          "maxBacklog, maxBatchSize and sweepIntervalMillis must be positive: %d, %d, %d", maxBacklog, maxBatchSize,
+          sweepIntervalMillis));
+    }
+    _batchApplier = batchApplier;
+    _maxBacklog = maxBacklog;
+    _maxBatchSize = maxBatchSize;
+    _scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "retention-sweeper");
+      thread.setDaemon(true);
+      return thread;
+    });
+    _scheduler.scheduleWithFixedDelay(this::sweep, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Enqueues the retention of an aspect of the urn.
+   *
+   * @return false if the sweeper is closed or its backlog is full, in which case the caller must apply retention
+   */
+  public boolean enqueue(@Nonnull Class<? extends RecordTemplate> aspectClass, @Nonnull URN urn, long largestVersion) {
+    if (_closed) {
+      return false;
+    }
+    if (!tryEnqueue(aspectClass, urn, largestVersion)) {
+      _rejectedCount.incrementAndGet();
+      return false;
+    }
+    if (_closed) {
+      // closed in the meantime, the last sweep of close may have missed the entry
+      sweep();
+    }
+    return true;
+  }
+
+  private boolean tryEnqueue(@Nonnull Class<? extends RecordTemplate> aspectClass, @Nonnull URN urn,
+      long largestVersion) {
+    final boolean[] rejected = {false};
+    _pending.computeIfAbsent(aspectClass, key -> new ConcurrentHashMap<>()).compute(urn, (key, pendingVersion) -> {
+      if (pendingVersion != null) {
+        return Math.max(pendingVersion, largestVersion);
+      }
+      if (_backlog.incrementAndGet() > _maxBacklog) {
+        _backlog.decrementAndGet();
+        rejected[0] = true;
+        return null;
+      }
+      return largestVersion;
+    });
+    return !rejected[0];
+  }
+
+  /**
+   * Returns the current statistics of the sweeper.
+   */
+  @Nonnull
+  public Stats getStats() {
+    return new Stats(_backlog.get(), _sweptCount.get(), _failedCount.get(), _rejectedCount.get(),
+        _droppedCount.get());
+  }
+
+  /**
+   * Stops the background sweeps and applies all pending entries on the calling thread. Entries enqueued afterwards
+   * are rejected, and the entries of batches failing in this last sweep are dropped.
+   */
+  @Override
+  public void close() {
+    _closed = true;
+    _scheduler.shutdown();
+    // waits for a sweep in progress, as sweeps hold the lock
+    sweep();
+  }
+
+  /**
+   * Hands all pending entries to the batch applier.
+   */
+  synchronized void sweep() {
+    for (Map.Entry<Class<? extends RecordTemplate>, ConcurrentMap<URN, Long>> aspectEntries : _pending.entrySet()) {
+      final ConcurrentMap<URN, Long> pending = aspectEntries.getValue();
+      Map<URN, Long> batch = new HashMap<>();
+      for (Map.Entry<URN, Long> entry : pending.entrySet()) {
+        // an entry whose version was raised in the meantime stays pending for the next sweep
+        if (pending.remove(entry.getKey(), entry.getValue())) {
+          _backlog.decrementAndGet();
+          batch.put(entry.getKey(), entry.getValue());
+        }
+        if (batch.size() >= _maxBatchSize) {
+          applyBatch(aspectEntries.getKey(), batch);
+          batch = new HashMap<>();
+        }
+      }
+      if (!batch.isEmpty()) {
+        applyBatch(aspectEntries.getKey(), batch);
+      }
+    }
+  }
+
+  private void applyBatch(@Nonnull Class<? extends RecordTemplate> aspectClass, @Nonnull Map<URN, Long> batch) {
+    try {
+      _batchApplier.apply(aspectClass, batch);
+      _sweptCount.addAndGet(batch.size());
+    } catch (RuntimeException e) {
+      _failedCount.addAndGet(batch.size());
+      int dropped = 0;
+      for (Map.Entry<URN, Long> entry : batch.entrySet()) {
+        if (_closed || !tryEnqueue(aspectClass, entry.getKey(), entry.getValue())) {
+          dropped++;
+        }
+      }
+      _droppedCount.addAndGet(dropped);
+      if (dropped == 0) {
+        log.error("Failed to apply retention of {} to {} urns, will retry", aspectClass.getCanonicalName(),
+            batch.size(), e);
+      } else {
+        log.error("Failed to apply retention of {} to {} urns, dropped {} of them as the sweeper is closed or its "
+            + "backlog full", aspectClass.getCanonicalName(), batch.size(), dropped, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.linkedin.data.ByteString;
+import com.linkedin.data.Data;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.template.RecordTemplate;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Computes a 128-bit fingerprint of the content of an aspect, so that an aspect can be told apart from the stored one by
+ * comparing fingerprints instead of the whole values.
+ *
+ * <p>The fingerprint is a murmur3 hash of a canonical serialization of the aspect {@link DataMap}: map keys are sorted
+ * and every value is tagged with its type, so that it doesn't depend on the insertion order of fields. Integral numbers
+ * are hashed as longs and floating point numbers as doubles, as {@link com.linkedin.data.template.DataTemplateUtil#areEqual}
+ * deems an aspect holding an {@link Integer} equal to the same aspect holding a {@link Long}.
+ */
+public final class AspectFingerprint {
+
+  private static final byte MAP = 'm';
+  private static final byte LIST = 'l';
+  private static final byte STRING = 's';
+  private static final byte INTEGRAL = 'i';
+  private static final byte FLOATING = 'f';
+  private static final byte BOOLEAN = 'b';
+  private static final byte BYTES = 'y';
+  private static final byte NULL = 'n';
+
+  private AspectFingerprint() {
+  }
+
+  /**
+   * Returns the fingerprint of the aspect as a 32 character hex string.
+   */
+  @Nonnull
+  public static String of(@Nonnull RecordTemplate aspect) {
+    return of(aspect.data());
+  }
+
+  /**
+   * Returns the fingerprint of the aspect {@link DataMap} as a 32 character hex string.
+   */
+  @Nonnull
+  public static String of(@Nonnull DataMap aspect) {
+    final Hasher hasher = Hashing.murmur3_128().newHasher();
+    putValue(aspect, hasher);
+    return hasher.hash().toString();
+  }
+
+  private static void putValue(@Nonnull Object value, @Nonnull Hasher hasher) {
+    if (value instanceof DataMap) {
+      final DataMap map = (DataMap) value;
+      final List<String> keys = new ArrayList<>(map.keySet());
+      Collections.sort(keys);
+      hasher.putByte(MAP).putInt(keys.size());
+      for (String key : keys) {
+        putString(key, hasher);
+        putValue(map.get(key), hasher);
+      }
+    } else if (value instanceof DataList) {
+      final DataList list = (DataList) value;
+      hasher.putByte(LIST).putInt(list.size());
+      for (Object element : list) {
+        putValue(element, hasher);
+      }
+    } else if (value instanceof String) {
+      hasher.putByte(STRING);
+      putString((String) value, hasher);
+    } else if (value instanceof Integer || value instanceof Long) {
+      hasher.putByte(INTEGRAL).putLong(((Number) value).longValue());
+    } else if (value instanceof Float) {
+      // widened through its decimal representation, which is what the float reads back as once stored as JSON
+      hasher.putByte(FLOATING).putDouble(Double.parseDouble(value.toString()));
+    } else if (value instanceof Double) {
+      hasher.putByte(FLOATING).putDouble((Double) value);
+    } else if (value instanceof Boolean) {
+      hasher.putByte(BOOLEAN).putBoolean((Boolean) value);
+    } else if (value instanceof ByteString) {
+      final byte[] bytes = ((ByteString) value).copyBytes();
+      hasher.putByte(BYTES).putInt(bytes.length).putBytes(bytes);
+    } else if (value == Data.NULL) {
+      hasher.putByte(NULL);
+    } else {
+      throw new IllegalArgumentException("Unexpected value of type " + value.getClass() + " in data map");
+    }
+  }
+
+  private static void putString(@Nonnull String value, @Nonnull Hasher hasher) {
+    // length prefixed so that adjacent strings can't run into each other
+    hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+  }
+}
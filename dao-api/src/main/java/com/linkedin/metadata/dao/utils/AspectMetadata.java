@@ -0,0 +1,43 @@
+package com.linkedin.metadata.dao.utils;
+
+import javax.annotation.Nonnull;
+
+
+/**
+ * Names derived from an aspect class, computed once per class and cached, so that hot read and write paths don't
+ * build strings for every aspect they touch.
+ *
+ * <p>{@link Class#getCanonicalName()} is not cached by the JDK and builds a new string on every call.
+ */
+public final class AspectMetadata {
+
+  private static final ClassValue<AspectMetadata> REGISTRY = new ClassValue<AspectMetadata>() {
+    @Override
+    protected AspectMetadata computeValue(@Nonnull Class<?> type) {
+      return new AspectMetadata(type);
+    }
+  };
+
+  private final String _canonicalName;
+
+  private AspectMetadata(@Nonnull Class<?> aspectClass) {
+    final String canonicalName = aspectClass.getCanonicalName();
+    _canonicalName = canonicalName == null ? null : canonicalName.intern();
+  }
+
+  /**
+   * Returns the metadata of the aspect class.
+   */
+  @Nonnull
+  public static AspectMetadata of(@Nonnull Class<?> aspectClass) {
+    return REGISTRY.get(aspectClass);
+  }
+
+  /**
+   * Returns the interned canonical name of the aspect class, which is also the aspect name stored in the DB, or null
+   * for classes without one, e.g. anonymous classes.
+   */
+  public String getCanonicalName() {
+    return _canonicalName;
+  }
+}
@@ -0,0 +1,123 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.annotations.AspectIngestionAnnotation;
+import com.linkedin.metadata.annotations.AspectIngestionAnnotationArray;
+import com.linkedin.metadata.annotations.Mode;
+import com.linkedin.metadata.annotations.UrnFilter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * The {@code @gma.aspect.ingestion} rule of an aspect for an entity, compiled once per (aspect class, urn class) and
+ * cached, so that deciding whether to write an aspect doesn't fetch the aspect schema, parse its annotations and match
+ * urn class names on every write.
+ *
+ * <p>Policies are held by nested {@link ClassValue}s, the outer keyed by aspect class and holding the parsed
+ * annotations, the inner keyed by urn class, so they don't keep classes from being unloaded.
+ */
+public final class IngestionPolicy {
+
+  /**
+   * The policy of aspects without an ingestion rule for the entity, which honors all checks of the data access layer.
+   */
+  public static final IngestionPolicy DEFAULT = new IngestionPolicy(Mode.DEFAULT, null);
+
+  private static final ClassValue<IngestionPolicy> NOT_ANNOTATED = new ClassValue<IngestionPolicy>() {
+    @Override
+    protected IngestionPolicy computeValue(@Nonnull Class<?> urnClass) {
+      return DEFAULT;
+    }
+  };
+
+  private static final ClassValue<ClassValue<IngestionPolicy>> POLICIES = new ClassValue<ClassValue<IngestionPolicy>>() {
+    @Override
+    @SuppressWarnings("unchecked")
+    protected ClassValue<IngestionPolicy> computeValue(@Nonnull Class<?> aspectClass) {
+      final AspectIngestionAnnotationArray annotations =
+          IngestionUtils.parseIngestionModeFromAnnotation((Class<? extends RecordTemplate>) aspectClass);
+      if (annotations.isEmpty()) {
+        return NOT_ANNOTATED;
+      }
+      return new ClassValue<IngestionPolicy>() {
+        @Override
+        protected IngestionPolicy computeValue(@Nonnull Class<?> urnClass) {
+          return compile(IngestionUtils.findIngestionAnnotationForEntity(annotations, urnClass));
+        }
+      };
+    }
+  };
+
+  private final Mode _mode;
+  // path -> values any of which the path has to lead to, null when the rule has no filter
+  private final Map<String, Set<String>> _filterValuesByPath;
+
+  private IngestionPolicy(@Nonnull Mode mode, @Nullable Map<String, Set<String>> filterValuesByPath) {
+    _mode = mode;
+    _filterValuesByPath = filterValuesByPath;
+  }
+
+  /**
+   * Returns the ingestion policy of the aspect class for entities identified by the urn class.
+   */
+  @Nonnull
+  public static IngestionPolicy of(@Nonnull Class<? extends RecordTemplate> aspectClass, @Nonnull Class<?> urnClass) {
+    return POLICIES.get(aspectClass).get(urnClass);
+  }
+
+  @Nonnull
+  private static IngestionPolicy compile(@Nullable AspectIngestionAnnotation annotation) {
+    if (annotation == null || !annotation.hasMode()) {
+      return DEFAULT;
+    }
+    if (!annotation.hasFilter() || annotation.getFilter() == null) {
+      return new IngestionPolicy(annotation.getMode(), null);
+    }
+    final Map<String, Set<String>> filterValuesByPath = new HashMap<>();
+    for (UrnFilter filter : annotation.getFilter()) {
+      // a filter without path or value is never met
+      if (filter.hasPath() && filter.hasValue()) {
+        filterValuesByPath.computeIfAbsent(filter.getPath(), path -> new HashSet<>()).add(filter.getValue());
+      }
+    }
+    return new IngestionPolicy(annotation.getMode(), Collections.unmodifiableMap(filterValuesByPath));
+  }
+
+  /**
+   * Returns the ingestion mode of the rule, {@link Mode#DEFAULT} if there is none.
+   */
+  @Nonnull
+  public Mode getMode() {
+    return _mode;
+  }
+
+  /**
+   * Returns true if the rule applies only to the entities whose urn paths meet one of its filters.
+   */
+  public boolean hasFilters() {
+    return _filterValuesByPath != null;
+  }
+
+  /**
+   * Returns true if the urn paths, as extracted by a {@link com.linkedin.metadata.dao.urnpath.UrnPathExtractor}, meet at
+   * least one filter of the rule, i.e. a filter path leads to the filter value.
+   */
+  public boolean matchesAnyFilter(@Nonnull Map<String, Object> urnPaths) {
+    if (_filterValuesByPath == null) {
+      return false;
+    }
+    for (Map.Entry<String, Set<String>> filter : _filterValuesByPath.entrySet()) {
+      final Object value = urnPaths.get(filter.getKey());
+      if (value != null && filter.getValue().contains(value.toString())) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -78,6 +78,17 @@ public class IngestionUtils {
   @Nullable
   public static AspectIngestionAnnotation findIngestionAnnotationForEntity(@Nonnull AspectIngestionAnnotationArray ingestionAnnotations,
       Urn urn) {
+    return findIngestionAnnotationForEntity(ingestionAnnotations, urn.getClass());
+  }
+
+  /**
+   * Find the ingestion annotation that applies to the entities identified by the urn class, matched by simple class name.
+   * Prefer {@link IngestionPolicy#of} on write paths, which caches the result.
+   */
+  @Nullable
+  public static AspectIngestionAnnotation findIngestionAnnotationForEntity(@Nonnull AspectIngestionAnnotationArray ingestionAnnotations,
+      @Nonnull Class<?> urnClass) {
+    final String urnFromInput = getLastElementsInUrnString(urnClass.getCanonicalName());
     List<AspectIngestionAnnotation> aspectIngestionAnnotationList = new ArrayList<>();
     for (AspectIngestionAnnotation ingestionAnnotation : ingestionAnnotations) {
       if (!ingestionAnnotation.hasUrn() || !ingestionAnnotation.hasMode()) {
@@ -85,7 +96,6 @@ public class IngestionUtils {
       }
 
       final String urnFromAnnotation = getLastElementsInUrnString(ingestionAnnotation.getUrn());
-      final String urnFromInput = getLastElementsInUrnString(urn.getClass().getCanonicalName());
 
       if (urnFromAnnotation.equals(urnFromInput)) {
         aspectIngestionAnnotationList.add(ingestionAnnotation);
@@ -95,7 +105,7 @@ public class IngestionUtils {
     if (aspectIngestionAnnotationList.size() == 1) {
       return aspectIngestionAnnotationList.get(0);
     } else if (aspectIngestionAnnotationList.size() > 1) {
-      log.error("Invalid usage. More than one ingestion rule defined for same urn {}", urn);
+      log.error("Invalid usage. More than one ingestion rule defined for same urn {}", urnClass.getCanonicalName());
       return null;
     } else {
       return null;
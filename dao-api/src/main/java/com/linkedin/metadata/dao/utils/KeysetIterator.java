@@ -0,0 +1,110 @@
+package com.linkedin.metadata.dao.utils;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Iterates over the results of a keyset paginated listing, where each page is fetched with the key of the last element
+ * of the previous page, instead of its offset. Only one page is held at a time, so the memory used does not depend on
+ * the number of elements listed, and pages are fetched lazily as the elements are consumed.
+ *
+ * @param <K> type of the key pages are fetched after, e.g. an urn
+ * @param <T> type of the listed elements
+ */
+public final class KeysetIterator<K, T> implements Iterator<T> {
+
+  /**
+   * Fetches a page of a keyset paginated listing.
+   */
+  @FunctionalInterface
+  public interface PageFetcher<K, T> {
+
+    /**
+     * Fetches up to {@code pageSize} elements ordered by key, whose keys are greater than {@code lastKey}.
+     *
+     * @param lastKey the key of the last element of the previous page, null for the first page
+     */
+    @Nonnull
+    List<T> fetch(@Nullable K lastKey, int pageSize);
+  }
+
+  private final PageFetcher<K, T> _fetcher;
+  private final Function<T, K> _keyOf;
+  private final int _pageSize;
+
+  private K _lastKey;
+  private List<T> _page = Collections.emptyList();
+  private int _position = 0;
+  private boolean _lastPage = false;
+
+  /**
+   * Constructor for KeysetIterator.
+   *
+   * @param fetcher fetches the pages
+   * @param keyOf returns the key of an element
+   * @param lastKey the key to list the elements after, null to list from the first element
+   * @param pageSize number of elements to fetch at a time
+   */
+  public KeysetIterator(@Nonnull PageFetcher<K, T> fetcher, @Nonnull Function<T, K> keyOf, @Nullable K lastKey,
+      int pageSize) {
+    if (pageSize <= 0) {
+      throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+    }
+    _fetcher = fetcher;
+    _keyOf = keyOf;
+    _lastKey = lastKey;
+    _pageSize = pageSize;
+  }
+
+  /**
+   * Returns a sequential, ordered stream over the results of a keyset paginated listing.
+   *
+   * @see #KeysetIterator(PageFetcher, Function, Object, int)
+   */
+  @Nonnull
+  public static <K, T> Stream<T> stream(@Nonnull PageFetcher<K, T> fetcher, @Nonnull Function<T, K> keyOf,
+      @Nullable K lastKey, int pageSize) {
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(new KeysetIterator<>(fetcher, keyOf, lastKey, pageSize),
+            Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (_position < _page.size()) {
+      return true;
+    }
+    if (_lastPage) {
+      return false;
+    }
+
+    // drop the consumed page before fetching the next one
+    _page = Collections.emptyList();
+    _page = _fetcher.fetch(_lastKey, _pageSize);
+    _position = 0;
+    // a short page is the last one, which saves a query returning nothing
+    _lastPage = _page.size() < _pageSize;
+    if (!_page.isEmpty()) {
+      _lastKey = _keyOf.apply(_page.get(_page.size() - 1));
+    }
+    return !_page.isEmpty();
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return _page.get(_position++);
+  }
+}
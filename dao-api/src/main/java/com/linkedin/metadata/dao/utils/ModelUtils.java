@@ -62,7 +62,7 @@ public class ModelUtils {
    * @return the corresponding aspect name, which is actually the FQCN of type
    */
   public static <T extends DataTemplate> String getAspectName(@Nonnull Class<T> aspectClass) {
-    return aspectClass.getCanonicalName();
+    return AspectMetadata.of(aspectClass).getCanonicalName();
   }
 
   /**
@@ -183,12 +183,13 @@ public class ModelUtils {
       return null;
     }
 
+    final Object parsed;
     try {
-      final Method getUrn = urnClass.getMethod("createFromString", String.class);
-      return urnClass.cast(getUrn.invoke(null, urn));
-    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+      parsed = TemplateFactories.urnParser(urnClass).apply(urn);
+    } catch (Exception e) {
       throw new IllegalArgumentException("URN conversion error for " + urn, e);
     }
+    return urnClass.cast(parsed);
   }
 
   /**
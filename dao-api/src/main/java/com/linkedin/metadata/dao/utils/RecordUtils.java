@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -118,15 +119,10 @@ public class RecordUtils {
    */
   @Nonnull
   public static <T extends RecordTemplate> T toRecordTemplate(@Nonnull Class<T> type, @Nonnull DataMap dataMap) {
-    Constructor<T> constructor;
-    try {
-      constructor = type.getConstructor(DataMap.class);
-    } catch (NoSuchMethodException e) {
-      throw new ModelConversionException("Unable to find constructor for " + type.getCanonicalName(), e);
-    }
+    final Function<DataMap, T> constructor = TemplateFactories.dataMapConstructor(type);
 
     try {
-      return constructor.newInstance(dataMap);
+      return constructor.apply(dataMap);
     } catch (Exception e) {
       throw new ModelConversionException("Failed to invoke constructor for " + type.getCanonicalName(), e);
     }
@@ -141,13 +137,7 @@ public class RecordUtils {
    */
   @Nonnull
   public static RecordTemplate toRecordTemplate(@Nonnull String className, @Nonnull DataMap dataMap) {
-    Class<? extends RecordTemplate> clazz;
-    try {
-      clazz = Class.forName(className).asSubclass(RecordTemplate.class);
-    } catch (ClassNotFoundException e) {
-      throw new ModelConversionException("Unable to find class " + className, e);
-    }
-
+    final Class<? extends RecordTemplate> clazz = ClassUtils.loadClass(className).asSubclass(RecordTemplate.class);
     return toRecordTemplate(clazz, dataMap);
   }
 
@@ -0,0 +1,127 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.template.DataTemplate;
+import com.linkedin.metadata.dao.exception.ModelConversionException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Per-class cache of compiled factories that build data templates from a {@link DataMap} and parse URNs from strings,
+ * so that hot read paths don't look up and invoke constructors and methods reflectively for every row.
+ *
+ * <p>Factories are generated with {@link LambdaMetafactory}, which the JIT can inline like a direct call. Classes that
+ * are not visible from the class loader of this class, e.g. models loaded by a child class loader, fall back to a
+ * {@link MethodHandle}, as a generated factory would link their names against the wrong class loader. Entries are held by {@link ClassValue}, so they don't keep classes from being unloaded.
+ */
+public final class TemplateFactories {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final ClassValue<Function<DataMap, ?>> DATA_MAP_CONSTRUCTORS = new ClassValue<Function<DataMap, ?>>() {
+    @Override
+    protected Function<DataMap, ?> computeValue(@Nonnull Class<?> type) {
+      final MethodHandle constructor;
+      try {
+        constructor = LOOKUP.unreflectConstructor(type.getConstructor(DataMap.class));
+      } catch (NoSuchMethodException | IllegalAccessException e) {
+        throw new ModelConversionException("Unable to find constructor for " + type.getCanonicalName(), e);
+      }
+      return compile(constructor, type);
+    }
+  };
+
+  private static final ClassValue<Function<String, ?>> URN_PARSERS = new ClassValue<Function<String, ?>>() {
+    @Override
+    protected Function<String, ?> computeValue(@Nonnull Class<?> type) {
+      final Method method;
+      final MethodHandle createFromString;
+      try {
+        method = type.getMethod("createFromString", String.class);
+        createFromString = LOOKUP.unreflect(method);
+      } catch (NoSuchMethodException | IllegalAccessException e) {
+        throw new IllegalArgumentException("Unable to find createFromString method for " + type.getCanonicalName(), e);
+      }
+      return compile(createFromString, method.getDeclaringClass());
+    }
+  };
+
+  private TemplateFactories() {
+    // Util class
+  }
+
+  /**
+   * Returns a factory invoking the public {@link DataMap} constructor of the data template class.
+   *
+   * <p>The factory throws whatever the constructor throws, unwrapped.
+   *
+   * @throws ModelConversionException if the class has no such constructor
+   */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  public static <T extends DataTemplate<?>> Function<DataMap, T> dataMapConstructor(@Nonnull Class<T> type) {
+    return (Function<DataMap, T>) DATA_MAP_CONSTRUCTORS.get(type);
+  }
+
+  /**
+   * Returns a parser invoking the public static {@code createFromString} method of the URN class.
+   *
+   * <p>The parser returns what the method returns, which may be a super class of the URN class if the class doesn't
+   * declare its own method, and throws whatever the method throws, unwrapped, including checked exceptions.
+   *
+   * @throws IllegalArgumentException if the class has no such method
+   */
+  @Nonnull
+  public static Function<String, ?> urnParser(@Nonnull Class<? extends Urn> urnClass) {
+    return URN_PARSERS.get(urnClass);
+  }
+
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  private static <T> Function<T, ?> compile(@Nonnull MethodHandle target, @Nonnull Class<?> declaringClass) {
+    // the factory generated by LambdaMetafactory links successfully for any class, but resolves the classes it
+    // references from the class loader of this class when first applied, so those must be the same classes
+    if (isVisible(declaringClass) && isVisible(target.type().returnType())
+        && target.type().parameterList().stream().allMatch(TemplateFactories::isVisible)) {
+      try {
+        final CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply", MethodType.methodType(Function.class),
+            MethodType.methodType(Object.class, Object.class), target, target.type());
+        return (Function<T, ?>) site.getTarget().invokeExact();
+      } catch (Throwable e) {
+        // fall back to invoking the method handle
+      }
+    }
+    final MethodHandle generic = target.asType(MethodType.methodType(Object.class, Object.class));
+    return argument -> {
+      try {
+        return generic.invokeExact(argument);
+      } catch (Throwable t) {
+        throw TemplateFactories.<RuntimeException>sneakyThrow(t);
+      }
+    };
+  }
+
+  private static boolean isVisible(@Nonnull Class<?> type) {
+    if (type.isPrimitive()) {
+      return true;
+    }
+    try {
+      return Class.forName(type.getName(), false, TemplateFactories.class.getClassLoader()) == type;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E extends Throwable> E sneakyThrow(@Nonnull Throwable throwable) throws E {
+    throw (E) throwable;
+  }
+}
@@ -4,7 +4,9 @@ import com.linkedin.common.AuditStamp;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.SetMode;
 import com.linkedin.data.template.UnionTemplate;
+import com.linkedin.metadata.backfill.BackfillMode;
 import com.linkedin.metadata.dao.builder.BaseLocalRelationshipBuilder.LocalRelationshipUpdates;
+import com.linkedin.metadata.dao.equality.FingerprintEqualityTester;
 import com.linkedin.metadata.dao.ingestion.AspectCallbackMapKey;
 import com.linkedin.metadata.dao.ingestion.AspectCallbackRoutingClient;
 import com.linkedin.metadata.dao.ingestion.SampleAspectCallbackRoutingClient;
@@ -16,6 +18,7 @@ import com.linkedin.metadata.dao.retention.TimeBasedRetention;
 import com.linkedin.metadata.dao.retention.VersionBasedRetention;
 import com.linkedin.metadata.dao.tracking.BaseTrackingManager;
 import com.linkedin.metadata.dao.urnpath.EmptyPathExtractor;
+import com.linkedin.metadata.dao.utils.AspectFingerprint;
 import com.linkedin.metadata.events.IngestionMode;
 import com.linkedin.metadata.events.IngestionTrackingContext;
 import com.linkedin.metadata.internal.IngestionParams;
@@ -36,6 +39,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -335,6 +339,28 @@ public class BaseLocalDAOTest {
     verifyNoMoreInteractions(_mockEventProducer);
   }
 
+  @Test
+  public void testMAEEmissionWithFingerprintEqualityTester() throws URISyntaxException {
+    FooUrn urn = new FooUrn(1);
+    AspectFoo stored = new AspectFoo().setValue("stored");
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectFoo bar = new AspectFoo().setValue("bar");
+    _dummyLocalDAO.setAlwaysEmitAuditEvent(false);
+    _dummyLocalDAO.setEqualityTester(AspectFoo.class, FingerprintEqualityTester.newInstance());
+    // the stored fingerprint is the one of foo, which is then taken as unchanged without comparing it with the stored value
+    BaseLocalDAO.AspectEntry<AspectFoo> latest =
+        new BaseLocalDAO.AspectEntry<>(stored, new ExtraInfo().setAudit(_dummyAuditStamp), false, AspectFingerprint.of(foo));
+    expectGetLatest(urn, AspectFoo.class, Arrays.asList(latest, latest));
+
+    _dummyLocalDAO.add(urn, foo, _dummyAuditStamp);
+    _dummyLocalDAO.add(urn, bar, _dummyAuditStamp);
+
+    verify(_mockEventProducer, times(1)).produceMetadataAuditEvent(urn, stored, bar);
+    verify(_mockEventProducer, times(1))
+        .produceAspectSpecificMetadataAuditEvent(urn, stored, bar, AspectFoo.class, _dummyAuditStamp, IngestionMode.LIVE);
+    verifyNoMoreInteractions(_mockEventProducer);
+  }
+
   @Test
   public void testMAEWithNullValue() throws URISyntaxException {
     FooUrn urn = new FooUrn(1);
@@ -483,6 +509,75 @@ public class BaseLocalDAOTest {
     verify(_mockTransactionRunner, times(1)).run(any());
   }
 
+  @Test
+  public void testAddBatchUsesOneTransactionAndEmitsChangedAspects() throws URISyntaxException {
+    FooUrn urn1 = new FooUrn(1);
+    FooUrn urn2 = new FooUrn(2);
+    AspectFoo foo1 = new AspectFoo().setValue("foo1");
+    AspectBar bar1 = new AspectBar().setValue("bar1");
+    AspectFoo foo2 = new AspectFoo().setValue("foo2");
+    _dummyLocalDAO.setAlwaysEmitAuditEvent(false);
+    _dummyLocalDAO.setEmitAspectSpecificAuditEvent(false);
+    expectGetLatest(urn1, AspectFoo.class, Collections.singletonList(makeAspectEntry(null, null)));
+    expectGetLatest(urn1, AspectBar.class, Collections.singletonList(makeAspectEntry(null, null)));
+    // foo2 is already the latest value, so it is not written again
+    expectGetLatest(urn2, AspectFoo.class, Collections.singletonList(makeAspectEntry(foo2, _dummyAuditStamp)));
+
+    Map<FooUrn, List<RecordTemplate>> aspectValues = new LinkedHashMap<>();
+    aspectValues.put(urn1, Arrays.asList(foo1, bar1));
+    aspectValues.put(urn2, Collections.singletonList(foo2));
+    Map<FooUrn, List<EntityAspectUnion>> results = _dummyLocalDAO.addBatch(aspectValues, _dummyAuditStamp);
+
+    assertEquals(results.get(urn1).size(), 2);
+    assertEquals(results.get(urn2).size(), 1);
+    verify(_mockTransactionRunner, times(1)).run(any());
+    verify(_mockEventProducer, times(1)).produceMetadataAuditEvent(urn1, null, foo1);
+    verify(_mockEventProducer, times(1)).produceMetadataAuditEvent(urn1, null, bar1);
+    verifyNoMoreInteractions(_mockEventProducer);
+  }
+
+  @Test
+  public void testAddBatchRejectsDuplicateAspects() throws URISyntaxException {
+    FooUrn urn = new FooUrn(1);
+    Map<FooUrn, List<RecordTemplate>> aspectValues = Collections.singletonMap(urn,
+        Arrays.asList(new AspectFoo().setValue("foo1"), new AspectFoo().setValue("foo2")));
+
+    assertThrows(IllegalArgumentException.class, () -> _dummyLocalDAO.addBatch(aspectValues, _dummyAuditStamp));
+    verify(_mockTransactionRunner, never()).run(any());
+  }
+
+  @Test
+  public void testAddAllUsesOneTransactionAndEmitsChangedAspects() throws URISyntaxException {
+    FooUrn urn = new FooUrn(1);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectBar bar = new AspectBar().setValue("bar");
+    _dummyLocalDAO.setAlwaysEmitAuditEvent(false);
+    _dummyLocalDAO.setEmitAspectSpecificAuditEvent(false);
+    expectGetLatest(urn, AspectFoo.class, Collections.singletonList(makeAspectEntry(null, null)));
+    // bar is already the latest value, so it is not written again
+    expectGetLatest(urn, AspectBar.class, Collections.singletonList(makeAspectEntry(bar, _dummyAuditStamp)));
+
+    List<EntityAspectUnion> results = _dummyLocalDAO.addAll(urn, Arrays.asList(foo, bar), _dummyAuditStamp, null, null);
+
+    assertEquals(results.size(), 2);
+    verify(_mockTransactionRunner, times(1)).run(any());
+    verify(_mockEventProducer, times(1)).produceMetadataAuditEvent(urn, null, foo);
+    verifyNoMoreInteractions(_mockEventProducer);
+  }
+
+  @Test
+  public void testAddAllInTestModeDoesNotEmit() throws URISyntaxException {
+    FooUrn urn = new FooUrn(1);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    when(_mockGetLatestFunction.apply(any(), eq(AspectFoo.class))).thenReturn(new BaseLocalDAO.AspectEntry<AspectFoo>(null, null));
+
+    List<EntityAspectUnion> results = _dummyLocalDAO.addAll(urn, Collections.singletonList(foo), _dummyAuditStamp, null,
+        new IngestionParams().setIngestionMode(IngestionMode.LIVE).setTestMode(true));
+
+    assertEquals(results.size(), 1);
+    verifyNoMoreInteractions(_mockEventProducer);
+  }
+
   @Test
   public void testAtomicUpdateDisabledUsesMultipleTransactions() throws URISyntaxException {
     FooUrn urn = new FooUrn(1);
@@ -837,4 +932,26 @@ public class BaseLocalDAOTest {
     // invalid, should skip
     assertEquals(_dummyLocalDAO.aspectTimestampSkipWrite(null, null), false);
   }
+
+  @Test
+  public void testBackfillAllBackfillsEveryPage() throws URISyntaxException {
+    List<FooUrn> urns = new ArrayList<>();
+    for (int i = 1; i <= 5; i++) {
+      urns.add(new FooUrn(i));
+    }
+    DummyLocalDAO<EntityAspectUnion> dao = spy(_dummyLocalDAO);
+    doAnswer(invocation -> {
+      FooUrn lastUrn = invocation.getArgument(2);
+      int pageSize = invocation.getArgument(3);
+      int from = lastUrn == null ? 0 : urns.indexOf(lastUrn) + 1;
+      return new ArrayList<>(urns.subList(from, Math.min(from + pageSize, urns.size())));
+    }).when(dao).listUrns(any(IndexFilter.class), nullable(IndexSortCriterion.class), nullable(FooUrn.class), anyInt());
+
+    long backfilledCount =
+        dao.backfillAll(BackfillMode.BACKFILL_ALL, Collections.singleton(AspectFoo.class), FooUrn.class, null, 2);
+
+    assertEquals(backfilledCount, 5);
+    verify(dao, times(3)).backfill(eq(BackfillMode.BACKFILL_ALL), anySet(), anySet());
+    verify(dao).listUrns(any(IndexFilter.class), nullable(IndexSortCriterion.class), eq(urns.get(3)), eq(2));
+  }
 }
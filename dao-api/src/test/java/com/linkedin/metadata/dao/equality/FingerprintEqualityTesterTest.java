@@ -0,0 +1,30 @@
+package com.linkedin.metadata.dao.equality;
+
+import com.linkedin.metadata.dao.utils.AspectFingerprint;
+import com.linkedin.testing.AspectFoo;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class FingerprintEqualityTesterTest {
+
+  @Test
+  public void testMatches() {
+    FingerprintEqualityTester<AspectFoo> tester = FingerprintEqualityTester.newInstance();
+    String fingerprint = AspectFingerprint.of(new AspectFoo().setValue("foo"));
+
+    assertTrue(tester.matches(fingerprint, new AspectFoo().setValue("foo")));
+    assertFalse(tester.matches(fingerprint, new AspectFoo().setValue("bar")));
+    // nothing to match without a stored fingerprint
+    assertFalse(tester.matches(null, new AspectFoo().setValue("foo")));
+  }
+
+  @Test
+  public void testEqualsComparesValues() {
+    FingerprintEqualityTester<AspectFoo> tester = FingerprintEqualityTester.newInstance();
+
+    assertTrue(tester.equals(new AspectFoo().setValue("foo"), new AspectFoo().setValue("foo")));
+    assertFalse(tester.equals(new AspectFoo().setValue("foo"), new AspectFoo().setValue("bar")));
+  }
+}
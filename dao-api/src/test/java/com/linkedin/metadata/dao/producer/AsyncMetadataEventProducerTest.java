@@ -0,0 +1,180 @@
+package com.linkedin.metadata.dao.producer;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.events.IngestionTrackingContext;
+import com.linkedin.mxe.TopicConventionV5Impl;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.EntityAspectUnion;
+import com.linkedin.testing.EntitySnapshot;
+import com.linkedin.testing.urn.FooUrn;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.testing.TestUtils.*;
+import static org.testng.Assert.*;
+
+
+public class AsyncMetadataEventProducerTest {
+
+  private InMemoryMetadataEventProducer<EntitySnapshot, EntityAspectUnion, FooUrn> _delegate;
+
+  @BeforeMethod
+  public void setup() {
+    _delegate = new InMemoryMetadataEventProducer<>(EntitySnapshot.class, EntityAspectUnion.class, 0, true);
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    TopicConventionV5Impl convention = new TopicConventionV5Impl();
+    assertThrows(IllegalArgumentException.class, () -> new AsyncMetadataEventProducer<>(_delegate, convention, 0, 1, 1, 0));
+    assertThrows(IllegalArgumentException.class, () -> new AsyncMetadataEventProducer<>(_delegate, convention, 1, 0, 1, 0));
+    assertThrows(IllegalArgumentException.class, () -> new AsyncMetadataEventProducer<>(_delegate, convention, 1, 1, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> new AsyncMetadataEventProducer<>(_delegate, convention, 1, 1, 1, -1));
+  }
+
+  @Test
+  public void testEventsOfUrnAreProducedInOrderOffTheCallerThread() throws InterruptedException {
+    AsyncMetadataEventProducer<EntitySnapshot, EntityAspectUnion, FooUrn> producer =
+        new AsyncMetadataEventProducer<>(_delegate, new TopicConventionV5Impl(), 4, 100, 10, 5);
+    FooUrn urn = makeFooUrn(1);
+
+    for (int i = 0; i < 50; i++) {
+      producer.produceAspectSpecificMetadataAuditEvent(urn, null, new AspectFoo().setValue("foo" + i), AspectFoo.class,
+          null, null);
+    }
+
+    assertTrue(producer.close(10, TimeUnit.SECONDS));
+    List<InMemoryMetadataEventProducer.ProducedEvent> events = _delegate.getEvents();
+    assertEquals(events.size(), 50);
+    for (int i = 0; i < 50; i++) {
+      assertEquals(((AspectFoo) events.get(i).getNewValue()).getValue(), "foo" + i);
+      assertNotSame(events.get(i).getThread(), Thread.currentThread());
+    }
+    AsyncMetadataEventProducer.Stats stats = producer.getStats();
+    assertEquals(stats.getQueueDepth(), 0);
+    assertEquals(stats.getProducedCount(), 50);
+    assertTrue(stats.getFlushCount() >= 5);
+  }
+
+  @Test
+  public void testBatchIsGroupedByTopic() throws InterruptedException {
+    // a single thread lingering long enough to flush all events at once
+    AsyncMetadataEventProducer<EntitySnapshot, EntityAspectUnion, FooUrn> producer =
+        new AsyncMetadataEventProducer<>(_delegate, new TopicConventionV5Impl(), 1, 100, 4, TimeUnit.SECONDS.toMillis(10));
+    FooUrn urn = makeFooUrn(1);
+    AspectFoo foo1 = new AspectFoo().setValue("foo1");
+    AspectBar bar = new AspectBar().setValue("bar");
+    AspectFoo foo2 = new AspectFoo().setValue("foo2");
+
+    producer.produceAspectSpecificMetadataAuditEvent(urn, null, foo1, AspectFoo.class, null, null);
+    producer.produceAspectSpecificMetadataAuditEvent(urn, null, bar, AspectBar.class, null, null);
+    producer.produceAspectSpecificMetadataAuditEvent(urn, foo1, foo2, AspectFoo.class, null, null);
+    producer.produceMetadataAuditEvent(urn, null, bar);
+
+    assertTrue(producer.close(10, TimeUnit.SECONDS));
+    assertEquals(_delegate.getEvents().stream().map(InMemoryMetadataEventProducer.ProducedEvent::getNewValue)
+        .collect(Collectors.toList()), Arrays.asList(foo1, foo2, bar, bar));
+    assertEquals(producer.getStats().getFlushCount(), 1);
+  }
+
+  @Test
+  public void testFailuresAreCounted() throws InterruptedException {
+    InMemoryMetadataEventProducer<EntitySnapshot, EntityAspectUnion, FooUrn> failingDelegate =
+        new InMemoryMetadataEventProducer<EntitySnapshot, EntityAspectUnion, FooUrn>(EntitySnapshot.class,
+            EntityAspectUnion.class, 0, true) {
+          @Override
+          public <ASPECT extends RecordTemplate> void produceMetadataAuditEvent(@Nonnull FooUrn urn,
+              @Nullable ASPECT oldValue, @Nullable ASPECT newValue) {
+            throw new IllegalStateException("produce failed");
+          }
+        };
+    AsyncMetadataEventProducer<EntitySnapshot, EntityAspectUnion, FooUrn> producer =
+        new AsyncMetadataEventProducer<>(failingDelegate, new TopicConventionV5Impl(), 1, 10, 10, 0);
+
+    producer.produceMetadataAuditEvent(makeFooUrn(1), null, new AspectFoo().setValue("foo"));
+    producer.produceAspectSpecificMetadataAuditEvent(makeFooUrn(1), null, new AspectFoo().setValue("foo"),
+        AspectFoo.class, null, null);
+
+    assertTrue(producer.close(10, TimeUnit.SECONDS));
+    assertEquals(producer.getStats().getFailedCount(), 1);
+    assertEquals(producer.getStats().getProducedCount(), 1);
+    assertEquals(failingDelegate.getProducedCount(), 1);
+  }
+
+  @Test
+  public void testTrackingContextIsCopied() throws InterruptedException {
+    // lingers long enough for the tracking context to be changed before the event is produced
+    AsyncMetadataEventProducer<EntitySnapshot, EntityAspectUnion, FooUrn> producer =
+        new AsyncMetadataEventProducer<>(_delegate, new TopicConventionV5Impl(), 1, 10, 10, TimeUnit.SECONDS.toMillis(10));
+    IngestionTrackingContext trackingContext = new IngestionTrackingContext().setBackfill(true);
+
+    producer.produceAspectSpecificMetadataAuditEvent(makeFooUrn(1), null, new AspectFoo().setValue("foo"),
+        AspectFoo.class, null, trackingContext, null);
+    trackingContext.setBackfill(false);
+
+    assertTrue(producer.close(10, TimeUnit.SECONDS));
+    assertTrue(_delegate.getEvents().get(0).getTrackingContext().isBackfill());
+  }
+
+  @Test
+  public void testAspectValuesAreCopied() throws InterruptedException {
+    // lingers long enough for the values to be changed before the event is produced
+    AsyncMetadataEventProducer<EntitySnapshot, EntityAspectUnion, FooUrn> producer =
+        new AsyncMetadataEventProducer<>(_delegate, new TopicConventionV5Impl(), 1, 10, 10, TimeUnit.SECONDS.toMillis(10));
+    AspectFoo oldValue = new AspectFoo().setValue("foo");
+    AspectFoo newValue = new AspectFoo().setValue("bar");
+
+    producer.produceAspectSpecificMetadataAuditEvent(makeFooUrn(1), oldValue, newValue, AspectFoo.class, null, null);
+    oldValue.setValue("changed");
+    newValue.setValue("changed");
+
+    assertTrue(producer.close(10, TimeUnit.SECONDS));
+    assertEquals(_delegate.getEvents().get(0).getOldValue(), new AspectFoo().setValue("foo"));
+    assertEquals(_delegate.getEvents().get(0).getNewValue(), new AspectFoo().setValue("bar"));
+  }
+
+  @Test
+  public void testEventsAfterCloseAreProducedRightAway() throws InterruptedException {
+    AsyncMetadataEventProducer<EntitySnapshot, EntityAspectUnion, FooUrn> producer =
+        new AsyncMetadataEventProducer<>(_delegate, new TopicConventionV5Impl(), 1, 10, 10, 0);
+    assertTrue(producer.close(10, TimeUnit.SECONDS));
+
+    producer.produceMetadataAuditEvent(makeFooUrn(1), null, new AspectFoo().setValue("foo"));
+
+    assertEquals(_delegate.getProducedCount(), 1);
+    assertSame(_delegate.getEvents().get(0).getThread(), Thread.currentThread());
+  }
+
+  @Test
+  public void testInterruptedFlusherKeepsProducing() throws InterruptedException {
+    AsyncMetadataEventProducer<EntitySnapshot, EntityAspectUnion, FooUrn> producer =
+        new AsyncMetadataEventProducer<>(_delegate, new TopicConventionV5Impl(), 1, 10, 10, 0);
+    FooUrn urn = makeFooUrn(1);
+    producer.produceMetadataAuditEvent(urn, null, new AspectFoo().setValue("foo"));
+    awaitProducedCount(1);
+    Thread flusher = _delegate.getEvents().get(0).getThread();
+
+    flusher.interrupt();
+    producer.produceMetadataAuditEvent(urn, null, new AspectFoo().setValue("bar"));
+
+    // produced by the same thread, before the producer is closed
+    awaitProducedCount(2);
+    assertSame(_delegate.getEvents().get(1).getThread(), flusher);
+    assertTrue(producer.close(10, TimeUnit.SECONDS));
+  }
+
+  private void awaitProducedCount(int count) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (_delegate.getProducedCount() < count && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(_delegate.getProducedCount(), count);
+  }
+}
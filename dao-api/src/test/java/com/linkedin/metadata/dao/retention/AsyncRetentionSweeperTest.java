@@ -0,0 +1,134 @@
+package com.linkedin.metadata.dao.retention;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.urn.FooUrn;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+import static com.linkedin.testing.TestUtils.*;
+import static org.testng.Assert.*;
+
+
+public class AsyncRetentionSweeperTest {
+
+  // long enough for tests to sweep explicitly
+  private static final long SWEEP_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+  private static class RecordingApplier implements AsyncRetentionSweeper.BatchApplier<FooUrn> {
+    private final List<Class<? extends RecordTemplate>> _aspectClasses = new ArrayList<>();
+    private final List<Map<FooUrn, Long>> _batches = new ArrayList<>();
+    private int _failuresLeft = 0;
+
+    @Override
+    public void apply(Class<? extends RecordTemplate> aspectClass, Map<FooUrn, Long> largestVersions) {
+      if (_failuresLeft > 0) {
+        _failuresLeft--;
+        throw new IllegalStateException("retention failed");
+      }
+      _aspectClasses.add(aspectClass);
+      _batches.add(new HashMap<>(largestVersions));
+    }
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new AsyncRetentionSweeper<FooUrn>((a, v) -> { }, 0, 1, 1));
+    assertThrows(IllegalArgumentException.class, () -> new AsyncRetentionSweeper<FooUrn>((a, v) -> { }, 1, 0, 1));
+    assertThrows(IllegalArgumentException.class, () -> new AsyncRetentionSweeper<FooUrn>((a, v) -> { }, 1, 1, 0));
+  }
+
+  @Test
+  public void testEntriesAreCoalesced() {
+    RecordingApplier applier = new RecordingApplier();
+    try (AsyncRetentionSweeper<FooUrn> sweeper = new AsyncRetentionSweeper<>(applier, 10, 10, SWEEP_INTERVAL)) {
+      assertTrue(sweeper.enqueue(AspectFoo.class, makeFooUrn(1), 3));
+      assertTrue(sweeper.enqueue(AspectFoo.class, makeFooUrn(1), 5));
+      assertTrue(sweeper.enqueue(AspectFoo.class, makeFooUrn(1), 4));
+      assertTrue(sweeper.enqueue(AspectBar.class, makeFooUrn(1), 1));
+      assertEquals(sweeper.getStats().getBacklog(), 2);
+
+      sweeper.sweep();
+
+      assertEquals(sweeper.getStats().getBacklog(), 0);
+      assertEquals(sweeper.getStats().getSweptCount(), 2);
+      Map<FooUrn, Long> fooBatch = applier._batches.get(applier._aspectClasses.indexOf(AspectFoo.class));
+      assertEquals(fooBatch.get(makeFooUrn(1)).longValue(), 5L);
+    }
+  }
+
+  @Test
+  public void testBatchesAreBounded() {
+    RecordingApplier applier = new RecordingApplier();
+    try (AsyncRetentionSweeper<FooUrn> sweeper = new AsyncRetentionSweeper<>(applier, 10, 2, SWEEP_INTERVAL)) {
+      for (int i = 0; i < 5; i++) {
+        sweeper.enqueue(AspectFoo.class, makeFooUrn(i), 1);
+      }
+
+      sweeper.sweep();
+
+      assertEquals(applier._batches.size(), 3);
+      applier._batches.forEach(batch -> assertTrue(batch.size() <= 2));
+    }
+  }
+
+  @Test
+  public void testFullBacklogRejectsNewEntries() {
+    RecordingApplier applier = new RecordingApplier();
+    try (AsyncRetentionSweeper<FooUrn> sweeper = new AsyncRetentionSweeper<>(applier, 1, 10, SWEEP_INTERVAL)) {
+      assertTrue(sweeper.enqueue(AspectFoo.class, makeFooUrn(1), 1));
+      // coalescing into a pending entry is still accepted
+      assertTrue(sweeper.enqueue(AspectFoo.class, makeFooUrn(1), 2));
+      assertFalse(sweeper.enqueue(AspectFoo.class, makeFooUrn(2), 1));
+      assertEquals(sweeper.getStats().getRejectedCount(), 1);
+    }
+  }
+
+  @Test
+  public void testFailedBatchIsRetried() {
+    RecordingApplier applier = new RecordingApplier();
+    applier._failuresLeft = 1;
+    try (AsyncRetentionSweeper<FooUrn> sweeper = new AsyncRetentionSweeper<>(applier, 10, 10, SWEEP_INTERVAL)) {
+      sweeper.enqueue(AspectFoo.class, makeFooUrn(1), 1);
+
+      sweeper.sweep();
+      assertEquals(sweeper.getStats().getFailedCount(), 1);
+      assertEquals(sweeper.getStats().getBacklog(), 1);
+
+      sweeper.sweep();
+      assertEquals(sweeper.getStats().getSweptCount(), 1);
+      assertEquals(sweeper.getStats().getBacklog(), 0);
+    }
+  }
+
+  @Test
+  public void testCloseDrainsBacklog() {
+    RecordingApplier applier = new RecordingApplier();
+    AsyncRetentionSweeper<FooUrn> sweeper = new AsyncRetentionSweeper<>(applier, 10, 10, SWEEP_INTERVAL);
+    sweeper.enqueue(AspectFoo.class, makeFooUrn(1), 1);
+
+    sweeper.close();
+
+    assertEquals(applier._batches.size(), 1);
+    assertFalse(sweeper.enqueue(AspectFoo.class, makeFooUrn(2), 1));
+  }
+
+  @Test
+  public void testFailedBatchIsDroppedOnClose() {
+    RecordingApplier applier = new RecordingApplier();
+    applier._failuresLeft = 1;
+    AsyncRetentionSweeper<FooUrn> sweeper = new AsyncRetentionSweeper<>(applier, 10, 10, SWEEP_INTERVAL);
+    sweeper.enqueue(AspectFoo.class, makeFooUrn(1), 1);
+
+    sweeper.close();
+
+    assertEquals(sweeper.getStats().getFailedCount(), 1);
+    assertEquals(sweeper.getStats().getDroppedCount(), 1);
+    assertEquals(sweeper.getStats().getBacklog(), 0);
+  }
+}
@@ -0,0 +1,61 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.testing.AspectBaz;
+import com.linkedin.testing.AspectFoo;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class AspectFingerprintTest {
+
+  @Test
+  public void testFingerprintIs128BitHex() {
+    String fingerprint = AspectFingerprint.of(new AspectFoo().setValue("foo"));
+
+    assertTrue(fingerprint.matches("[0-9a-f]{32}"));
+    assertEquals(AspectFingerprint.of(new AspectFoo().setValue("foo")), fingerprint);
+    assertNotEquals(AspectFingerprint.of(new AspectFoo().setValue("bar")), fingerprint);
+  }
+
+  @Test
+  public void testFingerprintIgnoresFieldOrder() {
+    DataMap map1 = new DataMap();
+    map1.put("a", "1");
+    map1.put("b", "2");
+    DataMap map2 = new DataMap();
+    map2.put("b", "2");
+    map2.put("a", "1");
+
+    assertEquals(AspectFingerprint.of(map1), AspectFingerprint.of(map2));
+  }
+
+  @Test
+  public void testFingerprintTellsStructureApart() {
+    DataMap map1 = new DataMap();
+    map1.put("a", "bc");
+    DataMap map2 = new DataMap();
+    map2.put("ab", "c");
+
+    assertNotEquals(AspectFingerprint.of(map1), AspectFingerprint.of(map2));
+    assertNotEquals(AspectFingerprint.of(new AspectBaz().setArrayField(new StringArray(Arrays.asList("1", "2")))),
+        AspectFingerprint.of(new AspectBaz().setArrayField(new StringArray(Arrays.asList("12")))));
+  }
+
+  @Test
+  public void testFingerprintOfSemanticallyEqualAspects() throws IOException, CloneNotSupportedException {
+    // "longField" is backed by Integer in DataMap when deserialized from JSON
+    AspectBaz fromJson = RecordUtils.toRecordTemplate(AspectBaz.class,
+        IOUtils.toString(ClassLoader.getSystemResourceAsStream("baz.json"), StandardCharsets.UTF_8));
+    AspectBaz cloned = fromJson.clone();
+    cloned.setLongField(1234L);
+
+    assertEquals(AspectFingerprint.of(cloned), AspectFingerprint.of(fromJson));
+  }
+}
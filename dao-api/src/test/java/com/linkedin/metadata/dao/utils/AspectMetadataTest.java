@@ -0,0 +1,25 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class AspectMetadataTest {
+
+  @Test
+  public void testCanonicalNameIsComputedOnce() {
+    assertSame(AspectMetadata.of(AspectFoo.class), AspectMetadata.of(AspectFoo.class));
+    assertEquals(AspectMetadata.of(AspectFoo.class).getCanonicalName(), AspectFoo.class.getCanonicalName());
+    assertSame(ModelUtils.getAspectName(AspectFoo.class), ModelUtils.getAspectName(AspectFoo.class));
+    assertEquals(ModelUtils.getAspectName(AspectBar.class), "com.linkedin.testing.AspectBar");
+  }
+
+  @Test
+  public void testClassWithoutCanonicalName() {
+    Object anonymous = new Object() { };
+    assertNull(AspectMetadata.of(anonymous.getClass()).getCanonicalName());
+  }
+}
@@ -0,0 +1,47 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.metadata.annotations.Mode;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectBaz;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.urn.BarUrn;
+import com.linkedin.testing.urn.FooUrn;
+import java.util.Collections;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class IngestionPolicyTest {
+
+  @Test
+  public void testCompilesAnnotationForUrnClass() {
+    IngestionPolicy policy = IngestionPolicy.of(AspectFoo.class, FooUrn.class);
+
+    assertEquals(policy.getMode(), Mode.FORCE_UPDATE);
+    assertTrue(policy.hasFilters());
+    // compiled once per (aspect class, urn class)
+    assertSame(IngestionPolicy.of(AspectFoo.class, FooUrn.class), policy);
+  }
+
+  @Test
+  public void testDefaultWithoutAnnotationForUrnClass() {
+    assertSame(IngestionPolicy.of(AspectFoo.class, BarUrn.class), IngestionPolicy.DEFAULT);
+    assertSame(IngestionPolicy.of(AspectBaz.class, FooUrn.class), IngestionPolicy.DEFAULT);
+    assertEquals(IngestionPolicy.DEFAULT.getMode(), Mode.DEFAULT);
+    assertFalse(IngestionPolicy.DEFAULT.hasFilters());
+  }
+
+  @Test
+  public void testMatchesAnyFilter() {
+    // AspectBar is forced for /fooId = 1 or /dummyId = 10
+    IngestionPolicy policy = IngestionPolicy.of(AspectBar.class, FooUrn.class);
+
+    assertTrue(policy.matchesAnyFilter(ImmutableMap.of("/fooId", 1)));
+    assertTrue(policy.matchesAnyFilter(ImmutableMap.of("/fooId", 2, "/dummyId", "10")));
+    assertFalse(policy.matchesAnyFilter(ImmutableMap.of("/fooId", 2)));
+    assertFalse(policy.matchesAnyFilter(Collections.emptyMap()));
+    assertFalse(IngestionPolicy.DEFAULT.matchesAnyFilter(ImmutableMap.of("/fooId", 1)));
+  }
+}
@@ -0,0 +1,84 @@
+package com.linkedin.metadata.dao.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class KeysetIteratorTest {
+
+  private List<Integer> _lastKeys;
+
+  @BeforeMethod
+  public void setup() {
+    _lastKeys = new ArrayList<>();
+  }
+
+  private KeysetIterator.PageFetcher<Integer, Integer> fetcherOf(int count) {
+    return (lastKey, pageSize) -> {
+      _lastKeys.add(lastKey);
+      return IntStream.range(lastKey == null ? 0 : lastKey + 1, count).limit(pageSize).boxed().collect(Collectors.toList());
+    };
+  }
+
+  @Test
+  public void testIteratesOverAllPages() {
+    List<Integer> values = KeysetIterator.stream(fetcherOf(7), Function.identity(), null, 3).collect(Collectors.toList());
+
+    assertEquals(values, IntStream.range(0, 7).boxed().collect(Collectors.toList()));
+    // the short third page ends the listing without fetching an empty page
+    assertEquals(_lastKeys, Arrays.asList(null, 2, 5));
+  }
+
+  @Test
+  public void testFetchesEmptyPageAfterFullLastPage() {
+    List<Integer> values = KeysetIterator.stream(fetcherOf(6), Function.identity(), null, 3).collect(Collectors.toList());
+
+    assertEquals(values.size(), 6);
+    assertEquals(_lastKeys, Arrays.asList(null, 2, 5));
+  }
+
+  @Test
+  public void testStartsAfterLastKey() {
+    List<Integer> values = KeysetIterator.stream(fetcherOf(7), Function.identity(), 4, 3).collect(Collectors.toList());
+
+    assertEquals(values, Arrays.asList(5, 6));
+  }
+
+  @Test
+  public void testFetchesPagesLazily() {
+    Iterator<Integer> iterator = new KeysetIterator<>(fetcherOf(100), Function.identity(), null, 10);
+    assertTrue(_lastKeys.isEmpty());
+
+    for (int i = 0; i < 10; i++) {
+      assertEquals(iterator.next().intValue(), i);
+    }
+    assertEquals(_lastKeys.size(), 1);
+
+    iterator.next();
+    assertEquals(_lastKeys.size(), 2);
+  }
+
+  @Test
+  public void testEmptyListing() {
+    Iterator<Integer> iterator = new KeysetIterator<>(fetcherOf(0), Function.identity(), null, 10);
+
+    assertFalse(iterator.hasNext());
+    assertThrows(NoSuchElementException.class, iterator::next);
+    assertEquals(_lastKeys.size(), 1);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNonPositivePageSize() {
+    new KeysetIterator<>(fetcherOf(1), Function.identity(), null, 0);
+  }
+}
@@ -0,0 +1,107 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.exception.ModelConversionException;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.urn.FooUrn;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import org.testng.annotations.Test;
+
+import static com.linkedin.testing.TestUtils.*;
+import static org.testng.Assert.*;
+
+
+public class TemplateFactoriesTest {
+
+  public static class ChildLoadedTemplate extends RecordTemplate {
+    public ChildLoadedTemplate(DataMap data) {
+      super(data, null);
+    }
+  }
+
+  // Defines its own copy of a class from the bytes visible to its parent, and delegates all other classes to the parent.
+  private static final class ChildFirstClassLoader extends ClassLoader {
+    private final String _className;
+
+    private ChildFirstClassLoader(String className) {
+      super(TemplateFactoriesTest.class.getClassLoader());
+      _className = className;
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      if (!name.equals(_className)) {
+        return super.loadClass(name, resolve);
+      }
+      synchronized (getClassLoadingLock(name)) {
+        Class<?> loaded = findLoadedClass(name);
+        if (loaded == null) {
+          try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+              bytes.write(buffer, 0, read);
+            }
+            loaded = defineClass(name, bytes.toByteArray(), 0, bytes.size());
+          } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+          }
+        }
+        return loaded;
+      }
+    }
+  }
+
+  @Test
+  public void testDataMapConstructor() {
+    DataMap dataMap = new DataMap();
+    dataMap.put("value", "foo");
+
+    AspectFoo aspect = TemplateFactories.dataMapConstructor(AspectFoo.class).apply(dataMap);
+
+    assertEquals(aspect, new AspectFoo().setValue("foo"));
+    assertSame(aspect.data(), dataMap);
+    assertSame(TemplateFactories.dataMapConstructor(AspectFoo.class), TemplateFactories.dataMapConstructor(AspectFoo.class));
+  }
+
+  @Test
+  public void testDataMapConstructorNotFound() {
+    assertThrows(ModelConversionException.class, () -> TemplateFactories.dataMapConstructor(RecordTemplate.class));
+  }
+
+  @Test
+  public void testUrnParser() {
+    assertEquals(TemplateFactories.urnParser(FooUrn.class).apply("urn:li:foo:1"), makeFooUrn(1));
+    assertEquals(TemplateFactories.urnParser(Urn.class).apply("urn:li:foo:1").getClass(), Urn.class);
+    assertSame(TemplateFactories.urnParser(FooUrn.class), TemplateFactories.urnParser(FooUrn.class));
+  }
+
+  @Test
+  public void testUrnParserRethrowsParseFailure() {
+    try {
+      TemplateFactories.urnParser(Urn.class).apply("not an urn");
+      fail("Expected the parser to throw");
+    } catch (Exception e) {
+      assertTrue(e instanceof URISyntaxException);
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testDataMapConstructorOfClassFromChildClassLoader() throws ClassNotFoundException {
+    Class<? extends RecordTemplate> childType = (Class<? extends RecordTemplate>)
+        new ChildFirstClassLoader(ChildLoadedTemplate.class.getName()).loadClass(ChildLoadedTemplate.class.getName());
+    assertNotSame(childType, ChildLoadedTemplate.class);
+    DataMap dataMap = new DataMap();
+
+    RecordTemplate template = TemplateFactories.dataMapConstructor(childType).apply(dataMap);
+
+    assertSame(template.getClass(), childType);
+    assertSame(template.data(), dataMap);
+  }
+}
@@ -0,0 +1,137 @@
+package com.linkedin.metadata.validator;
+
+import com.linkedin.data.schema.validation.CoercionMode;
+import com.linkedin.data.schema.validation.RequiredMode;
+import com.linkedin.data.schema.validation.UnrecognizedFieldMode;
+import com.linkedin.data.schema.validation.ValidateDataAgainstSchema;
+import com.linkedin.data.schema.validation.ValidationOptions;
+import com.linkedin.data.schema.validation.ValidationResult;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.testing.AspectBaz;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.AspectWithDefaultValue;
+import com.linkedin.testing.MixedRecord;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nullable;
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class CompiledRecordValidatorTest {
+
+  /**
+   * Validates the JSON as the record class with the compiled and the generic validator, asserting that they yield the
+   * same errors and leave the same data.
+   */
+  @Nullable
+  private static String assertSameAsGeneric(Class<? extends RecordTemplate> recordClass, RequiredMode requiredMode,
+      String json) {
+    RecordTemplate compiled = RecordUtils.toRecordTemplate(recordClass, json);
+    RecordTemplate generic = RecordUtils.toRecordTemplate(recordClass, json);
+
+    String errors = CompiledRecordValidator.of(recordClass, requiredMode).validate(compiled);
+    ValidationResult result = ValidateDataAgainstSchema.validate(generic,
+        new ValidationOptions(requiredMode, CoercionMode.NORMAL, UnrecognizedFieldMode.DISALLOW));
+
+    assertEquals(errors, result.isValid() ? null : result.getMessages().toString());
+    assertEquals(compiled.data(), generic.data());
+    return errors;
+  }
+
+  @Test
+  public void testFillsInDefaults() {
+    String json = "{\"nestedValueWithDefault\": {}}";
+
+    assertNull(assertSameAsGeneric(AspectWithDefaultValue.class, RequiredMode.FIXUP_ABSENT_WITH_DEFAULT, json));
+
+    AspectWithDefaultValue aspect = RecordUtils.toRecordTemplate(AspectWithDefaultValue.class, json);
+    CompiledRecordValidator.of(AspectWithDefaultValue.class, RequiredMode.FIXUP_ABSENT_WITH_DEFAULT).validate(aspect);
+    assertEquals(aspect.getValueWithDefault(), "");
+    assertEquals(aspect.getNestedValueWithDefault().getMapValueWithDefaultmap().size(), 0);
+    // optional fields aren't filled in
+    assertFalse(aspect.data().containsKey("optionalValueWithDefualt"));
+  }
+
+  @Test
+  public void testDoesNotFillInDefaultsIfAbsentFieldsCanBe() {
+    String json = "{\"nestedValueWithDefault\": {}}";
+
+    assertNull(assertSameAsGeneric(AspectWithDefaultValue.class, RequiredMode.CAN_BE_ABSENT_IF_HAS_DEFAULT, json));
+
+    AspectWithDefaultValue aspect = RecordUtils.toRecordTemplate(AspectWithDefaultValue.class, json);
+    CompiledRecordValidator.of(AspectWithDefaultValue.class, RequiredMode.CAN_BE_ABSENT_IF_HAS_DEFAULT).validate(aspect);
+    assertEquals(aspect.data(), RecordUtils.toDataMap(json));
+  }
+
+  @Test
+  public void testRequiredFieldWithoutDefault() {
+    // nestedValueWithDefault has no default, the defaults of other fields are filled in as the generic validator does
+    assertNotNull(assertSameAsGeneric(AspectWithDefaultValue.class, RequiredMode.FIXUP_ABSENT_WITH_DEFAULT, "{}"));
+    assertNotNull(assertSameAsGeneric(AspectFoo.class, RequiredMode.CAN_BE_ABSENT_IF_HAS_DEFAULT, "{}"));
+  }
+
+  @Test
+  public void testInvalidValues() {
+    assertNotNull(assertSameAsGeneric(AspectFoo.class, RequiredMode.FIXUP_ABSENT_WITH_DEFAULT,
+        "{\"value\": \"foo\", \"unknown\": 1}"));
+    assertNotNull(assertSameAsGeneric(AspectFoo.class, RequiredMode.FIXUP_ABSENT_WITH_DEFAULT, "{\"value\": 1}"));
+    assertNotNull(assertSameAsGeneric(AspectBaz.class, RequiredMode.CAN_BE_ABSENT_IF_HAS_DEFAULT,
+        "{\"enumField\": \"HUGE\"}"));
+    assertNotNull(assertSameAsGeneric(MixedRecord.class, RequiredMode.FIXUP_ABSENT_WITH_DEFAULT,
+        "{\"recordUnionAlias\": {\"baz\": {\"value\": \"baz\"}}}"));
+    assertNotNull(assertSameAsGeneric(MixedRecord.class, RequiredMode.FIXUP_ABSENT_WITH_DEFAULT,
+        "{\"stringArray\": [\"a\", 1]}"));
+  }
+
+  @Test
+  public void testCoercesAsGeneric() throws IOException {
+    // "longField" is backed by Integer in DataMap when deserialized from JSON, which the generic validator coerces
+    String json = IOUtils.toString(ClassLoader.getSystemResourceAsStream("baz.json"), StandardCharsets.UTF_8);
+
+    assertSameAsGeneric(AspectBaz.class, RequiredMode.CAN_BE_ABSENT_IF_HAS_DEFAULT, json);
+    assertSameAsGeneric(AspectBaz.class, RequiredMode.FIXUP_ABSENT_WITH_DEFAULT, json);
+  }
+
+  @Test
+  public void testNestedTypes() {
+    String json = "{\"value\": \"value\", \"flag\": true, \"recordField\": {\"value\": \"foo\"}, "
+        + "\"stringArray\": [\"a\", \"b\"], \"recordArray\": [{\"value\": \"foo\"}], "
+        + "\"unionArray\": [{\"string\": \"a\"}], \"fooUrn\": \"urn:li:foo:1\", \"intTypeRef\": 1, "
+        + "\"recordTypeRef\": {\"value\": \"foo\"}, \"primitiveUnion\": {\"string\": \"a\"}, "
+        + "\"recordUnion\": {\"com.linkedin.testing.AspectFoo\": {\"value\": \"foo\"}}, "
+        + "\"recordUnionAlias\": {\"bar\": {\"value\": \"bar\"}}}";
+
+    assertNull(assertSameAsGeneric(MixedRecord.class, RequiredMode.FIXUP_ABSENT_WITH_DEFAULT, json));
+
+    MixedRecord record = RecordUtils.toRecordTemplate(MixedRecord.class, json);
+    CompiledRecordValidator.of(MixedRecord.class, RequiredMode.FIXUP_ABSENT_WITH_DEFAULT).validate(record);
+    assertEquals(record.getDefaultField(), "defaultVal");
+  }
+
+  @Test
+  public void testReadOnlyData() {
+    AspectWithDefaultValue compiled =
+        RecordUtils.toRecordTemplate(AspectWithDefaultValue.class, "{\"nestedValueWithDefault\": {}}");
+    compiled.data().makeReadOnly();
+
+    String errors = CompiledRecordValidator.of(AspectWithDefaultValue.class, RequiredMode.FIXUP_ABSENT_WITH_DEFAULT)
+        .validate(compiled);
+
+    assertNotNull(errors);
+    assertEquals(compiled.data(), RecordUtils.toDataMap("{\"nestedValueWithDefault\": {}}"));
+  }
+
+  @Test
+  public void testCachedPerClass() {
+    assertSame(CompiledRecordValidator.of(AspectFoo.class, RequiredMode.FIXUP_ABSENT_WITH_DEFAULT),
+        CompiledRecordValidator.of(AspectFoo.class, RequiredMode.FIXUP_ABSENT_WITH_DEFAULT));
+    assertNotSame(CompiledRecordValidator.of(AspectFoo.class, RequiredMode.FIXUP_ABSENT_WITH_DEFAULT),
+        CompiledRecordValidator.of(AspectFoo.class, RequiredMode.CAN_BE_ABSENT_IF_HAS_DEFAULT));
+    assertThrows(IllegalArgumentException.class,
+        () -> CompiledRecordValidator.of(AspectFoo.class, RequiredMode.MUST_BE_PRESENT));
+  }
+}
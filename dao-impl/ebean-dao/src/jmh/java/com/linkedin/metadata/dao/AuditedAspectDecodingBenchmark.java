@@ -0,0 +1,88 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.data.template.StringArray;
+import com.linkedin.metadata.aspect.AuditedAspect;
+import com.linkedin.metadata.aspect.SoftDeletedAspect;
+import com.linkedin.metadata.dao.utils.AuditedAspectJsonReader;
+import com.linkedin.metadata.dao.utils.AuditedAspectJsonWriter;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.MixedRecord;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Compares reading an aspect out of an entity table column the way it was done before, parsing the column value as a
+ * {@link SoftDeletedAspect}, as an {@link AuditedAspect}, with json-simple to extract the aspect JSON and once more to
+ * build the aspect, against a single pass of {@link AuditedAspectJsonReader}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditedAspectDecodingBenchmark {
+
+  // approximate serialized size of the aspect in bytes
+  @Param({"1024", "10240", "102400"})
+  public int aspectSize;
+
+  private String _columnValue;
+
+  @Setup
+  public void setup() {
+    final List<String> strings = new ArrayList<>();
+    int size = 0;
+    while (size < aspectSize) {
+      final String string = "urn:li:corpuser:member" + strings.size();
+      strings.add(string);
+      size += string.length() + 3;
+    }
+    final MixedRecord aspect = new MixedRecord().setValue("value")
+        .setFlag(true)
+        .setRecordField(new AspectFoo().setValue("foo"))
+        .setStringArray(new StringArray(strings));
+    final AuditedAspect auditFields = new AuditedAspect().setCanonicalName(MixedRecord.class.getCanonicalName())
+        .setLastmodifiedon("2026-01-01 00:00:00.0")
+        .setLastmodifiedby("urn:li:corpuser:tester");
+    _columnValue = AuditedAspectJsonWriter.toJsonString(auditFields, aspect);
+  }
+
+  @Benchmark
+  public MixedRecord multiplePasses() throws Exception {
+    final SoftDeletedAspect softDeleted = RecordUtils.toRecordTemplate(SoftDeletedAspect.class, _columnValue);
+    if (softDeleted.hasGma_deleted() && softDeleted.isGma_deleted()) {
+      return null;
+    }
+    final AuditedAspect auditedAspect = RecordUtils.toRecordTemplate(AuditedAspect.class, _columnValue);
+    auditedAspect.getLastmodifiedby();
+    final String aspectJson = ((JSONObject) new JSONParser().parse(_columnValue)).get("aspect").toString();
+    return RecordUtils.toRecordTemplate(MixedRecord.class, aspectJson);
+  }
+
+  @Benchmark
+  public MixedRecord singlePass() {
+    final AuditedAspectJsonReader.DecodedAspect decoded = AuditedAspectJsonReader.read(_columnValue, true);
+    if (decoded.isSoftDeleted()) {
+      return null;
+    }
+    decoded.getLastmodifiedby();
+    return RecordUtils.toRecordTemplate(MixedRecord.class, decoded.getAspect());
+  }
+}
@@ -0,0 +1,71 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.data.template.StringArray;
+import com.linkedin.metadata.aspect.AuditedAspect;
+import com.linkedin.metadata.dao.utils.AuditedAspectJsonWriter;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.MixedRecord;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Compares serializing the audited aspect JSON of an entity table write by splicing the aspect string into the
+ * serialized wrapper against streaming both with {@link AuditedAspectJsonWriter}. Run with the GC profiler to see the
+ * allocation per write, e.g. {@code -PjmhArgs='AuditedAspectSerializationBenchmark -prof gc'}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditedAspectSerializationBenchmark {
+
+  // number of strings in the array field of the aspect, scaling its serialized size
+  @Param({"1", "100"})
+  public int arraySize;
+
+  private MixedRecord _aspect;
+
+  @Setup
+  public void setup() {
+    final List<String> strings = new ArrayList<>(arraySize);
+    for (int i = 0; i < arraySize; i++) {
+      strings.add("urn:li:corpuser:member" + i);
+    }
+    _aspect = new MixedRecord().setValue("value")
+        .setFlag(true)
+        .setRecordField(new AspectFoo().setValue("foo"))
+        .setStringArray(new StringArray(strings));
+  }
+
+  @Benchmark
+  public String placeholderSplice() {
+    return EbeanLocalAccess.toJsonString(makeAuditFields().setAspect(RecordUtils.toJsonString(_aspect)));
+  }
+
+  @Benchmark
+  public String streamingWriter() {
+    return AuditedAspectJsonWriter.toJsonString(makeAuditFields(), _aspect);
+  }
+
+  private static AuditedAspect makeAuditFields() {
+    return new AuditedAspect().setCanonicalName(MixedRecord.class.getCanonicalName())
+        .setLastmodifiedon("2026-01-01 00:00:00.0")
+        .setLastmodifiedby("urn:li:corpuser:tester");
+  }
+}
@@ -0,0 +1,86 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.EbeanLocalDAO.RecordKey;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.urn.FooUrn;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.linkedin.testing.TestUtils.*;
+
+
+/**
+ * Measures the cost of matching the rows returned by a batch get back to the requested {@link AspectKey}s, comparing
+ * the keyed lookup used by {@link EbeanLocalDAO#get(Set)} against the previous linear scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchGetAssemblyBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int keyCount;
+
+  private Set<AspectKey<FooUrn, ? extends RecordTemplate>> _keys;
+  private List<EbeanMetadataAspect> _records;
+
+  @Setup
+  public void setup() {
+    _keys = new LinkedHashSet<>();
+    _records = new ArrayList<>();
+    final String aspectName = ModelUtils.getAspectName(AspectFoo.class);
+    for (int i = 0; i < keyCount; i++) {
+      final FooUrn urn = makeFooUrn(i);
+      _keys.add(new AspectKey<>(AspectFoo.class, urn, 0L));
+
+      final EbeanMetadataAspect record = new EbeanMetadataAspect();
+      record.setKey(new EbeanMetadataAspect.PrimaryKey(urn.toString(), aspectName, 0L));
+      record.setMetadata(RecordUtils.toJsonString(new AspectFoo().setValue("foo" + i)));
+      _records.add(record);
+    }
+    // rows do not come back in request order
+    Collections.shuffle(_records);
+  }
+
+  @Benchmark
+  public Map<AspectKey<FooUrn, ? extends RecordTemplate>, Optional<EbeanMetadataAspect>> indexedLookup() {
+    final Map<RecordKey, EbeanMetadataAspect> recordsByKey = EbeanLocalDAO.indexRecordsByKey(_records);
+    return _keys.stream()
+        .collect(Collectors.toMap(Function.identity(), key -> EbeanLocalDAO.findRecord(recordsByKey, key)));
+  }
+
+  @Benchmark
+  public Map<AspectKey<FooUrn, ? extends RecordTemplate>, Optional<EbeanMetadataAspect>> linearScan() {
+    return _keys.stream()
+        .collect(Collectors.toMap(Function.identity(), key -> _records.stream()
+            .filter(record -> key.getUrn().toString().equalsIgnoreCase(record.getKey().getUrn())
+                && key.getVersion() == record.getKey().getVersion()
+                && ModelUtils.getAspectName(key.getAspectClass()).equals(record.getKey().getAspect()))
+            .findFirst()));
+  }
+}
@@ -0,0 +1,112 @@
+package com.linkedin.metadata.dao;
+
+import com.google.common.io.Resources;
+import com.linkedin.metadata.dao.utils.EmbeddedMariaInstance;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.testing.AspectFoo;
+import io.ebean.EbeanServer;
+import io.ebean.Query;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.linkedin.testing.TestUtils.*;
+
+
+/**
+ * Measures batch gets against metadata_aspect on an embedded MariaDB, comparing statements padded to a few fixed
+ * shapes, as issued by {@link EbeanLocalDAO#get(java.util.Set)}, against statements sized to the exact key count as
+ * issued before. Each invocation requests a different number of keys, up to {@code maxKeyCount}, as real traffic does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchGetStatementShapeBenchmark {
+
+  private static final String ASPECT_NAME = ModelUtils.getAspectName(AspectFoo.class);
+
+  @Param({"8", "50"})
+  public int maxKeyCount;
+
+  private EbeanServer _server;
+  private List<String> _urns;
+  private int _nextKeyCount;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    _server = EmbeddedMariaInstance.getServer(BatchGetStatementShapeBenchmark.class.getSimpleName());
+    _server.execute(_server.createSqlUpdate(
+        Resources.toString(Resources.getResource("gma-drop-all.sql"), StandardCharsets.UTF_8)));
+    _server.execute(_server.createSqlUpdate(
+        Resources.toString(Resources.getResource("gma-create-all.sql"), StandardCharsets.UTF_8)));
+
+    _urns = new ArrayList<>();
+    for (int i = 0; i < maxKeyCount; i++) {
+      final String urn = makeFooUrn(i).toString();
+      _urns.add(urn);
+
+      final EbeanMetadataAspect record = new EbeanMetadataAspect();
+      record.setKey(new EbeanMetadataAspect.PrimaryKey(urn, ASPECT_NAME, 0L));
+      record.setMetadata(RecordUtils.toJsonString(new AspectFoo().setValue("foo" + i)));
+      record.setCreatedOn(new Timestamp(0));
+      record.setCreatedBy("urn:li:test:foo");
+      _server.insert(record);
+    }
+  }
+
+  private int nextKeyCount() {
+    _nextKeyCount = _nextKeyCount % maxKeyCount + 1;
+    return _nextKeyCount;
+  }
+
+  @Benchmark
+  public List<EbeanMetadataAspect> paddedStatement() {
+    final int keyCount = nextKeyCount();
+    final int statementSize = EbeanLocalDAO.getBatchGetStatementSize(keyCount);
+    final Query<EbeanMetadataAspect> query =
+        _server.findNative(EbeanMetadataAspect.class, EbeanLocalDAO.getBatchGetUnionSql(statementSize));
+    int param = 1;
+    for (int i = 0; i < statementSize; i++) {
+      query.setParameter(param++, i < keyCount ? _urns.get(i) : "");
+      query.setParameter(param++, i < keyCount ? ASPECT_NAME : "");
+      query.setParameter(param++, i < keyCount ? 0L : -1L);
+    }
+    return query.findList();
+  }
+
+  @Benchmark
+  public List<EbeanMetadataAspect> exactSizeStatement() {
+    final int keyCount = nextKeyCount();
+    final String select = "(SELECT t.urn, t.aspect, t.version, t.metadata, t.createdOn, t.createdBy, t.createdFor "
+        + "FROM metadata_aspect t WHERE urn = ? AND aspect = ? AND version = ? ORDER BY t.createdOn DESC LIMIT 1)";
+    final Query<EbeanMetadataAspect> query =
+        _server.findNative(EbeanMetadataAspect.class, String.join(" UNION ALL ", Collections.nCopies(keyCount, select)));
+    int param = 1;
+    for (int i = 0; i < keyCount; i++) {
+      query.setParameter(param++, _urns.get(i));
+      query.setParameter(param++, ASPECT_NAME);
+      query.setParameter(param++, 0L);
+    }
+    return query.findList();
+  }
+}
@@ -0,0 +1,54 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.metadata.dao.utils.ETagUtils;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures an eTag round trip, encrypting a timestamp and decrypting it back, looking up a cipher and building the key
+ * on every call as was done before, against the per-thread ciphers that {@link ETagUtils} now reuses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ETagRoundTripBenchmark {
+
+  // same key as ETagUtils
+  private static final String SECRET_KEY = "9012312344567856";
+
+  private long _timestamp = 1750796203701L;
+
+  @Benchmark
+  public long cipherPerCall() throws Exception {
+    final Cipher encryptCipher = Cipher.getInstance(ETagUtils.AES);
+    encryptCipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(SECRET_KEY.getBytes(), ETagUtils.AES));
+    final String eTag =
+        Base64.getEncoder().encodeToString(encryptCipher.doFinal(Long.toString(_timestamp++).getBytes()));
+
+    final Cipher decryptCipher = Cipher.getInstance(ETagUtils.AES);
+    decryptCipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(SECRET_KEY.getBytes(), ETagUtils.AES));
+    return Long.parseLong(new String(decryptCipher.doFinal(Base64.getDecoder().decode(eTag))));
+  }
+
+  @Benchmark
+  public long reusedCipher() throws Exception {
+    return ETagUtils.decrypt(ETagUtils.encrypt(_timestamp++));
+  }
+}
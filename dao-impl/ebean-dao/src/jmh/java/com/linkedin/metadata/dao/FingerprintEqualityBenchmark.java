@@ -0,0 +1,102 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.data.template.DataTemplateUtil;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.metadata.aspect.AuditedAspect;
+import com.linkedin.metadata.dao.equality.FingerprintEqualityTester;
+import com.linkedin.metadata.dao.utils.AspectFingerprint;
+import com.linkedin.metadata.dao.utils.AuditedAspectJsonReader;
+import com.linkedin.metadata.dao.utils.AuditedAspectJsonWriter;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.MixedRecord;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures telling an unchanged re-emitted aspect apart from the stored one, comparing the stored aspect with the new
+ * value through {@link DataTemplateUtil#areEqual} as {@code DefaultEqualityTester} does, against matching the fingerprint
+ * of the new value with the stored fingerprint as {@link FingerprintEqualityTester} does. Both are linear in the size of
+ * the aspect, as the fingerprint of the new value is computed on every write.
+ *
+ * <p>The {@code read*} benchmarks measure the write path: they also decode the entity table column value and build the
+ * stored aspect, which the write path needs for update lambdas, callbacks and the MAE whichever tester is used.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FingerprintEqualityBenchmark {
+
+  // approximate serialized size of the aspect in bytes
+  @Param({"1024", "10240", "102400"})
+  public int aspectSize;
+
+  private final FingerprintEqualityTester<MixedRecord> _tester = FingerprintEqualityTester.newInstance();
+  private String _columnValue;
+  private MixedRecord _stored;
+  private String _storedFingerprint;
+  private MixedRecord _newValue;
+
+  @Setup
+  public void setup() {
+    final List<String> strings = new ArrayList<>();
+    int size = 0;
+    while (size < aspectSize) {
+      final String string = "urn:li:corpuser:member" + strings.size();
+      strings.add(string);
+      size += string.length() + 3;
+    }
+    final MixedRecord aspect = new MixedRecord().setValue("value")
+        .setFlag(true)
+        .setRecordField(new AspectFoo().setValue("foo"))
+        .setStringArray(new StringArray(strings));
+    final AuditedAspect auditFields = new AuditedAspect().setCanonicalName(MixedRecord.class.getCanonicalName())
+        .setLastmodifiedon("2026-01-01 00:00:00.0")
+        .setLastmodifiedby("urn:li:corpuser:tester")
+        .setFingerprint(AspectFingerprint.of(aspect));
+    _columnValue = AuditedAspectJsonWriter.toJsonString(auditFields, aspect);
+    _stored = RecordUtils.toRecordTemplate(MixedRecord.class, AuditedAspectJsonReader.read(_columnValue, true).getAspect());
+    _storedFingerprint = auditFields.getFingerprint();
+    // an equal copy not sharing any data with the stored aspect, as ingested from an event
+    _newValue = RecordUtils.toRecordTemplate(MixedRecord.class, RecordUtils.toJsonString(aspect));
+  }
+
+  @Benchmark
+  public boolean deepCompare() {
+    return DataTemplateUtil.areEqual(_stored, _newValue);
+  }
+
+  @Benchmark
+  public boolean fingerprintMatch() {
+    return _tester.matches(_storedFingerprint, _newValue);
+  }
+
+  @Benchmark
+  public boolean readAndDeepCompare() {
+    final AuditedAspectJsonReader.DecodedAspect decoded = AuditedAspectJsonReader.read(_columnValue, true);
+    return DataTemplateUtil.areEqual(RecordUtils.toRecordTemplate(MixedRecord.class, decoded.getAspect()), _newValue);
+  }
+
+  @Benchmark
+  public boolean readAndFingerprintMatch() {
+    final AuditedAspectJsonReader.DecodedAspect decoded = AuditedAspectJsonReader.read(_columnValue, true);
+    final MixedRecord stored = RecordUtils.toRecordTemplate(MixedRecord.class, decoded.getAspect());
+    return stored != null && _tester.matches(decoded.getFingerprint(), _newValue);
+  }
+}
@@ -0,0 +1,92 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.annotations.AspectIngestionAnnotation;
+import com.linkedin.metadata.annotations.UrnFilter;
+import com.linkedin.metadata.dao.urnpath.UrnPathExtractor;
+import com.linkedin.metadata.dao.utils.FooUrnPathExtractor;
+import com.linkedin.metadata.dao.utils.IngestionPolicy;
+import com.linkedin.metadata.dao.utils.IngestionUtils;
+import com.linkedin.testing.AspectBaz;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.urn.FooUrn;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.linkedin.testing.TestUtils.*;
+
+
+/**
+ * Measures the throughput of the ingestion mode decision that {@code BaseLocalDAO.add()} makes on every write, parsing
+ * the {@code @gma.aspect.ingestion} annotation and matching urn class names per write as done before, against the
+ * {@link IngestionPolicy} compiled once per (aspect class, urn class). AspectFoo is FORCE_UPDATE for urns with /fooId
+ * 1, AspectBaz has no ingestion annotation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IngestionPolicyBenchmark {
+
+  private static final int URN_COUNT = 16;
+
+  @Param({"AspectFoo", "AspectBaz"})
+  public String aspect;
+
+  private Class<? extends RecordTemplate> _aspectClass;
+  private final FooUrn[] _urns = new FooUrn[URN_COUNT];
+  private final UrnPathExtractor<FooUrn> _urnPathExtractor = new FooUrnPathExtractor();
+  private int _next;
+
+  @Setup
+  public void setup() {
+    _aspectClass = aspect.equals("AspectFoo") ? AspectFoo.class : AspectBaz.class;
+    for (int i = 0; i < URN_COUNT; i++) {
+      _urns[i] = makeFooUrn(i);
+    }
+  }
+
+  @Benchmark
+  public boolean parseAnnotationsPerWrite() {
+    final FooUrn urn = _urns[_next++ & (URN_COUNT - 1)];
+    final AspectIngestionAnnotation annotation = IngestionUtils.findIngestionAnnotationForEntity(
+        IngestionUtils.parseIngestionModeFromAnnotation(_aspectClass), urn);
+    if (annotation == null || !annotation.hasMode()
+        || annotation.getMode() != com.linkedin.metadata.annotations.Mode.FORCE_UPDATE) {
+      return false;
+    }
+    if (!annotation.hasFilter() || annotation.getFilter() == null) {
+      return true;
+    }
+    final Map<String, Object> urnPaths = _urnPathExtractor.extractPaths(urn);
+    for (UrnFilter filter : annotation.getFilter()) {
+      if (urnPaths.containsKey(filter.getPath()) && urnPaths.get(filter.getPath()).toString().equals(filter.getValue())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Benchmark
+  public boolean compiledPolicy() {
+    final FooUrn urn = _urns[_next++ & (URN_COUNT - 1)];
+    final IngestionPolicy policy = IngestionPolicy.of(_aspectClass, urn.getClass());
+    if (policy.getMode() != com.linkedin.metadata.annotations.Mode.FORCE_UPDATE) {
+      return false;
+    }
+    return !policy.hasFilters() || policy.matchesAnyFilter(_urnPathExtractor.extractPaths(urn));
+  }
+}
@@ -0,0 +1,83 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.metadata.dao.producer.AsyncMetadataEventProducer;
+import com.linkedin.metadata.dao.producer.InMemoryMetadataEventProducer;
+import com.linkedin.mxe.TopicConventionV5Impl;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.EntityAspectUnion;
+import com.linkedin.testing.EntitySnapshot;
+import com.linkedin.testing.urn.FooUrn;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.linkedin.testing.TestUtils.*;
+
+
+/**
+ * Measures the time a writer spends producing the aspect specific MAE of a write, producing it synchronously through
+ * an in-memory producer taking {@code producerLatencyMicros} per event, against queueing it to an
+ * {@link AsyncMetadataEventProducer} wrapping the same producer. Writes are spread over {@code urnCount} urns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetadataEventProductionBenchmark {
+
+  @Param({"0", "50"})
+  public int producerLatencyMicros;
+
+  @Param({"1000"})
+  public int urnCount;
+
+  private InMemoryMetadataEventProducer<EntitySnapshot, EntityAspectUnion, FooUrn> _producer;
+  private AsyncMetadataEventProducer<EntitySnapshot, EntityAspectUnion, FooUrn> _asyncProducer;
+  private FooUrn[] _urns;
+  private AspectFoo _aspect;
+  private int _next = 0;
+
+  @Setup
+  public void setup() {
+    _producer = new InMemoryMetadataEventProducer<>(EntitySnapshot.class, EntityAspectUnion.class,
+        TimeUnit.MICROSECONDS.toNanos(producerLatencyMicros), false);
+    _asyncProducer = new AsyncMetadataEventProducer<>(_producer, new TopicConventionV5Impl(), 8, 100_000, 500, 5);
+    _urns = new FooUrn[urnCount];
+    for (int i = 0; i < urnCount; i++) {
+      _urns[i] = makeFooUrn(i);
+    }
+    _aspect = new AspectFoo().setValue("foo");
+  }
+
+  @TearDown
+  public void tearDown() throws InterruptedException {
+    _asyncProducer.close();
+  }
+
+  @Benchmark
+  public void synchronous() {
+    _producer.produceAspectSpecificMetadataAuditEvent(nextUrn(), null, _aspect, AspectFoo.class, null, null, null);
+  }
+
+  @Benchmark
+  public void asynchronous() {
+    _asyncProducer.produceAspectSpecificMetadataAuditEvent(nextUrn(), null, _aspect, AspectFoo.class, null, null, null);
+  }
+
+  private FooUrn nextUrn() {
+    _next = (_next + 1) % _urns.length;
+    return _urns[_next];
+  }
+}
@@ -0,0 +1,70 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.metadata.dao.utils.NumericIdBlockAllocator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * Measures numeric ID throughput of many threads minting IDs of one namespace, comparing block allocation against
+ * reserving every ID on its own (block size 1). Reservations are serialized and take {@code reserveCostTokens} of CPU
+ * work, standing in for the transaction on the metadata_id row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class NumericIdAllocationBenchmark {
+
+  @Param({"1", "100", "1000"})
+  public int blockSize;
+
+  @Param({"10000"})
+  public long reserveCostTokens;
+
+  private NumericIdBlockAllocator _allocator;
+  private NumericIdBlockAllocator.BlockReserver _reserver;
+  private long _high;
+
+  @Setup
+  public void setup() {
+    _allocator = new NumericIdBlockAllocator(blockSize);
+    _reserver = (namespace, size) -> {
+      synchronized (this) {
+        Blackhole.consumeCPU(reserveCostTokens);
+        _high += size;
+        return _high;
+      }
+    };
+  }
+
+  @TearDown
+  public void printStats() {
+    final NumericIdBlockAllocator.Stats stats = _allocator.getStats();
+    if (stats.getRefillCount() > 0) {
+      System.out.printf("%nrefills: %d, mean refill latency: %d ns, max refill latency: %d ns%n", stats.getRefillCount(),
+          stats.getTotalRefillLatencyNanos() / stats.getRefillCount(), stats.getMaxRefillLatencyNanos());
+    }
+  }
+
+  @Benchmark
+  public long newNumericId() {
+    return _allocator.nextId("namespace", _reserver);
+  }
+}
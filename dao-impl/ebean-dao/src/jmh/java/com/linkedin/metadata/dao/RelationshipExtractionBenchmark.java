@@ -0,0 +1,106 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.template.DataTemplateUtil;
+import com.linkedin.data.template.IntegerArray;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.annotations.AlwaysAllowList;
+import com.linkedin.metadata.annotations.GmaAnnotation;
+import com.linkedin.metadata.annotations.GmaAnnotationParser;
+import com.linkedin.metadata.annotations.ModelType;
+import com.linkedin.metadata.dao.utils.EBeanDAOUtils;
+import com.linkedin.testing.AnnotatedAspectBarWithRelationshipFields;
+import com.linkedin.testing.AnnotatedRelationshipBar;
+import com.linkedin.testing.AnnotatedRelationshipBarArray;
+import com.linkedin.testing.AnnotatedRelationshipFoo;
+import com.linkedin.testing.AnnotatedRelationshipFooArray;
+import com.linkedin.testing.CommonAspect;
+import com.linkedin.testing.CommonAspectArray;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures the throughput of extracting relationships from a relationship-bearing aspect on ingestion, walking the
+ * schema, looking up getters and parsing annotations for every aspect as done before, against the extraction plan
+ * cached per aspect class that {@link EBeanDAOUtils#extractRelationshipsFromAspect} now uses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RelationshipExtractionBenchmark {
+
+  private AnnotatedAspectBarWithRelationshipFields _aspect;
+
+  @Setup
+  public void setup() throws URISyntaxException {
+    final AnnotatedRelationshipFooArray relationshipFoos = new AnnotatedRelationshipFooArray();
+    for (int i = 0; i < 10; i++) {
+      relationshipFoos.add(new AnnotatedRelationshipFoo().setDestination(Urn.createFromString("urn:li:test:" + i)));
+    }
+    _aspect = new AnnotatedAspectBarWithRelationshipFields().setValue("abc")
+        .setIntegers(new IntegerArray(1))
+        .setNonRelationshipStructs(new CommonAspectArray(new CommonAspect()))
+        .setRelationshipFoo1(new AnnotatedRelationshipFoo().setDestination(Urn.createFromString("urn:li:test:foo")))
+        .setRelationshipFoos(relationshipFoos)
+        .setRelationshipBars(new AnnotatedRelationshipBarArray(new AnnotatedRelationshipBar()))
+        .setNonPrimitiveNonRelationshipField(new CommonAspect());
+  }
+
+  @Benchmark
+  public Map<Class<?>, Set<RecordTemplate>> schemaWalkPerAspect() throws ReflectiveOperationException {
+    final Map<Class<?>, Set<RecordTemplate>> relationshipMap = new HashMap<>();
+    for (RecordDataSchema.Field field : _aspect.schema().getFields()) {
+      if (field.getType().isPrimitive()) {
+        continue;
+      }
+      final Method getMethod = _aspect.getClass().getMethod("get" + StringUtils.capitalize(field.getName()));
+      final Object obj = getMethod.invoke(_aspect);
+      if (obj instanceof RecordTemplate) {
+        if (isRelationship((RecordTemplate) obj)) {
+          relationshipMap.computeIfAbsent(obj.getClass(), k -> new HashSet<>()).add((RecordTemplate) obj);
+        }
+      } else if (obj instanceof List && !((List) obj).isEmpty() && ((List) obj).get(0) instanceof RecordTemplate) {
+        final List<RecordTemplate> relationships = (List<RecordTemplate>) obj;
+        if (isRelationship(relationships.get(0))) {
+          relationshipMap.computeIfAbsent(relationships.get(0).getClass(), k -> new HashSet<>()).addAll(relationships);
+        }
+      }
+    }
+    return relationshipMap;
+  }
+
+  @Benchmark
+  public Map<Class<?>, Set<RecordTemplate>> cachedPlan() {
+    return EBeanDAOUtils.extractRelationshipsFromAspect(_aspect);
+  }
+
+  private static boolean isRelationship(RecordTemplate model) {
+    final RecordDataSchema schema = (RecordDataSchema) DataTemplateUtil.getSchema(model.getClass());
+    final Optional<GmaAnnotation> gmaAnnotation = new GmaAnnotationParser(new AlwaysAllowList()).parse(schema);
+    return gmaAnnotation.isPresent() && gmaAnnotation.get().hasModel()
+        && gmaAnnotation.get().getModel() == ModelType.RELATIONSHIP;
+  }
+}
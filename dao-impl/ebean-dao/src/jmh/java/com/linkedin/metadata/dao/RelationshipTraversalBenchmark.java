@@ -0,0 +1,131 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.metadata.dao.utils.EmbeddedMariaInstance;
+import com.linkedin.metadata.query.LocalRelationshipCriterionArray;
+import com.linkedin.metadata.query.LocalRelationshipFilter;
+import com.linkedin.metadata.query.RelationshipDirection;
+import com.linkedin.testing.localrelationship.ReportsTo;
+import io.ebean.EbeanServer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.naming.OperationNotSupportedException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.linkedin.testing.TestUtils.*;
+
+
+/**
+ * Measures a lineage traversal over a synthetic graph of {@code NODE_COUNT * FAN_OUT} (a million) edges in an embedded
+ * MariaDB, each node pointing to {@code FAN_OUT} nodes shortly after it, expanding one hop at a time with batched
+ * queries through {@link EbeanLocalRelationshipQueryDAO#traverse}, against one one-hop query per urn reached as the
+ * application did before. Traversals start from a different node on each invocation and stop after {@code maxHops}
+ * hops or {@code MAX_NODES} nodes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RelationshipTraversalBenchmark {
+
+  private static final int NODE_COUNT = 250_000;
+  private static final int FAN_OUT = 4;
+  private static final int WINDOW = 1_000;
+  private static final int MAX_NODES = 5_000;
+  private static final int INSERT_BATCH_SIZE = 1_000;
+  private static final String TABLE = "metadata_relationship_reportsto";
+
+  @Param({"3", "6"})
+  public int maxHops;
+
+  private EbeanServer _server;
+  private EbeanLocalRelationshipQueryDAO _queryDAO;
+  private LocalRelationshipFilter _outgoing;
+  private final Random _random = new Random(42);
+
+  @Setup(Level.Trial)
+  public void setup() {
+    _server = EmbeddedMariaInstance.getServer(RelationshipTraversalBenchmark.class.getSimpleName());
+    _server.execute(_server.createSqlUpdate("DROP TABLE IF EXISTS " + TABLE));
+    _server.execute(_server.createSqlUpdate("CREATE TABLE " + TABLE + " ("
+        + "id BIGINT NOT NULL AUTO_INCREMENT, metadata LONGTEXT NOT NULL, source VARCHAR(1000) NOT NULL, "
+        + "source_type VARCHAR(100) NOT NULL, destination VARCHAR(1000) NOT NULL, destination_type VARCHAR(100) NOT NULL, "
+        + "lastmodifiedon TIMESTAMP NOT NULL, lastmodifiedby VARCHAR(255) NOT NULL, deleted_ts DATETIME(6) DEFAULT NULL, "
+        + "aspect VARCHAR(200) DEFAULT NULL, PRIMARY KEY (id), "
+        + "INDEX idx_source_deleted_ts (source, deleted_ts), INDEX idx_destination_deleted_ts (destination, deleted_ts))"));
+
+    final Random random = new Random(0);
+    final StringBuilder insert = new StringBuilder();
+    int rows = 0;
+    for (int node = 0; node < NODE_COUNT; node++) {
+      for (int edge = 0; edge < FAN_OUT; edge++) {
+        final int destination = (node + 1 + random.nextInt(WINDOW)) % NODE_COUNT;
+        insert.append(rows == 0 ? "INSERT INTO " + TABLE + " (metadata, source, source_type, destination, destination_type, "
+            + "lastmodifiedon, lastmodifiedby) VALUES " : ", ");
+        insert.append(String.format("('{}', '%s', 'foo', '%s', 'foo', NOW(), 'urn:li:corpuser:benchmark')",
+            makeFooUrn(node), makeFooUrn(destination)));
+        if (++rows == INSERT_BATCH_SIZE) {
+          _server.execute(_server.createSqlUpdate(insert.toString()));
+          insert.setLength(0);
+          rows = 0;
+        }
+      }
+    }
+    if (rows > 0) {
+      _server.execute(_server.createSqlUpdate(insert.toString()));
+    }
+
+    _queryDAO = new EbeanLocalRelationshipQueryDAO(_server);
+    _outgoing = new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray())
+        .setDirection(RelationshipDirection.OUTGOING);
+  }
+
+  @Benchmark
+  public int batchedHops() throws OperationNotSupportedException {
+    return _queryDAO.traverse(ReportsTo.class, _outgoing, Collections.singleton(makeFooUrn(_random.nextInt(NODE_COUNT))),
+        maxHops, MAX_NODES, (urn, hop) -> true);
+  }
+
+  @Benchmark
+  public int queryPerUrn() {
+    final Set<String> visited = new HashSet<>();
+    List<String> frontier = Collections.singletonList(makeFooUrn(_random.nextInt(NODE_COUNT)).toString());
+    visited.add(frontier.get(0));
+    for (int hop = 1; hop <= maxHops && !frontier.isEmpty(); hop++) {
+      final List<String> nextFrontier = new ArrayList<>();
+      for (String source : frontier) {
+        final List<String> destinations = _server.createSqlQuery(
+            "SELECT destination FROM " + TABLE + " WHERE source = :source AND deleted_ts IS NULL")
+            .setParameter("source", source)
+            .findSingleAttributeList(String.class);
+        for (String destination : destinations) {
+          if (visited.add(destination)) {
+            nextFrontier.add(destination);
+            if (visited.size() - 1 >= MAX_NODES) {
+              return MAX_NODES;
+            }
+          }
+        }
+      }
+      frontier = nextFrontier;
+    }
+    return visited.size() - 1;
+  }
+}
@@ -0,0 +1,86 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.data.schema.validation.CoercionMode;
+import com.linkedin.data.schema.validation.RequiredMode;
+import com.linkedin.data.schema.validation.UnrecognizedFieldMode;
+import com.linkedin.data.schema.validation.ValidateDataAgainstSchema;
+import com.linkedin.data.schema.validation.ValidationOptions;
+import com.linkedin.data.schema.validation.ValidationResult;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.metadata.validator.CompiledRecordValidator;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.AspectFooArray;
+import com.linkedin.testing.MixedRecord;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures the validation of an aspect against its schema that {@code BaseLocalDAO} runs on every write, filling in the
+ * defaults of absent required fields, with the generic {@link ValidateDataAgainstSchema} walk and a new
+ * {@link ValidationOptions} per write as done before, against the {@link CompiledRecordValidator} of the aspect class.
+ *
+ * <p>Each invocation validates a fresh copy of a {@link MixedRecord} holding {@code elements} strings and records, and
+ * missing its one defaulted field. Copying is measured on its own by {@link #copyOnly()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaValidationBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int elements;
+
+  private DataMap _data;
+
+  @Setup
+  public void setup() {
+    final List<String> strings = new ArrayList<>();
+    final AspectFooArray records = new AspectFooArray();
+    for (int i = 0; i < elements; i++) {
+      strings.add("urn:li:corpuser:member" + i);
+      records.add(new AspectFoo().setValue("foo" + i));
+    }
+    final MixedRecord record = new MixedRecord().setValue("value")
+        .setFlag(true)
+        .setRecordField(new AspectFoo().setValue("foo"))
+        .setStringArray(new StringArray(strings))
+        .setRecordArray(records);
+    record.data().remove("defaultField");
+    _data = record.data();
+  }
+
+  @Benchmark
+  public MixedRecord copyOnly() throws CloneNotSupportedException {
+    return new MixedRecord(_data.copy());
+  }
+
+  @Benchmark
+  public boolean generic() throws CloneNotSupportedException {
+    final ValidationResult result = ValidateDataAgainstSchema.validate(new MixedRecord(_data.copy()),
+        new ValidationOptions(RequiredMode.FIXUP_ABSENT_WITH_DEFAULT, CoercionMode.NORMAL, UnrecognizedFieldMode.DISALLOW));
+    return result.isValid();
+  }
+
+  @Benchmark
+  public boolean compiled() throws CloneNotSupportedException {
+    return CompiledRecordValidator.of(MixedRecord.class, RequiredMode.FIXUP_ABSENT_WITH_DEFAULT)
+        .validate(new MixedRecord(_data.copy())) == null;
+  }
+}
@@ -0,0 +1,73 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.urn.FooUrn;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Compares building records from a {@link DataMap} and parsing URNs through reflective lookups per call, as done
+ * before, against the compiled factories cached per class that {@link RecordUtils} and {@link ModelUtils} now use.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateConstructionBenchmark {
+
+  private static final String URN = "urn:li:foo:1";
+
+  private DataMap _dataMap;
+
+  @Setup
+  public void setup() {
+    _dataMap = new AspectFoo().setValue("foo").data();
+  }
+
+  @Benchmark
+  public AspectFoo reflectiveRecordConstruction() throws Exception {
+    return AspectFoo.class.getConstructor(DataMap.class).newInstance(_dataMap);
+  }
+
+  @Benchmark
+  public AspectFoo cachedRecordConstruction() {
+    return RecordUtils.toRecordTemplate(AspectFoo.class, _dataMap);
+  }
+
+  @Benchmark
+  public Object reflectiveRecordConstructionByName() throws Exception {
+    return Class.forName(AspectFoo.class.getName()).getConstructor(DataMap.class).newInstance(_dataMap);
+  }
+
+  @Benchmark
+  public Object cachedRecordConstructionByName() {
+    return RecordUtils.toRecordTemplate(AspectFoo.class.getName(), _dataMap);
+  }
+
+  @Benchmark
+  public FooUrn reflectiveUrnParsing() throws Exception {
+    final Method createFromString = FooUrn.class.getMethod("createFromString", String.class);
+    return FooUrn.class.cast(createFromString.invoke(null, URN));
+  }
+
+  @Benchmark
+  public FooUrn cachedUrnParsing() {
+    return ModelUtils.getUrnFromString(URN, FooUrn.class);
+  }
+}
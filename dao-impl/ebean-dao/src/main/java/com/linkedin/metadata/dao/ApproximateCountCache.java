@@ -0,0 +1,64 @@
+package com.linkedin.metadata.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.time.Duration;
+import java.util.function.ToLongFunction;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Bounded in-memory cache of the total counts of list queries, keyed by the SQL statement computing the count, used by
+ * {@link EbeanLocalAccess} to page through filter and browse results without counting all matching rows on every page.
+ *
+ * <p>A count is computed by the first query that needs it and then served until its time to live expires, after which
+ * the next query computes it again. The counts are therefore approximate: they miss the writes made within the time to
+ * live, and list results built from them are flagged with {@code approximateTotalCount}.
+ */
+public class ApproximateCountCache {
+
+  private final Cache<String, Long> _cache;
+
+  /**
+   * Constructor for ApproximateCountCache.
+   *
+   * @param maximumSize maximum number of counts kept, least recently used counts are evicted first
+   * @param timeToLive how long a count is served before it is computed again
+   */
+  public ApproximateCountCache(long maximumSize, @Nonnull Duration timeToLive) {
+    if (timeToLive.isNegative() || timeToLive.isZero()) {
+      throw new IllegalArgumentException("Time to live must be positive: " + timeToLive);
+    }
+    _cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(timeToLive)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Returns the cached count of the SQL statement, computing it with the counter if it is absent or expired.
+   *
+   * @param countSql SQL statement computing the count, used as the cache key
+   * @param counter runs the SQL statement and returns the count
+   */
+  public long getCount(@Nonnull String countSql, @Nonnull ToLongFunction<String> counter) {
+    return _cache.get(countSql, counter::applyAsLong);
+  }
+
+  /**
+   * Drops all cached counts, so the next queries count again.
+   */
+  public void invalidateAll() {
+    _cache.invalidateAll();
+  }
+
+  /**
+   * Returns hit, miss and eviction statistics of the cache.
+   */
+  @Nonnull
+  public CacheStats getStats() {
+    return _cache.stats();
+  }
+}
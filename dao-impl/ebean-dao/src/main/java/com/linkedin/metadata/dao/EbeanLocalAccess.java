@@ -2,13 +2,19 @@ package com.linkedin.metadata.dao;
 
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.data.DataMap;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.SetMode;
 import com.linkedin.metadata.aspect.AuditedAspect;
+import com.linkedin.metadata.dao.exception.ModelConversionException;
 import com.linkedin.metadata.dao.urnpath.EmptyPathExtractor;
 import com.linkedin.metadata.dao.urnpath.UrnPathExtractor;
+import com.linkedin.metadata.dao.utils.AspectFingerprint;
+import com.linkedin.metadata.dao.utils.AuditedAspectJsonReader;
+import com.linkedin.metadata.dao.utils.AuditedAspectJsonWriter;
 import com.linkedin.metadata.dao.utils.EBeanDAOUtils;
 import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.dao.utils.ParallelQueryExecutor;
 import com.linkedin.metadata.dao.utils.RecordUtils;
 import com.linkedin.metadata.dao.utils.SQLSchemaUtils;
 import com.linkedin.metadata.dao.utils.SQLStatementUtils;
@@ -32,14 +38,18 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -65,12 +75,19 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   private UrnPathExtractor<URN> _urnPathExtractor;
   private final SchemaEvolutionManager _schemaEvolutionManager;
   private final boolean _nonDollarVirtualColumnsEnabled;
+  private ParallelQueryExecutor _parallelQueryExecutor = null;
+  private ApproximateCountCache _approximateCountCache = null;
+  private final Set<Class<? extends RecordTemplate>> _fingerprintedAspects = ConcurrentHashMap.newKeySet();
+  // name of the database of the entity tables, resolved on the first lookup of their estimated row count
+  private volatile String _databaseName = null;
 
   // TODO confirm if the default page size is 1000 in other code context.
   private static final int DEFAULT_PAGE_SIZE = 1000;
   private static final String ASPECT_JSON_PLACEHOLDER = "__PLACEHOLDER__";
   private static final String DEFAULT_ACTOR = "urn:li:principal:UNKNOWN";
   private static final String EBEAN_SERVER_CONFIG = "EbeanServerConfig";
+  // keeps multi-row upserts well below max_allowed_packet for typical aspect sizes
+  private static final int MAX_ROWS_PER_BATCH_UPSERT = 500;
 
   // key: table_name,
   // value: Set(column1, column2, column3 ...)
@@ -92,6 +109,25 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     _urnPathExtractor = urnPathExtractor;
   }
 
+  @Override
+  public void setParallelQueryExecutor(@Nullable ParallelQueryExecutor parallelQueryExecutor) {
+    _parallelQueryExecutor = parallelQueryExecutor;
+  }
+
+  @Override
+  public void setApproximateCountCache(@Nullable ApproximateCountCache approximateCountCache) {
+    _approximateCountCache = approximateCountCache;
+  }
+
+  @Override
+  public void setAspectFingerprinted(@Nonnull Class<? extends RecordTemplate> aspectClass, boolean fingerprinted) {
+    if (fingerprinted) {
+      _fingerprintedAspects.add(aspectClass);
+    } else {
+      _fingerprintedAspects.remove(aspectClass);
+    }
+  }
+
   public void ensureSchemaUpToDate() {
     _schemaEvolutionManager.ensureSchemaUpToDate();
   }
@@ -99,9 +135,10 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   @Override
   @Transactional
   public <ASPECT extends RecordTemplate> int add(@Nonnull URN urn, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
-      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode) {
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode,
+      @Nullable String newFingerprint) {
     return addWithOptimisticLocking(urn, newValue, aspectClass, auditStamp, null, ingestionTrackingContext,
-        isTestMode, true);
+        isTestMode, true, newFingerprint);
   }
 
   @Override
@@ -112,11 +149,11 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
       @Nonnull AuditStamp auditStamp,
       @Nullable Timestamp oldTimestamp,
       @Nullable IngestionTrackingContext ingestionTrackingContext,
-      boolean isTestMode, boolean softDeleteOverwrite) {
+      boolean isTestMode, boolean softDeleteOverwrite,
+      @Nullable String newFingerprint) {
 
     final long timestamp = auditStamp.hasTime() ? auditStamp.getTime() : System.currentTimeMillis();
     final String actor = auditStamp.hasActor() ? auditStamp.getActor().toString() : DEFAULT_ACTOR;
-    final String impersonator = auditStamp.hasImpersonator() ? auditStamp.getImpersonator().toString() : null;
     final boolean urnExtraction = _urnPathExtractor != null && !(_urnPathExtractor instanceof EmptyPathExtractor);
 
     final SqlUpdate sqlUpdate;
@@ -142,19 +179,108 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
       return sqlUpdate.setParameter("metadata", DELETED_VALUE).execute();
     }
 
-    AuditedAspect auditedAspect = new AuditedAspect()
-        .setAspect(RecordUtils.toJsonString(newValue))
-        .setCanonicalName(aspectClass.getCanonicalName())
-        .setLastmodifiedby(actor)
+    final String metadata = toAuditedAspectJson(newValue, aspectClass, auditStamp, ingestionTrackingContext, newFingerprint);
+    return sqlUpdate.setParameter("metadata", metadata).execute();
+  }
+
+  @Override
+  public int addBatch(@Nonnull List<BaseLocalDAO.LatestAspectWrite<URN, ? extends RecordTemplate>> writes) {
+    final boolean urnExtraction = _urnPathExtractor != null && !(_urnPathExtractor instanceof EmptyPathExtractor);
+
+    // one row per entity and test mode, as test mode writes go to the test tables; entities of the same table writing
+    // the same aspect columns share a statement
+    final Map<Boolean, Map<URN, List<BaseLocalDAO.LatestAspectWrite<URN, ? extends RecordTemplate>>>> writesByTestModeAndUrn =
+        new LinkedHashMap<>();
+    for (BaseLocalDAO.LatestAspectWrite<URN, ? extends RecordTemplate> write : writes) {
+      if (write.getNewValue() == null) {
+        throw new IllegalArgumentException("Aspect value cannot be null");
+      }
+      writesByTestModeAndUrn.computeIfAbsent(write.isTestMode(), unused -> new LinkedHashMap<>())
+          .computeIfAbsent(write.getUrn(), unused -> new ArrayList<>())
+          .add(write);
+    }
+    final Map<String, Map<List<String>, List<List<BaseLocalDAO.LatestAspectWrite<URN, ? extends RecordTemplate>>>>> rowsByStatement =
+        new LinkedHashMap<>();
+    writesByTestModeAndUrn.forEach((isTestMode, writesByUrn) -> writesByUrn.forEach((urn, urnWrites) -> {
+      final Map<String, BaseLocalDAO.LatestAspectWrite<URN, ? extends RecordTemplate>> writesByColumn = new TreeMap<>();
+      for (BaseLocalDAO.LatestAspectWrite<URN, ? extends RecordTemplate> write : urnWrites) {
+        writesByColumn.put(getAspectColumnName(urn.getEntityType(), write.getAspectClass()), write);
+      }
+      final List<String> columnNames = new ArrayList<>(writesByColumn.keySet());
+      final List<BaseLocalDAO.LatestAspectWrite<URN, ? extends RecordTemplate>> row = new ArrayList<>(writesByColumn.values());
+      final String tableName = isTestMode ? getTestTableName(urn) : getTableName(urn);
+      rowsByStatement.computeIfAbsent(tableName, unused -> new LinkedHashMap<>())
+          .computeIfAbsent(columnNames, unused -> new ArrayList<>())
+          .add(row);
+    }));
+
+    int rowsUpdated = 0;
+    for (Map.Entry<String, Map<List<String>, List<List<BaseLocalDAO.LatestAspectWrite<URN, ? extends RecordTemplate>>>>> table
+        : rowsByStatement.entrySet()) {
+      for (Map.Entry<List<String>, List<List<BaseLocalDAO.LatestAspectWrite<URN, ? extends RecordTemplate>>>> statement
+          : table.getValue().entrySet()) {
+        final List<List<BaseLocalDAO.LatestAspectWrite<URN, ? extends RecordTemplate>>> rows = statement.getValue();
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_BATCH_UPSERT) {
+          rowsUpdated += batchUpsert(table.getKey(), statement.getKey(),
+              rows.subList(from, Math.min(rows.size(), from + MAX_ROWS_PER_BATCH_UPSERT)), urnExtraction);
+        }
+      }
+    }
+    return rowsUpdated;
+  }
+
+  private int batchUpsert(@Nonnull String tableName, @Nonnull List<String> columnNames,
+      @Nonnull List<List<BaseLocalDAO.LatestAspectWrite<URN, ? extends RecordTemplate>>> rows, boolean urnExtraction) {
+    final SqlUpdate sqlUpdate =
+        _server.createSqlUpdate(SQLStatementUtils.createAspectBatchUpsertSql(tableName, columnNames, rows.size(), urnExtraction));
+    for (int i = 0; i < rows.size(); i++) {
+      final List<BaseLocalDAO.LatestAspectWrite<URN, ? extends RecordTemplate>> row = rows.get(i);
+      final URN urn = row.get(0).getUrn();
+      // the entity row is stamped with the audit stamp of its first aspect, as a single upsert would do
+      final AuditStamp auditStamp = row.get(0).getNewAuditStamp();
+      final long timestamp = auditStamp.hasTime() ? auditStamp.getTime() : System.currentTimeMillis();
+      sqlUpdate.setParameter("urn" + i, urn.toString())
+          .setParameter("lastmodifiedon" + i, new Timestamp(timestamp).toString())
+          .setParameter("lastmodifiedby" + i, auditStamp.hasActor() ? auditStamp.getActor().toString() : DEFAULT_ACTOR);
+      if (urnExtraction) {
+        sqlUpdate.setParameter("a_urn" + i, toJsonString(urn));
+      }
+      for (int column = 0; column < row.size(); column++) {
+        final BaseLocalDAO.LatestAspectWrite<URN, ? extends RecordTemplate> write = row.get(column);
+        sqlUpdate.setParameter("aspect" + i + "_" + column,
+            toAuditedAspectJson(write.getNewValue(), write.getAspectClass(), write.getNewAuditStamp(), write.getTrackingContext(),
+                write.getNewFingerprint()));
+      }
+    }
+    return sqlUpdate.execute();
+  }
+
+  @Nonnull
+  private String toAuditedAspectJson(@Nonnull RecordTemplate value, @Nonnull Class<? extends RecordTemplate> aspectClass,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext ingestionTrackingContext,
+      @Nullable String fingerprint) {
+    final long timestamp = auditStamp.hasTime() ? auditStamp.getTime() : System.currentTimeMillis();
+    final AuditedAspect auditedAspect = new AuditedAspect()
+        .setCanonicalName(ModelUtils.getAspectName(aspectClass))
+        .setLastmodifiedby(auditStamp.hasActor() ? auditStamp.getActor().toString() : DEFAULT_ACTOR)
         .setLastmodifiedon(new Timestamp(timestamp).toString())
-        .setCreatedfor(impersonator, SetMode.IGNORE_NULL);
+        .setCreatedfor(auditStamp.hasImpersonator() ? auditStamp.getImpersonator().toString() : null, SetMode.IGNORE_NULL);
     if (ingestionTrackingContext != null) {
       auditedAspect.setEmitTime(ingestionTrackingContext.getEmitTime(), SetMode.IGNORE_NULL);
       auditedAspect.setEmitter(ingestionTrackingContext.getEmitter(), SetMode.IGNORE_NULL);
     }
+    setFingerprintIfEnabled(auditedAspect, value, aspectClass, fingerprint);
+    return AuditedAspectJsonWriter.toJsonString(auditedAspect, value);
+  }
 
-      final String metadata = toJsonString(auditedAspect);
-      return sqlUpdate.setParameter("metadata", metadata).execute();
+  /**
+   * Sets the fingerprint of the value if the aspect is fingerprinted, computing it only if the caller hasn't already.
+   */
+  private void setFingerprintIfEnabled(@Nonnull AuditedAspect auditedAspect, @Nonnull RecordTemplate value,
+      @Nonnull Class<? extends RecordTemplate> aspectClass, @Nullable String fingerprint) {
+    if (_fingerprintedAspects.contains(aspectClass)) {
+      auditedAspect.setFingerprint(fingerprint != null ? fingerprint : AspectFingerprint.of(value));
+    }
   }
 
   /**
@@ -195,7 +321,7 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     final SqlUpdate sqlUpdate;
 
     List<String> classNames = aspectCreateLambdas.stream()
-        .map(aspectCreateLamdba -> aspectCreateLamdba.getAspectClass().getCanonicalName())
+        .map(aspectCreateLamdba -> ModelUtils.getAspectName(aspectCreateLamdba.getAspectClass()))
         .collect(Collectors.toList());
 
     // Create insert statement with variable number of aspect columns
@@ -251,8 +377,7 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     // Set parameters for each aspect value
     for (int i = 0; i < aspectValues.size(); i++) {
       AuditedAspect auditedAspect = new AuditedAspect()
-          .setAspect(RecordUtils.toJsonString(aspectValues.get(i)))
-          .setCanonicalName(aspectCreateLambdas.get(i).getAspectClass().getCanonicalName())
+          .setCanonicalName(ModelUtils.getAspectName(aspectCreateLambdas.get(i).getAspectClass()))
           .setLastmodifiedby(actor)
           .setLastmodifiedon(new Timestamp(timestamp).toString())
           .setCreatedfor(impersonator, SetMode.IGNORE_NULL);
@@ -260,7 +385,8 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
         auditedAspect.setEmitTime(ingestionTrackingContext.getEmitTime(), SetMode.IGNORE_NULL);
         auditedAspect.setEmitter(ingestionTrackingContext.getEmitter(), SetMode.IGNORE_NULL);
       }
-      sqlUpdate.setParameter("aspect" + i, toJsonString(auditedAspect));
+      setFingerprintIfEnabled(auditedAspect, aspectValues.get(i), aspectCreateLambdas.get(i).getAspectClass(), null);
+      sqlUpdate.setParameter("aspect" + i, AuditedAspectJsonWriter.toJsonString(auditedAspect, aspectValues.get(i)));
     }
 
 
@@ -309,11 +435,24 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
             entry -> SQLStatementUtils.createAspectReadSql(entry.getKey(), entry.getValue(), includeSoftDeleted,
                 isTestMode), entry -> entry.getKey()));
 
+    // run the statements, concurrently if possible (other threads cannot see a transaction in progress)
+    final List<Map.Entry<String, Class<ASPECT>>> statements = new ArrayList<>(selectStatements.entrySet());
+    final List<List<SqlRow>> statementResults;
+    if (_parallelQueryExecutor == null || statements.size() <= 1 || _server.currentTransaction() != null) {
+      statementResults = statements.stream()
+          .map(entry -> _server.createSqlQuery(entry.getKey()).findList())
+          .collect(Collectors.toList());
+    } else {
+      statementResults = _parallelQueryExecutor.invokeAll(statements.stream()
+          .<Supplier<List<SqlRow>>>map(entry -> () -> _server.createSqlQuery(entry.getKey()).findList())
+          .collect(Collectors.toList()));
+    }
+
     // consolidate/join the results
     final Map<SqlRow, Class<ASPECT>> sqlRows = new LinkedHashMap<>();
-    for (Map.Entry<String, Class<ASPECT>> entry : selectStatements.entrySet()) {
-      for (SqlRow sqlRow : _server.createSqlQuery(entry.getKey()).findList()) {
-        sqlRows.put(sqlRow, entry.getValue());
+    for (int i = 0; i < statements.size(); i++) {
+      for (SqlRow sqlRow : statementResults.get(i)) {
+        sqlRows.put(sqlRow, statements.get(i).getValue());
       }
     }
     return EBeanDAOUtils.readSqlRows(sqlRows);
@@ -344,10 +483,21 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   @Override
   public ListResult<URN> listUrns(@Nullable IndexFilter indexFilter, @Nullable IndexSortCriterion indexSortCriterion,
       int start, int pageSize) {
-    final SqlQuery sqlQuery = createFilterSqlQuery(indexFilter, indexSortCriterion, start, pageSize);
+    final ApproximateCountCache approximateCountCache = _approximateCountCache;
+    if (approximateCountCache != null) {
+      // one more row than the page tells whether there are more, without the count
+      final List<SqlRow> sqlRows =
+          createFilterSqlQuery(indexFilter, indexSortCriterion, start, Math.max(pageSize, 0) + 1, false).findList();
+      final String countSql =
+          SQLStatementUtils.createFilterCountSql(_entityType, indexFilter, _nonDollarVirtualColumnsEnabled, validator);
+      return toApproximateListResult(sqlRows, approximateCountCache.getCount(countSql, this::count), start, pageSize);
+    }
+
+    final SqlQuery sqlQuery = createFilterSqlQuery(indexFilter, indexSortCriterion, start, pageSize, true);
     final List<SqlRow> sqlRows = sqlQuery.findList();
     if (sqlRows.isEmpty()) {
-      final List<SqlRow> totalCountResults = createFilterSqlQuery(indexFilter, indexSortCriterion, 0, DEFAULT_PAGE_SIZE).findList();
+      final List<SqlRow> totalCountResults =
+          createFilterSqlQuery(indexFilter, indexSortCriterion, 0, DEFAULT_PAGE_SIZE, true).findList();
       final int actualTotalCount = totalCountResults.isEmpty() ? 0 : totalCountResults.get(0).getInteger("_total_count");
       return toListResult(actualTotalCount, start, pageSize);
     }
@@ -362,10 +512,53 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     return sqlQuery.findList().size() > 0;
   }
 
+  @Nonnull
+  @Override
+  public Optional<List<EbeanMetadataAspect>> getIfExists(@Nonnull URN urn,
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses) {
+    final String tableName = getTableName(urn);
+    final Map<String, Class<? extends RecordTemplate>> aspectClassesByColumn = new LinkedHashMap<>();
+    for (Class<? extends RecordTemplate> aspectClass : aspectClasses) {
+      final String columnName = getAspectColumnName(urn.getEntityType(), aspectClass);
+      if (validator.columnExists(tableName, columnName)) {
+        aspectClassesByColumn.put(columnName, aspectClass);
+      }
+    }
+
+    // the row is read whatever the state of its aspects, so that its presence is the existence of the entity
+    final SqlRow sqlRow =
+        _server.createSqlQuery(SQLStatementUtils.createEntityReadSql(urn, aspectClassesByColumn.keySet())).findOne();
+    if (sqlRow == null) {
+      return Optional.empty();
+    }
+    final List<EbeanMetadataAspect> records = new ArrayList<>(aspectClassesByColumn.size());
+    aspectClassesByColumn.forEach((columnName, aspectClass) -> {
+      if (sqlRow.get(columnName) != null) {
+        final EbeanMetadataAspect record = EBeanDAOUtils.readSqlRow(sqlRow, aspectClass);
+        if (!DELETED_VALUE.equals(record.getMetadata())) {
+          records.add(record);
+        }
+      }
+    });
+    return Optional.of(records);
+  }
+
   @Nonnull
   @Override
   public <ASPECT extends RecordTemplate> ListResult<URN> listUrns(@Nonnull Class<ASPECT> aspectClass, int start,
       int pageSize) {
+    final ApproximateCountCache approximateCountCache = _approximateCountCache;
+    if (approximateCountCache != null) {
+      // the browse count is of the whole entity table, which the table statistics estimate without scanning it
+      final List<SqlRow> sqlRows = _server.createSqlQuery(
+          SQLStatementUtils.createAspectBrowseSql(_entityType, aspectClass, start, Math.max(pageSize, 0) + 1, false))
+          .findList();
+      final String estimatedCountSql =
+          SQLStatementUtils.getEstimatedRowCount(getDatabaseName(), SQLSchemaUtils.getTableName(_entityType));
+      return toApproximateListResult(sqlRows, approximateCountCache.getCount(estimatedCountSql, this::count), start,
+          pageSize);
+    }
+
     final String browseSql = SQLStatementUtils.createAspectBrowseSql(_entityType, aspectClass, start, pageSize);
     final SqlQuery sqlQuery = _server.createSqlQuery(browseSql);
 
@@ -396,8 +589,8 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
         return toListResult(0, start, pageSize);
       } else {
         sqlRow.set("_total_count", 1);
-        final ASPECT aspect = RecordUtils.toRecordTemplate(aspectClass,
-            extractAspectJsonString(sqlRow.getString(getAspectColumnName(urn.getEntityType(), aspectClass))));
+        final ASPECT aspect =
+            readAspect(aspectClass, sqlRow.getString(getAspectColumnName(urn.getEntityType(), aspectClass)));
         final ListResultMetadata listResultMetadata = new ListResultMetadata().setExtraInfos(new ExtraInfoArray());
         final ExtraInfo extraInfo = new ExtraInfo().setUrn(urn)
             .setVersion(LATEST_VERSION)
@@ -432,13 +625,57 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
               makeAuditStamp(sqlRow.getTimestamp("lastmodifiedon"), sqlRow.getString("lastmodifiedby"),
                   sqlRow.getString("createdfor")));
       listResultMetadata.getExtraInfos().add(extraInfo);
-      return RecordUtils.toRecordTemplate(aspectClass,
-          extractAspectJsonString(sqlRow.getString(getAspectColumnName(_entityType, aspectClass))));
+      return readAspect(aspectClass, sqlRow.getString(getAspectColumnName(_entityType, aspectClass)));
     }).collect(Collectors.toList());
     return toListResult(aspectList, sqlRows, listResultMetadata, start, pageSize);
   }
 
 
+  @Nonnull
+  @Override
+  public <ASPECT extends RecordTemplate> ListResult<ASPECT> listAfter(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable Urn lastUrn, int pageSize, boolean includeTotalCount) {
+    // fetch one more row than asked for to tell whether there is a next page
+    final String listAspectSql =
+        SQLStatementUtils.createListAspectAfterUrnSql(aspectClass, _entityType, lastUrn != null, pageSize + 1, includeTotalCount);
+    final SqlQuery sqlQuery = _server.createSqlQuery(listAspectSql);
+    if (lastUrn != null) {
+      sqlQuery.setParameter("lastUrn", lastUrn.toString());
+    }
+    final List<SqlRow> sqlRows = sqlQuery.findList();
+    final boolean havingMore = sqlRows.size() > pageSize;
+
+    final ListResultMetadata listResultMetadata = new ListResultMetadata().setExtraInfos(new ExtraInfoArray());
+    final List<ASPECT> aspectList = new ArrayList<>(Math.min(sqlRows.size(), pageSize));
+    for (SqlRow sqlRow : havingMore ? sqlRows.subList(0, pageSize) : sqlRows) {
+      listResultMetadata.getExtraInfos().add(new ExtraInfo().setUrn(getUrn(sqlRow.getString("urn"), _urnClass))
+          .setVersion(LATEST_VERSION)
+          .setAudit(makeAuditStamp(sqlRow.getTimestamp("lastmodifiedon"), sqlRow.getString("lastmodifiedby"),
+              sqlRow.getString("createdfor"))));
+      aspectList.add(readAspect(aspectClass, sqlRow.getString(getAspectColumnName(_entityType, aspectClass))));
+    }
+
+    final int totalCount;
+    if (!includeTotalCount) {
+      totalCount = -1;
+    } else if (sqlRows.isEmpty()) {
+      // the count is a column of the rows, so it has to be read separately when there are none
+      totalCount = lastUrn == null ? 0 : listAfter(aspectClass, null, 0, true).getTotalCount();
+    } else {
+      totalCount = sqlRows.get(0).getInteger("_total_count");
+    }
+
+    return ListResult.<ASPECT>builder()
+        .values(aspectList)
+        .metadata(listResultMetadata)
+        .nextStart(ListResult.INVALID_NEXT_START)
+        .havingMore(havingMore)
+        .totalCount(totalCount)
+        .totalPageCount(totalCount < 0 ? -1 : ceilDiv(totalCount, Math.max(pageSize, 1)))
+        .pageSize(pageSize)
+        .build();
+  }
+
   @Nonnull
   @Override
   public Map<String, Long> countAggregate(@Nullable IndexFilter indexFilter,
@@ -476,12 +713,14 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
    * Produce {@link SqlQuery} for list urn by offset (start) and limit (pageSize).
    * @param indexFilter index filter conditions
    * @param indexSortCriterion sorting criterion, default ACS
+   * @param hasTotalCount whether to select the _total_count column, or only the urns
    * @return SqlQuery a SQL query which can be executed by ebean server.
    */
   private SqlQuery createFilterSqlQuery(@Nullable IndexFilter indexFilter,
-      @Nullable IndexSortCriterion indexSortCriterion, int offset, int pageSize) {
+      @Nullable IndexSortCriterion indexSortCriterion, int offset, int pageSize, boolean hasTotalCount) {
     StringBuilder filterSql = new StringBuilder();
-    filterSql.append(SQLStatementUtils.createFilterSql(_entityType, indexFilter, true, _nonDollarVirtualColumnsEnabled, validator));
+    filterSql.append(
+        SQLStatementUtils.createFilterSql(_entityType, indexFilter, hasTotalCount, _nonDollarVirtualColumnsEnabled, validator));
     filterSql.append("\n");
     filterSql.append(parseSortCriteria(_entityType, indexSortCriterion, _nonDollarVirtualColumnsEnabled));
     filterSql.append(String.format(" LIMIT %d", Math.max(pageSize, 0)));
@@ -511,6 +750,65 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     return _server.createSqlQuery(filterSql.toString());
   }
 
+  /**
+   * Runs a SQL statement selecting a single count, such as a filter count or an estimated row count.
+   */
+  private long count(@Nonnull String countSql) {
+    final Long count = _server.createSqlQuery(countSql).findSingleLong();
+    // the estimated row count is null when the table has no statistics yet
+    return count == null ? 0 : count;
+  }
+
+  @Nonnull
+  private String getDatabaseName() {
+    if (_databaseName == null) {
+      _databaseName = _server.createSqlQuery("SELECT DATABASE()").findSingleAttribute(String.class);
+    }
+    return _databaseName;
+  }
+
+  /**
+   * Convert the urn rows of a page, fetched with one row more than the page size, into a {@link ListResult} whose total
+   * count is an estimate, flagged as such in its {@link ListResultMetadata}. The estimate is corrected where the page
+   * itself proves it wrong: it is at least the rows seen, and exact once the last page is reached.
+   * @param sqlRows rows from ebean query execution, up to pageSize + 1
+   * @param estimatedTotalCount estimated number of rows of the listing
+   * @param start starting position
+   * @param pageSize number of rows in a page
+   * @return {@link ListResult} which contains paging metadata information
+   */
+  @Nonnull
+  private ListResult<URN> toApproximateListResult(@Nonnull List<SqlRow> sqlRows, long estimatedTotalCount, int start,
+      int pageSize) {
+    final boolean havingMore = sqlRows.size() > Math.max(pageSize, 0);
+    final List<URN> values = (havingMore ? sqlRows.subList(0, Math.max(pageSize, 0)) : sqlRows).stream()
+        .map(sqlRow -> getUrn(sqlRow.getString("urn"), _urnClass))
+        .collect(Collectors.toList());
+
+    final int totalCount;
+    if (havingMore) {
+      totalCount = (int) Math.max(estimatedTotalCount, start + values.size() + 1L);
+    } else if (!values.isEmpty() || start == 0) {
+      totalCount = start + values.size();
+    } else {
+      // past the end, where only the estimate is known
+      totalCount = (int) estimatedTotalCount;
+    }
+
+    if (pageSize == 0) {
+      pageSize = DEFAULT_PAGE_SIZE;
+    }
+    return ListResult.<URN>builder()
+        .values(values)
+        .metadata(new ListResultMetadata().setExtraInfos(new ExtraInfoArray()).setApproximateTotalCount(true))
+        .nextStart(havingMore ? start + values.size() : ListResult.INVALID_NEXT_START)
+        .havingMore(havingMore)
+        .totalCount(totalCount)
+        .totalPageCount(ceilDiv(totalCount, pageSize))
+        .pageSize(pageSize)
+        .build();
+  }
+
   /**
    * Convert sqlRows into {@link ListResult}. This version of toListResult is used when the original SQL query
    * returned nothing, but that doesn't necessarily mean that _total_count is 0 (thought it still could be). For example:
@@ -595,6 +893,19 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
         .build();
   }
 
+  /**
+   * Reads the aspect out of an aspect column value, parsing the value once.
+   */
+  @Nonnull
+  private static <ASPECT extends RecordTemplate> ASPECT readAspect(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull String auditedAspect) {
+    final DataMap aspect = AuditedAspectJsonReader.read(auditedAspect, true).getAspect();
+    if (aspect == null) {
+      throw new ModelConversionException("No aspect in column value of " + aspectClass.getCanonicalName());
+    }
+    return RecordUtils.toRecordTemplate(aspectClass, aspect);
+  }
+
   /**
    * Given an AuditedAspect object, serialize it into a json string in a format that will be saved in DB.
    * @param auditedAspect AuditedAspect object to be serialized
@@ -651,24 +962,24 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   private static <ASPECT extends RecordTemplate, URN> EbeanMetadataAspect findLatestMetadataAspect(
       @Nonnull Connection connection, @Nonnull URN urn, @Nonnull Class<ASPECT> aspectClass) {
     final String aspectName = ModelUtils.getAspectName(aspectClass);
-    PreparedStatement preparedStatement;
-    try {
-      preparedStatement = connection.prepareStatement(FIND_LATEST_SQL_TEMPLATE);
+    // the statement is closed after each use, which returns it to the prepared statement cache of a pooled connection
+    try (PreparedStatement preparedStatement = connection.prepareStatement(FIND_LATEST_SQL_TEMPLATE)) {
       preparedStatement.setString(1, urn.toString());
       preparedStatement.setString(2, aspectName);
       preparedStatement.setInt(3, 0); // version = 0
-      ResultSet resultSet = preparedStatement.executeQuery();
-      if (resultSet.next()) {
-        EbeanMetadataAspect ebeanMetadataAspect = new EbeanMetadataAspect();
-        ebeanMetadataAspect.setKey(new EbeanMetadataAspect.PrimaryKey(urn.toString(), aspectName, 0L));
-        ebeanMetadataAspect.setMetadata(resultSet.getString("metadata"));
-        ebeanMetadataAspect.setCreatedFor(resultSet.getString("createdFor"));
-        ebeanMetadataAspect.setCreatedBy(resultSet.getString("createdBy"));
-        ebeanMetadataAspect.setCreatedOn(resultSet.getTimestamp("createdOn"));
-        return ebeanMetadataAspect;
-      } else {
-        // return null if there is no such a record in the Database
-        return null;
+      try (ResultSet resultSet = preparedStatement.executeQuery()) {
+        if (resultSet.next()) {
+          EbeanMetadataAspect ebeanMetadataAspect = new EbeanMetadataAspect();
+          ebeanMetadataAspect.setKey(new EbeanMetadataAspect.PrimaryKey(urn.toString(), aspectName, 0L));
+          ebeanMetadataAspect.setMetadata(resultSet.getString("metadata"));
+          ebeanMetadataAspect.setCreatedFor(resultSet.getString("createdFor"));
+          ebeanMetadataAspect.setCreatedBy(resultSet.getString("createdBy"));
+          ebeanMetadataAspect.setCreatedOn(resultSet.getTimestamp("createdOn"));
+          return ebeanMetadataAspect;
+        } else {
+          // return null if there is no such a record in the Database
+          return null;
+        }
       }
     } catch (SQLException throwables) {
       // throw exception when SQL execution failed.
@@ -10,6 +10,8 @@ import com.linkedin.data.template.SetMode;
 import com.linkedin.data.template.UnionTemplate;
 import com.linkedin.metadata.dao.builder.BaseLocalRelationshipBuilder.LocalRelationshipUpdates;
 import com.linkedin.metadata.dao.builder.LocalRelationshipBuilderRegistry;
+import com.linkedin.metadata.dao.equality.EqualityTester;
+import com.linkedin.metadata.dao.equality.FingerprintEqualityTester;
 import com.linkedin.metadata.dao.exception.ModelConversionException;
 import com.linkedin.metadata.dao.exception.RetryLimitReached;
 import com.linkedin.metadata.dao.internal.BaseGraphWriterDAO;
@@ -24,6 +26,8 @@ import com.linkedin.metadata.dao.urnpath.UrnPathExtractor;
 import com.linkedin.metadata.dao.utils.EBeanDAOUtils;
 import com.linkedin.metadata.dao.utils.ETagUtils;
 import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.dao.utils.NumericIdBlockAllocator;
+import com.linkedin.metadata.dao.utils.ParallelQueryExecutor;
 import com.linkedin.metadata.dao.utils.QueryUtils;
 import com.linkedin.metadata.dao.utils.RecordUtils;
 import com.linkedin.metadata.dao.utils.SQLSchemaUtils;
@@ -40,11 +44,14 @@ import com.linkedin.metadata.query.IndexValue;
 import com.linkedin.metadata.query.ListResultMetadata;
 import io.ebean.DuplicateKeyException;
 import io.ebean.EbeanServer;
+import io.ebean.ExpressionList;
+import io.ebean.Junction;
 import io.ebean.PagedList;
 import io.ebean.Query;
 import io.ebean.SqlRow;
 import io.ebean.SqlUpdate;
 import io.ebean.Transaction;
+import io.ebean.TransactionCallbackAdapter;
 import io.ebean.config.ServerConfig;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -54,10 +61,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -84,6 +96,37 @@ import static com.linkedin.metadata.dao.utils.EbeanServerUtils.*;
 public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     extends BaseLocalDAO<ASPECT_UNION, URN> {
 
+  /**
+   * Single SELECT statement for batch get, which selects one entity, and then can be UNION'd with other SELECT
+   * statements.
+   */
+  private static final String BATCH_GET_SELECT = String.format(
+      "(SELECT t.urn, t.aspect, t.version, t.metadata, t.createdOn, t.createdBy, t.createdFor "
+          + "FROM %s t WHERE urn = ? AND aspect = ? AND version = ? ORDER BY t.createdOn DESC LIMIT 1)",
+      EbeanMetadataAspect.class.getAnnotation(Table.class).name());
+
+  // Numbers of SELECTs a batch get statement is padded to, beyond the last one it is padded to a multiple of it. This
+  // keeps the number of distinct statements small, so they are parsed once and then reused from the prepared statement
+  // cache of each pooled connection and from ebean's query plan cache.
+  private static final int[] BATCH_GET_STATEMENT_SIZES = {1, 8, 32, 128};
+
+  // Key that matches no row, used to pad batch get statements
+  private static final Object[] BATCH_GET_SENTINEL_PARAMS = {"", "", -1L};
+
+  private static final Map<Integer, String> BATCH_GET_UNION_SQL = new ConcurrentHashMap<>();
+
+  private static final int DECRYPTED_ETAG_MEMO_SIZE = 64;
+
+  // eTags recently decrypted on each thread, so that a request writing several aspects with the same ingestion params
+  // decrypts each of its eTags once. Keyed by the encrypted eTag, whose decryption never changes.
+  private static final ThreadLocal<Map<String, Long>> DECRYPTED_ETAGS =
+      ThreadLocal.withInitial(() -> new LinkedHashMap<String, Long>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+          return size() > DECRYPTED_ETAG_MEMO_SIZE;
+        }
+      });
+
   protected final EbeanServer _server;
   protected final Class<URN> _urnClass;
 
@@ -104,8 +147,23 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   // TODO: clean up once AIM is no longer using existing local relationships - they should make new relationship tables with the aspect column
   private boolean _useAspectColumnForRelationshipRemoval = false;
 
+  // true if relationship ingestion only applies the difference between the relationships of the old and new values
+  private boolean _relationshipDiffEnabled = false;
+
   private boolean _noisyLogsEnabled = false;
 
+  // Runs batch get sub queries concurrently when set, otherwise they run one after another on the calling thread
+  private ParallelQueryExecutor _parallelQueryExecutor = null;
+
+  // Hands out numeric IDs from blocks reserved in metadata_id when set, otherwise every ID is reserved on its own
+  private NumericIdBlockAllocator _numericIdBlockAllocator = null;
+
+  // Serves reads of the latest version of hot aspects from memory when set
+  private LatestAspectCache _latestAspectCache = null;
+
+  // Actions to run once the transaction of the innermost runInTransactionWithRetry of this DAO on the thread commits
+  private final ThreadLocal<List<Runnable>> _afterCommitActions = new ThreadLocal<>();
+
   // Which approach to be used for record retrieval when inserting a new record
   // See GCN-38382
   private FindMethodology _findMethodology = FindMethodology.UNIQUE_ID;
@@ -143,6 +201,17 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     _localRelationshipWriterDAO.setUseAspectColumnForRelationshipRemoval(useAspectColumnForRelationshipRemoval);
   }
 
+  /**
+   * Set a flag to indicate whether relationship ingestion applies only the difference between the relationships of the
+   * old and the new aspect value, soft-deleting removed edges and inserting added ones, instead of removing all edges
+   * from the source and inserting all new ones. Only enable it if the local relationship tables hold the relationships
+   * of the stored aspect values, e.g. they have always been ingested through this DAO. Diffs are only applied if the
+   * aspect column is used for relationship removal, see {@link #setUseAspectColumnForRelationshipRemoval}.
+   */
+  public void setRelationshipDiffEnabled(boolean relationshipDiffEnabled) {
+    _relationshipDiffEnabled = relationshipDiffEnabled;
+  }
+
   /**
    * Set a flag to indicate whether noisy info logs are enabled. Should only be used for debugging.
    * @param noisyLogsEnabled whether the logs are enabled
@@ -179,6 +248,28 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     public Object value;
   }
 
+  /**
+   * Normalized (urn, aspect, version) triple used to match {@link AspectKey}s against {@link PrimaryKey}s. Urns are
+   * lower-cased as they are matched ignoring case.
+   */
+  @Value
+  static class RecordKey {
+    String urn;
+    String aspect;
+    long version;
+
+    @Nonnull
+    static RecordKey of(@Nonnull AspectKey<?, ? extends RecordTemplate> aspectKey) {
+      return new RecordKey(aspectKey.getUrn().toString().toLowerCase(Locale.ROOT),
+          ModelUtils.getAspectName(aspectKey.getAspectClass()), aspectKey.getVersion());
+    }
+
+    @Nonnull
+    static RecordKey of(@Nonnull PrimaryKey pk) {
+      return new RecordKey(pk.getUrn().toLowerCase(Locale.ROOT), pk.getAspect(), pk.getVersion());
+    }
+  }
+
   /**
    * Constructor for EbeanLocalDAO.
    *
@@ -569,8 +660,14 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     int retryCount = 0;
     Exception lastException;
 
+    final List<Runnable> outerActions = _afterCommitActions.get();
+    // a transaction begun outside of the DAO, which the transactions below join
+    final Transaction outerTransaction = outerActions == null ? _server.currentTransaction() : null;
+    List<Runnable> actions;
     T result = null;
     do {
+      actions = new ArrayList<>();
+      _afterCommitActions.set(actions);
       try (Transaction transaction = _server.beginTransaction()) {
         result = block.get();
         transaction.commit();
@@ -578,6 +675,12 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
         break;
       } catch (RollbackException | DuplicateKeyException | OptimisticLockException exception) {
         lastException = exception;
+      } finally {
+        if (outerActions == null) {
+          _afterCommitActions.remove();
+        } else {
+          _afterCommitActions.set(outerActions);
+        }
       }
     } while (++retryCount <= maxTransactionRetry);
 
@@ -585,9 +688,37 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       throw new RetryLimitReached("Failed to add after " + maxTransactionRetry + " retries", lastException);
     }
 
+    // a nested transaction only commits along with the outer one
+    if (outerActions != null) {
+      outerActions.addAll(actions);
+    } else if (outerTransaction != null && outerTransaction.isActive()) {
+      actions.forEach(this::runAfterCommit);
+    } else {
+      actions.forEach(Runnable::run);
+    }
     return result;
   }
 
+  @Override
+  protected void runAfterCommit(@Nonnull Runnable action) {
+    final List<Runnable> actions = _afterCommitActions.get();
+    if (actions != null) {
+      actions.add(action);
+      return;
+    }
+    final Transaction transaction = _server.currentTransaction();
+    if (transaction != null && transaction.isActive()) {
+      transaction.register(new TransactionCallbackAdapter() {
+        @Override
+        public void postCommit() {
+          action.run();
+        }
+      });
+      return;
+    }
+    action.run();
+  }
+
   /**
    * Extracts the optimistic lock for a specific aspect from the ingestion parameters if possible.
    * @param ingestionParams the ingestion parameters containing the aspects and their eTags
@@ -608,17 +739,15 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
 
     final IngestionAspectETagArray ingestionAspectETags = ingestionParams.getIngestionETags();
 
-    if (ingestionAspectETags != null) {
-      for (IngestionAspectETag ingestionAspectETag: ingestionAspectETags) {
-
-        final String aspectAlias;
-
-        try {
-          aspectAlias = SQLSchemaUtils.getColumnName(urn.getEntityType(), aspectClass.getCanonicalName());
-        } catch (Exception e) {
-          continue;
-        }
+    if (ingestionAspectETags != null && !ingestionAspectETags.isEmpty()) {
+      final String aspectAlias;
+      try {
+        aspectAlias = SQLSchemaUtils.getColumnName(urn.getEntityType(), aspectClass);
+      } catch (Exception e) {
+        return null;
+      }
 
+      for (IngestionAspectETag ingestionAspectETag: ingestionAspectETags) {
         if (aspectAlias != null && aspectAlias.equalsIgnoreCase(ingestionAspectETag.getAspect_alias())) {
           Long decryptedETag = getDecryptedETag(ingestionAspectETag);
           if (decryptedETag != null) {
@@ -638,10 +767,17 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   @Nullable
   private Long getDecryptedETag(@Nonnull IngestionAspectETag ingestionAspectETag) {
     try {
-      if (ingestionAspectETag.getEtag() == null) {
+      final String eTag = ingestionAspectETag.getEtag();
+      if (eTag == null) {
         return null;
       }
-      return ETagUtils.decrypt(ingestionAspectETag.getEtag());
+      final Map<String, Long> decryptedETags = DECRYPTED_ETAGS.get();
+      Long decrypted = decryptedETags.get(eTag);
+      if (decrypted == null) {
+        decrypted = ETagUtils.decrypt(eTag);
+        decryptedETags.put(eTag, decrypted);
+      }
+      return decrypted;
     } catch (Exception e) {
       return null;
     }
@@ -652,6 +788,16 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       @Nullable ASPECT oldValue, @Nullable AuditStamp optimisticLockAuditStamp, @Nullable ASPECT newValue,
       @Nonnull AuditStamp newAuditStamp, boolean isSoftDeleted, @Nullable IngestionTrackingContext trackingContext,
       boolean isTestMode) {
+    return saveLatest(urn, aspectClass, oldValue, optimisticLockAuditStamp, newValue, newAuditStamp, isSoftDeleted,
+        trackingContext, isTestMode, null);
+  }
+
+  @Override
+  protected <ASPECT extends RecordTemplate> long saveLatest(@Nonnull URN urn, @Nonnull Class<ASPECT> aspectClass,
+      @Nullable ASPECT oldValue, @Nullable AuditStamp optimisticLockAuditStamp, @Nullable ASPECT newValue,
+      @Nonnull AuditStamp newAuditStamp, boolean isSoftDeleted, @Nullable IngestionTrackingContext trackingContext,
+      boolean isTestMode, @Nullable String newFingerprint) {
+    invalidateLatestAspect(urn, aspectClass);
     // Save oldValue as the largest version + 1
     long largestVersion = 0;
     if ((isSoftDeleted || oldValue != null) && optimisticLockAuditStamp != null && _changeLogEnabled) {
@@ -675,7 +821,7 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       }
       // update latest version
       updateWithOptimisticLocking(urn, newValue, aspectClass, newAuditStamp, LATEST_VERSION,
-          new Timestamp(optimisticLockAuditStamp.getTime()), trackingContext, isTestMode);
+          new Timestamp(optimisticLockAuditStamp.getTime()), trackingContext, isTestMode, newFingerprint);
     } else {
       // When for fresh ingestion or with changeLog disabled
       // TODO(yanyang) added for job-gms duplicity debug, throwaway afterwards
@@ -685,7 +831,7 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
         }
       }
 
-      insert(urn, newValue, aspectClass, newAuditStamp, LATEST_VERSION, trackingContext, isTestMode);
+      insert(urn, newValue, aspectClass, newAuditStamp, LATEST_VERSION, trackingContext, isTestMode, newFingerprint);
     }
 
     // This method will handle relationship ingestions and soft-deletions
@@ -694,6 +840,54 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     return largestVersion;
   }
 
+  /**
+   * Writes that {@link #saveLatest} would persist with a plain upsert of the latest version (fresh aspects, or any
+   * aspect when the change log is disabled) are written to the entity tables with multi-row upserts; the others, which
+   * need the change log history and optimistic locking, are saved one at a time.
+   */
+  @Override
+  @Nonnull
+  protected List<Long> saveLatestBatch(@Nonnull List<LatestAspectWrite<URN, ? extends RecordTemplate>> writes) {
+    if (_schemaConfig == SchemaConfig.OLD_SCHEMA_ONLY) {
+      return super.saveLatestBatch(writes);
+    }
+
+    final List<Long> largestVersions = new ArrayList<>(writes.size());
+    final List<LatestAspectWrite<URN, ? extends RecordTemplate>> upserts = new ArrayList<>();
+    for (LatestAspectWrite<URN, ? extends RecordTemplate> write : writes) {
+      final boolean hasHistory = (write.isSoftDeleted() || write.getOldValue() != null)
+          && write.getOptimisticLockAuditStamp() != null && _changeLogEnabled;
+      if (write.getNewValue() == null || hasHistory) {
+        largestVersions.add(saveLatestWrite(write));
+      } else {
+        upserts.add(write);
+        largestVersions.add(LATEST_VERSION);
+      }
+    }
+
+    if (!upserts.isEmpty()) {
+      upserts.forEach(write -> invalidateLatestAspect(write.getUrn(), write.getAspectClass()));
+      _localAccess.addBatch(upserts);
+      for (LatestAspectWrite<URN, ? extends RecordTemplate> write : upserts) {
+        completeBatchUpsert(write);
+      }
+    }
+    return largestVersions;
+  }
+
+  /**
+   * Performs the remainder of {@link #saveLatest} for a write whose entity table row has been upserted by
+   * {@link #saveLatestBatch}: appending to the change log and ingesting relationships.
+   */
+  private <ASPECT extends RecordTemplate> void completeBatchUpsert(@Nonnull LatestAspectWrite<URN, ASPECT> write) {
+    if (_changeLogEnabled && !write.isTestMode()) {
+      insertIntoChangeLog(buildMetadataAspectBean(write.getUrn(), write.getNewValue(), write.getAspectClass(),
+          write.getNewAuditStamp(), LATEST_VERSION));
+    }
+    handleRelationshipIngestion(write.getUrn(), write.getNewValue(), write.getOldValue(), write.getAspectClass(),
+        write.isTestMode());
+  }
+
   /**
    * Insert a new aspect record into the metadata_aspect table.
    *
@@ -711,11 +905,13 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       @Nonnull List<AspectCreateLambda<? extends RecordTemplate>> aspectCreateLambdas,
       @Nonnull List<? extends RecordTemplate> aspectValues, @Nonnull AuditStamp newAuditStamp,
       @Nullable IngestionTrackingContext trackingContext, boolean isTestMode) {
-    return runInTransactionWithRetry(() ->
-        // behavior of create: do a get to ensure the urn does not already exist
-        // if exists and deletedTs is null, then throw an exception
-        // if exists and deletedTs is not null, then update the deletedTs to null and create records
-        _localAccess.create(urn, aspectValues, aspectCreateLambdas, newAuditStamp, trackingContext, isTestMode), 1);
+    return runInTransactionWithRetry(() -> {
+      aspectValues.forEach(aspectValue -> invalidateLatestAspect(urn, aspectValue.getClass()));
+      // behavior of create: do a get to ensure the urn does not already exist
+      // if exists and deletedTs is null, then throw an exception
+      // if exists and deletedTs is not null, then update the deletedTs to null and create records
+      return _localAccess.create(urn, aspectValues, aspectCreateLambdas, newAuditStamp, trackingContext, isTestMode);
+    }, 1);
   }
 
   @Override
@@ -724,6 +920,7 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     if (!exists(urn)) {
       return 0;
     }
+    invalidateLatestAspects(cache -> cache.invalidateAll(urn));
     return _localAccess.softDeleteAsset(urn, isTestMode);
   }
 
@@ -732,7 +929,7 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     if (_schemaConfig == SchemaConfig.OLD_SCHEMA_ONLY) {
       throw new UnsupportedOperationException("Entity tables cannot be used in OLD_SCHEMA_ONLY mode, so they cannot be backfilled.");
     }
-    PrimaryKey key = new PrimaryKey(urn.toString(), aspectClass.getCanonicalName(), LATEST_VERSION);
+    PrimaryKey key = new PrimaryKey(urn.toString(), ModelUtils.getAspectName(aspectClass), LATEST_VERSION);
     runInTransactionWithRetry(() -> {
       // use forUpdate() to lock the row during this transaction so that we can guarantee a consistent update.
       // order by createdon desc to get the latest value in the case where there are multiple results
@@ -742,6 +939,7 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       }
       AuditStamp auditStamp = makeAuditStamp(result);
       ASPECT aspect = toRecordTemplate(aspectClass, result).orElse(null);
+      invalidateLatestAspect(urn, aspectClass);
       _localAccess.add(urn, aspect, aspectClass, auditStamp, null, false);
 
       // also insert any relationships associated with this aspect
@@ -822,17 +1020,44 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   @Nonnull
   protected <ASPECT extends RecordTemplate> AspectEntry<ASPECT> getLatest(@Nonnull URN urn,
       @Nonnull Class<ASPECT> aspectClass, boolean isTestMode) {
-    EbeanMetadataAspect latest = queryLatest(urn, aspectClass, isTestMode);
+    return toAspectEntry(aspectClass, queryLatest(urn, aspectClass, isTestMode));
+  }
+
+  @Override
+  @Nonnull
+  protected Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> getLatest(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys, boolean isTestMode) {
+    if (_schemaConfig != SchemaConfig.NEW_SCHEMA_ONLY || keys.isEmpty()) {
+      // the old schema is read one aspect at a time, following the configured FindMethodology
+      return super.getLatest(keys, isTestMode);
+    }
+
+    // one select per aspect class against the entity tables, same as queryLatest but for all keys
+    final Map<RecordKey, EbeanMetadataAspect> recordsByKey =
+        indexRecordsByKey(_localAccess.batchGetUnion(new ArrayList<>(keys), keys.size(), 0, true, isTestMode));
+    final Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> latest = new HashMap<>();
+    for (AspectKey<URN, ? extends RecordTemplate> key : keys) {
+      final EbeanMetadataAspect record =
+          recordsByKey.get(RecordKey.of(new AspectKey<>(key.getAspectClass(), key.getUrn(), LATEST_VERSION)));
+      latest.put(key, toAspectEntry(key.getAspectClass(), record));
+    }
+    return latest;
+  }
+
+  @Nonnull
+  private static <ASPECT extends RecordTemplate> AspectEntry<ASPECT> toAspectEntry(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable EbeanMetadataAspect latest) {
     if (latest == null) {
       return new AspectEntry<>(null, null);
     }
     final ExtraInfo extraInfo = toExtraInfo(latest);
 
-    if (isSoftDeletedAspect(latest, aspectClass)) {
+    final Optional<ASPECT> aspect = toAspectIfNotSoftDeleted(aspectClass, latest);
+    if (!aspect.isPresent()) {
       return new AspectEntry<>(null, extraInfo, true);
     }
 
-    return new AspectEntry<>(RecordUtils.toRecordTemplate(aspectClass, latest.getMetadata()), extraInfo);
+    return new AspectEntry<>(aspect.get(), extraInfo, false, latest.getFingerprint());
   }
 
   @Nonnull
@@ -896,6 +1121,18 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       @Nullable RecordTemplate value, @Nonnull Class<ASPECT> aspectClass, @Nonnull AuditStamp newAuditStamp,
       long version, @Nonnull Timestamp oldTimestamp, @Nullable IngestionTrackingContext trackingContext,
       boolean isTestMode) {
+    updateWithOptimisticLocking(urn, value, aspectClass, newAuditStamp, version, oldTimestamp, trackingContext, isTestMode,
+        null);
+  }
+
+  /**
+   * Same as {@link #updateWithOptimisticLocking(Urn, RecordTemplate, Class, AuditStamp, long, Timestamp,
+   * IngestionTrackingContext, boolean)}, with the content fingerprint of the value if already computed.
+   */
+  private <ASPECT extends RecordTemplate> void updateWithOptimisticLocking(@Nonnull URN urn,
+      @Nullable RecordTemplate value, @Nonnull Class<ASPECT> aspectClass, @Nonnull AuditStamp newAuditStamp,
+      long version, @Nonnull Timestamp oldTimestamp, @Nullable IngestionTrackingContext trackingContext,
+      boolean isTestMode, @Nullable String fingerprint) {
 
     final EbeanMetadataAspect aspect = buildMetadataAspectBean(urn, value, aspectClass, newAuditStamp, version);
 
@@ -923,7 +1160,7 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
         // Note: when cold-archive is enabled, this method: updateWithOptimisticLocking will not be called.
         _server.execute(oldSchemaSqlUpdate);
         return _localAccess.addWithOptimisticLocking(urn, (ASPECT) value, aspectClass, newAuditStamp, oldTimestamp,
-            trackingContext, isTestMode, true);
+            trackingContext, isTestMode, true, fingerprint);
       }, 1);
     } else {
       // In OLD_SCHEMA and DUAL_SCHEMA mode, the aspect table is the SOT and the getLatest (oldTimestamp) is from the aspect table.
@@ -933,7 +1170,7 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
         // Additionally, in DUAL_SCHEMA mode: apply a regular update (no optimistic locking) to the entity table
         if (_schemaConfig == SchemaConfig.DUAL_SCHEMA) {
           _localAccess.addWithOptimisticLocking(urn, (ASPECT) value, aspectClass, newAuditStamp, null,
-              trackingContext, isTestMode, false);
+              trackingContext, isTestMode, false, fingerprint);
         }
         return _server.execute(oldSchemaSqlUpdate);
       }, 1);
@@ -949,11 +1186,21 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   protected <ASPECT extends RecordTemplate> void insert(@Nonnull URN urn, @Nullable RecordTemplate value,
       @Nonnull Class<ASPECT> aspectClass, @Nonnull AuditStamp auditStamp, long version,
       @Nullable IngestionTrackingContext trackingContext, boolean isTestMode) {
+    insert(urn, value, aspectClass, auditStamp, version, trackingContext, isTestMode, null);
+  }
+
+  /**
+   * Same as {@link #insert(Urn, RecordTemplate, Class, AuditStamp, long, IngestionTrackingContext, boolean)}, with the
+   * content fingerprint of the value if already computed.
+   */
+  private <ASPECT extends RecordTemplate> void insert(@Nonnull URN urn, @Nullable RecordTemplate value,
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull AuditStamp auditStamp, long version,
+      @Nullable IngestionTrackingContext trackingContext, boolean isTestMode, @Nullable String fingerprint) {
     final EbeanMetadataAspect aspect = buildMetadataAspectBean(urn, value, aspectClass, auditStamp, version);
     if (_schemaConfig != SchemaConfig.OLD_SCHEMA_ONLY && version == LATEST_VERSION) {
       // insert() could be called when updating log table (moving current versions into new history version)
       // the metadata entity tables shouldn't been updated.
-      _localAccess.add(urn, (ASPECT) value, aspectClass, auditStamp, trackingContext, isTestMode);
+      _localAccess.add(urn, (ASPECT) value, aspectClass, auditStamp, trackingContext, isTestMode, fingerprint);
     }
 
     // DO append change log table (metadata_aspect) if:
@@ -962,15 +1209,19 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     //   2. if NOT in test mode
     //      -> which is ALWAYS a dual-write operation (meaning this insertion will already happen in the "other" write)
     if (_changeLogEnabled && !isTestMode) {
-      try {
-        _server.insert(aspect);
-      } catch (Exception e) {
-        if (e.getMessage() != null && e.getMessage().contains("Duplicate entry")) {
-          // silently fail and log the error
-          log.warn("Insert to metadata_aspect failed due to duplicate entry exception. Exception: {}", e.toString());
-        } else {
-          throw e;
-        }
+      insertIntoChangeLog(aspect);
+    }
+  }
+
+  private void insertIntoChangeLog(@Nonnull EbeanMetadataAspect aspect) {
+    try {
+      _server.insert(aspect);
+    } catch (Exception e) {
+      if (e.getMessage() != null && e.getMessage().contains("Duplicate entry")) {
+        // silently fail and log the error
+        log.warn("Insert to metadata_aspect failed due to duplicate entry exception. Exception: {}", e.toString());
+      } else {
+        throw e;
       }
     }
   }
@@ -1006,6 +1257,40 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
 
     // Get the relationships associated with the aspect. from newValue if inserting, from oldValue if soft-deleting.
     ASPECT aspect = isSoftDeletion ? oldValue : newValue;
+    List<LocalRelationshipUpdates> localRelationshipUpdates = extractLocalRelationshipUpdates(urn, aspect, aspectClass);
+    // process relationship soft-deletion if applicable
+    if (isSoftDeletion) {
+      List<RELATIONSHIP> relationships = new ArrayList<>();
+      localRelationshipUpdates.forEach(localRelationshipUpdate -> relationships.addAll(localRelationshipUpdate.getRelationships()));
+      if (_noisyLogsEnabled) {
+        log.info("Removing relationships because aspect is soft-deleted in handleRelationshipIngestion for urn: {}, aspectClass: {}. "
+            + "LocalRelationshipUpdates: {}", urn, aspectClass, localRelationshipUpdates);
+      }
+      _localRelationshipWriterDAO.removeRelationships(urn, aspectClass, relationships);
+      return Collections.emptyList();
+    }
+    // process relationship ingestion
+    if (_relationshipDiffEnabled && oldValue != null) {
+      List<LocalRelationshipUpdates> previousRelationshipUpdates = extractLocalRelationshipUpdates(urn, oldValue, aspectClass);
+      _localRelationshipWriterDAO.processLocalRelationshipUpdateDiffs(urn, aspectClass, localRelationshipUpdates,
+          previousRelationshipUpdates, isTestMode);
+    } else {
+      _localRelationshipWriterDAO.processLocalRelationshipUpdates(urn, aspectClass, localRelationshipUpdates, isTestMode);
+    }
+    if (_noisyLogsEnabled && !localRelationshipUpdates.isEmpty()) {
+      log.info("Relationships successfully ingested in handleRelationshipIngestion for urn: {}, aspectClass: {}. "
+          + "LocalRelationshipUpdates: {}", urn, aspectClass, localRelationshipUpdates);
+    }
+    return localRelationshipUpdates;
+  }
+
+  /**
+   * Extracts the relationships of an aspect value, using the registered relationship builder of the aspect class if any,
+   * or else the relationship fields of the aspect.
+   */
+  @Nonnull
+  private <ASPECT extends RecordTemplate, RELATIONSHIP extends RecordTemplate> List<LocalRelationshipUpdates> extractLocalRelationshipUpdates(
+      @Nonnull URN urn, @Nonnull ASPECT aspect, @Nonnull Class<ASPECT> aspectClass) {
     List<LocalRelationshipUpdates> localRelationshipUpdates = Collections.emptyList();
     // Try to get relationships using relationship builders first. If there is not a relationship builder registered
     // for the aspect class, try to get relationships from the aspect metadata instead. After most relationship models
@@ -1038,23 +1323,6 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
             + "LocalRelationshipUpdates: {}", urn, aspectClass, localRelationshipUpdates);
       }
     }
-    // process relationship soft-deletion if applicable
-    if (isSoftDeletion) {
-      List<RELATIONSHIP> relationships = new ArrayList<>();
-      localRelationshipUpdates.forEach(localRelationshipUpdate -> relationships.addAll(localRelationshipUpdate.getRelationships()));
-      if (_noisyLogsEnabled) {
-        log.info("Removing relationships because aspect is soft-deleted in handleRelationshipIngestion for urn: {}, aspectClass: {}. "
-            + "LocalRelationshipUpdates: {}", urn, aspectClass, localRelationshipUpdates);
-      }
-      _localRelationshipWriterDAO.removeRelationships(urn, aspectClass, relationships);
-      return Collections.emptyList();
-    }
-    // process relationship ingestion
-    _localRelationshipWriterDAO.processLocalRelationshipUpdates(urn, aspectClass, localRelationshipUpdates, isTestMode);
-    if (_noisyLogsEnabled && !localRelationshipUpdates.isEmpty()) {
-      log.info("Relationships successfully ingested in handleRelationshipIngestion for urn: {}, aspectClass: {}. "
-          + "LocalRelationshipUpdates: {}", urn, aspectClass, localRelationshipUpdates);
-    }
     return localRelationshipUpdates;
   }
 
@@ -1110,6 +1378,37 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     }
   }
 
+  @Override
+  protected <ASPECT extends RecordTemplate> void applyVersionBasedRetention(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull Map<URN, Long> largestVersions, @Nonnull VersionBasedRetention retention) {
+    if (_changeLogEnabled && !largestVersions.isEmpty()) {
+      // one DELETE for the whole batch, with a version range per urn
+      final Junction<EbeanMetadataAspect> versionRanges = _server.find(EbeanMetadataAspect.class)
+          .where()
+          .eq(ASPECT_COLUMN, ModelUtils.getAspectName(aspectClass))
+          .ne(VERSION_COLUMN, LATEST_VERSION)
+          .or();
+      largestVersions.forEach((urn, largestVersion) -> versionRanges.and()
+          .eq(URN_COLUMN, urn.toString())
+          .le(VERSION_COLUMN, largestVersion - retention.getMaxVersionsToRetain() + 1)
+          .endAnd());
+      versionRanges.endOr().delete();
+    }
+  }
+
+  @Override
+  protected <ASPECT extends RecordTemplate> void applyTimeBasedRetention(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull Set<URN> urns, @Nonnull TimeBasedRetention retention, long currentTime) {
+    if (_changeLogEnabled && !urns.isEmpty()) {
+      _server.find(EbeanMetadataAspect.class)
+          .where()
+          .in(URN_COLUMN, urns.stream().map(Urn::toString).collect(Collectors.toList()))
+          .eq(ASPECT_COLUMN, ModelUtils.getAspectName(aspectClass))
+          .lt(CREATED_ON_COLUMN, new Timestamp(currentTime - retention.getMaxAgeToRetain()))
+          .delete();
+    }
+  }
+
   @Override
   @Nonnull
   public Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> get(
@@ -1118,20 +1417,19 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       return Collections.emptyMap();
     }
 
-    final List<EbeanMetadataAspect> records;
-
-    if (_queryKeysCount == 0) {
-      records = batchGet(keys, keys.size());
-    } else {
-      records = batchGet(keys, _queryKeysCount);
-    }
+    return toAspects(keys, batchGetThroughCache(keys));
+  }
 
-    // TODO: Improve this O(n^2) search
+  /**
+   * Resolves each key to its aspect in the records read for the keys, empty if it isn't present or soft deleted.
+   */
+  @Nonnull
+  private Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> toAspects(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys, @Nonnull List<EbeanMetadataAspect> records) {
+    final Map<RecordKey, EbeanMetadataAspect> recordsByKey = indexRecordsByKey(records);
 
     return keys.stream()
-        .collect(Collectors.toMap(Function.identity(), key -> records.stream()
-            .filter(record -> matchKeys(key, record.getKey()))
-            .findFirst()
+        .collect(Collectors.toMap(Function.identity(), key -> findRecord(recordsByKey, key)
             .flatMap(record -> toRecordTemplate(key.getAspectClass(), record))));
   }
 
@@ -1142,17 +1440,10 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     if (keys.isEmpty()) {
       return Collections.emptyMap();
     }
-    final List<EbeanMetadataAspect> records;
-    if (_queryKeysCount == 0) {
-      records = batchGet(keys, keys.size());
-    } else {
-      records = batchGet(keys, _queryKeysCount);
-    }
+    final Map<RecordKey, EbeanMetadataAspect> recordsByKey = indexRecordsByKey(batchGetThroughCache(keys));
     final Map<AspectKey<URN, ? extends RecordTemplate>, AspectWithExtraInfo<? extends RecordTemplate>> result =
         new HashMap<>();
-    keys.forEach(key -> records.stream()
-        .filter(record -> matchKeys(key, record.getKey()))
-        .findFirst()
+    keys.forEach(key -> findRecord(recordsByKey, key)
         .map(record -> {
           final Class<RecordTemplate> aspectClass = (Class<RecordTemplate>) key.getAspectClass();
           final Optional<AspectWithExtraInfo<RecordTemplate>> aspectWithExtraInfo = toRecordTemplateWithExtraInfo(aspectClass, record);
@@ -1186,6 +1477,103 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     }
   }
 
+  /**
+   * Reads the entity row once for both the existence of the entity and its aspects in the new schema, instead of
+   * checking the existence and then reading each aspect. In the dual schema, the old schema stays the source of truth
+   * and the entity row read replaces the existence check of the new schema.
+   */
+  @Override
+  @Nonnull
+  public Optional<Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>>> getIfExists(
+      @Nonnull URN urn, @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses) {
+    if (_schemaConfig != SchemaConfig.NEW_SCHEMA_ONLY && _schemaConfig != SchemaConfig.DUAL_SCHEMA) {
+      return super.getIfExists(urn, aspectClasses);
+    }
+    final Set<AspectKey<URN, ? extends RecordTemplate>> keys = aspectClasses.stream()
+        .map(aspectClass -> new AspectKey<>(aspectClass, urn, LATEST_VERSION))
+        .collect(Collectors.toSet());
+    final Optional<List<EbeanMetadataAspect>> resultsNewSchema = _localAccess.getIfExists(urn, aspectClasses);
+    if (_schemaConfig == SchemaConfig.NEW_SCHEMA_ONLY) {
+      return resultsNewSchema.map(records -> toAspects(keys, records));
+    }
+
+    final boolean existsInOldSchema = _server.find(EbeanMetadataAspect.class).where().eq(URN_COLUMN, urn.toString()).exists();
+    if (resultsNewSchema.isPresent() != existsInOldSchema) {
+      log.warn(String.format("The following urn does%s exist in the old schema but does%s exist in the new schema: %s",
+          existsInOldSchema ? "" : " not", resultsNewSchema.isPresent() ? "" : " not", urn.toString()));
+    }
+    if (!existsInOldSchema) {
+      return Optional.empty();
+    }
+    final List<EbeanMetadataAspect> resultsOldSchema =
+        keys.isEmpty() ? Collections.emptyList() : batchGetUnion(new ArrayList<>(keys), keys.size(), 0);
+    EBeanDAOUtils.compareResults(resultsOldSchema, resultsNewSchema.orElse(Collections.emptyList()), "batchGet");
+    return Optional.of(toAspects(keys, resultsOldSchema));
+  }
+
+  /**
+   * Sets the executor used to run the sub queries of a batch get (pages of keys, and per aspect selects in the new
+   * schema) concurrently. Set to null to run them sequentially, which is the default.
+   */
+  public void setParallelQueryExecutor(@Nullable ParallelQueryExecutor parallelQueryExecutor) {
+    _parallelQueryExecutor = parallelQueryExecutor;
+    if (_schemaConfig != SchemaConfig.OLD_SCHEMA_ONLY) {
+      _localAccess.setParallelQueryExecutor(parallelQueryExecutor);
+    }
+  }
+
+  /**
+   * Sets the cache that {@link #listUrns(IndexFilter, IndexSortCriterion, int, int)} and
+   * {@link #listUrns(Class, int, int)} take total counts from, refreshed once its time to live expires, instead of
+   * counting all matching rows for every page. The counts of these list results are then approximate, which their
+   * metadata flags. Set to null to count exactly, which is the default. Only supported in the new schema.
+   */
+  public void setApproximateCountCache(@Nullable ApproximateCountCache approximateCountCache) {
+    if (_schemaConfig != SchemaConfig.OLD_SCHEMA_ONLY) {
+      _localAccess.setApproximateCountCache(approximateCountCache);
+    }
+  }
+
+  /**
+   * Sets the {@link EqualityTester} for a specific aspect type. With a {@link FingerprintEqualityTester}, the content
+   * fingerprint of the aspect is also stored along with it in the entity table on writes, which unchanged writes are
+   * then detected by. Only supported in the new schema, the old schema falls back to comparing values.
+   */
+  @Override
+  public <ASPECT extends RecordTemplate> void setEqualityTester(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull EqualityTester<ASPECT> tester) {
+    super.setEqualityTester(aspectClass, tester);
+    if (_schemaConfig != SchemaConfig.OLD_SCHEMA_ONLY) {
+      _localAccess.setAspectFingerprinted(aspectClass, tester instanceof FingerprintEqualityTester);
+    }
+  }
+
+  /**
+   * Enables block allocation of numeric IDs: {@link #newNumericId(String, int)} reserves {@code blockSize} IDs of a
+   * namespace at once and hands them out from memory, so IDs are no longer ordered across DAO instances and the unused
+   * rest of a block is skipped when the JVM stops. A block size of 1 restores reserving every ID on its own.
+   */
+  public void setNumericIdBlockSize(int blockSize) {
+    _numericIdBlockAllocator = blockSize == 1 ? null : new NumericIdBlockAllocator(blockSize);
+  }
+
+  /**
+   * Returns the block reservation statistics of numeric ID allocation, or null if block allocation is not enabled.
+   */
+  @Nullable
+  public NumericIdBlockAllocator.Stats getNumericIdBlockStats() {
+    return _numericIdBlockAllocator == null ? null : _numericIdBlockAllocator.getStats();
+  }
+
+  /**
+   * Sets the cache that serves {@link #get(Set)} and {@link #getWithExtraInfo(Set)} reads of the latest version of
+   * hot aspects, or null to always read from the database, which is the default. Writes through this DAO invalidate
+   * the affected entries. Reads made to update an aspect, including those for optimistic locking, never use the cache.
+   */
+  public void setLatestAspectCache(@Nullable LatestAspectCache latestAspectCache) {
+    _latestAspectCache = latestAspectCache;
+  }
+
   /**
    * Sets the max keys allowed for each single query, not allowed more than the default batch size.
    */
@@ -1213,8 +1601,75 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   }
 
   /**
-   * BatchGet that allows pagination on keys to avoid large queries.
-   * TODO: can further improve by running the sub queries in parallel
+   * Batch gets the records of the keys, using the latest aspect cache, if set, for the latest versions of cached aspects.
+   * The cache is neither read nor populated within a transaction, whose reads may see its own uncommitted writes.
+   */
+  @Nonnull
+  private List<EbeanMetadataAspect> batchGetThroughCache(@Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys) {
+    if (_latestAspectCache == null || _server.currentTransaction() != null) {
+      return batchGet(keys, _queryKeysCount == 0 ? keys.size() : _queryKeysCount);
+    }
+
+    final LatestAspectCache cache = _latestAspectCache;
+    final List<EbeanMetadataAspect> records = new ArrayList<>(keys.size());
+    final Set<AspectKey<URN, ? extends RecordTemplate>> misses = new LinkedHashSet<>();
+    // generations of the missed keys, so that rows invalidated by a write while being read are not cached
+    final Map<RecordKey, Long> generations = new HashMap<>();
+    for (AspectKey<URN, ? extends RecordTemplate> key : keys) {
+      final EbeanMetadataAspect cached = cache.getIfPresent(key);
+      if (cached != null) {
+        records.add(cached);
+      } else {
+        misses.add(key);
+        generations.put(RecordKey.of(key), cache.getGeneration(key));
+      }
+    }
+    if (!misses.isEmpty()) {
+      final List<EbeanMetadataAspect> fetched = batchGet(misses, _queryKeysCount == 0 ? misses.size() : _queryKeysCount);
+      for (EbeanMetadataAspect record : fetched) {
+        final Long generation = generations.get(RecordKey.of(record.getKey()));
+        if (generation != null) {
+          cache.put(record, generation);
+        }
+      }
+      records.addAll(fetched);
+    }
+    return records;
+  }
+
+  /**
+   * Drops the cached latest version of an aspect that is being written. If a transaction is in progress, it is dropped
+   * again once the transaction completes, as a concurrent read may have cached the previous value in the meantime.
+   */
+  private void invalidateLatestAspect(@Nonnull URN urn, @Nonnull Class<? extends RecordTemplate> aspectClass) {
+    invalidateLatestAspects(cache -> cache.invalidate(urn, aspectClass));
+  }
+
+  private void invalidateLatestAspects(@Nonnull Consumer<LatestAspectCache> invalidation) {
+    final LatestAspectCache cache = _latestAspectCache;
+    if (cache == null) {
+      return;
+    }
+    invalidation.accept(cache);
+    final Transaction transaction = _server.currentTransaction();
+    if (transaction != null) {
+      transaction.register(new TransactionCallbackAdapter() {
+        @Override
+        public void postCommit() {
+          invalidation.accept(cache);
+        }
+
+        @Override
+        public void postRollback() {
+          invalidation.accept(cache);
+        }
+      });
+    }
+  }
+
+  /**
+   * BatchGet that allows pagination on keys to avoid large queries. The sub queries run in parallel when a
+   * {@link ParallelQueryExecutor} is set and there is no transaction in progress, as other threads cannot see it.
    *
    * @param keys a set of keys with urn, aspect and version
    * @param keysCount the max number of keys for each sub query
@@ -1223,31 +1678,50 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   private List<EbeanMetadataAspect> batchGet(@Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys,
       int keysCount) {
 
-    int position = 0;
+    final List<AspectKey<URN, ? extends RecordTemplate>> keyList = new ArrayList<>(keys);
     final int totalPageCount = QueryUtils.getTotalPageCount(keys.size(), keysCount);
 
-    List<EbeanMetadataAspect> finalResult = batchGetHelper(new ArrayList<>(keys), keysCount, position);
-    while (QueryUtils.hasMore(position, keysCount, totalPageCount)) {
-      position += keysCount;
-      final List<EbeanMetadataAspect> oneStatementResult = batchGetHelper(new ArrayList<>(keys), keysCount, position);
-      finalResult.addAll(oneStatementResult);
+    if (_parallelQueryExecutor == null || totalPageCount <= 1 || _server.currentTransaction() != null) {
+      int position = 0;
+      List<EbeanMetadataAspect> finalResult = batchGetHelper(keyList, keysCount, position);
+      while (QueryUtils.hasMore(position, keysCount, totalPageCount)) {
+        position += keysCount;
+        final List<EbeanMetadataAspect> oneStatementResult = batchGetHelper(keyList, keysCount, position);
+        finalResult.addAll(oneStatementResult);
+      }
+      return finalResult;
     }
+
+    final List<Supplier<List<EbeanMetadataAspect>>> pageQueries = new ArrayList<>(totalPageCount);
+    for (int page = 0; page < totalPageCount; page++) {
+      final int position = page * keysCount;
+      pageQueries.add(() -> batchGetHelper(keyList, keysCount, position));
+    }
+    final List<EbeanMetadataAspect> finalResult = new ArrayList<>(keys.size());
+    _parallelQueryExecutor.invokeAll(pageQueries).forEach(finalResult::addAll);
     return finalResult;
   }
 
   /**
-   * Builds a single SELECT statement for batch get, which selects one entity, and then can be UNION'd with other SELECT
-   * statements.
+   * Returns the number of SELECTs of the batch get statement for the given number of keys.
    */
-  private String batchGetSelect(@Nonnull String urn, @Nonnull String aspect, long version,
-      @Nonnull List<Object> outputParams) {
-    outputParams.add(urn);
-    outputParams.add(aspect);
-    outputParams.add(version);
+  static int getBatchGetStatementSize(int keyCount) {
+    for (int size : BATCH_GET_STATEMENT_SIZES) {
+      if (keyCount <= size) {
+        return size;
+      }
+    }
+    final int largest = BATCH_GET_STATEMENT_SIZES[BATCH_GET_STATEMENT_SIZES.length - 1];
+    return (keyCount + largest - 1) / largest * largest;
+  }
 
-    return String.format("(SELECT t.urn, t.aspect, t.version, t.metadata, t.createdOn, t.createdBy, t.createdFor "
-            + "FROM %s t WHERE urn = ? AND aspect = ? AND version = ? ORDER BY t.createdOn DESC LIMIT 1)",
-        EbeanMetadataAspect.class.getAnnotation(Table.class).name());
+  /**
+   * Returns the batch get statement with the given number of SELECTs UNION ALL'd together.
+   */
+  @Nonnull
+  static String getBatchGetUnionSql(int statementSize) {
+    return BATCH_GET_UNION_SQL.computeIfAbsent(statementSize,
+        size -> String.join(" UNION ALL ", Collections.nCopies(size, BATCH_GET_SELECT)));
   }
 
   @Nonnull
@@ -1263,22 +1737,21 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     // Note: UNION ALL should be safe and more performant than UNION. We're selecting the entire entity key (as well
     // as data), so each result should be unique. No need to deduplicate.
     // Another note: ebean doesn't support UNION ALL, so we need to manually build the SQL statement ourselves.
-    final StringBuilder sb = new StringBuilder();
     final int end = Math.min(keys.size(), position + keysCount);
-    final List<Object> params = new ArrayList<>();
-    for (int index = position; index < end; index++) {
-      sb.append(batchGetSelect(keys.get(index).getUrn().toString(),
-          ModelUtils.getAspectName(keys.get(index).getAspectClass()), keys.get(index).getVersion(), params));
+    final int statementSize = getBatchGetStatementSize(end - position);
+    final Query<EbeanMetadataAspect> query = _server.findNative(EbeanMetadataAspect.class,
+        getBatchGetUnionSql(statementSize));
 
-      if (index != end - 1) {
-        sb.append(" UNION ALL ");
-      }
+    int param = 1;
+    for (int index = position; index < end; index++) {
+      query.setParameter(param++, keys.get(index).getUrn().toString());
+      query.setParameter(param++, ModelUtils.getAspectName(keys.get(index).getAspectClass()));
+      query.setParameter(param++, keys.get(index).getVersion());
     }
-
-    final Query<EbeanMetadataAspect> query = _server.findNative(EbeanMetadataAspect.class, sb.toString());
-
-    for (int i = 1; i <= params.size(); i++) {
-      query.setParameter(i, params.get(i - 1));
+    for (int padding = end - position; padding < statementSize; padding++) {
+      for (Object sentinelParam : BATCH_GET_SENTINEL_PARAMS) {
+        query.setParameter(param++, sentinelParam);
+      }
     }
 
     return query.findList();
@@ -1318,8 +1791,26 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
    * @param aspectKey Urn needs to do a ignore case match
    */
   boolean matchKeys(@Nonnull AspectKey<URN, ? extends RecordTemplate> aspectKey, @Nonnull PrimaryKey pk) {
-    return aspectKey.getUrn().toString().equalsIgnoreCase(pk.getUrn()) && aspectKey.getVersion() == pk.getVersion()
-        && ModelUtils.getAspectName(aspectKey.getAspectClass()).equals(pk.getAspect());
+    return RecordKey.of(aspectKey).equals(RecordKey.of(pk));
+  }
+
+  /**
+   * Indexes the rows returned by a batch get by their {@link RecordKey}, so that each requested {@link AspectKey} can be
+   * resolved with a single lookup instead of a scan over all rows. If several rows share a key, the first one wins.
+   */
+  @Nonnull
+  static Map<RecordKey, EbeanMetadataAspect> indexRecordsByKey(@Nonnull List<EbeanMetadataAspect> records) {
+    final Map<RecordKey, EbeanMetadataAspect> recordsByKey = new HashMap<>(Math.max(16, records.size() * 2));
+    for (EbeanMetadataAspect record : records) {
+      recordsByKey.putIfAbsent(RecordKey.of(record.getKey()), record);
+    }
+    return recordsByKey;
+  }
+
+  @Nonnull
+  static Optional<EbeanMetadataAspect> findRecord(@Nonnull Map<RecordKey, EbeanMetadataAspect> recordsByKey,
+      @Nonnull AspectKey<?, ? extends RecordTemplate> aspectKey) {
+    return Optional.ofNullable(recordsByKey.get(RecordKey.of(aspectKey)));
   }
 
   @Override
@@ -1490,6 +1981,44 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     return list(aspectClass, LATEST_VERSION, start, pageSize);
   }
 
+  @Override
+  @Nonnull
+  protected <ASPECT extends RecordTemplate> List<AspectWithExtraInfo<ASPECT>> listLatestAfter(
+      @Nonnull Class<ASPECT> aspectClass, @Nullable Urn lastUrn, int pageSize) {
+    if (_changeLogEnabled) {
+      // a page short of pageSize ends the stream, so rows which don't convert to a value are replaced by further rows
+      final List<AspectWithExtraInfo<ASPECT>> values = new ArrayList<>(pageSize);
+      String lastKey = lastUrn == null ? null : lastUrn.toString();
+      while (values.size() < pageSize) {
+        final int maxRows = pageSize - values.size();
+        final ExpressionList<EbeanMetadataAspect> expressions = _server.find(EbeanMetadataAspect.class)
+            .select(ALL_COLUMNS)
+            .where()
+            .eq(ASPECT_COLUMN, ModelUtils.getAspectName(aspectClass))
+            .eq(VERSION_COLUMN, LATEST_VERSION)
+            .ne(METADATA_COLUMN, DELETED_VALUE);
+        if (lastKey != null) {
+          expressions.gt(URN_COLUMN, lastKey);
+        }
+        final List<EbeanMetadataAspect> records = expressions.orderBy().asc(URN_COLUMN).setMaxRows(maxRows).findList();
+        records.forEach(record -> toRecordTemplateWithExtraInfo(aspectClass, record).ifPresent(values::add));
+        if (records.size() < maxRows) {
+          break;
+        }
+        lastKey = records.get(records.size() - 1).getKey().getUrn();
+      }
+      return values;
+    }
+
+    // the entity tables skip the offset scan and count subquery done by list
+    final ListResult<ASPECT> listResult = _localAccess.listAfter(aspectClass, lastUrn, pageSize, false);
+    final List<AspectWithExtraInfo<ASPECT>> values = new ArrayList<>(listResult.getValues().size());
+    for (int i = 0; i < listResult.getValues().size(); i++) {
+      values.add(new AspectWithExtraInfo<>(listResult.getValues().get(i), listResult.getMetadata().getExtraInfos().get(i)));
+    }
+    return values;
+  }
+
   @Nonnull
   URN getUrn(@Nonnull String urn) {
     try {
@@ -1503,21 +2032,17 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   @Nonnull
   static <ASPECT extends RecordTemplate> Optional<ASPECT> toRecordTemplate(@Nonnull Class<ASPECT> aspectClass,
       @Nonnull EbeanMetadataAspect aspect) {
-    if (isSoftDeletedAspect(aspect, aspectClass)) {
-      return Optional.empty();
-    }
-    return Optional.of(RecordUtils.toRecordTemplate(aspectClass, aspect.getMetadata()));
+    return toAspectIfNotSoftDeleted(aspectClass, aspect);
   }
 
   @Nonnull
   static <ASPECT extends RecordTemplate> Optional<AspectWithExtraInfo<ASPECT>> toRecordTemplateWithExtraInfo(
       @Nonnull Class<ASPECT> aspectClass, @Nonnull EbeanMetadataAspect aspect) {
-    if (aspect.getMetadata() == null || isSoftDeletedAspect(aspect, aspectClass)) {
+    if (aspect.getMetadata() == null) {
       return Optional.empty();
     }
-    final ExtraInfo extraInfo = toExtraInfo(aspect);
-    return Optional.of(new AspectWithExtraInfo<>(RecordUtils.toRecordTemplate(aspectClass, aspect.getMetadata()),
-        extraInfo));
+    return toAspectIfNotSoftDeleted(aspectClass, aspect)
+        .map(value -> new AspectWithExtraInfo<>(value, toExtraInfo(aspect)));
   }
 
   /**
@@ -1604,6 +2129,19 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
 
   @Override
   public long newNumericId(@Nonnull String namespace, int maxTransactionRetry) {
+    if (_numericIdBlockAllocator == null) {
+      return reserveNumericIds(namespace, 1, maxTransactionRetry);
+    }
+    return _numericIdBlockAllocator.nextId(namespace,
+        (ns, blockSize) -> reserveNumericIds(ns, blockSize, maxTransactionRetry));
+  }
+
+  /**
+   * Reserves the next {@code count} IDs of the namespace by recording the highest of them in metadata_id.
+   *
+   * @return the highest reserved ID
+   */
+  private long reserveNumericIds(@Nonnull String namespace, int count, int maxTransactionRetry) {
     return runInTransactionWithRetry(() -> {
       final Optional<EbeanMetadataId> result = _server.find(EbeanMetadataId.class)
           .where()
@@ -1614,7 +2152,7 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
           .findOneOrEmpty();
 
       EbeanMetadataId id = result.orElse(new EbeanMetadataId(namespace, 0));
-      id.setId(id.getId() + 1);
+      id.setId(id.getId() + count);
       _server.insert(id);
       return id;
     }, maxTransactionRetry).getId();
@@ -1,11 +1,12 @@
 package com.linkedin.metadata.dao;
 
+import com.linkedin.common.urn.Urn;
 import com.linkedin.data.DataMap;
 import com.google.common.annotations.VisibleForTesting;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.UnionTemplate;
+import com.linkedin.metadata.dao.utils.AuditedAspectJsonReader;
 import com.linkedin.metadata.dao.utils.ClassUtils;
-import com.linkedin.metadata.dao.utils.EBeanDAOUtils;
 import com.linkedin.metadata.dao.utils.LogicalExpressionLocalRelationshipCriterionUtils;
 import com.linkedin.metadata.dao.utils.ModelUtils;
 import com.linkedin.metadata.dao.utils.MultiHopsTraversalSqlGenerator;
@@ -14,6 +15,7 @@ import com.linkedin.metadata.dao.utils.RelationshipLookUpContext;
 import com.linkedin.metadata.dao.utils.SQLSchemaUtils;
 import com.linkedin.metadata.dao.utils.SQLStatementUtils;
 import com.linkedin.metadata.dao.utils.SchemaValidatorUtil;
+import com.linkedin.metadata.dao.utils.VisitedUrnSet;
 import com.linkedin.metadata.query.Condition;
 import com.linkedin.metadata.query.LocalRelationshipCriterion;
 import com.linkedin.metadata.query.LocalRelationshipCriterionArray;
@@ -23,6 +25,7 @@ import io.ebean.EbeanServer;
 import io.ebean.SqlRow;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -54,6 +57,7 @@ public class EbeanLocalRelationshipQueryDAO {
   public static final String RELATIONSHIP_RETURN_TYPE = "relationship.return.type";
   public static final String MG_INTERNAL_ASSET_RELATIONSHIP_TYPE = "AssetRelationship.proto";
   private static final int FILTER_BATCH_SIZE = 200;
+  private static final int TRAVERSAL_BATCH_SIZE = 500;
   private static final String IDX_DESTINATION_DELETED_TS = "idx_destination_deleted_ts";
   private static final String FORCE_IDX_ON_DESTINATION = " FORCE INDEX (idx_destination_deleted_ts) ";
   private static final String DESTINATION_FIELD =  "destination";
@@ -66,6 +70,22 @@ public class EbeanLocalRelationshipQueryDAO {
   private EbeanLocalDAO.SchemaConfig _schemaConfig = EbeanLocalDAO.SchemaConfig.NEW_SCHEMA_ONLY;
   private SchemaValidatorUtil _schemaValidatorUtil;
 
+  /**
+   * Visitor of the entities reached by {@link #traverse}.
+   */
+  @FunctionalInterface
+  public interface TraversalVisitor {
+
+    /**
+     * Visits an entity reached by the traversal.
+     *
+     * @param urn the urn of the entity
+     * @param hop the number of hops between the entity and the closest start urn
+     * @return whether the traversal should continue
+     */
+    boolean visit(@Nonnull String urn, int hop);
+  }
+
   public EbeanLocalRelationshipQueryDAO(EbeanServer server, EBeanDAOConfig eBeanDAOConfig) {
     _server = server;
     _eBeanDAOConfig = eBeanDAOConfig;
@@ -200,6 +220,67 @@ public class EbeanLocalRelationshipQueryDAO {
     return results;
   }
 
+  /**
+   * Traverses the graph of a relationship type breadth first from the given urns, expanding all the urns reached by one
+   * hop at a time with batched queries, and hands each entity reached to the visitor as soon as it is read. Each entity
+   * is visited once, at the smallest number of hops from a start urn. Start urns are not visited.
+   * This method is not supported in OLD_SCHEMA_ONLY mode.
+   *
+   * @param relationshipType the type of relationship to traverse
+   * @param relationshipFilter the direction to traverse the relationships in, and the filter they must match
+   * @param startUrns the urns to start the traversal from
+   * @param maxHops the maximum number of hops from a start urn
+   * @param maxNodes the maximum number of entities to visit
+   * @param visitor the visitor of the entities reached, which can stop the traversal
+   * @return the number of entities visited
+   * @throws OperationNotSupportedException when called in OLD_SCHEMA_ONLY mode. This exception must be explicitly handled by the caller.
+   */
+  public <RELATIONSHIP extends RecordTemplate> int traverse(@Nonnull Class<RELATIONSHIP> relationshipType,
+      @Nonnull LocalRelationshipFilter relationshipFilter, @Nonnull Collection<? extends Urn> startUrns, int maxHops,
+      int maxNodes, @Nonnull TraversalVisitor visitor) throws OperationNotSupportedException {
+    if (_schemaConfig == EbeanLocalDAO.SchemaConfig.OLD_SCHEMA_ONLY) {
+      throw new OperationNotSupportedException("traverse is not supported in OLD_SCHEMA_MODE");
+    }
+    if (maxHops <= 0 || maxNodes <= 0) {
+      throw new IllegalArgumentException(String.format("maxHops and maxNodes must be positive, got %d and %d", maxHops, maxNodes));
+    }
+
+    validateRelationshipFilter(relationshipFilter, false);
+
+    final String sql = _sqlGenerator.nextHopUrnsSql(SQLSchemaUtils.getRelationshipTableName(relationshipType),
+        relationshipFilter, _eBeanDAOConfig.isNonDollarVirtualColumnsEnabled());
+
+    final VisitedUrnSet visited = new VisitedUrnSet(startUrns.size());
+    List<String> frontier = new ArrayList<>();
+    for (Urn urn : startUrns) {
+      if (visited.add(urn.toString())) {
+        frontier.add(urn.toString());
+      }
+    }
+
+    final int[] visitedCount = {0};
+    final boolean[] stopped = {false};
+    for (int hop = 1; hop <= maxHops && !frontier.isEmpty() && !stopped[0]; hop++) {
+      final int currentHop = hop;
+      final List<String> nextFrontier = new ArrayList<>();
+      for (int from = 0; from < frontier.size() && !stopped[0]; from += TRAVERSAL_BATCH_SIZE) {
+        final List<String> batch = frontier.subList(from, Math.min(from + TRAVERSAL_BATCH_SIZE, frontier.size()));
+        _server.createSqlQuery(sql).setParameter("urns", batch).findEachWhile(sqlRow -> {
+          final String urn = sqlRow.getString("urn");
+          if (!visited.add(urn)) {
+            return true;
+          }
+          visitedCount[0]++;
+          nextFrontier.add(urn);
+          stopped[0] = !visitor.visit(urn, currentHop) || visitedCount[0] >= maxNodes;
+          return !stopped[0];
+        });
+      }
+      frontier = nextFrontier;
+    }
+    return visitedCount[0];
+  }
+
   public <SRC_SNAPSHOT extends RecordTemplate, DEST_SNAPSHOT extends RecordTemplate, RELATIONSHIP extends RecordTemplate> List<RELATIONSHIP> findRelationships(
       @Nullable Class<SRC_SNAPSHOT> sourceEntityClass, @Nonnull LocalRelationshipFilter sourceEntityFilter,
       @Nullable Class<DEST_SNAPSHOT> destinationEntityClass, @Nonnull LocalRelationshipFilter destinationEntityFilter,
@@ -677,10 +758,10 @@ public class EbeanLocalRelationshipQueryDAO {
       String auditedAspectStr = sqlRow.getString(colName);
 
       if (auditedAspectStr != null) {
-        String extractedAspectStr = EBeanDAOUtils.extractAspectJsonString(auditedAspectStr);
-        if (extractedAspectStr != null) {
+        DataMap extractedAspect = AuditedAspectJsonReader.read(auditedAspectStr, true).getAspect();
+        if (extractedAspect != null) {
           RecordTemplate aspect = RecordUtils.toRecordTemplate(ClassUtils.loadClass(aspectCanonicalName),
-              extractedAspectStr);
+              extractedAspect);
           aspects.add(ModelUtils.newAspectUnion(ModelUtils.getUnionClassFromSnapshot(snapshotClass), aspect));
         }
       }
@@ -16,13 +16,21 @@ import io.ebean.Transaction;
 import io.ebean.annotation.Transactional;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.Getter;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import static com.linkedin.metadata.dao.utils.ModelUtils.*;
@@ -50,6 +58,26 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
   @Getter
   private int batchCount = 0;
 
+  /**
+   * Edge counts of the relationship updates applied as diffs, see {@link #processLocalRelationshipUpdateDiffs}.
+   */
+  @Value
+  public static class RelationshipDiffStats {
+    // edges in the new relationships only, which were inserted
+    long addedCount;
+    // edges in the previous relationships only, which were soft-deleted
+    long removedCount;
+    // edges in both, which were left as they are
+    long unchangedCount;
+    // edges in both which shared a destination with a removed edge, so were soft-deleted along with it and inserted again
+    long rewrittenCount;
+  }
+
+  private final AtomicLong _addedEdgeCount = new AtomicLong();
+  private final AtomicLong _removedEdgeCount = new AtomicLong();
+  private final AtomicLong _unchangedEdgeCount = new AtomicLong();
+  private final AtomicLong _rewrittenEdgeCount = new AtomicLong();
+
   public EbeanLocalRelationshipWriterDAO(EbeanServer server) {
     _server = server;
   }
@@ -80,6 +108,55 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
     }
   }
 
+  /**
+   * Process the local relationship updates with transaction guarantee, applying only the difference between the
+   * relationships of the previous and the new aspect value instead of removing all edges from the source and inserting
+   * the new ones. Edges in the previous relationships only are soft-deleted, edges in the new relationships only are
+   * inserted and edges in both are left untouched.
+   *
+   * <p>This assumes the local relationship tables hold the relationships of the previous aspect value for the source,
+   * i.e. that they were ingested from it. Edges from the source written by other aspects are kept.
+   *
+   * <p>Diffs are only applied if the aspect column is used for relationship removal, see
+   * {@link #setUseAspectColumnForRelationshipRemoval}, and every update uses
+   * {@link RemovalOption#REMOVE_ALL_EDGES_FROM_SOURCE}. Otherwise the updates are processed as
+   * {@link #processLocalRelationshipUpdates} does, which removes the edges from the source written by other aspects too.
+   *
+   * @param urn Urn of the entity to update relationships.
+   * @param aspectClass class of the aspect from which the relationships are extracted from
+   * @param relationshipUpdates relationships of the new aspect value
+   * @param previousRelationshipUpdates relationships of the previous aspect value
+   * @param isTestMode whether to use test schema
+   */
+  @Transactional
+  public <ASPECT extends RecordTemplate> void processLocalRelationshipUpdateDiffs(@Nonnull Urn urn, @Nonnull Class<ASPECT> aspectClass,
+      @Nonnull List<LocalRelationshipUpdates> relationshipUpdates, @Nonnull List<LocalRelationshipUpdates> previousRelationshipUpdates,
+      boolean isTestMode) {
+    if (!_useAspectColumnForRelationshipRemoval || !removesAllEdgesFromSource(relationshipUpdates)
+        || !removesAllEdgesFromSource(previousRelationshipUpdates)) {
+      processLocalRelationshipUpdates(urn, aspectClass, relationshipUpdates, isTestMode);
+      return;
+    }
+    final Map<Class<?>, Set<RecordTemplate>> relationshipsByClass = groupByRelationshipClass(relationshipUpdates);
+    final Map<Class<?>, Set<RecordTemplate>> previousRelationshipsByClass = groupByRelationshipClass(previousRelationshipUpdates);
+    final Set<Class<?>> relationshipClasses = new LinkedHashSet<>(relationshipsByClass.keySet());
+    relationshipClasses.addAll(previousRelationshipsByClass.keySet());
+    for (Class<?> relationshipClass : relationshipClasses) {
+      applyRelationshipDiff(urn, aspectClass, (Class<? extends RecordTemplate>) relationshipClass,
+          relationshipsByClass.getOrDefault(relationshipClass, Collections.emptySet()),
+          previousRelationshipsByClass.getOrDefault(relationshipClass, Collections.emptySet()), isTestMode);
+    }
+  }
+
+  /**
+   * Returns the edge counts of all relationship updates applied as diffs so far.
+   */
+  @Nonnull
+  public RelationshipDiffStats getRelationshipDiffStats() {
+    return new RelationshipDiffStats(_addedEdgeCount.get(), _removedEdgeCount.get(), _unchangedEdgeCount.get(),
+        _rewrittenEdgeCount.get());
+  }
+
   /**
    * This method clears all the relationships from a source entity urn using REMOVE_ALL_EDGES_FROM_SOURCE.
    *
@@ -178,11 +255,25 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
     RELATIONSHIP firstRelationship = relationshipGroup.get(0);
     RelationshipValidator.validateRelationshipSchema(firstRelationship.getClass(), isRelationshipInV2(firstRelationship.getClass()));
 
+    String tableName = isTestMode ? SQLSchemaUtils.getTestRelationshipTableName(firstRelationship)
+        : SQLSchemaUtils.getRelationshipTableName(firstRelationship);
+
     // Remove some local relationships if needed before adding new relationships using REMOVE_ALL_EDGES_FROM_SOURCE.
     Urn sourceUrn = GraphUtils.getSourceUrnBasedOnRelationshipVersion(firstRelationship, urn);
-    removeRelationshipsBySource(sourceUrn, aspectClass, isTestMode ? SQLSchemaUtils.getTestRelationshipTableName(firstRelationship)
-        : SQLSchemaUtils.getRelationshipTableName(firstRelationship));
+    removeRelationshipsBySource(sourceUrn, aspectClass, tableName);
+
+    insertRelationshipGroup(urn, aspectClass, relationshipGroup, tableName);
+  }
 
+  /**
+   * Insert the given list of relationships to the local relationship table in batches.
+   * @param urn the source urn to be used for the relationships. Optional for Relationship V1.
+   * @param aspectClass class of the aspect from which these relationships are extracted from
+   * @param relationshipGroup the list of relationships of the same class to be inserted
+   * @param tableName the table name of the relationship
+   */
+  private <ASPECT extends RecordTemplate, RELATIONSHIP extends RecordTemplate> void insertRelationshipGroup(@Nullable Urn urn,
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull final List<RELATIONSHIP> relationshipGroup, @Nonnull String tableName) {
     long now = Instant.now().toEpochMilli();
 
     // Insert in batches with 100 values per insert statement
@@ -191,9 +282,8 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
       int numRelationships = Math.min(INSERT_BATCH_SIZE, relationshipGroup.size() - i * INSERT_BATCH_SIZE);
 
       // Set up the general insertion update with static parameters set (lastmodifiedon, lastmodifiedby, {aspect})
-      SqlUpdate sqlUpdate = _server.createSqlUpdate(SQLStatementUtils.insertLocalRelationshipSQL(
-              isTestMode ? SQLSchemaUtils.getTestRelationshipTableName(firstRelationship)
-                  : SQLSchemaUtils.getRelationshipTableName(firstRelationship), numRelationships, _useAspectColumnForRelationshipRemoval))
+      SqlUpdate sqlUpdate = _server.createSqlUpdate(
+              SQLStatementUtils.insertLocalRelationshipSQL(tableName, numRelationships, _useAspectColumnForRelationshipRemoval))
           .setParameter(CommonColumnName.LAST_MODIFIED_ON, new Timestamp(now))
           .setParameter(CommonColumnName.LAST_MODIFIED_BY, DEFAULT_ACTOR);
       if (_useAspectColumnForRelationshipRemoval) {
@@ -202,7 +292,7 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
 
       // For each relationship in the batch, set the "values" to insert
       for (int j = 0; j < numRelationships; j++) {
-        RELATIONSHIP relationship = relationshipGroup.get(j);
+        RELATIONSHIP relationship = relationshipGroup.get(i * INSERT_BATCH_SIZE + j);
         // Relationship model V2 doesn't include source urn, it needs to be passed in.
         // For relationship model V1, this given urn can be source urn or destination urn.
         // For relationship model V2, this given urn can only be source urn.
@@ -221,6 +311,121 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
     }
   }
 
+  /**
+   * Apply the difference between the previous and the new relationships of a relationship class to its table.
+   * @param urn the source urn to be used for the relationships. Optional for Relationship V1.
+   * @param aspectClass class of the aspect from which the relationships are extracted from
+   * @param relationshipClass class of the relationships
+   * @param relationships relationships of the new aspect value
+   * @param previousRelationships relationships of the previous aspect value
+   * @param isTestMode whether to use test schema
+   */
+  private <ASPECT extends RecordTemplate> void applyRelationshipDiff(@Nullable Urn urn, @Nonnull Class<ASPECT> aspectClass,
+      @Nonnull Class<? extends RecordTemplate> relationshipClass, @Nonnull Set<RecordTemplate> relationships,
+      @Nonnull Set<RecordTemplate> previousRelationships, boolean isTestMode) {
+    RelationshipValidator.validateRelationshipSchema(relationshipClass, isRelationshipInV2(relationshipClass));
+    GraphUtils.checkSameSourceUrn(new ArrayList<>(relationships), urn);
+    String tableName = isTestMode ? SQLSchemaUtils.getTestRelationshipTableName(relationshipClass)
+        : SQLSchemaUtils.getRelationshipTableName(relationshipClass);
+
+    List<RecordTemplate> added = new ArrayList<>();
+    List<RecordTemplate> unchanged = new ArrayList<>();
+    for (RecordTemplate relationship : relationships) {
+      if (previousRelationships.contains(relationship)) {
+        unchanged.add(relationship);
+      } else {
+        added.add(relationship);
+      }
+    }
+    // destinations of the removed edges, by source urn
+    Map<Urn, Set<String>> removedDestinations = new LinkedHashMap<>();
+    int removedCount = 0;
+    for (RecordTemplate relationship : previousRelationships) {
+      if (!relationships.contains(relationship)) {
+        removedDestinations.computeIfAbsent(GraphUtils.getSourceUrnBasedOnRelationshipVersion(relationship, urn), k -> new HashSet<>())
+            .add(getDestinationUrnFromRelationship(relationship).toString());
+        removedCount++;
+      }
+    }
+
+    int rewrittenCount = 0;
+    if (!removedDestinations.isEmpty()) {
+      // Edges are removed by destination, so unchanged edges sharing a destination with a removed one are rewritten.
+      for (RecordTemplate relationship : unchanged) {
+        Set<String> destinations = removedDestinations.get(GraphUtils.getSourceUrnBasedOnRelationshipVersion(relationship, urn));
+        if (destinations != null && destinations.contains(getDestinationUrnFromRelationship(relationship).toString())) {
+          added.add(relationship);
+          rewrittenCount++;
+        }
+      }
+      removedDestinations.forEach((sourceUrn, destinations) ->
+          removeRelationshipsByDestinations(sourceUrn, aspectClass, tableName, new ArrayList<>(destinations)));
+    }
+    if (!added.isEmpty()) {
+      insertRelationshipGroup(urn, aspectClass, added, tableName);
+    }
+
+    _addedEdgeCount.addAndGet(relationships.size() - unchanged.size());
+    _removedEdgeCount.addAndGet(removedCount);
+    _unchangedEdgeCount.addAndGet(unchanged.size() - rewrittenCount);
+    _rewrittenEdgeCount.addAndGet(rewrittenCount);
+    if (log.isDebugEnabled()) {
+      log.debug("Applied {} relationship diff for source {}: {} added, {} removed, {} unchanged, {} rewritten",
+          relationshipClass.getSimpleName(), urn, relationships.size() - unchanged.size(), removedCount,
+          unchanged.size() - rewrittenCount, rewrittenCount);
+    }
+  }
+
+  private static boolean removesAllEdgesFromSource(@Nonnull List<LocalRelationshipUpdates> relationshipUpdates) {
+    return relationshipUpdates.stream()
+        .allMatch(relationshipUpdate -> relationshipUpdate.getRemovalOption() == RemovalOption.REMOVE_ALL_EDGES_FROM_SOURCE);
+  }
+
+  @Nonnull
+  private static Map<Class<?>, Set<RecordTemplate>> groupByRelationshipClass(@Nonnull List<LocalRelationshipUpdates> relationshipUpdates) {
+    Map<Class<?>, Set<RecordTemplate>> relationshipsByClass = new LinkedHashMap<>();
+    for (LocalRelationshipUpdates relationshipUpdate : relationshipUpdates) {
+      Set<RecordTemplate> relationships =
+          relationshipsByClass.computeIfAbsent(relationshipUpdate.getRelationshipClass(), k -> new LinkedHashSet<>());
+      relationships.addAll(relationshipUpdate.getRelationships());
+    }
+    return relationshipsByClass;
+  }
+
+  /**
+   * Soft-delete the relationships from the source urn to the given destinations in the DB tableName.
+   * @param source the source urn of the relationships
+   * @param aspectClass class of the aspect from which the relationships are derived from
+   * @param tableName the table name of the relationship
+   * @param destinations the destination urns of the relationships to remove
+   */
+  private <ASPECT extends RecordTemplate> void removeRelationshipsByDestinations(@Nonnull Urn source,
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull String tableName, @Nonnull List<String> destinations) {
+    for (int i = 0; i < destinations.size(); i += INSERT_BATCH_SIZE) {
+      SqlUpdate deletionSQL = _server.createSqlUpdate(
+          SQLStatementUtils.deleteLocalRelationshipByDestinationsSQL(tableName, _useAspectColumnForRelationshipRemoval));
+      deletionSQL.setParameter(CommonColumnName.SOURCE, source.toString());
+      deletionSQL.setParameter(CommonColumnName.DESTINATION,
+          destinations.subList(i, Math.min(i + INSERT_BATCH_SIZE, destinations.size())));
+      if (_useAspectColumnForRelationshipRemoval) {
+        setAspectParameters(deletionSQL, aspectClass);
+      }
+      deletionSQL.execute();
+    }
+  }
+
+  // treat "pegasus.com.linkedin..." and "com.linkedin..." as equivalent
+  private static <ASPECT extends RecordTemplate> void setAspectParameters(@Nonnull SqlUpdate sqlUpdate, @Nonnull Class<ASPECT> aspectClass) {
+    String aspectClassFQCN = aspectClass.getCanonicalName();
+    String pegasusPrefix = "pegasus.";
+    // normalize the aspect FQCN first by removing any 'pegasus.' prefix
+    if (aspectClassFQCN.startsWith(pegasusPrefix)) {
+      aspectClassFQCN = aspectClassFQCN.substring(pegasusPrefix.length());
+    }
+    sqlUpdate.setParameter(CommonColumnName.ASPECT, aspectClassFQCN); // WHERE aspect = "com.linkedin..."
+    sqlUpdate.setParameter("pegasus_" + CommonColumnName.ASPECT, pegasusPrefix + aspectClassFQCN); // OR aspect = "pegasus.com.linkedin..."
+  }
+
   /**
    * Process the relationship removal in the DB tableName based on the source urn.
    * @param source the source urn to be used for the relationships
@@ -231,15 +436,7 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
     SqlUpdate deletionSQL = _server.createSqlUpdate(SQLStatementUtils.deleteLocalRelationshipSQL(tableName, _useAspectColumnForRelationshipRemoval));
     deletionSQL.setParameter(CommonColumnName.SOURCE, source.toString());
     if (_useAspectColumnForRelationshipRemoval) {
-      // treat "pegasus.com.linkedin..." and "com.linkedin..." as equivalent
-      String aspectClassFQCN = aspectClass.getCanonicalName();
-      String pegasusPrefix = "pegasus.";
-      // normalize the aspect FQCN first by removing any 'pegasus.' prefix
-      if (aspectClassFQCN.startsWith(pegasusPrefix)) {
-        aspectClassFQCN = aspectClassFQCN.substring(pegasusPrefix.length());
-      }
-      deletionSQL.setParameter(CommonColumnName.ASPECT, aspectClassFQCN); // WHERE aspect = "com.linkedin..."
-      deletionSQL.setParameter("pegasus_" + CommonColumnName.ASPECT, pegasusPrefix + aspectClassFQCN); // OR aspect = "pegasus.com.linkedin..."
+      setAspectParameters(deletionSQL, aspectClass);
     }
     batchCount = 0;
     while (batchCount < MAX_BATCHES) {
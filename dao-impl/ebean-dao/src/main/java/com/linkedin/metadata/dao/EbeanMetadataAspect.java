@@ -1,5 +1,6 @@
 package com.linkedin.metadata.dao;
 
+import com.linkedin.data.DataMap;
 import io.ebean.Model;
 import io.ebean.annotation.Index;
 import java.sql.Timestamp;
@@ -11,6 +12,7 @@ import javax.persistence.Entity;
 import javax.persistence.Lob;
 import javax.persistence.Table;
 import javax.persistence.Transient;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -99,6 +101,37 @@ public class EbeanMetadataAspect extends Model {
   @Transient
   private String emitter;
 
+  // this column doesn't exist in the old schema
+  // in the new schema, it's part of the aspect json for aspects whose content fingerprint is stored
+  @Nullable
+  @Transient
+  private String fingerprint;
+
+  // the metadata already parsed by the entity table reader, handed over to the first caller building the aspect
+  @Nullable
+  @Transient
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private transient DataMap parsedMetadata;
+
+  /**
+   * Sets the {@link DataMap} the metadata was parsed into while reading it, so that it needn't be parsed again.
+   */
+  public synchronized void setParsedMetadata(@Nullable DataMap parsedMetadata) {
+    this.parsedMetadata = parsedMetadata;
+  }
+
+  /**
+   * Returns the {@link DataMap} the metadata was parsed into while reading it, if any, and forgets it, as the caller
+   * takes ownership of the mutable {@link DataMap}. Later callers need to parse the metadata themselves.
+   */
+  @Nullable
+  public synchronized DataMap takeParsedMetadata() {
+    final DataMap taken = parsedMetadata;
+    parsedMetadata = null;
+    return taken;
+  }
+
   // TODO (@jphui) META-18962 De-deduplicity investigation
   // @SneakyThrows
   // @Override
@@ -6,6 +6,7 @@ import com.linkedin.metadata.validator.AssetValidator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import org.reflections.Reflections;
@@ -17,6 +18,7 @@ import org.reflections.Reflections;
 @Slf4j
 public class GlobalAssetRegistry {
   private final Map<String, Class<? extends RecordTemplate>> registry = new ConcurrentHashMap<>();
+  private final AtomicInteger generation = new AtomicInteger();
 
   private GlobalAssetRegistry() {
   }
@@ -43,12 +45,21 @@ public class GlobalAssetRegistry {
   public static void register(@Nonnull String assetType, @Nonnull Class<? extends RecordTemplate> assetClass) {
     AssetValidator.validateAssetSchema(assetClass);
     getInstance().registry.put(assetType, assetClass);
+    getInstance().generation.incrementAndGet();
   }
 
   public static Class<? extends RecordTemplate> get(@Nonnull String assetType) {
     return getInstance().registry.get(assetType);
   }
 
+  /**
+   * Returns a number that changes every time an asset is registered, so that values derived from the registered
+   * assets can be cached until then.
+   */
+  public static int getGeneration() {
+    return getInstance().generation.get();
+  }
+
   /**
    * TODO: moving this loading logic into internal-models.
    */
@@ -4,6 +4,7 @@ import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.metadata.dao.urnpath.UrnPathExtractor;
+import com.linkedin.metadata.dao.utils.ParallelQueryExecutor;
 import com.linkedin.metadata.events.IngestionTrackingContext;
 import com.linkedin.metadata.query.IndexFilter;
 import com.linkedin.metadata.query.IndexGroupByCriterion;
@@ -11,6 +12,8 @@ import com.linkedin.metadata.query.IndexSortCriterion;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -21,6 +24,25 @@ public interface IEbeanLocalAccess<URN extends Urn> {
 
   void setUrnPathExtractor(@Nonnull UrnPathExtractor<URN> urnPathExtractor);
 
+  /**
+   * Sets the executor used to run the per aspect selects of {@link #batchGetUnion} concurrently, or null to run them
+   * sequentially.
+   */
+  void setParallelQueryExecutor(@Nullable ParallelQueryExecutor parallelQueryExecutor);
+
+  /**
+   * Sets the cache of total counts that {@link #listUrns(IndexFilter, IndexSortCriterion, int, int)} and
+   * {@link #listUrns(Class, int, int)} take approximate counts from instead of counting in the page query, or null to
+   * count exactly, which is the default.
+   */
+  void setApproximateCountCache(@Nullable ApproximateCountCache approximateCountCache);
+
+  /**
+   * Sets whether the content fingerprint of the aspect, see {@link com.linkedin.metadata.dao.utils.AspectFingerprint},
+   * is stored along with it on writes. Not stored by default.
+   */
+  void setAspectFingerprinted(@Nonnull Class<? extends RecordTemplate> aspectClass, boolean fingerprinted);
+
   /**
    * Upsert aspect into entity table.
    *
@@ -33,8 +55,20 @@ public interface IEbeanLocalAccess<URN extends Urn> {
    * @param isTestMode               whether the test mode is enabled or not
    * @return number of rows inserted or updated
    */
+  default <ASPECT extends RecordTemplate> int add(@Nonnull URN urn, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode) {
+    return add(urn, newValue, aspectClass, auditStamp, ingestionTrackingContext, isTestMode, null);
+  }
+
+  /**
+   * Same as {@link #add(Urn, RecordTemplate, Class, AuditStamp, IngestionTrackingContext, boolean)}, with the content
+   * fingerprint of the new value if the caller already computed it, so that it isn't computed again when stored.
+   *
+   * @param newFingerprint the fingerprint of {@code newValue}, see {@link #setAspectFingerprinted}, null if not computed
+   */
   <ASPECT extends RecordTemplate> int add(@Nonnull URN urn, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
-      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode);
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode,
+      @Nullable String newFingerprint);
 
   /**
    * Update aspect on entity table with optimistic locking. (compare-and-update on oldTimestamp).
@@ -52,9 +86,35 @@ public interface IEbeanLocalAccess<URN extends Urn> {
    *                                 deleted_ts column.
    * @return number of rows inserted or updated
    */
+  default <ASPECT extends RecordTemplate> int addWithOptimisticLocking(@Nonnull URN urn, @Nullable ASPECT newValue,
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull AuditStamp auditStamp, @Nullable Timestamp oldTimestamp,
+      @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode, boolean softDeleteOverwrite) {
+    return addWithOptimisticLocking(urn, newValue, aspectClass, auditStamp, oldTimestamp, ingestionTrackingContext,
+        isTestMode, softDeleteOverwrite, null);
+  }
+
+  /**
+   * Same as {@link #addWithOptimisticLocking(Urn, RecordTemplate, Class, AuditStamp, Timestamp, IngestionTrackingContext,
+   * boolean, boolean)}, with the content fingerprint of the new value if the caller already computed it, so that it isn't
+   * computed again when stored.
+   *
+   * @param newFingerprint the fingerprint of {@code newValue}, see {@link #setAspectFingerprinted}, null if not computed
+   */
   <ASPECT extends RecordTemplate> int addWithOptimisticLocking(@Nonnull URN urn, @Nullable ASPECT newValue,
       @Nonnull Class<ASPECT> aspectClass, @Nonnull AuditStamp auditStamp, @Nullable Timestamp oldTimestamp,
-      @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode, boolean softDeleteOverwrite);
+      @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode, boolean softDeleteOverwrite,
+      @Nullable String newFingerprint);
+
+  /**
+   * Upsert the latest values of several aspects, possibly of different entities, into the entity tables. Entities of
+   * the same table which update the same set of aspects are written with a single multi-row statement. Writes in test
+   * mode go to the test tables, so a batch may mix test mode and regular writes. The fingerprint of a write, if set, is
+   * stored instead of being computed again.
+   *
+   * @param writes aspect values to write, none of which may be null
+   * @return number of rows inserted or updated
+   */
+  int addBatch(@Nonnull List<BaseLocalDAO.LatestAspectWrite<URN, ? extends RecordTemplate>> writes);
 
   /**
    * Create aspect from entity table.
@@ -129,6 +189,16 @@ public interface IEbeanLocalAccess<URN extends Urn> {
    */
   boolean exists(@Nonnull URN urn);
 
+  /**
+   * Reads the latest versions of the aspects of an entity along with its existence, in one query of the entity row.
+   * @param urn {@link Urn} for the entity
+   * @param aspectClasses the aspects to read, which may be empty to only read the existence
+   * @return the records of the aspects present and not soft deleted, or empty if the entity doesn't exist
+   */
+  @Nonnull
+  Optional<List<EbeanMetadataAspect>> getIfExists(@Nonnull URN urn,
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses);
+
   /**
    * Gets the count of an aggregation specified by the aspect and field to group on.
    * @param indexFilter {@link IndexFilter} that defines the filter conditions
@@ -182,6 +252,23 @@ public interface IEbeanLocalAccess<URN extends Urn> {
   <ASPECT extends RecordTemplate> ListResult<ASPECT> list(@Nonnull Class<ASPECT> aspectClass,
      int start, int pageSize);
 
+  /**
+   * Paginates over the latest version of a specific aspect for all Urns in urn order, starting after the last urn of
+   * the previous page, so that the cost of a page does not depend on how deep it is. The result does not include soft
+   * deleted aspects. The urn and audit of each aspect are in the extra infos of the result metadata.
+   *
+   * @param aspectClass the type of the aspect to query
+   * @param lastUrn the last urn of the previous page, null for the first page
+   * @param pageSize the size of the page
+   * @param includeTotalCount whether to count all the aspects, which scans the whole table. The total count and total
+   *                          page count are -1 if not
+   * @param <ASPECT> must be a supported aspect type in {@code ASPECT_UNION}.
+   * @return a {@link ListResult} containing a list of aspects and other pagination information
+   */
+  @Nonnull
+  <ASPECT extends RecordTemplate> ListResult<ASPECT> listAfter(@Nonnull Class<ASPECT> aspectClass, @Nullable Urn lastUrn,
+      int pageSize, boolean includeTotalCount);
+
   /**
    * Ensure table schemas are up-to-date according to db evolution scripts.
    */
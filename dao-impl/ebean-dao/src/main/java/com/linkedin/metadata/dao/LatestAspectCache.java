@@ -0,0 +1,173 @@
+package com.linkedin.metadata.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.EbeanLocalDAO.RecordKey;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static com.linkedin.metadata.dao.BaseReadDAO.*;
+
+
+/**
+ * Bounded in-memory cache of the latest version rows of aspects, keyed by (urn, aspect), used by {@link EbeanLocalDAO}
+ * to serve reads of hot aspects without going to the database.
+ *
+ * <p>Only the aspects it is configured with are cached, each with its own time to live. The time to live bounds how
+ * long a write made through another DAO instance can go unnoticed; writes made through the owning DAO invalidate the
+ * affected entries.
+ *
+ * <p>A read that misses the cache captures the {@link #getGeneration generation} of the key before going to the
+ * database and caches the row with {@link #put(EbeanMetadataAspect, long)}, which is a no-op if the key has been
+ * invalidated in the meantime, so that a row read before a write cannot be cached after the write invalidated it.
+ */
+public class LatestAspectCache {
+
+  // generations of the keys, striped by key hash, bumped before the keys are invalidated
+  private static final int GENERATION_STRIPES = 64;
+
+  private final Map<String, Long> _timeToLiveNanosByAspect;
+  private final AtomicLongArray _generations = new AtomicLongArray(GENERATION_STRIPES);
+  private final Cache<RecordKey, EbeanMetadataAspect> _cache;
+
+  /**
+   * Constructor for LatestAspectCache.
+   *
+   * @param maximumSize maximum number of (urn, aspect) entries kept, least recently used entries are evicted first
+   * @param timeToLiveByAspect time to live of the entries of each cached aspect, aspects not in the map are not cached
+   */
+  public LatestAspectCache(long maximumSize,
+      @Nonnull Map<Class<? extends RecordTemplate>, Duration> timeToLiveByAspect) {
+    final Map<String, Long> timeToLiveNanosByAspect = new HashMap<>();
+    timeToLiveByAspect.forEach((aspectClass, timeToLive) -> {
+      if (timeToLive.isNegative() || timeToLive.isZero()) {
+        throw new IllegalArgumentException("Time to live of " + aspectClass + " must be positive: " + timeToLive);
+      }
+      timeToLiveNanosByAspect.put(ModelUtils.getAspectName(aspectClass), timeToLive.toNanos());
+    });
+    _timeToLiveNanosByAspect = Collections.unmodifiableMap(timeToLiveNanosByAspect);
+
+    _cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(new Expiry<RecordKey, EbeanMetadataAspect>() {
+          @Override
+          public long expireAfterCreate(@Nonnull RecordKey key, @Nonnull EbeanMetadataAspect value, long currentTime) {
+            return _timeToLiveNanosByAspect.get(key.getAspect());
+          }
+
+          @Override
+          public long expireAfterUpdate(@Nonnull RecordKey key, @Nonnull EbeanMetadataAspect value, long currentTime,
+              long currentDuration) {
+            return _timeToLiveNanosByAspect.get(key.getAspect());
+          }
+
+          @Override
+          public long expireAfterRead(@Nonnull RecordKey key, @Nonnull EbeanMetadataAspect value, long currentTime,
+              long currentDuration) {
+            return currentDuration;
+          }
+        })
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Returns true if the latest version of the aspect requested by the key can be served from this cache.
+   */
+  public boolean isCached(@Nonnull AspectKey<?, ? extends RecordTemplate> key) {
+    return key.getVersion() == LATEST_VERSION
+        && _timeToLiveNanosByAspect.containsKey(ModelUtils.getAspectName(key.getAspectClass()));
+  }
+
+  /**
+   * Returns the cached latest version row for the key, or null if it is not cached.
+   */
+  @Nullable
+  public EbeanMetadataAspect getIfPresent(@Nonnull AspectKey<?, ? extends RecordTemplate> key) {
+    return isCached(key) ? _cache.getIfPresent(RecordKey.of(key)) : null;
+  }
+
+  /**
+   * Returns the generation of the key, to be captured before reading the row of the key from the database.
+   */
+  public long getGeneration(@Nonnull AspectKey<?, ? extends RecordTemplate> key) {
+    return _generations.get(stripe(RecordKey.of(key)));
+  }
+
+  /**
+   * Caches a row read from the database, if it is the latest version of a cached aspect.
+   */
+  public void put(@Nonnull EbeanMetadataAspect record) {
+    if (record.getKey().getVersion() == LATEST_VERSION
+        && _timeToLiveNanosByAspect.containsKey(record.getKey().getAspect())) {
+      _cache.put(RecordKey.of(record.getKey()), record);
+    }
+  }
+
+  /**
+   * Caches a row read from the database, if it is the latest version of a cached aspect and its key has not been
+   * invalidated since the generation was captured with {@link #getGeneration}.
+   */
+  public void put(@Nonnull EbeanMetadataAspect record, long generation) {
+    if (record.getKey().getVersion() != LATEST_VERSION
+        || !_timeToLiveNanosByAspect.containsKey(record.getKey().getAspect())) {
+      return;
+    }
+    final RecordKey key = RecordKey.of(record.getKey());
+    final int stripe = stripe(key);
+    // atomic with the invalidation of the key, which follows the bump of its generation
+    _cache.asMap().compute(key, (k, cached) -> _generations.get(stripe) == generation ? record : cached);
+  }
+
+  /**
+   * Drops the cached latest version of an aspect of the urn.
+   */
+  public void invalidate(@Nonnull Urn urn, @Nonnull Class<? extends RecordTemplate> aspectClass) {
+    final String aspectName = ModelUtils.getAspectName(aspectClass);
+    if (_timeToLiveNanosByAspect.containsKey(aspectName)) {
+      invalidate(new RecordKey(normalize(urn), aspectName, LATEST_VERSION));
+    }
+  }
+
+  /**
+   * Drops the cached latest versions of all aspects of the urn.
+   */
+  public void invalidateAll(@Nonnull Urn urn) {
+    final String normalizedUrn = normalize(urn);
+    _timeToLiveNanosByAspect.keySet()
+        .forEach(aspectName -> invalidate(new RecordKey(normalizedUrn, aspectName, LATEST_VERSION)));
+  }
+
+  /**
+   * Returns hit, miss and eviction statistics of the cache.
+   */
+  @Nonnull
+  public CacheStats getStats() {
+    return _cache.stats();
+  }
+
+  private void invalidate(@Nonnull RecordKey key) {
+    _generations.incrementAndGet(stripe(key));
+    _cache.invalidate(key);
+  }
+
+  private static int stripe(@Nonnull RecordKey key) {
+    return Math.floorMod(key.hashCode(), GENERATION_STRIPES);
+  }
+
+  @Nonnull
+  private static String normalize(@Nonnull Urn urn) {
+    return urn.toString().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,189 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.linkedin.data.Data;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.metadata.aspect.AuditedAspect;
+import com.linkedin.metadata.dao.exception.ModelConversionException;
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Getter;
+
+
+/**
+ * Decodes the {@link AuditedAspect} JSON stored in the aspect columns of entity tables in a single pass, yielding the
+ * audit fields, the aspect JSON and the aspect {@link DataMap} without parsing the value more than once.
+ *
+ * <p>This is the read side of {@link AuditedAspectJsonWriter}. The aspect {@link DataMap} holds the same values
+ * {@link RecordUtils#toDataMap(String)} would produce for the aspect JSON.
+ */
+public final class AuditedAspectJsonReader {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  /**
+   * Fields of an aspect column value. Soft deleted values have no aspect and no audit fields.
+   */
+  @Getter
+  public static final class DecodedAspect {
+    // the aspect JSON exactly as stored, null if there is no aspect
+    @Nullable
+    private String aspectJson;
+    // null if there is no aspect or it wasn't requested
+    @Nullable
+    private DataMap aspect;
+    @Nullable
+    private String canonicalName;
+    @Nullable
+    private String lastmodifiedon;
+    @Nullable
+    private String lastmodifiedby;
+    @Nullable
+    private String createdfor;
+    @Nullable
+    private Long emitTime;
+    @Nullable
+    private String emitter;
+    @Nullable
+    private String fingerprint;
+    private boolean softDeleted;
+
+    private DecodedAspect() {
+    }
+  }
+
+  private AuditedAspectJsonReader() {
+  }
+
+  /**
+   * Decodes an aspect column value.
+   *
+   * @param json value of an aspect column of an entity table
+   * @param decodeAspect whether to build the {@link DataMap} of the aspect, or only locate its JSON
+   * @return the decoded fields
+   */
+  @Nonnull
+  public static DecodedAspect read(@Nonnull String json, boolean decodeAspect) {
+    final DecodedAspect decoded = new DecodedAspect();
+    try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new ModelConversionException("Aspect column value is not a JSON object: " + json);
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String field = parser.getCurrentName();
+        final JsonToken token = parser.nextToken();
+        switch (field) {
+          case "aspect":
+            if (token == JsonToken.START_OBJECT) {
+              final int start = (int) parser.getTokenLocation().getCharOffset();
+              if (decodeAspect) {
+                decoded.aspect = readMap(parser);
+              } else {
+                parser.skipChildren();
+              }
+              decoded.aspectJson = json.substring(start, (int) parser.getCurrentLocation().getCharOffset());
+            } else {
+              parser.skipChildren();
+            }
+            break;
+          case "canonicalName":
+            decoded.canonicalName = readString(parser, token);
+            break;
+          case "lastmodifiedon":
+            decoded.lastmodifiedon = readString(parser, token);
+            break;
+          case "lastmodifiedby":
+            decoded.lastmodifiedby = readString(parser, token);
+            break;
+          case "createdfor":
+            decoded.createdfor = readString(parser, token);
+            break;
+          case "emitTime":
+            decoded.emitTime = token == JsonToken.VALUE_NULL ? null : parser.getLongValue();
+            break;
+          case "emitter":
+            decoded.emitter = readString(parser, token);
+            break;
+          case "fingerprint":
+            decoded.fingerprint = readString(parser, token);
+            break;
+          case "gma_deleted":
+            decoded.softDeleted = token == JsonToken.VALUE_TRUE;
+            break;
+          default:
+            parser.skipChildren();
+        }
+      }
+    } catch (IOException e) {
+      throw new ModelConversionException("Failed to parse aspect column value: " + json, e);
+    }
+    return decoded;
+  }
+
+  @Nullable
+  private static String readString(@Nonnull JsonParser parser, @Nonnull JsonToken token) throws IOException {
+    return token == JsonToken.VALUE_NULL ? null : parser.getText();
+  }
+
+  @Nonnull
+  private static DataMap readMap(@Nonnull JsonParser parser) throws IOException {
+    final DataMap map = new DataMap();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String key = parser.getCurrentName();
+      parser.nextToken();
+      map.put(key, readValue(parser));
+    }
+    return map;
+  }
+
+  @Nonnull
+  private static DataList readList(@Nonnull JsonParser parser) throws IOException {
+    final DataList list = new DataList();
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      list.add(readValue(parser));
+    }
+    return list;
+  }
+
+  /**
+   * Reads the value at the current token the way the Jackson codec of {@link RecordUtils} does.
+   */
+  @Nonnull
+  private static Object readValue(@Nonnull JsonParser parser) throws IOException {
+    final JsonToken token = parser.getCurrentToken();
+    switch (token) {
+      case START_OBJECT:
+        return readMap(parser);
+      case START_ARRAY:
+        return readList(parser);
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        switch (parser.getNumberType()) {
+          case INT:
+            return parser.getIntValue();
+          case LONG:
+            return parser.getLongValue();
+          case FLOAT:
+            return parser.getFloatValue();
+          case DOUBLE:
+            return parser.getDoubleValue();
+          default:
+            throw new ModelConversionException("Unsupported number in aspect: " + parser.getText());
+        }
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_NULL:
+        return Data.NULL;
+      default:
+        throw new ModelConversionException("Unexpected token in aspect: " + token);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.linkedin.data.ByteString;
+import com.linkedin.data.Data;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.aspect.AuditedAspect;
+import com.linkedin.metadata.dao.exception.ModelConversionException;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Serializes the {@link AuditedAspect} JSON stored in the aspect columns of entity tables in a single pass.
+ *
+ * <p>The aspect is written as a nested JSON object rather than as the string {@link AuditedAspect#getAspect()} holds,
+ * so instead of serializing the aspect, serializing the wrapper around a placeholder and splicing the two strings
+ * together, both are streamed by one {@link JsonGenerator} into a per-thread buffer that is reused across writes. The
+ * only string produced is the final value bound to the JDBC parameter.
+ *
+ * <p>The output has the same content as {@code EbeanLocalAccess.toJsonString(AuditedAspect)}, though fields may come
+ * in a different order.
+ */
+public final class AuditedAspectJsonWriter {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  // buffers grown past this size by unusually large aspects are dropped instead of being kept by the thread
+  private static final int MAX_RETAINED_BUFFER_SIZE = 1 << 20;
+
+  private static final ThreadLocal<CharArrayWriter> BUFFER = ThreadLocal.withInitial(() -> new CharArrayWriter(4096));
+
+  private static final String ASPECT_FIELD = "aspect";
+
+  private AuditedAspectJsonWriter() {
+  }
+
+  /**
+   * Serializes the audit fields together with the aspect into the JSON format saved in entity tables.
+   *
+   * @param auditFields audit fields of the aspect, its {@code aspect} field is ignored and can be left unset
+   * @param aspect aspect value written as the {@code aspect} field
+   * @return JSON string that can be saved to DB
+   */
+  @Nonnull
+  public static String toJsonString(@Nonnull AuditedAspect auditFields, @Nonnull RecordTemplate aspect) {
+    final CharArrayWriter buffer = BUFFER.get();
+    buffer.reset();
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(buffer)) {
+      generator.writeStartObject();
+      generator.writeFieldName(ASPECT_FIELD);
+      writeValue(aspect.data(), generator);
+      for (Map.Entry<String, Object> field : auditFields.data().entrySet()) {
+        if (!ASPECT_FIELD.equals(field.getKey())) {
+          generator.writeFieldName(field.getKey());
+          writeValue(field.getValue(), generator);
+        }
+      }
+      generator.writeEndObject();
+    } catch (IOException e) {
+      throw new ModelConversionException("Failed to serialize audited aspect " + aspect.getClass().getCanonicalName(), e);
+    }
+
+    final String json = buffer.toString();
+    if (buffer.size() > MAX_RETAINED_BUFFER_SIZE) {
+      BUFFER.remove();
+    }
+    return json;
+  }
+
+  /**
+   * Writes a value of a {@link DataMap} the way {@link RecordUtils#toJsonString(RecordTemplate)} does.
+   */
+  private static void writeValue(@Nonnull Object value, @Nonnull JsonGenerator generator) throws IOException {
+    if (value instanceof DataMap) {
+      generator.writeStartObject();
+      for (Map.Entry<String, Object> entry : ((DataMap) value).entrySet()) {
+        generator.writeFieldName(entry.getKey());
+        writeValue(entry.getValue(), generator);
+      }
+      generator.writeEndObject();
+    } else if (value instanceof DataList) {
+      generator.writeStartArray();
+      for (Object element : (DataList) value) {
+        writeValue(element, generator);
+      }
+      generator.writeEndArray();
+    } else if (value instanceof String) {
+      generator.writeString((String) value);
+    } else if (value instanceof Integer) {
+      generator.writeNumber((Integer) value);
+    } else if (value instanceof Long) {
+      generator.writeNumber((Long) value);
+    } else if (value instanceof Float) {
+      generator.writeNumber((Float) value);
+    } else if (value instanceof Double) {
+      generator.writeNumber((Double) value);
+    } else if (value instanceof Boolean) {
+      generator.writeBoolean((Boolean) value);
+    } else if (value instanceof ByteString) {
+      generator.writeString(((ByteString) value).asAvroString());
+    } else if (value == Data.NULL) {
+      generator.writeNull();
+    } else {
+      throw new ModelConversionException("Unexpected value of type " + value.getClass() + " in data map");
+    }
+  }
+}
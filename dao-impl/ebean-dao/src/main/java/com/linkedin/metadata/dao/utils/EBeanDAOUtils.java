@@ -1,18 +1,15 @@
 package com.linkedin.metadata.dao.utils;
 
 import com.linkedin.common.urn.Urn;
+import com.linkedin.data.DataMap;
 import com.linkedin.data.schema.RecordDataSchema;
 import com.linkedin.data.template.DataTemplateUtil;
 import com.linkedin.data.template.RecordTemplate;
-import com.linkedin.metadata.annotations.AlwaysAllowList;
 import com.linkedin.metadata.annotations.DeltaEntityAnnotationArrayMap;
-import com.linkedin.metadata.annotations.GmaAnnotation;
-import com.linkedin.metadata.annotations.GmaAnnotationParser;
-import com.linkedin.metadata.annotations.ModelType;
-import com.linkedin.metadata.aspect.AuditedAspect;
 import com.linkedin.metadata.aspect.SoftDeletedAspect;
 import com.linkedin.metadata.dao.EbeanMetadataAspect;
 import com.linkedin.metadata.dao.ListResult;
+import com.linkedin.metadata.dao.exception.ModelConversionException;
 import com.linkedin.metadata.query.AspectField;
 import com.linkedin.metadata.query.Condition;
 import com.linkedin.metadata.query.LocalRelationshipCriterion;
@@ -29,8 +26,6 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -39,10 +34,6 @@ import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang.StringUtils;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
 
 import static com.linkedin.metadata.annotations.GmaAnnotationParser.*;
 
@@ -189,6 +180,23 @@ public class EBeanDAOUtils {
     return metadataRecord.equals(DELETED_METADATA);
   }
 
+  /**
+   * Builds the aspect held by the record, or returns empty if the aspect has been soft deleted. The metadata is parsed
+   * at most once, and not at all if the entity table reader has already parsed it.
+   *
+   * @param aspectClass the type of the aspect
+   * @param aspect aspect record
+   * @return the aspect, or empty if it has been soft deleted
+   */
+  @Nonnull
+  public static <ASPECT extends RecordTemplate> Optional<ASPECT> toAspectIfNotSoftDeleted(
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull EbeanMetadataAspect aspect) {
+    final DataMap parsedMetadata = aspect.takeParsedMetadata();
+    final ASPECT value = parsedMetadata != null ? RecordUtils.toRecordTemplate(aspectClass, parsedMetadata)
+        : RecordUtils.toRecordTemplate(aspectClass, aspect.getMetadata());
+    return value.equals(DELETED_METADATA) ? Optional.empty() : Optional.of(value);
+  }
+
 
   /**
    * Read {@link SqlRow} list into a {@link EbeanMetadataAspect} list.
@@ -205,13 +213,14 @@ public class EBeanDAOUtils {
       return columns.stream().map(columnName -> {
         EbeanMetadataAspect ebeanMetadataAspect = new EbeanMetadataAspect();
         String urn = sqlRow.getString("urn");
-        AuditedAspect auditedAspect = RecordUtils.toRecordTemplate(AuditedAspect.class, sqlRow.getString(columnName));
+        AuditedAspectJsonReader.DecodedAspect auditedAspect = AuditedAspectJsonReader.read(sqlRow.getString(columnName), true);
         EbeanMetadataAspect.PrimaryKey primaryKey = new EbeanMetadataAspect.PrimaryKey(urn, auditedAspect.getCanonicalName(), LATEST_VERSION);
         ebeanMetadataAspect.setKey(primaryKey);
         ebeanMetadataAspect.setCreatedBy(auditedAspect.getLastmodifiedby());
         ebeanMetadataAspect.setCreatedOn(Timestamp.valueOf(auditedAspect.getLastmodifiedon()));
         ebeanMetadataAspect.setCreatedFor(auditedAspect.getCreatedfor());
-        ebeanMetadataAspect.setMetadata(extractAspectJsonString(sqlRow.getString(columnName)));
+        ebeanMetadataAspect.setMetadata(auditedAspect.getAspectJson());
+        ebeanMetadataAspect.setParsedMetadata(auditedAspect.getAspect());
         return ebeanMetadataAspect;
       });
     }).collect(Collectors.toList());
@@ -238,13 +247,13 @@ public class EBeanDAOUtils {
   }
 
   /**
-   * Read EbeanMetadataAspect from {@link SqlRow}.
+   * Read EbeanMetadataAspect of an aspect column from {@link SqlRow}, soft deleted aspects having the deleted value.
    * @param sqlRow {@link SqlRow}
    * @param aspectClass aspect class
    * @param <ASPECT> aspect type
    * @return {@link EbeanMetadataAspect}
    */
-  private static <ASPECT extends RecordTemplate> EbeanMetadataAspect readSqlRow(SqlRow sqlRow,
+  public static <ASPECT extends RecordTemplate> EbeanMetadataAspect readSqlRow(SqlRow sqlRow,
       Class<ASPECT> aspectClass) {
 
     final EbeanMetadataAspect ebeanMetadataAspect = new EbeanMetadataAspect();
@@ -256,21 +265,25 @@ public class EBeanDAOUtils {
     } catch (URISyntaxException e) {
       throw new RuntimeException("Invalid urn format: " + urn, e);
     }
-    if (isSoftDeletedAspect(sqlRow, columnName)) {
-      primaryKey = new EbeanMetadataAspect.PrimaryKey(urn, aspectClass.getCanonicalName(), LATEST_VERSION);
+    // the column value is decoded once, for the soft deletion marker, the audit fields and the aspect
+    final AuditedAspectJsonReader.DecodedAspect auditedAspect =
+        AuditedAspectJsonReader.read(sqlRow.getString(columnName), true);
+    if (auditedAspect.isSoftDeleted()) {
+      primaryKey = new EbeanMetadataAspect.PrimaryKey(urn, ModelUtils.getAspectName(aspectClass), LATEST_VERSION);
       ebeanMetadataAspect.setCreatedBy(sqlRow.getString("lastmodifiedby"));
       ebeanMetadataAspect.setCreatedOn(sqlRow.getTimestamp("lastmodifiedon"));
       ebeanMetadataAspect.setCreatedFor(sqlRow.getString("createdfor"));
       ebeanMetadataAspect.setMetadata(DELETED_VALUE);
     } else {
-      AuditedAspect auditedAspect = RecordUtils.toRecordTemplate(AuditedAspect.class, sqlRow.getString(columnName));
       primaryKey = new EbeanMetadataAspect.PrimaryKey(urn, auditedAspect.getCanonicalName(), LATEST_VERSION);
       ebeanMetadataAspect.setCreatedBy(auditedAspect.getLastmodifiedby());
       ebeanMetadataAspect.setCreatedOn(Timestamp.valueOf(auditedAspect.getLastmodifiedon()));
       ebeanMetadataAspect.setCreatedFor(auditedAspect.getCreatedfor());
       ebeanMetadataAspect.setEmitTime(auditedAspect.getEmitTime());
       ebeanMetadataAspect.setEmitter(auditedAspect.getEmitter());
-      ebeanMetadataAspect.setMetadata(extractAspectJsonString(sqlRow.getString(columnName)));
+      ebeanMetadataAspect.setFingerprint(auditedAspect.getFingerprint());
+      ebeanMetadataAspect.setMetadata(auditedAspect.getAspectJson());
+      ebeanMetadataAspect.setParsedMetadata(auditedAspect.getAspect());
     }
     ebeanMetadataAspect.setKey(primaryKey);
     return ebeanMetadataAspect;
@@ -284,8 +297,7 @@ public class EBeanDAOUtils {
    */
   public static boolean isSoftDeletedAspect(@Nonnull SqlRow sqlRow, @Nonnull String columnName) {
     try {
-      SoftDeletedAspect aspect = RecordUtils.toRecordTemplate(SoftDeletedAspect.class, sqlRow.getString(columnName));
-      return aspect.hasGma_deleted() && aspect.isGma_deleted();
+      return AuditedAspectJsonReader.read(sqlRow.getString(columnName), false).isSoftDeleted();
     } catch (Exception e) {
       return false;
     }
@@ -299,16 +311,10 @@ public class EBeanDAOUtils {
   @Nullable
   public static String extractAspectJsonString(@Nonnull final String auditedAspect) {
     try {
-      JSONParser jsonParser = new JSONParser();
-      JSONObject map = (JSONObject) jsonParser.parse(auditedAspect);
-      if (map.containsKey("aspect")) {
-        return map.get("aspect").toString();
-      }
-
-      return null;
-    } catch (ParseException parseException) {
-      log.error(String.format("Failed to parse string %s as AuditedAspect. Exception: %s", auditedAspect, parseException));
-      throw new RuntimeException(parseException);
+      return AuditedAspectJsonReader.read(auditedAspect, false).getAspectJson();
+    } catch (ModelConversionException e) {
+      log.error(String.format("Failed to parse string %s as AuditedAspect. Exception: %s", auditedAspect, e));
+      throw e;
     }
   }
 
@@ -385,55 +391,6 @@ public class EBeanDAOUtils {
   @Nonnull
   public static <RELATIONSHIP extends RecordTemplate, ASPECT extends RecordTemplate> Map<Class<?>, Set<RELATIONSHIP>>
   extractRelationshipsFromAspect(ASPECT aspect) {
-    Map<Class<?>, Set<RELATIONSHIP>> relationshipMap = new HashMap<>();
-    aspect.schema().getFields().stream().filter(field -> !field.getType().isPrimitive()).forEach(field -> {
-      String fieldName = field.getName();
-      Class<RecordTemplate> clazz = (Class<RecordTemplate>) aspect.getClass();
-      try {
-        Method getMethod = clazz.getMethod("get" + StringUtils.capitalize(fieldName)); // getFieldName
-        Object obj = getMethod.invoke(aspect); // invoke getFieldName
-        // all relationship fields will be represented as either singleton fields or Arrays so filter out any non-RecordTemplates,
-        // empty lists, and lists that don't contain RecordTemplates
-        if (obj instanceof RecordTemplate) {
-          ModelType modelType = parseModelTypeFromGmaAnnotation((RecordTemplate) obj);
-          if (modelType == ModelType.RELATIONSHIP) {
-            log.debug("Found {} relationship(s) of type {} for field {} of aspect class {}.",
-                1, obj.getClass(), fieldName, clazz.getName());
-            relationshipMap.computeIfAbsent(obj.getClass(), k -> new HashSet<>()).add((RELATIONSHIP) obj);
-            return;
-          }
-        } else if (!(obj instanceof List) || ((List) obj).isEmpty() || !(((List) obj).get(0) instanceof RecordTemplate)) {
-          return;
-        }
-        // filter out all non-primitive, non-relationship, non-list fields
-        if (!(obj instanceof List)) {
-          return;
-        }
-        List<RecordTemplate> relationshipsList = (List<RecordTemplate>) obj;
-        ModelType modelType = parseModelTypeFromGmaAnnotation(relationshipsList.get(0));
-        if (modelType == ModelType.RELATIONSHIP) {
-          log.debug("Found {} relationships of type {} for field {} of aspect class {}.",
-              relationshipsList.size(), relationshipsList.get(0).getClass(), fieldName, clazz.getName());
-          relationshipMap.computeIfAbsent(relationshipsList.get(0).getClass(), k -> new HashSet<>()).addAll((List<RELATIONSHIP>) relationshipsList);
-        }
-      } catch (ReflectiveOperationException e) {
-        throw new RuntimeException(e);
-      }
-    });
-    return relationshipMap;
-  }
-
-  // Using the GmaAnnotationParser, extract the model type from the @gma.model annotation on any models.
-  private static ModelType parseModelTypeFromGmaAnnotation(RecordTemplate model) {
-    try {
-      final RecordDataSchema schema = (RecordDataSchema) DataTemplateUtil.getSchema(model.getClass());
-      final Optional<GmaAnnotation> gmaAnnotation = new GmaAnnotationParser(new AlwaysAllowList()).parse(schema);
-      if (!gmaAnnotation.isPresent() || !gmaAnnotation.get().hasModel()) {
-        return null;
-      }
-      return gmaAnnotation.get().getModel();
-    } catch (Exception e) {
-      throw new RuntimeException(String.format("Failed to parse the annotations for field %s", model.getClass().getCanonicalName()), e);
-    }
+    return RelationshipExtractionPlan.of(aspect.getClass()).extract(aspect);
   }
 }
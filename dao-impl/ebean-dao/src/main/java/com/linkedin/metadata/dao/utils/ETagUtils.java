@@ -19,12 +19,19 @@ public final class ETagUtils {
 
   public static final String AES = "AES";
 
+  // Cipher instances aren't thread-safe, each thread keeps one initialized cipher per mode. A cipher is back to its
+  // initialized state after doFinal, so it can be reused without calling init again.
+  private static final ThreadLocal<Cipher> ENCRYPT_CIPHER = new ThreadLocal<>();
+  private static final ThreadLocal<Cipher> DECRYPT_CIPHER = new ThreadLocal<>();
+
   private ETagUtils() {
   }
 
   // 16-char key for AES-128
   private static final String SECRET_KEY = "9012312344567856";
 
+  private static final SecretKey SECRET_KEY_SPEC = new SecretKeySpec(SECRET_KEY.getBytes(), AES);
+
   /**
    * Encrypts a timestamp using AES encryption.
    * @param timestamp Timestamp to encrypt
@@ -34,13 +41,8 @@ public final class ETagUtils {
   public static String encrypt(long timestamp)
       throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException,
              BadPaddingException {
-    SecretKey secretKey = getSecretKey();
-
-    Cipher cipher = Cipher.getInstance(AES);
-    cipher.init(Cipher.ENCRYPT_MODE, secretKey);
-
     byte[] inputBytes = Long.toString(timestamp).getBytes();
-    byte[] encrypted = cipher.doFinal(inputBytes);
+    byte[] encrypted = doFinal(ENCRYPT_CIPHER, Cipher.ENCRYPT_MODE, inputBytes);
 
     return Base64.getEncoder().encodeToString(encrypted);
   }
@@ -53,20 +55,28 @@ public final class ETagUtils {
   public static long decrypt(@Nonnull String encrypted)
       throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException,
              BadPaddingException {
-    SecretKey secretKey = getSecretKey();
-
-    Cipher cipher = Cipher.getInstance(AES);
-    cipher.init(Cipher.DECRYPT_MODE, secretKey);
-
     byte[] decoded = Base64.getDecoder().decode(encrypted);
-    byte[] decrypted = cipher.doFinal(decoded);
+    byte[] decrypted = doFinal(DECRYPT_CIPHER, Cipher.DECRYPT_MODE, decoded);
 
     return Long.parseLong(new String(decrypted));
   }
 
-  private static SecretKey getSecretKey() {
-    byte[] keyBytes = SECRET_KEY.getBytes();
-    return new SecretKeySpec(keyBytes, AES);
+  @Nonnull
+  private static byte[] doFinal(@Nonnull ThreadLocal<Cipher> cipherHolder, int mode, @Nonnull byte[] input)
+      throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException,
+             BadPaddingException {
+    Cipher cipher = cipherHolder.get();
+    if (cipher == null) {
+      cipher = Cipher.getInstance(AES);
+      cipher.init(mode, SECRET_KEY_SPEC);
+      cipherHolder.set(cipher);
+    }
+    try {
+      return cipher.doFinal(input);
+    } catch (IllegalBlockSizeException | BadPaddingException | RuntimeException e) {
+      // the state of a cipher which failed is unspecified, the next call on this thread starts from a new one
+      cipherHolder.remove();
+      throw e;
+    }
   }
-
 }
@@ -6,6 +6,7 @@ import com.linkedin.metadata.query.RelationshipDirection;
 import java.util.Collections;
 import java.util.Map;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import org.javatuples.Pair;
 
@@ -32,10 +33,10 @@ public class MultiHopsTraversalSqlGenerator {
     /*
      * For now, only one-hop traversal is supported because multi-hops traversal using SQL is expensive
      * and implementation is error-prone. Application side can also perform multi-hops traversal with one-hop traversal.
-     * We might consider to support multi-hop traversal in the future if strong use case appears.
+     * Multi-hops traversal is done hop by hop instead, see EbeanLocalRelationshipQueryDAO#traverse.
      */
     if (minHop != 1 || maxHop != 1) {
-      throw new UnsupportedOperationException("Only one-hop traversal is supported.");
+      throw new UnsupportedOperationException("Only one-hop traversal is supported. Use traverse for multi-hops traversal.");
     }
 
     if (relationshipFilter.getDirection() == RelationshipDirection.UNDIRECTED && !srcEntityTable.equals(destEntityTable)) {
@@ -57,6 +58,46 @@ public class MultiHopsTraversalSqlGenerator {
     return findEntitiesUndirected(entityTable, relationshipTable, urnSql, destFilter, nonDollarVirtualColumnsEnabled);
   }
 
+  /**
+   * Construct a SQL query which finds the URNs of entities one hop away from the URNs bound to the {@code urns} named
+   * parameter, following the direction of the relationship filter. The URNs are returned in the {@code urn} column and may
+   * repeat.
+   */
+  @Nonnull
+  @ParametersAreNonnullByDefault
+  public String nextHopUrnsSql(String relationshipTable, LocalRelationshipFilter relationshipFilter,
+      boolean nonDollarVirtualColumnsEnabled) {
+    final String whereClause =
+        SQLStatementUtils.whereClause(_supportedConditions, nonDollarVirtualColumnsEnabled, new Pair<>(relationshipFilter, "rt"));
+
+    final String outgoingSql = nextHopUrnsDirected(relationshipTable, whereClause, "source", "destination");
+    final String incomingSql = nextHopUrnsDirected(relationshipTable, whereClause, "destination", "source");
+    switch (relationshipFilter.getDirection()) {
+      case OUTGOING:
+        return outgoingSql;
+      case INCOMING:
+        return incomingSql;
+      case UNDIRECTED:
+        return String.format("%s UNION ALL %s", outgoingSql, incomingSql);
+      default:
+        throw new IllegalArgumentException("Relationship direction cannot be null or UNKNOWN.");
+    }
+  }
+
+  @Nonnull
+  private String nextHopUrnsDirected(@Nonnull String relationshipTable, @Nullable String whereClause,
+      @Nonnull String fromColumn, @Nonnull String toColumn) {
+    StringBuilder sqlBuilder = new StringBuilder(
+        String.format("SELECT rt.%s AS urn FROM %s rt WHERE rt.deleted_ts IS NULL AND rt.%s IN (:urns)",
+            toColumn, relationshipTable, fromColumn));
+
+    if (whereClause != null) {
+      sqlBuilder.append(" AND (").append(whereClause).append(")");
+    }
+
+    return sqlBuilder.toString();
+  }
+
   /**
    * Construct a SQL query which finds URNs of entities that are one hop away for directed relationship.
    * Direction must be INCOMING or OUTGOING.
@@ -0,0 +1,122 @@
+package com.linkedin.metadata.dao.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Hands out numeric IDs from blocks reserved in bulk from a backing store (hi/lo allocation).
+ *
+ * <p>Each namespace keeps the block it is currently handing out from. IDs are taken from it lock-free with an
+ * {@link AtomicLong}; only when a block is used up does a single thread reserve the next block from the store while
+ * the other threads of that namespace wait for it.
+ *
+ * <p>IDs are unique and increase within a namespace for this allocator, but allocators in different JVMs reserve
+ * disjoint blocks, so IDs are not ordered across them, and the unused rest of a block is lost when the JVM stops.
+ */
+@Slf4j
+public class NumericIdBlockAllocator {
+
+  /**
+   * Reserves a block of IDs in the backing store.
+   */
+  @FunctionalInterface
+  public interface BlockReserver {
+
+    /**
+     * Reserves {@code blockSize} consecutive IDs of the namespace, which no other caller will be given.
+     *
+     * @return the highest ID of the reserved block
+     */
+    long reserve(@Nonnull String namespace, int blockSize);
+  }
+
+  /**
+   * Statistics on the block reservations of an allocator.
+   */
+  @Value
+  public static class Stats {
+    long refillCount;
+    long totalRefillLatencyNanos;
+    long maxRefillLatencyNanos;
+  }
+
+  private static final class Block {
+    private final AtomicLong _next;
+    private final long _last;
+
+    private Block(long first, long last) {
+      _next = new AtomicLong(first);
+      _last = last;
+    }
+  }
+
+  private static final class Namespace {
+    // starts out exhausted, so the first request reserves a block
+    private volatile Block _block = new Block(1, 0);
+  }
+
+  private final int _blockSize;
+  private final ConcurrentMap<String, Namespace> _namespaces = new ConcurrentHashMap<>();
+  private final AtomicLong _refillCount = new AtomicLong();
+  private final AtomicLong _totalRefillLatencyNanos = new AtomicLong();
+  private final AtomicLong _maxRefillLatencyNanos = new AtomicLong();
+
+  public NumericIdBlockAllocator(int blockSize) {
+    if (blockSize < 1) {
+      throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+    }
+    _blockSize = blockSize;
+  }
+
+  public int getBlockSize() {
+    return _blockSize;
+  }
+
+  /**
+   * Returns the next ID of the namespace, reserving a new block through the reserver if the current one is used up.
+   */
+  public long nextId(@Nonnull String namespace, @Nonnull BlockReserver reserver) {
+    final Namespace state = _namespaces.computeIfAbsent(namespace, key -> new Namespace());
+    while (true) {
+      final Block block = state._block;
+      final long id = block._next.getAndIncrement();
+      if (id <= block._last) {
+        return id;
+      }
+      refill(namespace, state, block, reserver);
+    }
+  }
+
+  /**
+   * Returns the statistics of the block reservations made so far.
+   */
+  @Nonnull
+  public Stats getStats() {
+    return new Stats(_refillCount.get(), _totalRefillLatencyNanos.get(), _maxRefillLatencyNanos.get());
+  }
+
+  private void refill(@Nonnull String namespace, @Nonnull Namespace state, @Nonnull Block exhausted,
+      @Nonnull BlockReserver reserver) {
+    synchronized (state) {
+      if (state._block != exhausted) {
+        // another thread already reserved a new block
+        return;
+      }
+      final long start = System.nanoTime();
+      final long last = reserver.reserve(namespace, _blockSize);
+      final long latency = System.nanoTime() - start;
+
+      _refillCount.incrementAndGet();
+      _totalRefillLatencyNanos.addAndGet(latency);
+      _maxRefillLatencyNanos.accumulateAndGet(latency, Math::max);
+      log.debug("Reserved IDs {} to {} of namespace {} in {} ns", last - _blockSize + 1, last, namespace, latency);
+
+      state._block = new Block(last - _blockSize + 1, last);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.linkedin.metadata.dao.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Fans independent read queries of a single request out onto a shared {@link ExecutorService}.
+ *
+ * <p>At most {@code maxConcurrencyPerRequest} queries of one request are in flight at any time, one of which always
+ * runs on the calling thread, so that a single large request cannot take over the executor or exhaust the database
+ * connection pool. If the executor rejects work, the remaining queries simply run on the calling thread.
+ *
+ * <p>The executor is owned by the caller and can be shared by several DAOs; any {@link ExecutorService} works, e.g. a
+ * bounded thread pool sized to the connection pool.
+ */
+@Slf4j
+public class ParallelQueryExecutor {
+
+  private final ExecutorService _executorService;
+  private final int _maxConcurrencyPerRequest;
+
+  public ParallelQueryExecutor(@Nonnull ExecutorService executorService, int maxConcurrencyPerRequest) {
+    if (maxConcurrencyPerRequest < 1) {
+      throw new IllegalArgumentException("maxConcurrencyPerRequest must be positive: " + maxConcurrencyPerRequest);
+    }
+    _executorService = executorService;
+    _maxConcurrencyPerRequest = maxConcurrencyPerRequest;
+  }
+
+  /**
+   * Runs all queries and returns their results in the same order as the queries. If any query fails, its exception is
+   * rethrown once the queries already started have finished.
+   *
+   * @param queries queries to run, must not depend on each other
+   * @param <T> result type of a query
+   * @return results of the queries, in query order
+   */
+  @Nonnull
+  public <T> List<T> invokeAll(@Nonnull List<? extends Supplier<T>> queries) {
+    final int lanes = Math.min(_maxConcurrencyPerRequest, queries.size());
+    if (lanes <= 1) {
+      final List<T> results = new ArrayList<>(queries.size());
+      queries.forEach(query -> results.add(query.get()));
+      return results;
+    }
+
+    // each lane keeps claiming the next unclaimed query until none are left, so the number of lanes bounds the number
+    // of queries running concurrently for this request
+    final Object[] results = new Object[queries.size()];
+    final AtomicInteger next = new AtomicInteger();
+    final Runnable lane = () -> {
+      for (int index = next.getAndIncrement(); index < queries.size(); index = next.getAndIncrement()) {
+        results[index] = queries.get(index).get();
+      }
+    };
+
+    final List<Future<?>> futures = new ArrayList<>(lanes - 1);
+    try {
+      for (int i = 1; i < lanes; i++) {
+        futures.add(_executorService.submit(lane));
+      }
+    } catch (RejectedExecutionException e) {
+      log.warn("Query executor is saturated, running remaining queries on the calling thread", e);
+    }
+
+    RuntimeException failure = null;
+    try {
+      lane.run();
+    } catch (RuntimeException e) {
+      // stop the other lanes from picking up more queries
+      next.set(queries.size());
+      failure = e;
+    }
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        next.set(queries.size());
+        failure = failure != null ? failure : new IllegalStateException("Interrupted while waiting for queries", e);
+      } catch (ExecutionException e) {
+        next.set(queries.size());
+        if (failure == null) {
+          failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+              : new IllegalStateException(e.getCause());
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+
+    @SuppressWarnings("unchecked")
+    final List<T> orderedResults = (List<T>) Arrays.asList(results);
+    return orderedResults;
+  }
+}
@@ -0,0 +1,177 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.data.schema.ArrayDataSchema;
+import com.linkedin.data.schema.DataSchema;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.template.DataTemplateUtil;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.annotations.AlwaysAllowList;
+import com.linkedin.metadata.annotations.GmaAnnotation;
+import com.linkedin.metadata.annotations.GmaAnnotationParser;
+import com.linkedin.metadata.annotations.ModelType;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang.StringUtils;
+
+
+/**
+ * The top-level relationship fields of an aspect class and the getters reading them, worked out from the aspect schema
+ * and the {@code @gma.model} annotations once per class, so that extracting relationships from an aspect on ingestion
+ * doesn't walk the schema, look up getters or parse annotations.
+ *
+ * <p>A relationship field is either a record field or an array of records field, whose record is annotated with
+ * {@code @gma.model = "RELATIONSHIP"}. Fields whose record annotations cannot be parsed are kept as well, and only fail
+ * the extraction when the aspect has a value for them, as annotations used to be parsed from the field values.
+ */
+@Slf4j
+final class RelationshipExtractionPlan {
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, RecordTemplate.class);
+
+  private static final ClassValue<RelationshipExtractionPlan> PLANS = new ClassValue<RelationshipExtractionPlan>() {
+    @Override
+    @SuppressWarnings("unchecked")
+    protected RelationshipExtractionPlan computeValue(@Nonnull Class<?> type) {
+      return new RelationshipExtractionPlan((Class<? extends RecordTemplate>) type);
+    }
+  };
+
+  private static final class FieldReader {
+    private final String _name;
+    private final MethodHandle _getter;
+    private final boolean _array;
+    // the failure to parse the annotations of the record of the field, if they cannot be parsed
+    private final RuntimeException _parseFailure;
+
+    private FieldReader(@Nonnull String name, @Nonnull MethodHandle getter, boolean array,
+        @Nullable RuntimeException parseFailure) {
+      _name = name;
+      _getter = getter;
+      _array = array;
+      _parseFailure = parseFailure;
+    }
+  }
+
+  private final List<FieldReader> _relationshipFields;
+
+  private RelationshipExtractionPlan(@Nonnull Class<? extends RecordTemplate> aspectClass) {
+    final RecordDataSchema aspectSchema = (RecordDataSchema) DataTemplateUtil.getSchema(aspectClass);
+    final GmaAnnotationParser parser = new GmaAnnotationParser(new AlwaysAllowList());
+    final List<FieldReader> relationshipFields = new ArrayList<>();
+    for (RecordDataSchema.Field field : aspectSchema.getFields()) {
+      if (field.getType().isPrimitive()) {
+        continue;
+      }
+      final DataSchema fieldSchema = field.getType().getDereferencedDataSchema();
+      final boolean array = fieldSchema.getType() == DataSchema.Type.ARRAY;
+      final DataSchema valueSchema =
+          array ? ((ArrayDataSchema) fieldSchema).getItems().getDereferencedDataSchema() : fieldSchema;
+      if (valueSchema.getType() != DataSchema.Type.RECORD) {
+        continue;
+      }
+      boolean relationship = false;
+      RuntimeException parseFailure = null;
+      try {
+        relationship = isRelationship(parser, (RecordDataSchema) valueSchema);
+      } catch (RuntimeException e) {
+        parseFailure = e;
+      }
+      if (relationship || parseFailure != null) {
+        relationshipFields.add(new FieldReader(field.getName(), getter(aspectClass, field.getName()), array, parseFailure));
+      }
+    }
+    _relationshipFields = Collections.unmodifiableList(relationshipFields);
+  }
+
+  /**
+   * Returns the plan of the aspect class, computing it on first use.
+   */
+  @Nonnull
+  static RelationshipExtractionPlan of(@Nonnull Class<? extends RecordTemplate> aspectClass) {
+    return PLANS.get(aspectClass);
+  }
+
+  /**
+   * Extracts the non-null values of all top-level relationship fields of the aspect.
+   *
+   * @return a map of relationship class to the relationships of that class in the aspect
+   * @throws RuntimeException if the annotations of the record of a field with a value cannot be parsed
+   */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  <RELATIONSHIP extends RecordTemplate> Map<Class<?>, Set<RELATIONSHIP>> extract(@Nonnull RecordTemplate aspect) {
+    final Map<Class<?>, Set<RELATIONSHIP>> relationshipMap = new HashMap<>();
+    for (FieldReader field : _relationshipFields) {
+      final Object value = read(field, aspect);
+      if (value == null) {
+        continue;
+      }
+      if (field._array) {
+        final List<RELATIONSHIP> relationships = (List<RELATIONSHIP>) value;
+        if (relationships.isEmpty()) {
+          continue;
+        }
+        throwIfUnparsable(field);
+        log.debug("Found {} relationships of type {} for field {} of aspect class {}.",
+            relationships.size(), relationships.get(0).getClass(), field._name, aspect.getClass().getName());
+        relationshipMap.computeIfAbsent(relationships.get(0).getClass(), k -> new HashSet<>()).addAll(relationships);
+      } else {
+        throwIfUnparsable(field);
+        log.debug("Found {} relationship(s) of type {} for field {} of aspect class {}.",
+            1, value.getClass(), field._name, aspect.getClass().getName());
+        relationshipMap.computeIfAbsent(value.getClass(), k -> new HashSet<>()).add((RELATIONSHIP) value);
+      }
+    }
+    return relationshipMap;
+  }
+
+  private static Object read(@Nonnull FieldReader field, @Nonnull RecordTemplate aspect) {
+    try {
+      return field._getter.invokeExact(aspect);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  private static void throwIfUnparsable(@Nonnull FieldReader field) {
+    if (field._parseFailure != null) {
+      throw new RuntimeException(field._parseFailure.getMessage(), field._parseFailure.getCause());
+    }
+  }
+
+  // Using the GmaAnnotationParser, extract the model type from the @gma.model annotation of the record.
+  private static boolean isRelationship(@Nonnull GmaAnnotationParser parser, @Nonnull RecordDataSchema schema) {
+    try {
+      final Optional<GmaAnnotation> gmaAnnotation = parser.parse(schema);
+      return gmaAnnotation.isPresent() && gmaAnnotation.get().hasModel()
+          && gmaAnnotation.get().getModel() == ModelType.RELATIONSHIP;
+    } catch (Exception e) {
+      throw new RuntimeException(String.format("Failed to parse the annotations for field %s", schema.getFullName()), e);
+    }
+  }
+
+  @Nonnull
+  private static MethodHandle getter(@Nonnull Class<? extends RecordTemplate> aspectClass, @Nonnull String fieldName) {
+    try {
+      final Method method = aspectClass.getMethod("get" + StringUtils.capitalize(fieldName)); // getFieldName
+      return MethodHandles.publicLookup().unreflect(method).asType(GETTER_TYPE);
+    } catch (ReflectiveOperationException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -9,6 +9,9 @@ import com.linkedin.metadata.dao.GlobalAssetRegistry;
 import com.linkedin.metadata.dao.exception.MissingAnnotationException;
 import com.linkedin.metadata.dao.exception.ModelValidationException;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,6 +30,31 @@ public class SQLSchemaUtils {
 
   private static final int MYSQL_MAX_COLUMN_NAME_LENGTH = 64 - ASPECT_PREFIX.length();
 
+  private static final ConcurrentMap<String, String> TABLE_NAMES = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<String, String> TEST_TABLE_NAMES = new ConcurrentHashMap<>();
+
+  /**
+   * Column names of an aspect class by entity type, valid until another asset is registered in
+   * {@link GlobalAssetRegistry}, as that may change the aliases the names come from.
+   */
+  private static final class AspectColumnNames {
+    private final int _registryGeneration;
+    private final ConcurrentMap<String, String> _columnNames = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> _aspectColumnNames = new ConcurrentHashMap<>();
+
+    private AspectColumnNames(int registryGeneration) {
+      _registryGeneration = registryGeneration;
+    }
+  }
+
+  private static final ClassValue<AtomicReference<AspectColumnNames>> ASPECT_COLUMN_NAMES =
+      new ClassValue<AtomicReference<AspectColumnNames>>() {
+        @Override
+        protected AtomicReference<AspectColumnNames> computeValue(@Nonnull Class<?> type) {
+          return new AtomicReference<>(new AspectColumnNames(-1));
+        }
+      };
+
   /**
    * This field is used when asset field in {@link com.linkedin.metadata.query.AspectField} is not provided in the
    * legacy implementation. When this is field is set, the getColumnNameFromAnnotation() will retrieve
@@ -58,7 +86,7 @@ public class SQLSchemaUtils {
    */
   @Nonnull
   public static String getTestTableName(@Nonnull Urn urn) {
-    return getTableName(urn) + TEST_TABLE_SUFFIX;
+    return getTestTableName(urn.getEntityType());
   }
 
   /**
@@ -68,7 +96,7 @@ public class SQLSchemaUtils {
    */
   @Nonnull
   public static String getTableName(@Nonnull String entityType) {
-    return ENTITY_TABLE_PREFIX + entityType.toLowerCase();
+    return TABLE_NAMES.computeIfAbsent(entityType, key -> ENTITY_TABLE_PREFIX + entityType.toLowerCase());
   }
 
   /**
@@ -78,7 +106,7 @@ public class SQLSchemaUtils {
    */
   @Nonnull
   public static String getTestTableName(@Nonnull String entityType) {
-    return getTableName(entityType) + TEST_TABLE_SUFFIX;
+    return TEST_TABLE_NAMES.computeIfAbsent(entityType, key -> getTableName(entityType) + TEST_TABLE_SUFFIX);
   }
 
   /**
@@ -148,7 +176,8 @@ public class SQLSchemaUtils {
    */
   public static <ASPECT extends RecordTemplate> String getAspectColumnName(@Nonnull final String entityType,
       @Nonnull Class<ASPECT> aspectClass) {
-    return getAspectColumnName(entityType, aspectClass.getCanonicalName());
+    return getAspectColumnNames(aspectClass)._aspectColumnNames.computeIfAbsent(entityType,
+        key -> ASPECT_PREFIX + getColumnName(entityType, aspectClass));
   }
 
   /**
@@ -230,6 +259,32 @@ public class SQLSchemaUtils {
     }
   }
 
+  /**
+   * Get Column name from aspect class, cached until another asset is registered.
+   *
+   * @param assetType entity type from Urn definition.
+   * @param aspectClass aspect class
+   * @return aspect column name
+   */
+  @Nonnull
+  public static String getColumnName(@Nonnull final String assetType,
+      @Nonnull final Class<? extends RecordTemplate> aspectClass) {
+    return getAspectColumnNames(aspectClass)._columnNames.computeIfAbsent(assetType,
+        key -> getColumnName(assetType, ModelUtils.getAspectName(aspectClass)));
+  }
+
+  @Nonnull
+  private static AspectColumnNames getAspectColumnNames(@Nonnull Class<? extends RecordTemplate> aspectClass) {
+    final int registryGeneration = GlobalAssetRegistry.getGeneration();
+    final AtomicReference<AspectColumnNames> reference = ASPECT_COLUMN_NAMES.get(aspectClass);
+    AspectColumnNames columnNames = reference.get();
+    if (columnNames._registryGeneration != registryGeneration) {
+      columnNames = new AspectColumnNames(registryGeneration);
+      reference.set(columnNames);
+    }
+    return columnNames;
+  }
+
   /**
    * Get Column name from aspect column annotation (legacy).
    *
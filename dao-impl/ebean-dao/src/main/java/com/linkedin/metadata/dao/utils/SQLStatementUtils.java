@@ -13,6 +13,7 @@ import com.linkedin.metadata.query.LocalRelationshipCriterionArray;
 import com.linkedin.metadata.query.LocalRelationshipFilter;
 import com.linkedin.metadata.query.LocalRelationshipValue;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -124,6 +125,13 @@ public class SQLStatementUtils {
       String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby, createdfor, (SELECT COUNT(urn) FROM %%s WHERE %s) "
           + "as _total_count FROM %%s WHERE %s LIMIT %%s OFFSET %%s", NONNULL_CHECK,  NONNULL_CHECK);
 
+  private static final String SQL_LIST_ASPECT_AFTER_URN_TEMPLATE =
+      String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby, createdfor%%s FROM %%s WHERE %s AND %s%%s ORDER BY urn LIMIT %%d",
+          NONNULL_CHECK, SOFT_DELETED_CHECK);
+
+  private static final String SQL_LIST_ASPECT_TOTAL_COUNT_TEMPLATE =
+      String.format(", (SELECT COUNT(urn) FROM %%s WHERE %s AND %s) as _total_count", NONNULL_CHECK, SOFT_DELETED_CHECK);
+
   private static final String SQL_READ_ASPECT_WITH_SOFT_DELETED_TEMPLATE =
       "SELECT urn, %s, lastmodifiedon, lastmodifiedby FROM %s WHERE urn IN (";
 
@@ -134,6 +142,9 @@ public class SQLStatementUtils {
 
   private static final String SQL_URN_EXIST_TEMPLATE = "SELECT urn FROM %s WHERE urn = '%s' AND deleted_ts IS NULL";
 
+  private static final String SQL_READ_ENTITY_TEMPLATE =
+      "SELECT urn%s, lastmodifiedon, lastmodifiedby, createdfor FROM %s WHERE urn = '%s' AND deleted_ts IS NULL";
+
   private static final String INSERT_LOCAL_RELATIONSHIPS = "INSERT INTO %s (metadata, source, destination, source_type, "
       + "destination_type, lastmodifiedon, lastmodifiedby) VALUES ";
 
@@ -152,6 +163,12 @@ public class SQLStatementUtils {
   private static final String DELETE_BY_SOURCE_AND_ASPECT = "UPDATE %s SET deleted_ts=NOW() "
       + "WHERE source = :source AND (aspect = :aspect OR aspect = :pegasus_aspect) AND deleted_ts IS NULL";
 
+  private static final String DELETE_BY_SOURCE_AND_DESTINATIONS = "UPDATE %s SET deleted_ts=NOW() "
+      + "WHERE source = :source AND destination IN (:destination) AND deleted_ts IS NULL";
+
+  private static final String DELETE_BY_SOURCE_AND_DESTINATIONS_AND_ASPECT = "UPDATE %s SET deleted_ts=NOW() "
+      + "WHERE source = :source AND destination IN (:destination) AND (aspect = :aspect OR aspect = :pegasus_aspect) AND deleted_ts IS NULL";
+
   /**
    *  Filter query has pagination params in the existing APIs. To accommodate this, we use subquery to include total result counts in the query response.
    *  For example, we will build the following filter query statement:
@@ -164,6 +181,9 @@ public class SQLStatementUtils {
   private static final String SQL_BROWSE_ASPECT_TEMPLATE =
       String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby, (SELECT COUNT(urn) FROM %%s) as _total_count "
           + "FROM %%s WHERE %s LIMIT %%d OFFSET %%d", SOFT_DELETED_CHECK);
+  private static final String SQL_BROWSE_ASPECT_WITHOUT_COUNT_TEMPLATE =
+      String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby FROM %%s WHERE %s LIMIT %%d OFFSET %%d",
+          SOFT_DELETED_CHECK);
 
   private static final String GET_ESTIMATED_COUNT = "select table_rows from information_schema.tables where "
       + "table_schema = '%s' and table_name = '%s'";
@@ -193,6 +213,23 @@ public class SQLStatementUtils {
     return String.format(SQL_URN_EXIST_TEMPLATE, tableName, escapeReservedCharInUrn(urn.toString()));
   }
 
+  /**
+   * Create the SQL statement reading the entity row of an urn with the given aspect columns, soft deleted aspects
+   * included, which returns no row if the entity doesn't exist. It is how an entity is read along with its existence.
+   *
+   * <p>Example:
+   * SELECT urn, a_aspect1, a_aspect2, lastmodifiedon, lastmodifiedby, createdfor FROM metadata_entity_foo WHERE urn = 'urn:1'
+   * AND deleted_ts IS NULL
+   * </p>
+   * @param urn entity urn
+   * @param columnNames the aspect columns to read, which may be empty to only read the existence
+   * @return entity read sql
+   */
+  public static String createEntityReadSql(@Nonnull Urn urn, @Nonnull Collection<String> columnNames) {
+    final String columns = columnNames.stream().map(columnName -> ", " + columnName).collect(Collectors.joining());
+    return String.format(SQL_READ_ENTITY_TEMPLATE, columns, getTableName(urn), escapeReservedCharInUrn(urn.toString()));
+  }
+
   /**
    * Create read aspect SQL statement for one aspect class (but could include many urns). Essentially, this will query for a
    * single aspect column in the metadata entity tables. The query includes a filter for filtering out soft-deleted aspects.
@@ -275,6 +312,29 @@ public class SQLStatementUtils {
     }
   }
 
+  /**
+   * List the aspects for a given entity type and aspect type in urn order, starting after an urn. Unlike
+   * {@link #createListAspectWithPaginationSql}, the cost of a page does not depend on how deep it is in the table, and the
+   * total count, which has to scan the whole table, is only computed if asked for. The last urn is bound to the
+   * {@code lastUrn} named parameter.
+   * @param aspectClass aspect type
+   * @param entityType entity name from Urn
+   * @param afterUrn whether to only list the aspects of urns after {@code lastUrn}, false for the first page
+   * @param pageSize page size
+   * @param includeTotalCount whether to return the total count of the aspects in the {@code _total_count} column
+   * @param <ASPECT> aspect type
+   * @return a SQL to run listing aspect query with keyset pagination.
+   */
+  public static <ASPECT extends RecordTemplate> String createListAspectAfterUrnSql(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull String entityType, boolean afterUrn, int pageSize, boolean includeTotalCount) {
+    final String tableName = getTableName(entityType);
+    final String columnName = getAspectColumnName(entityType, aspectClass);
+    final String totalCount = includeTotalCount
+        ? String.format(SQL_LIST_ASPECT_TOTAL_COUNT_TEMPLATE, tableName, columnName, columnName) : "";
+    return String.format(SQL_LIST_ASPECT_AFTER_URN_TEMPLATE, columnName, totalCount, tableName, columnName, columnName,
+        afterUrn ? " AND urn > :lastUrn" : "", pageSize);
+  }
+
   /**
    * Create Upsert SQL statement.
    * @param urn  entity urn
@@ -290,6 +350,39 @@ public class SQLStatementUtils {
     return String.format(urnExtraction ? SQL_UPSERT_ASPECT_WITH_URN_TEMPLATE : SQL_UPSERT_ASPECT_TEMPLATE, tableName, columnName, columnName);
   }
 
+  /**
+   * Create a multi-row Upsert SQL statement, writing the same aspect columns for several entities of one table.
+   * Parameters are suffixed with the row index, and aspect values are named aspect{row}_{column}, e.g. :urn0, :aspect0_1.
+   * @param tableName entity table name
+   * @param columnNames aspect column names written for each row
+   * @param rowCount number of rows
+   * @param urnExtraction whether the a_urn column is written too
+   * @return multi-row aspect upsert sql
+   */
+  public static String createAspectBatchUpsertSql(@Nonnull String tableName, @Nonnull List<String> columnNames,
+      int rowCount, boolean urnExtraction) {
+    final StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName)
+        .append(urnExtraction ? " (urn, a_urn, " : " (urn, ");
+    columnNames.forEach(columnName -> sql.append(columnName).append(", "));
+    sql.append("lastmodifiedon, lastmodifiedby) VALUES ");
+    for (int row = 0; row < rowCount; row++) {
+      sql.append(row == 0 ? "(" : ", (").append(":urn").append(row).append(", ");
+      if (urnExtraction) {
+        sql.append(":a_urn").append(row).append(", ");
+      }
+      for (int column = 0; column < columnNames.size(); column++) {
+        sql.append(":aspect").append(row).append('_').append(column).append(", ");
+      }
+      sql.append(":lastmodifiedon").append(row).append(", :lastmodifiedby").append(row).append(')');
+    }
+    sql.append(" ON DUPLICATE KEY UPDATE ");
+    columnNames.forEach(columnName -> sql.append(columnName).append(" = VALUES(").append(columnName).append("), "));
+    if (urnExtraction) {
+      sql.append("a_urn = VALUES(a_urn), ");
+    }
+    return sql.append("lastmodifiedon = VALUES(lastmodifiedon), deleted_ts = NULL;").toString();
+  }
+
   /**
    * Create Delete SQL statement.
    * @param urn entity urn
@@ -338,11 +431,10 @@ public class SQLStatementUtils {
       @Nonnull SchemaValidatorUtil schemaValidator) {
     final String tableName = getTableName(entityType);
     String whereClause = parseIndexFilter(entityType, indexFilter, nonDollarVirtualColumnsEnabled, schemaValidator);
-    String totalCountSql = String.format("SELECT COUNT(urn) FROM %s %s", tableName, whereClause);
     StringBuilder sb = new StringBuilder();
 
     if (hasTotalCount) {
-      sb.append(String.format(SQL_FILTER_TEMPLATE, totalCountSql, tableName));
+      sb.append(String.format(SQL_FILTER_TEMPLATE, createFilterCountSql(tableName, whereClause), tableName));
     } else {
       sb.append("SELECT urn FROM ").append(tableName);
     }
@@ -352,6 +444,24 @@ public class SQLStatementUtils {
     return sb.toString();
   }
 
+  /**
+   * Create the SQL statement counting the records matched by a filter, the same count that
+   * {@link #createFilterSql(String, IndexFilter, boolean, boolean, SchemaValidatorUtil)} embeds with hasTotalCount.
+   * @param entityType entity type from urn
+   * @param indexFilter index filter
+   * @param nonDollarVirtualColumnsEnabled  true if virtual column does not contain $, false otherwise
+   * @return translated count SQL
+   */
+  public static String createFilterCountSql(String entityType, @Nullable IndexFilter indexFilter,
+      boolean nonDollarVirtualColumnsEnabled, @Nonnull SchemaValidatorUtil schemaValidator) {
+    return createFilterCountSql(getTableName(entityType),
+        parseIndexFilter(entityType, indexFilter, nonDollarVirtualColumnsEnabled, schemaValidator));
+  }
+
+  private static String createFilterCountSql(String tableName, String whereClause) {
+    return String.format("SELECT COUNT(urn) FROM %s %s", tableName, whereClause);
+  }
+
   /**
    * Create index group by SQL statement.
    * @param entityType entity type
@@ -390,8 +500,25 @@ public class SQLStatementUtils {
    */
   public static <ASPECT extends RecordTemplate> String createAspectBrowseSql(String entityType,
       Class<ASPECT> aspectClass, int offset, int pageSize) {
+    return createAspectBrowseSql(entityType, aspectClass, offset, pageSize, true);
+  }
+
+  /**
+   * Create aspect browse SQL statement, with or without the _total_count column counting the whole entity table.
+   * @param entityType entity type.
+   * @param aspectClass aspect class
+   * @param includeTotalCount whether to calculate total count in SQL
+   * @param <ASPECT> {@link RecordTemplate}
+   * @return aspect browse SQL.
+   */
+  public static <ASPECT extends RecordTemplate> String createAspectBrowseSql(String entityType,
+      Class<ASPECT> aspectClass, int offset, int pageSize, boolean includeTotalCount) {
     final String tableName = getTableName(entityType);
     final String columnName = getAspectColumnName(entityType, aspectClass);
+    if (!includeTotalCount) {
+      return String.format(SQL_BROWSE_ASPECT_WITHOUT_COUNT_TEMPLATE, columnName, tableName, columnName,
+          Math.max(pageSize, 0), Math.max(offset, 0));
+    }
     return String.format(SQL_BROWSE_ASPECT_TEMPLATE, columnName, tableName, tableName, columnName,
         Math.max(pageSize, 0), Math.max(offset, 0));
   }
@@ -440,6 +567,20 @@ public class SQLStatementUtils {
     return useAspectColumn ? String.format(DELETE_BY_SOURCE_AND_ASPECT, tableName) : String.format(DELETE_BY_SOURCE, tableName);
   }
 
+  /**
+   * Build the statement soft-deleting the relationships from a source to a list of destinations, bound to the
+   * parameters :source and :destination, plus :aspect and :pegasus_aspect if the aspect column is used.
+   * @param tableName Name of the local relationship table
+   * @param useAspectColumn Whether to only delete relationships derived from the aspect
+   * @return SQL statement for soft-deleting local relationships by destinations
+   */
+  @Nonnull
+  @ParametersAreNonnullByDefault
+  public static String deleteLocalRelationshipByDestinationsSQL(final String tableName, boolean useAspectColumn) {
+    return useAspectColumn ? String.format(DELETE_BY_SOURCE_AND_DESTINATIONS_AND_ASPECT, tableName)
+        : String.format(DELETE_BY_SOURCE_AND_DESTINATIONS, tableName);
+  }
+
   /**
    * Construct where clause SQL from multiple filters. Return null if all filters are empty.
    * @param supportedConditions contains supported conditions such as EQUAL.
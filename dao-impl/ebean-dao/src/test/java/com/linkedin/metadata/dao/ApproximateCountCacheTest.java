@@ -0,0 +1,53 @@
+package com.linkedin.metadata.dao;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class ApproximateCountCacheTest {
+
+  @Test
+  public void testInvalidTimeToLive() {
+    assertThrows(IllegalArgumentException.class, () -> new ApproximateCountCache(10, Duration.ZERO));
+    assertThrows(IllegalArgumentException.class, () -> new ApproximateCountCache(10, Duration.ofSeconds(-1)));
+  }
+
+  @Test
+  public void testCountsOncePerStatement() {
+    ApproximateCountCache cache = new ApproximateCountCache(10, Duration.ofMinutes(1));
+    List<String> counted = new ArrayList<>();
+
+    assertEquals(cache.getCount("SELECT COUNT(urn) FROM a", sql -> {
+      counted.add(sql);
+      return 3;
+    }), 3);
+    // served from the cache even though the count changed
+    assertEquals(cache.getCount("SELECT COUNT(urn) FROM a", sql -> {
+      counted.add(sql);
+      return 4;
+    }), 3);
+    assertEquals(cache.getCount("SELECT COUNT(urn) FROM b", sql -> {
+      counted.add(sql);
+      return 5;
+    }), 5);
+
+    assertEquals(counted, Arrays.asList("SELECT COUNT(urn) FROM a", "SELECT COUNT(urn) FROM b"));
+    assertEquals(cache.getStats().hitCount(), 1);
+    assertEquals(cache.getStats().missCount(), 2);
+  }
+
+  @Test
+  public void testInvalidateAll() {
+    ApproximateCountCache cache = new ApproximateCountCache(10, Duration.ofMinutes(1));
+    cache.getCount("SELECT COUNT(urn) FROM a", sql -> 3);
+
+    cache.invalidateAll();
+
+    assertEquals(cache.getCount("SELECT COUNT(urn) FROM a", sql -> 4), 4);
+  }
+}
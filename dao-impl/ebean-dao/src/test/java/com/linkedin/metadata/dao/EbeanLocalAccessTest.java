@@ -2,6 +2,7 @@ package com.linkedin.metadata.dao;
 
 import com.google.common.io.Resources;
 import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.metadata.dao.urnpath.EmptyPathExtractor;
 import com.linkedin.metadata.dao.utils.EmbeddedMariaInstance;
@@ -10,6 +11,7 @@ import com.linkedin.metadata.dao.utils.RecordUtils;
 import com.linkedin.metadata.dao.utils.SQLIndexFilterUtils;
 import com.linkedin.metadata.dao.utils.SchemaValidatorUtil;
 import com.linkedin.metadata.query.Condition;
+import com.linkedin.metadata.query.ExtraInfo;
 import com.linkedin.metadata.query.IndexCriterion;
 import com.linkedin.metadata.query.IndexCriterionArray;
 import com.linkedin.metadata.query.IndexFilter;
@@ -30,10 +32,15 @@ import java.lang.reflect.Field;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
@@ -264,6 +271,27 @@ public class EbeanLocalAccessTest {
     assertFalse(_ebeanLocalAccessFoo.exists(foo9999));
   }
 
+  @Test
+  public void testGetIfExists() {
+    // Given: metadata_entity_foo table with fooUrns from 0 ~ 99, with AspectFoo only and no column for AspectBaz
+    Set<Class<? extends RecordTemplate>> aspectClasses = new HashSet<>();
+    aspectClasses.add(AspectFoo.class);
+    aspectClasses.add(AspectBar.class);
+    aspectClasses.add(AspectBaz.class);
+
+    // When: read the aspects of urn:li:foo:0 along with its existence
+    List<EbeanMetadataAspect> records = _ebeanLocalAccessFoo.getIfExists(makeFooUrn(0), aspectClasses).get();
+
+    // Expect: only the present aspect is returned
+    assertEquals(1, records.size());
+    assertEquals(AspectFoo.class.getCanonicalName(), records.get(0).getKey().getAspect());
+    assertEquals("{\"value\":\"0\"}", records.get(0).getMetadata());
+
+    // Expect: an existing entity is read without aspects, and urn:li:foo:9999 does not exist
+    assertTrue(_ebeanLocalAccessFoo.getIfExists(makeFooUrn(0), Collections.emptySet()).get().isEmpty());
+    assertFalse(_ebeanLocalAccessFoo.getIfExists(makeFooUrn(9999), aspectClasses).isPresent());
+  }
+
   @Test
   public void testListUrns() throws URISyntaxException {
     // Given: metadata_entity_foo table with fooUrns from 0 ~ 99
@@ -290,6 +318,102 @@ public class EbeanLocalAccessTest {
     assertEquals(100, fooUrnListResult.getTotalCount());
   }
 
+  @Test
+  public void testListUrnsWithApproximateCount() {
+    // Given: metadata_entity_foo table with fooUrns from 0 ~ 99, and counts taken from a cache
+    IndexFilter indexFilter = new IndexFilter().setCriteria(new IndexCriterionArray(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.GREATER_THAN_OR_EQUAL_TO,
+            IndexValue.create(25)),
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.LESS_THAN, IndexValue.create(50))));
+    IndexSortCriterion indexSortCriterion =
+        SQLIndexFilterUtils.createIndexSortCriterion(AspectFoo.class, "value", SortOrder.ASCENDING);
+    ApproximateCountCache approximateCountCache = new ApproximateCountCache(10, Duration.ofMinutes(1));
+    _ebeanLocalAccessFoo.setApproximateCountCache(approximateCountCache);
+
+    try {
+      // When: list out results with start = 5 and pageSize = 5
+      ListResult<FooUrn> listUrns = _ebeanLocalAccessFoo.listUrns(indexFilter, indexSortCriterion, 5, 5);
+
+      // Expect: the same page, with the cached count flagged as approximate
+      assertEquals(5, listUrns.getValues().size());
+      assertEquals("30", listUrns.getValues().get(0).getId());
+      assertEquals(10, listUrns.getNextStart());
+      assertTrue(listUrns.isHavingMore());
+      assertEquals(25, listUrns.getTotalCount());
+      assertEquals(5, listUrns.getTotalPageCount());
+      assertTrue(listUrns.getMetadata().isApproximateTotalCount());
+
+      // When: a matching record is added and the next page is listed
+      AspectFoo aspectFoo = new AspectFoo().setValue("26");
+      _ebeanLocalAccessFoo.add(makeFooUrn(100), aspectFoo, AspectFoo.class, makeAuditStamp("foo", _now), null, false);
+      listUrns = _ebeanLocalAccessFoo.listUrns(indexFilter, indexSortCriterion, 10, 5);
+
+      // Expect: the count is served from the cache without counting again
+      assertEquals(25, listUrns.getTotalCount());
+      assertEquals(1, approximateCountCache.getStats().missCount());
+
+      // When: the last page is listed
+      listUrns = _ebeanLocalAccessFoo.listUrns(indexFilter, indexSortCriterion, 20, 10);
+
+      // Expect: the count is exact, as all remaining records are on the page
+      assertEquals(6, listUrns.getValues().size());
+      assertFalse(listUrns.isHavingMore());
+      assertEquals(ListResult.INVALID_NEXT_START, listUrns.getNextStart());
+      assertEquals(26, listUrns.getTotalCount());
+
+      // When: list urns of an aspect from the 55th record, with 50 page size
+      ListResult<FooUrn> fooUrnListResult = _ebeanLocalAccessFoo.listUrns(AspectFoo.class, 55, 50);
+
+      // Expect: 46 results are returned and 101 total records, as there are no more records
+      assertEquals(46, fooUrnListResult.getValues().size());
+      assertFalse(fooUrnListResult.isHavingMore());
+      assertEquals(101, fooUrnListResult.getTotalCount());
+      assertTrue(fooUrnListResult.getMetadata().isApproximateTotalCount());
+    } finally {
+      _ebeanLocalAccessFoo.setApproximateCountCache(null);
+    }
+  }
+
+  @Test
+  public void testListAfter() {
+    // Given: metadata_entity_foo table with fooUrns from 0 ~ 99
+
+    // When: list the first 60 aspects without the total count
+    ListResult<AspectFoo> firstPage = _ebeanLocalAccessFoo.listAfter(AspectFoo.class, null, 60, false);
+
+    // Expect: 60 aspects in urn order, more to come and no total count
+    assertEquals(firstPage.getValues().size(), 60);
+    assertTrue(firstPage.isHavingMore());
+    assertEquals(firstPage.getTotalCount(), -1);
+    List<Urn> firstPageUrns = firstPage.getMetadata().getExtraInfos().stream().map(ExtraInfo::getUrn).collect(Collectors.toList());
+    assertEquals(firstPageUrns, firstPageUrns.stream().sorted(Comparator.comparing(Urn::toString)).collect(Collectors.toList()));
+    for (int i = 0; i < 60; i++) {
+      assertEquals(firstPage.getValues().get(i).getValue(), firstPageUrns.get(i).getId());
+    }
+
+    // When: list the next 60 aspects after the last urn of the first page, with the total count
+    ListResult<AspectFoo> secondPage =
+        _ebeanLocalAccessFoo.listAfter(AspectFoo.class, firstPageUrns.get(59), 60, true);
+
+    // Expect: the remaining 40 aspects, none after them, and 100 total records
+    assertEquals(secondPage.getValues().size(), 40);
+    assertFalse(secondPage.isHavingMore());
+    assertEquals(secondPage.getTotalCount(), 100);
+    assertEquals(secondPage.getTotalPageCount(), 2);
+    Set<Urn> allUrns = new HashSet<>(firstPageUrns);
+    secondPage.getMetadata().getExtraInfos().forEach(extraInfo -> assertTrue(allUrns.add(extraInfo.getUrn())));
+    assertEquals(allUrns.size(), 100);
+
+    // When: list after the last urn
+    ListResult<AspectFoo> emptyPage = _ebeanLocalAccessFoo.listAfter(AspectFoo.class,
+        secondPage.getMetadata().getExtraInfos().get(39).getUrn(), 60, true);
+
+    // Expect: no aspects, but still the total count
+    assertTrue(emptyPage.getValues().isEmpty());
+    assertFalse(emptyPage.isHavingMore());
+    assertEquals(emptyPage.getTotalCount(), 100);
+  }
+
   @Test
   public void testCountAggregate() {
     // Given: metadata_entity_foo table with fooUrns from 0 ~ 99
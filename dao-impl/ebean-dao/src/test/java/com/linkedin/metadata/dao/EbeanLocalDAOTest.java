@@ -18,6 +18,7 @@ import com.linkedin.metadata.dao.EbeanMetadataAspect.PrimaryKey;
 import com.linkedin.metadata.dao.builder.BaseLocalRelationshipBuilder;
 import com.linkedin.metadata.dao.equality.AlwaysFalseEqualityTester;
 import com.linkedin.metadata.dao.equality.DefaultEqualityTester;
+import com.linkedin.metadata.dao.equality.FingerprintEqualityTester;
 import com.linkedin.metadata.dao.exception.InvalidMetadataType;
 import com.linkedin.metadata.dao.exception.RetryLimitReached;
 import com.linkedin.metadata.dao.localrelationship.SampleLocalRelationshipRegistryImpl;
@@ -28,11 +29,14 @@ import com.linkedin.metadata.dao.retention.VersionBasedRetention;
 import com.linkedin.metadata.dao.storage.LocalDAOStorageConfig;
 import com.linkedin.metadata.dao.tracking.BaseTrackingManager;
 import com.linkedin.metadata.dao.urnpath.UrnPathExtractor;
+import com.linkedin.metadata.dao.utils.AspectFingerprint;
+import com.linkedin.metadata.dao.utils.AuditedAspectJsonReader;
 import com.linkedin.metadata.dao.utils.BarUrnPathExtractor;
 import com.linkedin.metadata.dao.utils.EbeanServerUtils;
 import com.linkedin.metadata.dao.utils.EmbeddedMariaInstance;
 import com.linkedin.metadata.dao.utils.FooUrnPathExtractor;
 import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.dao.utils.ParallelQueryExecutor;
 import com.linkedin.metadata.dao.utils.RecordUtils;
 import com.linkedin.metadata.dao.utils.SQLSchemaUtils;
 import com.linkedin.metadata.events.IngestionMode;
@@ -87,6 +91,7 @@ import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -94,11 +99,15 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
@@ -343,6 +352,64 @@ public class EbeanLocalDAOTest {
     verifyNoMoreInteractions(_mockProducer);
   }
 
+  @Test
+  public void testAddBatch() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectFoo foo1 = new AspectFoo().setValue("foo1");
+    AspectBar bar1 = new AspectBar().setValue("bar1");
+    AspectFoo foo2 = new AspectFoo().setValue("foo2");
+    AspectFoo foo2Updated = new AspectFoo().setValue("foo2-updated");
+    dao.add(urn2, foo2, _dummyAuditStamp);
+
+    Map<FooUrn, List<RecordTemplate>> aspectValues = new LinkedHashMap<>();
+    aspectValues.put(urn1, Arrays.asList(foo1, bar1));
+    aspectValues.put(urn2, Collections.singletonList(foo2Updated));
+    dao.addBatch(aspectValues, _dummyAuditStamp);
+
+    assertEquals(dao.get(AspectFoo.class, urn1).get(), foo1);
+    assertEquals(dao.get(AspectBar.class, urn1).get(), bar1);
+    assertEquals(dao.get(AspectFoo.class, urn2).get(), foo2Updated);
+    if (dao.isChangeLogEnabled()) {
+      AspectFoo previous = RecordUtils.toRecordTemplate(AspectFoo.class,
+          getMetadata(urn2, ModelUtils.getAspectName(AspectFoo.class), 1).getMetadata());
+      assertEquals(previous, foo2);
+    }
+
+    verify(_mockProducer, times(1)).produceMetadataAuditEvent(urn2, null, foo2);
+    verify(_mockProducer, times(1)).produceMetadataAuditEvent(urn1, null, foo1);
+    verify(_mockProducer, times(1)).produceMetadataAuditEvent(urn1, null, bar1);
+    verify(_mockProducer, times(1)).produceMetadataAuditEvent(urn2, foo2, foo2Updated);
+    verifyNoMoreInteractions(_mockProducer);
+  }
+
+  @Test
+  public void testAddBatchOfTestModeAndRegularWrites() {
+    if (_schemaConfig == SchemaConfig.NEW_SCHEMA_ONLY) {
+      EbeanLocalAccess<FooUrn> localAccess = new EbeanLocalAccess<>(_server,
+          EmbeddedMariaInstance.SERVER_CONFIG_MAP.get(_server.getName()), FooUrn.class, new FooUrnPathExtractor(),
+          _eBeanDAOConfig.isNonDollarVirtualColumnsEnabled());
+      FooUrn urn1 = makeFooUrn(1);
+      FooUrn urn2 = makeFooUrn(2);
+      AspectFoo foo1 = new AspectFoo().setValue("foo1");
+      AspectFoo foo2 = new AspectFoo().setValue("foo2");
+
+      // the test mode write comes first, so that the regular one would follow it to the test table if not split
+      List<BaseLocalDAO.LatestAspectWrite<FooUrn, ? extends RecordTemplate>> writes = new ArrayList<>();
+      writes.add(new BaseLocalDAO.LatestAspectWrite<>(urn2, AspectFoo.class, null, null, foo2, _dummyAuditStamp, false, null, true, null));
+      writes.add(new BaseLocalDAO.LatestAspectWrite<>(urn1, AspectFoo.class, null, null, foo1, _dummyAuditStamp, false, null, false, null));
+      localAccess.addBatch(writes);
+
+      AspectKey<FooUrn, AspectFoo> key1 = new AspectKey<>(AspectFoo.class, urn1, 0L);
+      AspectKey<FooUrn, AspectFoo> key2 = new AspectKey<>(AspectFoo.class, urn2, 0L);
+      assertEquals(localAccess.batchGetUnion(Collections.singletonList(key1), 1000, 0, false, false).size(), 1);
+      assertTrue(localAccess.batchGetUnion(Collections.singletonList(key1), 1000, 0, false, true).isEmpty());
+      assertEquals(localAccess.batchGetUnion(Collections.singletonList(key2), 1000, 0, false, true).size(), 1);
+      assertTrue(localAccess.batchGetUnion(Collections.singletonList(key2), 1000, 0, false, false).isEmpty());
+    }
+  }
+
   @Test
   public void testAddOneInTestMode() {
     if (_schemaConfig == SchemaConfig.NEW_SCHEMA_ONLY && !_enableChangeLog) {
@@ -835,6 +902,64 @@ public class EbeanLocalDAOTest {
     assertNotNull(getMetadata(urn, aspectName, 0));
   }
 
+  @Test
+  public void testAsyncVersionBasedRetention() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.setRetention(AspectFoo.class, new VersionBasedRetention(2));
+    // sweeps only when shut down
+    dao.enableAsyncRetention(10, 10, TimeUnit.HOURS.toMillis(1));
+    String aspectName = ModelUtils.getAspectName(AspectFoo.class);
+    List<FooUrn> urns = Arrays.asList(makeFooUrn(1), makeFooUrn(2));
+
+    for (FooUrn urn : urns) {
+      dao.add(urn, new AspectFoo().setValue("bar"), _dummyAuditStamp);
+      dao.add(urn, new AspectFoo().setValue("foo"), _dummyAuditStamp);
+      dao.add(urn, new AspectFoo().setValue("baz"), _dummyAuditStamp);
+    }
+
+    // the writes of each urn are coalesced
+    assertEquals(dao.getAsyncRetentionStats().getBacklog(), 2);
+    if (dao.isChangeLogEnabled()) {
+      assertNotNull(getMetadata(urns.get(0), aspectName, 1));
+    }
+
+    dao.shutdownAsyncRetention();
+
+    assertNull(dao.getAsyncRetentionStats());
+    for (FooUrn urn : urns) {
+      if (dao.isChangeLogEnabled()) {
+        assertNull(getMetadata(urn, aspectName, 1));
+        assertNotNull(getMetadata(urn, aspectName, 2));
+      }
+      assertNotNull(getMetadata(urn, aspectName, 0));
+    }
+  }
+  @Test
+  public void testAsyncRetentionIsEnqueuedOnCommit() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.setRetention(AspectFoo.class, new VersionBasedRetention(2));
+    // sweeps only when shut down
+    dao.enableAsyncRetention(10, 10, TimeUnit.HOURS.toMillis(1));
+    FooUrn urn = makeFooUrn(1);
+
+    assertThrows(IllegalStateException.class, () -> dao.runInTransactionWithRetry(() -> {
+      dao.add(urn, new AspectFoo().setValue("foo"), _dummyAuditStamp);
+      throw new IllegalStateException("rolled back");
+    }, 0));
+    // nothing is enqueued for a write that was rolled back
+    assertEquals(dao.getAsyncRetentionStats().getBacklog(), 0);
+
+    dao.runInTransactionWithRetry(() -> {
+      dao.add(urn, new AspectFoo().setValue("bar"), _dummyAuditStamp);
+      // enqueued once the outer transaction commits
+      assertEquals(dao.getAsyncRetentionStats().getBacklog(), 0);
+      return null;
+    }, 0);
+    assertEquals(dao.getAsyncRetentionStats().getBacklog(), 1);
+    dao.shutdownAsyncRetention();
+  }
+
+
   @Test
   public void testTimeBasedRetention() {
     Clock mockClock = mock(Clock.class);
@@ -1002,6 +1127,29 @@ public class EbeanLocalDAOTest {
     assertEquals(lower.get(), v1);
   }
 
+  @Test
+  public void testIndexRecordsByKey() {
+    final String aspectName = ModelUtils.getAspectName(AspectFoo.class);
+    final EbeanMetadataAspect caps = new EbeanMetadataAspect();
+    caps.setKey(new EbeanMetadataAspect.PrimaryKey("urn:li:burger:CHEESEburger", aspectName, 0L));
+    final EbeanMetadataAspect lower = new EbeanMetadataAspect();
+    lower.setKey(new EbeanMetadataAspect.PrimaryKey("urn:li:burger:cheeseburger", aspectName, 0L));
+    final EbeanMetadataAspect otherVersion = new EbeanMetadataAspect();
+    otherVersion.setKey(new EbeanMetadataAspect.PrimaryKey("urn:li:burger:cheeseburger", aspectName, 1L));
+
+    final Map<EbeanLocalDAO.RecordKey, EbeanMetadataAspect> recordsByKey =
+        EbeanLocalDAO.indexRecordsByKey(Arrays.asList(caps, lower, otherVersion));
+
+    // urns are matched ignoring case and the first matching row wins
+    assertEquals(recordsByKey.size(), 2);
+    assertEquals(EbeanLocalDAO.findRecord(recordsByKey,
+        new AspectKey<>(AspectFoo.class, makeBurgerUrn("urn:li:burger:cheeseBURGER"), 0L)).get(), caps);
+    assertEquals(EbeanLocalDAO.findRecord(recordsByKey,
+        new AspectKey<>(AspectFoo.class, makeBurgerUrn("urn:li:burger:cheeseburger"), 1L)).get(), otherVersion);
+    assertFalse(EbeanLocalDAO.findRecord(recordsByKey,
+        new AspectKey<>(AspectBar.class, makeBurgerUrn("urn:li:burger:cheeseburger"), 0L)).isPresent());
+  }
+
   @Test
   public void testGetLatestVersion() {
     if (_schemaConfig == SchemaConfig.NEW_SCHEMA_ONLY) {
@@ -2097,6 +2245,54 @@ public class EbeanLocalDAOTest {
     }
   }
 
+  @Test
+  public void testStreamLatest() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+
+    for (int i = 0; i < 5; i++) {
+      addMetadata(makeFooUrn(i), AspectFoo.class, 0, new AspectFoo().setValue("foo" + i));
+    }
+    addMetadata(makeFooUrn(0), AspectFoo.class, 1, new AspectFoo().setValue("old"));
+    // soft deleted
+    addMetadata(makeFooUrn(5), AspectFoo.class, 0, null);
+
+    List<AspectWithExtraInfo<AspectFoo>> results = dao.streamLatest(AspectFoo.class, null, 2).collect(Collectors.toList());
+
+    assertEquals(results.stream().map(result -> result.getAspect().getValue()).collect(Collectors.toList()),
+        Arrays.asList("foo0", "foo1", "foo2", "foo3", "foo4"));
+    assertEquals(results.stream().map(result -> result.getExtraInfo().getUrn().toString()).collect(Collectors.toList()),
+        Arrays.asList("urn:li:foo:0", "urn:li:foo:1", "urn:li:foo:2", "urn:li:foo:3", "urn:li:foo:4"));
+
+    // start after an urn
+    results = dao.streamLatest(AspectFoo.class, makeFooUrn(2), 2).collect(Collectors.toList());
+    assertEquals(results.stream().map(result -> result.getAspect().getValue()).collect(Collectors.toList()),
+        Arrays.asList("foo3", "foo4"));
+  }
+
+  @Test
+  public void testStreamLatestSkipsRowsWithoutValueWithinPage() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    if (!dao.isChangeLogEnabled()) {
+      return;
+    }
+
+    for (int i = 0; i < 6; i++) {
+      if (i != 1) {
+        addMetadata(makeFooUrn(i), AspectFoo.class, 0, new AspectFoo().setValue("foo" + i));
+      }
+    }
+    // soft deleted, but not matching the deleted value filtered out by the query
+    EbeanMetadataAspect softDeleted = getMetadata(makeFooUrn(1), AspectFoo.class.getCanonicalName(), 0, null);
+    softDeleted.setMetadata("{\"gma_deleted\" : true}");
+    _server.save(softDeleted);
+
+    // the first page holds a row without value, which must not end the stream
+    List<AspectWithExtraInfo<AspectFoo>> results = dao.streamLatest(AspectFoo.class, null, 3).collect(Collectors.toList());
+
+    assertEquals(results.stream().map(result -> result.getAspect().getValue()).collect(Collectors.toList()),
+        Arrays.asList("foo0", "foo2", "foo3", "foo4", "foo5"));
+  }
+
   @Test
   void testNewStringId() {
     EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
@@ -2122,6 +2318,22 @@ public class EbeanLocalDAOTest {
     assertEquals(id3, 1);
   }
 
+  @Test
+  void testNewNumericIdWithBlockAllocation() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.setNumericIdBlockSize(3);
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> otherDao = createDao(FooUrn.class);
+
+    assertEquals(dao.newNumericId("namespace"), 1);
+    assertEquals(dao.newNumericId("namespace"), 2);
+    // the block of the first DAO is already reserved
+    assertEquals(otherDao.newNumericId("namespace"), 4);
+    assertEquals(dao.newNumericId("namespace"), 3);
+    assertEquals(dao.newNumericId("namespace"), 5);
+    assertEquals(dao.getNumericIdBlockStats().getRefillCount(), 2);
+    assertNull(otherDao.getNumericIdBlockStats());
+  }
+
   @Test
   void testExists() {
     // given
@@ -2137,6 +2349,87 @@ public class EbeanLocalDAOTest {
     assertTrue(dao.exists(urn));
   }
 
+  @Test
+  void testGetIfExists() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    FooUrn urn = makeFooUrn(1);
+    AspectKey<FooUrn, AspectFoo> fooKey = new AspectKey<>(AspectFoo.class, urn, LATEST_VERSION);
+    AspectKey<FooUrn, AspectBar> barKey = new AspectKey<>(AspectBar.class, urn, LATEST_VERSION);
+    Set<Class<? extends RecordTemplate>> aspectClasses = ImmutableSet.of(AspectFoo.class, AspectBar.class);
+
+    assertFalse(dao.getIfExists(urn, aspectClasses).isPresent());
+
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    dao.add(urn, foo, _dummyAuditStamp);
+
+    Map<AspectKey<FooUrn, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> aspects =
+        dao.getIfExists(urn, aspectClasses).get();
+    assertEquals(aspects.size(), 2);
+    assertEquals(aspects.get(fooKey), Optional.of(foo));
+    assertEquals(aspects.get(barKey), Optional.empty());
+    assertEquals(dao.getIfExists(urn, Collections.emptySet()).get(), Collections.emptyMap());
+
+    // the entity still exists once its only aspect is soft deleted
+    dao.delete(urn, AspectFoo.class, _dummyAuditStamp);
+    aspects = dao.getIfExists(urn, aspectClasses).get();
+    assertEquals(aspects.get(fooKey), Optional.empty());
+  }
+
+  @Test
+  void testFingerprintEqualityTester() {
+    if (_schemaConfig != SchemaConfig.NEW_SCHEMA_ONLY) {
+      // fingerprints are only stored in entity tables
+      return;
+    }
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.setEqualityTester(AspectFoo.class, FingerprintEqualityTester.newInstance());
+    FooUrn urn = makeFooUrn(1);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectFoo bar = new AspectFoo().setValue("bar");
+    String column = SQLSchemaUtils.getAspectColumnName(urn.getEntityType(), ModelUtils.getAspectName(AspectFoo.class));
+    String query = String.format("SELECT lastmodifiedby, %s FROM metadata_entity_foo", column);
+
+    dao.add(urn, foo, makeAuditStamp("tester1", _now));
+    SqlRow row = _server.createSqlQuery(query).findOne();
+    assertEquals(AuditedAspectJsonReader.read(row.getString(column), false).getFingerprint(), AspectFingerprint.of(foo));
+
+    // unchanged, told by the stored fingerprint, so not written again
+    dao.add(urn, new AspectFoo().setValue("foo"), makeAuditStamp("tester2", _now));
+    assertEquals(_server.createSqlQuery(query).findOne().getString("lastmodifiedby"), "urn:li:testActor:tester1");
+
+    dao.add(urn, bar, makeAuditStamp("tester3", _now));
+    row = _server.createSqlQuery(query).findOne();
+    assertEquals(row.getString("lastmodifiedby"), "urn:li:testActor:tester3");
+    assertEquals(AuditedAspectJsonReader.read(row.getString(column), false).getFingerprint(), AspectFingerprint.of(bar));
+
+    verify(_mockProducer, times(1)).produceMetadataAuditEvent(urn, null, foo);
+    verify(_mockProducer, times(1)).produceMetadataAuditEvent(urn, foo, bar);
+    verifyNoMoreInteractions(_mockProducer);
+  }
+
+  @Test
+  void testFingerprintComputedOncePerWrite() {
+    if (_schemaConfig != SchemaConfig.NEW_SCHEMA_ONLY) {
+      // fingerprints are only stored in entity tables
+      return;
+    }
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.setEqualityTester(AspectFoo.class, FingerprintEqualityTester.newInstance());
+    FooUrn urn = makeFooUrn(1);
+    AspectFoo bar = new AspectFoo().setValue("bar");
+    dao.add(urn, new AspectFoo().setValue("foo"), _dummyAuditStamp);
+
+    try (MockedStatic<AspectFingerprint> fingerprint = Mockito.mockStatic(AspectFingerprint.class, Mockito.CALLS_REAL_METHODS)) {
+      dao.add(urn, bar, _dummyAuditStamp);
+
+      // the fingerprint matched against the stored one is the one written
+      fingerprint.verify(() -> AspectFingerprint.of(bar), times(1));
+    }
+    String column = SQLSchemaUtils.getAspectColumnName(urn.getEntityType(), ModelUtils.getAspectName(AspectFoo.class));
+    SqlRow row = _server.createSqlQuery(String.format("SELECT %s FROM metadata_entity_foo", column)).findOne();
+    assertEquals(AuditedAspectJsonReader.read(row.getString(column), false).getFingerprint(), AspectFingerprint.of(bar));
+  }
+
   @Test(expectedExceptions = NullPointerException.class)
   void testNullAspectStorageConfigMap() {
     // null aspect storage config map should throw an exception
@@ -3303,6 +3596,85 @@ public class EbeanLocalDAOTest {
     testGetWithQuerySize(4);
   }
 
+  @Test
+  public void testGetWithParallelQueryExecutor() {
+    // given
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    final ExecutorService executorService = Executors.newFixedThreadPool(2);
+    dao.setParallelQueryExecutor(new ParallelQueryExecutor(executorService, 2));
+    dao.setQueryKeysCount(1);
+
+    final Set<AspectKey<FooUrn, ? extends RecordTemplate>> keys = new HashSet<>();
+    for (int i = 0; i < 5; i++) {
+      FooUrn urn = makeFooUrn(i);
+      addMetadata(urn, AspectFoo.class, 0, new AspectFoo().setValue("foo" + i));
+      addMetadata(urn, AspectBar.class, 0, new AspectBar().setValue("bar" + i));
+      keys.add(new AspectKey<>(AspectFoo.class, urn, 0L));
+      keys.add(new AspectKey<>(AspectBar.class, urn, 0L));
+    }
+
+    try {
+      // when
+      Map<AspectKey<FooUrn, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> records = dao.get(keys);
+
+      // then
+      assertEquals(records.size(), 10);
+      for (int i = 0; i < 5; i++) {
+        FooUrn urn = makeFooUrn(i);
+        assertEquals(records.get(new AspectKey<>(AspectFoo.class, urn, 0L)).get(), new AspectFoo().setValue("foo" + i));
+        assertEquals(records.get(new AspectKey<>(AspectBar.class, urn, 0L)).get(), new AspectBar().setValue("bar" + i));
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testGetWithLatestAspectCache() {
+    // given
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    LatestAspectCache cache =
+        new LatestAspectCache(100, Collections.singletonMap(AspectFoo.class, Duration.ofMinutes(1)));
+    dao.setLatestAspectCache(cache);
+    FooUrn urn = makeFooUrn(1);
+    AspectFoo fooV1 = new AspectFoo().setValue("foo");
+    AspectFoo fooV2 = new AspectFoo().setValue("bar");
+
+    // when the aspect is read twice, then the second read is served from the cache
+    dao.add(urn, fooV1, _dummyAuditStamp);
+    assertEquals(dao.get(AspectFoo.class, urn).get(), fooV1);
+    assertEquals(dao.get(AspectFoo.class, urn).get(), fooV1);
+    assertEquals(cache.getStats().hitCount(), 1);
+
+    // when the aspect is updated, then the cached value is not served
+    dao.add(urn, fooV2, _dummyAuditStamp);
+    assertEquals(dao.get(AspectFoo.class, urn).get(), fooV2);
+
+    // when the aspect is deleted, then the cached value is not served
+    dao.delete(urn, AspectFoo.class, _dummyAuditStamp);
+    assertFalse(dao.get(AspectFoo.class, urn).isPresent());
+
+    // aspects that are not configured are not cached
+    dao.add(urn, new AspectBar().setValue("bar"), _dummyAuditStamp);
+    dao.get(AspectBar.class, urn);
+    dao.get(AspectBar.class, urn);
+    assertEquals(cache.getStats().hitCount(), 1);
+  }
+
+  @Test
+  public void testBatchGetStatementSize() {
+    assertEquals(EbeanLocalDAO.getBatchGetStatementSize(1), 1);
+    assertEquals(EbeanLocalDAO.getBatchGetStatementSize(2), 8);
+    assertEquals(EbeanLocalDAO.getBatchGetStatementSize(8), 8);
+    assertEquals(EbeanLocalDAO.getBatchGetStatementSize(9), 32);
+    assertEquals(EbeanLocalDAO.getBatchGetStatementSize(33), 128);
+    assertEquals(EbeanLocalDAO.getBatchGetStatementSize(129), 256);
+
+    String sql = EbeanLocalDAO.getBatchGetUnionSql(8);
+    assertSame(EbeanLocalDAO.getBatchGetUnionSql(8), sql);
+    assertEquals(sql.split(" UNION ALL ").length, 8);
+  }
+
   @Test
   public void testPageSizeSameAsResultSize() {
     testGetWithQuerySize(5);
@@ -4205,6 +4577,31 @@ public class EbeanLocalDAOTest {
     assertEquals(result.getTime(), Long.valueOf(timestamp));
   }
 
+  @Test
+  public void testExtractOptimisticLockForAspectFromIngestionParamsIfPossibleIsRepeatable()
+      throws URISyntaxException {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+
+    FooUrn urn = new FooUrn(1);
+
+    IngestionAspectETag invalidETag = new IngestionAspectETag();
+    invalidETag.setAspect_alias("aspectFoo");
+    invalidETag.setEtag("aW52YWxpZA==");
+    IngestionAspectETag validETag = new IngestionAspectETag();
+    validETag.setAspect_alias("aspectFoo");
+    validETag.setEtag("KsFkRXtjaBGQf37HjdEjDQ==");
+
+    IngestionParams ingestionParams = new IngestionParams();
+    ingestionParams.setIngestionETags(new IngestionAspectETagArray(Arrays.asList(invalidETag, validETag)));
+
+    // the second call uses the eTag decrypted by the first one
+    for (int i = 0; i < 2; i++) {
+      AuditStamp result = dao.extractOptimisticLockForAspectFromIngestionParamsIfPossible(ingestionParams,
+          AspectFoo.class, urn);
+      assertEquals(result.getTime(), Long.valueOf(1750796203701L));
+    }
+  }
+
   @Test
   public void testExtractOptimisticLockForAspectFromIngestionParamsIfPossibleIngestionParamsIsNull()
       throws URISyntaxException {
@@ -0,0 +1,94 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.urn.FooUrn;
+import java.time.Duration;
+import java.util.Collections;
+import org.testng.annotations.Test;
+
+import static com.linkedin.testing.TestUtils.*;
+import static org.testng.Assert.*;
+
+
+public class LatestAspectCacheTest {
+
+  private static EbeanMetadataAspect makeRecord(String urn, Class<?> aspectClass, long version) {
+    EbeanMetadataAspect record = new EbeanMetadataAspect();
+    record.setKey(new EbeanMetadataAspect.PrimaryKey(urn, aspectClass.getCanonicalName(), version));
+    record.setMetadata("{}");
+    return record;
+  }
+
+  private static LatestAspectCache makeCache() {
+    return new LatestAspectCache(10, Collections.singletonMap(AspectFoo.class, Duration.ofMinutes(1)));
+  }
+
+  @Test
+  public void testInvalidTimeToLive() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new LatestAspectCache(10, Collections.singletonMap(AspectFoo.class, Duration.ZERO)));
+  }
+
+  @Test
+  public void testOnlyLatestVersionsOfConfiguredAspectsAreCached() {
+    LatestAspectCache cache = makeCache();
+    FooUrn urn = makeFooUrn(1);
+
+    cache.put(makeRecord(urn.toString(), AspectFoo.class, 0));
+    cache.put(makeRecord(urn.toString(), AspectFoo.class, 1));
+    cache.put(makeRecord(urn.toString(), AspectBar.class, 0));
+
+    assertNotNull(cache.getIfPresent(new AspectKey<>(AspectFoo.class, urn, 0L)));
+    assertNull(cache.getIfPresent(new AspectKey<>(AspectFoo.class, urn, 1L)));
+    assertNull(cache.getIfPresent(new AspectKey<>(AspectBar.class, urn, 0L)));
+    assertFalse(cache.isCached(new AspectKey<>(AspectBar.class, urn, 0L)));
+    assertEquals(cache.getStats().hitCount(), 1);
+    assertEquals(cache.getStats().missCount(), 0);
+  }
+
+  @Test
+  public void testUrnsAreMatchedIgnoringCase() {
+    LatestAspectCache cache = makeCache();
+    FooUrn urn = makeFooUrn(1);
+
+    cache.put(makeRecord(urn.toString().toUpperCase(), AspectFoo.class, 0));
+
+    assertEquals(cache.getIfPresent(new AspectKey<>(AspectFoo.class, urn, 0L)).getKey().getAspect(),
+        ModelUtils.getAspectName(AspectFoo.class));
+  }
+
+  @Test
+  public void testInvalidate() {
+    LatestAspectCache cache = makeCache();
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    cache.put(makeRecord(urn1.toString(), AspectFoo.class, 0));
+    cache.put(makeRecord(urn2.toString(), AspectFoo.class, 0));
+
+    cache.invalidate(urn1, AspectFoo.class);
+    assertNull(cache.getIfPresent(new AspectKey<>(AspectFoo.class, urn1, 0L)));
+    assertNotNull(cache.getIfPresent(new AspectKey<>(AspectFoo.class, urn2, 0L)));
+
+    cache.invalidateAll(urn2);
+    assertNull(cache.getIfPresent(new AspectKey<>(AspectFoo.class, urn2, 0L)));
+  }
+
+  @Test
+  public void testReadInvalidatedInFlightIsNotCached() {
+    LatestAspectCache cache = makeCache();
+    FooUrn urn = makeFooUrn(1);
+    AspectKey<FooUrn, AspectFoo> key = new AspectKey<>(AspectFoo.class, urn, 0L);
+
+    // a write invalidates the key while the previous value is being read from the database
+    long generation = cache.getGeneration(key);
+    cache.invalidate(urn, AspectFoo.class);
+    cache.put(makeRecord(urn.toString(), AspectFoo.class, 0), generation);
+    assertNull(cache.getIfPresent(key));
+
+    // a read started after the write caches its row
+    cache.put(makeRecord(urn.toString(), AspectFoo.class, 0), cache.getGeneration(key));
+    assertNotNull(cache.getIfPresent(key));
+  }
+}
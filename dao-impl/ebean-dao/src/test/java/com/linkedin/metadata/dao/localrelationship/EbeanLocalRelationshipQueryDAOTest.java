@@ -1,6 +1,7 @@
 package com.linkedin.metadata.dao.localrelationship;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.Resources;
 import com.linkedin.common.AuditStamp;
@@ -2083,6 +2084,97 @@ public class EbeanLocalRelationshipQueryDAOTest {
             + "INNER JOIN source_table_name st ON st.urn=rt.source WHERE rt.deleted_ts is NULL AND (st.urn='urn:li:foo:4' AND st.urn='urn:li:foo:5')");
   }
 
+  @Test
+  public void testTraverse() throws Exception {
+    // 1 -> 2 -> 3 -> 4 -> 1 and 1 -> 5 -> 3
+    FooUrn[] urns = {null, new FooUrn(1), new FooUrn(2), new FooUrn(3), new FooUrn(4), new FooUrn(5)};
+    _localRelationshipWriterDAO.addRelationships(urns[1], AspectFoo.class, ImmutableList.of(
+        new ReportsTo().setSource(urns[1]).setDestination(urns[2]),
+        new ReportsTo().setSource(urns[1]).setDestination(urns[5])), false);
+    _localRelationshipWriterDAO.addRelationships(urns[2], AspectFoo.class,
+        Collections.singletonList(new ReportsTo().setSource(urns[2]).setDestination(urns[3])), false);
+    _localRelationshipWriterDAO.addRelationships(urns[3], AspectFoo.class,
+        Collections.singletonList(new ReportsTo().setSource(urns[3]).setDestination(urns[4])), false);
+    _localRelationshipWriterDAO.addRelationships(urns[4], AspectFoo.class,
+        Collections.singletonList(new ReportsTo().setSource(urns[4]).setDestination(urns[1])), false);
+    _localRelationshipWriterDAO.addRelationships(urns[5], AspectFoo.class,
+        Collections.singletonList(new ReportsTo().setSource(urns[5]).setDestination(urns[3])), false);
+
+    LocalRelationshipFilter outgoing =
+        new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray()).setDirection(RelationshipDirection.OUTGOING);
+    LocalRelationshipFilter incoming =
+        new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray()).setDirection(RelationshipDirection.INCOMING);
+
+    // every entity is visited once, at its smallest hop, and the start urn is not visited again through the cycle
+    Map<String, Integer> hops = new HashMap<>();
+    int visitedCount = _localRelationshipQueryDAO.traverse(ReportsTo.class, outgoing, Collections.singleton(urns[1]), 10, 100,
+        (urn, hop) -> hops.put(urn, hop) == null);
+    assertEquals(visitedCount, 4);
+    assertEquals(hops, ImmutableMap.of(urns[2].toString(), 1, urns[5].toString(), 1, urns[3].toString(), 2, urns[4].toString(), 3));
+
+    // max hops
+    hops.clear();
+    _localRelationshipQueryDAO.traverse(ReportsTo.class, outgoing, Collections.singleton(urns[1]), 2, 100,
+        (urn, hop) -> hops.put(urn, hop) == null);
+    assertEquals(hops.keySet(), ImmutableSet.of(urns[2].toString(), urns[5].toString(), urns[3].toString()));
+
+    // max nodes
+    hops.clear();
+    visitedCount = _localRelationshipQueryDAO.traverse(ReportsTo.class, outgoing, Collections.singleton(urns[1]), 10, 2,
+        (urn, hop) -> hops.put(urn, hop) == null);
+    assertEquals(visitedCount, 2);
+    assertEquals(hops.keySet(), ImmutableSet.of(urns[2].toString(), urns[5].toString()));
+
+    // stopped by the visitor
+    List<String> visited = new ArrayList<>();
+    _localRelationshipQueryDAO.traverse(ReportsTo.class, outgoing, Collections.singleton(urns[1]), 10, 100,
+        (urn, hop) -> visited.add(urn) && visited.size() < 3);
+    assertEquals(visited.size(), 3);
+
+    // incoming
+    hops.clear();
+    _localRelationshipQueryDAO.traverse(ReportsTo.class, incoming, Collections.singleton(urns[3]), 1, 100,
+        (urn, hop) -> hops.put(urn, hop) == null);
+    assertEquals(hops, ImmutableMap.of(urns[2].toString(), 1, urns[5].toString(), 1));
+  }
+
+  @Test
+  public void testTraverseIgnoresDeletedRelationships() throws Exception {
+    FooUrn alice = new FooUrn(1);
+    FooUrn bob = new FooUrn(2);
+    FooUrn jack = new FooUrn(3);
+    _localRelationshipWriterDAO.addRelationships(bob, AspectFoo.class,
+        Collections.singletonList(new ReportsTo().setSource(bob).setDestination(alice)), false);
+    _localRelationshipWriterDAO.addRelationships(jack, AspectFoo.class,
+        Collections.singletonList(new ReportsTo().setSource(jack).setDestination(alice)), false);
+    _server.createSqlUpdate("UPDATE metadata_relationship_reportsto SET deleted_ts = NOW() WHERE source = :source")
+        .setParameter("source", jack.toString())
+        .execute();
+
+    List<String> visited = new ArrayList<>();
+    _localRelationshipQueryDAO.traverse(ReportsTo.class,
+        new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray()).setDirection(RelationshipDirection.UNDIRECTED),
+        Collections.singleton(alice), 5, 100, (urn, hop) -> visited.add(urn));
+    assertEquals(visited, Collections.singletonList(bob.toString()));
+  }
+
+  @Test
+  public void testTraverseInvalidArguments() {
+    LocalRelationshipFilter outgoing =
+        new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray()).setDirection(RelationshipDirection.OUTGOING);
+    assertThrows(IllegalArgumentException.class, () -> _localRelationshipQueryDAO.traverse(ReportsTo.class, outgoing,
+        Collections.singleton(new FooUrn(1)), 0, 10, (urn, hop) -> true));
+    assertThrows(IllegalArgumentException.class, () -> _localRelationshipQueryDAO.traverse(ReportsTo.class, outgoing,
+        Collections.singleton(new FooUrn(1)), 1, 0, (urn, hop) -> true));
+    assertThrows(IllegalArgumentException.class, () -> _localRelationshipQueryDAO.traverse(ReportsTo.class,
+        new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray()),
+        Collections.singleton(new FooUrn(1)), 1, 10, (urn, hop) -> true));
+
+    _localRelationshipQueryDAO.setSchemaConfig(EbeanLocalDAO.SchemaConfig.OLD_SCHEMA_ONLY);
+    assertThrows(OperationNotSupportedException.class, () -> _localRelationshipQueryDAO.traverse(ReportsTo.class, outgoing,
+        Collections.singleton(new FooUrn(1)), 1, 10, (urn, hop) -> true));
+  }
+
   private static LocalRelationshipFilter createLocalRelationshipFilterWithAndLogicalExpression() {
     LocalRelationshipCriterion urnCriterion1 = EBeanDAOUtils.buildRelationshipFieldCriterion(
         LocalRelationshipValue.create("urn:li:foo:4"),
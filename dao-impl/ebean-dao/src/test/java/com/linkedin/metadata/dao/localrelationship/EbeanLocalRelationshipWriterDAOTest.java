@@ -359,6 +359,28 @@ public class EbeanLocalRelationshipWriterDAOTest {
     _server.execute(Ebean.createSqlUpdate("truncate metadata_relationship_pairswith"));
   }
 
+  @Test
+  public void testAddRelationshipsInMoreThanOneBatch() throws URISyntaxException {
+    BarUrn barUrn = BarUrn.createFromString("urn:li:bar:123");
+    // more than the 100 relationships inserted by a statement, as INSERT_BATCH_SIZE is a constant inlined at compile time
+    List<PairsWith> relationshipsToInsert = new ArrayList<>();
+    for (int i = 0; i < 150; i++) {
+      relationshipsToInsert.add(new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:" + i)));
+    }
+
+    _localRelationshipWriterDAO.addRelationships(barUrn, AspectFooBar.class, relationshipsToInsert, false);
+
+    // every relationship is inserted once, not the ones of the first batch again
+    List<SqlRow> all = _server.createSqlQuery("select * from metadata_relationship_pairswith where deleted_ts is null order by id").findList();
+    assertEquals(all.size(), 150);
+    for (int i = 0; i < 150; i++) {
+      assertEquals(all.get(i).getString("destination"), "urn:li:foo:" + i);
+    }
+
+    // Clean up
+    _server.execute(Ebean.createSqlUpdate("truncate metadata_relationship_pairswith"));
+  }
+
   @Test
   public void testRemoveRelationshipsSameAspectDifferentNamespace() throws URISyntaxException {
     if (!_useAspectColumnForRelationshipRemoval) {
@@ -390,6 +412,111 @@ public class EbeanLocalRelationshipWriterDAOTest {
     _server.execute(Ebean.createSqlUpdate("truncate metadata_relationship_pairswith"));
   }
 
+  @Test
+  public void testProcessLocalRelationshipUpdateDiffs() throws URISyntaxException {
+    if (!_useAspectColumnForRelationshipRemoval) {
+      return; // this test doesn't apply to this case
+    }
+    _localRelationshipWriterDAO.setUseAspectColumnForRelationshipRemoval(_useAspectColumnForRelationshipRemoval);
+
+    BarUrn barUrn = BarUrn.createFromString("urn:li:bar:123");
+    PairsWith pairsWith123 = new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:123"));
+    PairsWith pairsWith456 = new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:456"));
+    PairsWith pairsWith789 = new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:789"));
+    List<LocalRelationshipUpdates> previousUpdates = Collections.singletonList(new LocalRelationshipUpdates(
+        ImmutableList.of(pairsWith123, pairsWith456), PairsWith.class, BaseGraphWriterDAO.RemovalOption.REMOVE_ALL_EDGES_FROM_SOURCE));
+    List<LocalRelationshipUpdates> updates = Collections.singletonList(new LocalRelationshipUpdates(
+        ImmutableList.of(pairsWith456, pairsWith789), PairsWith.class, BaseGraphWriterDAO.RemovalOption.REMOVE_ALL_EDGES_FROM_SOURCE));
+    _localRelationshipWriterDAO.processLocalRelationshipUpdates(barUrn, AspectFooBar.class, previousUpdates, false);
+    EbeanLocalRelationshipWriterDAO.RelationshipDiffStats before = _localRelationshipWriterDAO.getRelationshipDiffStats();
+
+    _localRelationshipWriterDAO.processLocalRelationshipUpdateDiffs(barUrn, AspectFooBar.class, updates, previousUpdates, false);
+
+    // only the edge to foo:123 is soft-deleted and only the edge to foo:789 is inserted, the edge to foo:456 is kept
+    List<SqlRow> all = _server.createSqlQuery("select * from metadata_relationship_pairswith order by id").findList();
+    assertEquals(all.size(), 3);
+    List<SqlRow> softDeleted = _server.createSqlQuery("select * from metadata_relationship_pairswith where deleted_ts is not null").findList();
+    assertEquals(softDeleted.size(), 1);
+    assertEquals(softDeleted.get(0).getString("destination"), "urn:li:foo:123");
+    assertEquals(all.get(2).getString("destination"), "urn:li:foo:789");
+
+    EbeanLocalRelationshipWriterDAO.RelationshipDiffStats after = _localRelationshipWriterDAO.getRelationshipDiffStats();
+    assertEquals(after.getAddedCount() - before.getAddedCount(), 1);
+    assertEquals(after.getRemovedCount() - before.getRemovedCount(), 1);
+    assertEquals(after.getUnchangedCount() - before.getUnchangedCount(), 1);
+    assertEquals(after.getRewrittenCount() - before.getRewrittenCount(), 0);
+
+    // removing all relationships soft-deletes the remaining edges
+    _localRelationshipWriterDAO.processLocalRelationshipUpdateDiffs(barUrn, AspectFooBar.class, Collections.emptyList(), updates, false);
+    assertEquals(_server.createSqlQuery("select * from metadata_relationship_pairswith where deleted_ts is null").findList().size(), 0);
+
+    // Clean up
+    _server.execute(Ebean.createSqlUpdate("truncate metadata_relationship_pairswith"));
+  }
+
+  @Test
+  public void testProcessLocalRelationshipUpdateDiffsWithOtherRemovalOption() throws URISyntaxException {
+    _localRelationshipWriterDAO.setUseAspectColumnForRelationshipRemoval(_useAspectColumnForRelationshipRemoval);
+
+    BarUrn barUrn = BarUrn.createFromString("urn:li:bar:123");
+    PairsWith pairsWith123 = new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:123"));
+    PairsWith pairsWith456 = new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:456"));
+    List<LocalRelationshipUpdates> previousUpdates = Collections.singletonList(new LocalRelationshipUpdates(
+        ImmutableList.of(pairsWith123), PairsWith.class, BaseGraphWriterDAO.RemovalOption.REMOVE_ALL_EDGES_FROM_SOURCE));
+    List<LocalRelationshipUpdates> updates = Collections.singletonList(new LocalRelationshipUpdates(
+        ImmutableList.of(pairsWith123, pairsWith456), PairsWith.class,
+        BaseGraphWriterDAO.RemovalOption.REMOVE_ALL_EDGES_TO_DESTINATION));
+    _localRelationshipWriterDAO.processLocalRelationshipUpdates(barUrn, AspectFooBar.class, previousUpdates, false);
+    EbeanLocalRelationshipWriterDAO.RelationshipDiffStats before = _localRelationshipWriterDAO.getRelationshipDiffStats();
+
+    _localRelationshipWriterDAO.processLocalRelationshipUpdateDiffs(barUrn, AspectFooBar.class, updates, previousUpdates, false);
+
+    // processed as processLocalRelationshipUpdates does: the previous edge is soft-deleted and both edges are inserted
+    List<SqlRow> all = _server.createSqlQuery("select * from metadata_relationship_pairswith").findList();
+    assertEquals(all.size(), 3);
+    List<SqlRow> live = _server.createSqlQuery("select * from metadata_relationship_pairswith where deleted_ts is null").findList();
+    assertEquals(live.size(), 2);
+    assertEquals(_localRelationshipWriterDAO.getRelationshipDiffStats(), before);
+
+    // Clean up
+    _server.execute(Ebean.createSqlUpdate("truncate metadata_relationship_pairswith"));
+  }
+
+  @Test
+  public void testProcessLocalRelationshipUpdateDiffsWithoutAspectColumn() throws URISyntaxException {
+    if (_useAspectColumnForRelationshipRemoval) {
+      return; // this test doesn't apply to this case
+    }
+    _localRelationshipWriterDAO.setUseAspectColumnForRelationshipRemoval(_useAspectColumnForRelationshipRemoval);
+
+    // an edge from the source written by another aspect
+    _server.execute(Ebean.createSqlUpdate(insertRelationships("metadata_relationship_pairswith", "urn:li:bar:123",
+        "bar", "urn:li:foo:999", "foo", AspectFoo.class.getCanonicalName())));
+
+    BarUrn barUrn = BarUrn.createFromString("urn:li:bar:123");
+    PairsWith pairsWith123 = new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:123"));
+    PairsWith pairsWith456 = new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:456"));
+    List<LocalRelationshipUpdates> previousUpdates = Collections.singletonList(new LocalRelationshipUpdates(
+        ImmutableList.of(pairsWith123), PairsWith.class, BaseGraphWriterDAO.RemovalOption.REMOVE_ALL_EDGES_FROM_SOURCE));
+    List<LocalRelationshipUpdates> updates = Collections.singletonList(new LocalRelationshipUpdates(
+        ImmutableList.of(pairsWith123, pairsWith456), PairsWith.class, BaseGraphWriterDAO.RemovalOption.REMOVE_ALL_EDGES_FROM_SOURCE));
+    EbeanLocalRelationshipWriterDAO.RelationshipDiffStats before = _localRelationshipWriterDAO.getRelationshipDiffStats();
+
+    _localRelationshipWriterDAO.processLocalRelationshipUpdateDiffs(barUrn, AspectFooBar.class, updates, previousUpdates, false);
+
+    // without the aspect column, edges can't be told apart by aspect, so all edges from the source are replaced as
+    // processLocalRelationshipUpdates does, including the one written by the other aspect
+    List<SqlRow> live = _server.createSqlQuery("select * from metadata_relationship_pairswith where deleted_ts is null order by id")
+        .findList();
+    assertEquals(live.size(), 2);
+    assertEquals(live.get(0).getString("destination"), "urn:li:foo:123");
+    assertEquals(live.get(1).getString("destination"), "urn:li:foo:456");
+    assertEquals(_localRelationshipWriterDAO.getRelationshipDiffStats(), before);
+
+    // Clean up
+    _server.execute(Ebean.createSqlUpdate("truncate metadata_relationship_pairswith"));
+  }
+
   private String insertRelationships(String table, String sourceUrn, String sourceType, String destinationUrn, String destinationType, String aspect) {
     String insertWithAspectTemplate = "INSERT INTO %s (metadata, source, source_type, destination, destination_type, lastmodifiedon, lastmodifiedby, aspect)"
         + " VALUES ('{\"metadata\": true}', '%s', '%s', '%s', '%s', CURRENT_TIMESTAMP, 'unknown', '%s')";
@@ -0,0 +1,83 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.metadata.aspect.AuditedAspect;
+import com.linkedin.metadata.dao.exception.ModelConversionException;
+import com.linkedin.testing.AspectFoo;
+import java.util.Arrays;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class AuditedAspectJsonReaderTest {
+
+  @Test
+  public void testReadsWhatWriterWrites() {
+    AuditedAspect auditFields = new AuditedAspect()
+        .setCanonicalName(AspectFoo.class.getCanonicalName())
+        .setLastmodifiedon("2026-01-01 00:00:00.0")
+        .setLastmodifiedby("urn:li:corpuser:tester")
+        .setCreatedfor("urn:li:corpuser:impersonator")
+        .setEmitTime(123L)
+        .setEmitter("emitter")
+        .setFingerprint("0123456789abcdef0123456789abcdef");
+    String json = AuditedAspectJsonWriter.toJsonString(auditFields, new AspectFoo().setValue("foo"));
+
+    AuditedAspectJsonReader.DecodedAspect decoded = AuditedAspectJsonReader.read(json, true);
+
+    assertEquals(decoded.getAspect(), new AspectFoo().setValue("foo").data());
+    assertEquals(decoded.getAspectJson(), "{\"value\":\"foo\"}");
+    assertEquals(decoded.getCanonicalName(), AspectFoo.class.getCanonicalName());
+    assertEquals(decoded.getLastmodifiedon(), "2026-01-01 00:00:00.0");
+    assertEquals(decoded.getLastmodifiedby(), "urn:li:corpuser:tester");
+    assertEquals(decoded.getCreatedfor(), "urn:li:corpuser:impersonator");
+    assertEquals(decoded.getEmitTime(), Long.valueOf(123L));
+    assertEquals(decoded.getEmitter(), "emitter");
+    assertEquals(decoded.getFingerprint(), "0123456789abcdef0123456789abcdef");
+    assertFalse(decoded.isSoftDeleted());
+  }
+
+  @Test
+  public void testAspectMatchesCodec() {
+    // spacing as returned by MySQL JSON columns
+    String aspectJson = "{\"int\": 1, \"long\": 12345678901, \"double\": 1.5, \"flag\": true, \"none\": null, "
+        + "\"list\": [\"a\", {\"b\": []}], \"nested\": {\"text\": \"quote \\\" and \\u00e9\"}}";
+    String json = "{\"lastmodifiedon\": \"1\", \"aspect\": " + aspectJson + ", \"lastmodifiedby\": \"0\"}";
+
+    AuditedAspectJsonReader.DecodedAspect decoded = AuditedAspectJsonReader.read(json, true);
+
+    assertEquals(decoded.getAspect(), RecordUtils.toDataMap(aspectJson));
+    assertEquals(decoded.getAspectJson(), aspectJson);
+    assertEquals(((DataMap) decoded.getAspect().get("nested")).getString("text"), "quote \" and \u00e9");
+    DataMap listItem = new DataMap();
+    listItem.put("b", new DataList());
+    assertEquals(decoded.getAspect().get("list"), new DataList(Arrays.asList("a", listItem)));
+  }
+
+  @Test
+  public void testLocatesAspectWithoutDecodingIt() {
+    AuditedAspectJsonReader.DecodedAspect decoded =
+        AuditedAspectJsonReader.read("{\"aspect\":{\"value\":\"foo\"},\"lastmodifiedby\":\"0\"}", false);
+
+    assertNull(decoded.getAspect());
+    assertEquals(decoded.getAspectJson(), "{\"value\":\"foo\"}");
+    assertEquals(decoded.getLastmodifiedby(), "0");
+  }
+
+  @Test
+  public void testSoftDeleted() {
+    AuditedAspectJsonReader.DecodedAspect decoded = AuditedAspectJsonReader.read(EBeanDAOUtils.DELETED_VALUE, true);
+
+    assertTrue(decoded.isSoftDeleted());
+    assertNull(decoded.getAspect());
+    assertNull(decoded.getAspectJson());
+  }
+
+  @Test
+  public void testInvalidJson() {
+    assertThrows(ModelConversionException.class, () -> AuditedAspectJsonReader.read("[1]", true));
+    assertThrows(ModelConversionException.class, () -> AuditedAspectJsonReader.read("{\"aspect\":{", true));
+  }
+}
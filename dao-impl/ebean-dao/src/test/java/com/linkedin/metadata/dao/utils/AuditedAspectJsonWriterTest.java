@@ -0,0 +1,81 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.data.Data;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.metadata.aspect.AuditedAspect;
+import com.linkedin.metadata.dao.EbeanLocalAccess;
+import com.linkedin.testing.AspectFoo;
+import java.util.Arrays;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class AuditedAspectJsonWriterTest {
+
+  @Test
+  public void testMatchesPlaceholderSerialization() throws ParseException {
+    DataMap nested = new DataMap();
+    nested.put("flag", true);
+    nested.put("list", new DataList(Arrays.asList("a", 1, 2L)));
+    DataMap data = new DataMap();
+    data.put("value", "quote \" and unicode é");
+    data.put("int", 1);
+    data.put("long", Long.MAX_VALUE);
+    data.put("float", 1.5f);
+    data.put("double", 2.25d);
+    data.put("bytes", ByteString.copy(new byte[]{0, 1, 2}));
+    data.put("null", Data.NULL);
+    data.put("nested", nested);
+    AspectFoo aspect = new AspectFoo(data);
+
+    String actual = AuditedAspectJsonWriter.toJsonString(makeAuditFields(), aspect);
+
+    String expected = EbeanLocalAccess.toJsonString(makeAuditFields().setAspect(RecordUtils.toJsonString(aspect)));
+    JSONParser parser = new JSONParser();
+    assertEquals(parser.parse(actual), parser.parse(expected));
+  }
+
+  @Test
+  public void testIgnoresAspectOfAuditFields() throws ParseException {
+    AuditedAspect auditFields = new AuditedAspect()
+        .setAspect("{\"value\":\"stale\"}")
+        .setCanonicalName(AspectFoo.class.getCanonicalName())
+        .setLastmodifiedon("1")
+        .setLastmodifiedby("0");
+
+    String json = AuditedAspectJsonWriter.toJsonString(auditFields, new AspectFoo().setValue("fresh"));
+
+    assertEquals(new JSONParser().parse(json), new JSONParser().parse(
+        "{\"aspect\":{\"value\":\"fresh\"},\"canonicalName\":\"com.linkedin.testing.AspectFoo\",\"lastmodifiedon\":\"1\","
+            + "\"lastmodifiedby\":\"0\"}"));
+    assertEquals(RecordUtils.toRecordTemplate(AspectFoo.class, EBeanDAOUtils.extractAspectJsonString(json)),
+        new AspectFoo().setValue("fresh"));
+  }
+
+  @Test
+  public void testBufferIsReusedAcrossWrites() {
+    AuditedAspect auditFields = new AuditedAspect().setLastmodifiedon("1").setLastmodifiedby("0");
+
+    String first = AuditedAspectJsonWriter.toJsonString(auditFields, new AspectFoo().setValue("a longer first value"));
+    String second = AuditedAspectJsonWriter.toJsonString(auditFields, new AspectFoo().setValue("b"));
+
+    assertTrue(first.contains("a longer first value"));
+    assertTrue(second.contains("\"b\""));
+    assertFalse(second.contains("longer"));
+  }
+
+  private static AuditedAspect makeAuditFields() {
+    return new AuditedAspect()
+        .setCanonicalName(AspectFoo.class.getCanonicalName())
+        .setLastmodifiedon("2026-01-01 00:00:00.0")
+        .setLastmodifiedby("urn:li:corpuser:tester")
+        .setCreatedfor("urn:li:corpuser:impersonator")
+        .setEmitTime(123L)
+        .setEmitter("emitter");
+  }
+}
@@ -2,6 +2,9 @@ package com.linkedin.metadata.dao.utils;
 
 import com.google.common.io.Resources;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.template.DataTemplateUtil;
 import com.linkedin.data.template.IntegerArray;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.StringArray;
@@ -51,9 +54,12 @@ import org.testng.annotations.Test;
 import static com.linkedin.testing.TestUtils.*;
 import static org.mockito.Mockito.*;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNotSame;
+import static org.testng.AssertJUnit.assertSame;
 
 
 public class EBeanDAOUtilsTest {
@@ -668,4 +674,61 @@ public class EBeanDAOUtilsTest {
     assertTrue(results.get(AnnotatedRelationshipFoo.class).contains(test3));
     assertTrue(results.get(AnnotatedRelationshipBar.class).contains(new AnnotatedRelationshipBar()));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testExtractRelationshipsFromAspectWithEmptyRelationshipArray() {
+    AnnotatedAspectBarWithRelationshipFields barWithEmptyRelationships = new AnnotatedAspectBarWithRelationshipFields()
+        .setValue("abc")
+        .setRelationshipFoos(new AnnotatedRelationshipFooArray())
+        .setRelationshipBars(new AnnotatedRelationshipBarArray());
+
+    assertTrue(EBeanDAOUtils.extractRelationshipsFromAspect(barWithEmptyRelationships).isEmpty());
+  }
+
+  @Test
+  public void testRelationshipExtractionPlanIsComputedOncePerAspectClass() {
+    RelationshipExtractionPlan plan = RelationshipExtractionPlan.of(AnnotatedAspectBarWithRelationshipFields.class);
+
+    assertSame(plan, RelationshipExtractionPlan.of(AnnotatedAspectBarWithRelationshipFields.class));
+    assertNotSame(plan, RelationshipExtractionPlan.of(AnnotatedAspectFooWithRelationshipField.class));
+    assertTrue(RelationshipExtractionPlan.of(AspectFoo.class).extract(new AspectFoo().setValue("foo")).isEmpty());
+  }
+
+  // An aspect whose record field has an unparsable @gma annotation, which the generated test models cannot have.
+  public static final class AspectWithUnparsableRecord extends RecordTemplate {
+    private static final RecordDataSchema SCHEMA = (RecordDataSchema) DataTemplateUtil.parseSchema("{\"type\":\"record\","
+        + "\"name\":\"AspectWithUnparsableRecord\",\"namespace\":\"com.linkedin.testing\",\"fields\":[{\"name\":\"unparsable\","
+        + "\"type\":{\"type\":\"record\",\"name\":\"UnparsableRecord\",\"fields\":[],\"gma\":{\"unknown\":true}},"
+        + "\"optional\":true}]}");
+
+    private UnparsableRecord _unparsable;
+
+    public AspectWithUnparsableRecord() {
+      super(new DataMap(), SCHEMA);
+    }
+
+    public UnparsableRecord getUnparsable() {
+      return _unparsable;
+    }
+
+    public AspectWithUnparsableRecord setUnparsable(UnparsableRecord unparsable) {
+      _unparsable = unparsable;
+      return this;
+    }
+  }
+
+  public static final class UnparsableRecord extends RecordTemplate {
+    public UnparsableRecord() {
+      super(new DataMap(), (RecordDataSchema) AspectWithUnparsableRecord.SCHEMA.getField("unparsable").getType());
+    }
+  }
+
+  @Test
+  public void testExtractRelationshipsFromAspectWithUnparsableAnnotation() {
+    // the annotations are only parsed, and fail, when the field has a value
+    assertTrue(EBeanDAOUtils.extractRelationshipsFromAspect(new AspectWithUnparsableRecord()).isEmpty());
+
+    AspectWithUnparsableRecord aspect = new AspectWithUnparsableRecord().setUnparsable(new UnparsableRecord());
+    assertThrows(RuntimeException.class, () -> EBeanDAOUtils.extractRelationshipsFromAspect(aspect));
+  }
+}
@@ -2,6 +2,12 @@ package com.linkedin.metadata.dao.utils;
 
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.crypto.BadPaddingException;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
@@ -42,4 +48,35 @@ public class ETagUtilsTest {
 
     assertEquals(1750796203701L, decrypted);
   }
+
+  @Test
+  public void testDecryptAfterInvalidETag()
+      throws NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException,
+             InvalidKeyException {
+    try {
+      ETagUtils.decrypt("aW52YWxpZA==");
+      fail("decrypting an invalid eTag should fail");
+    } catch (IllegalBlockSizeException | BadPaddingException e) {
+      // expected
+    }
+
+    assertEquals(1750796203701L, ETagUtils.decrypt("KsFkRXtjaBGQf37HjdEjDQ=="));
+  }
+
+  @Test
+  public void testEncryptAndDecryptConcurrently() throws InterruptedException, ExecutionException {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        final long timestamp = 1750796203701L + i;
+        results.add(executor.submit(() -> ETagUtils.decrypt(ETagUtils.encrypt(timestamp)) == timestamp));
+      }
+      for (Future<Boolean> result : results) {
+        assertTrue(result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
 }
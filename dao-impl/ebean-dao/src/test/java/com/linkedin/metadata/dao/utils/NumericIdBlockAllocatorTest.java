@@ -0,0 +1,80 @@
+package com.linkedin.metadata.dao.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class NumericIdBlockAllocatorTest {
+
+  @Test
+  public void testInvalidBlockSize() {
+    assertThrows(IllegalArgumentException.class, () -> new NumericIdBlockAllocator(0));
+  }
+
+  @Test
+  public void testIdsComeFromReservedBlocks() {
+    NumericIdBlockAllocator allocator = new NumericIdBlockAllocator(3);
+    AtomicLong high = new AtomicLong(10);
+    NumericIdBlockAllocator.BlockReserver reserver = (namespace, blockSize) -> high.addAndGet(blockSize);
+
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      ids.add(allocator.nextId("namespace", reserver));
+    }
+
+    assertEquals(ids, Arrays.asList(11L, 12L, 13L, 14L, 15L));
+    assertEquals(allocator.getStats().getRefillCount(), 2);
+    assertTrue(allocator.getStats().getMaxRefillLatencyNanos() <= allocator.getStats().getTotalRefillLatencyNanos());
+  }
+
+  @Test
+  public void testNamespacesHaveSeparateBlocks() {
+    NumericIdBlockAllocator allocator = new NumericIdBlockAllocator(10);
+    NumericIdBlockAllocator.BlockReserver reserver = (namespace, blockSize) -> blockSize;
+
+    assertEquals(allocator.nextId("foo", reserver), 1);
+    assertEquals(allocator.nextId("bar", reserver), 1);
+    assertEquals(allocator.nextId("foo", reserver), 2);
+    assertEquals(allocator.getStats().getRefillCount(), 2);
+  }
+
+  @Test
+  public void testConcurrentIdsAreUnique() throws Exception {
+    NumericIdBlockAllocator allocator = new NumericIdBlockAllocator(7);
+    AtomicLong high = new AtomicLong();
+    NumericIdBlockAllocator.BlockReserver reserver = (namespace, blockSize) -> high.addAndGet(blockSize);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<List<Long>>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        futures.add(executor.submit(() -> {
+          List<Long> ids = new ArrayList<>();
+          for (int i = 0; i < 1000; i++) {
+            ids.add(allocator.nextId("namespace", reserver));
+          }
+          return ids;
+        }));
+      }
+
+      Set<Long> allIds = new HashSet<>();
+      for (Future<List<Long>> future : futures) {
+        allIds.addAll(future.get());
+      }
+      assertEquals(allIds.size(), 8000);
+      // no block is reserved without being used up, apart from the last one
+      assertEquals(allocator.getStats().getRefillCount(), (8000 + 6) / 7);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.linkedin.metadata.dao.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class ParallelQueryExecutorTest {
+
+  private ExecutorService _executorService;
+
+  @BeforeClass
+  public void setupExecutor() {
+    _executorService = Executors.newFixedThreadPool(8);
+  }
+
+  @AfterClass
+  public void shutdownExecutor() {
+    _executorService.shutdownNow();
+  }
+
+  @Test
+  public void testInvalidConcurrency() {
+    assertThrows(IllegalArgumentException.class, () -> new ParallelQueryExecutor(_executorService, 0));
+  }
+
+  @Test
+  public void testResultsKeepQueryOrder() {
+    ParallelQueryExecutor executor = new ParallelQueryExecutor(_executorService, 4);
+    List<Supplier<Integer>> queries = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      final int value = i;
+      queries.add(() -> value);
+    }
+
+    List<Integer> results = executor.invokeAll(queries);
+
+    assertEquals(results.size(), 20);
+    for (int i = 0; i < 20; i++) {
+      assertEquals(results.get(i).intValue(), i);
+    }
+  }
+
+  @Test
+  public void testEmptyQueries() {
+    ParallelQueryExecutor executor = new ParallelQueryExecutor(_executorService, 4);
+    assertTrue(executor.invokeAll(Collections.<Supplier<Integer>>emptyList()).isEmpty());
+  }
+
+  @Test
+  public void testConcurrencyIsCapped() {
+    ParallelQueryExecutor executor = new ParallelQueryExecutor(_executorService, 2);
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    List<Supplier<Integer>> queries = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      queries.add(() -> {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+          Thread.sleep(5);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        inFlight.decrementAndGet();
+        return 0;
+      });
+    }
+
+    executor.invokeAll(queries);
+
+    assertTrue(maxInFlight.get() <= 2);
+  }
+
+  @Test
+  public void testFailureIsRethrown() {
+    ParallelQueryExecutor executor = new ParallelQueryExecutor(_executorService, 3);
+    List<Supplier<Integer>> queries = Arrays.asList(() -> 1, () -> {
+      throw new IllegalStateException("query failed");
+    }, () -> 3);
+
+    assertThrows(IllegalStateException.class, () -> executor.invokeAll(queries));
+  }
+
+  @Test
+  public void testRejectedWorkRunsOnCallingThread() {
+    // no queue and a single thread which is kept busy, so every submission is rejected
+    ThreadPoolExecutor saturated = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+    saturated.submit(() -> {
+      try {
+        Thread.sleep(1000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    try {
+      ParallelQueryExecutor executor = new ParallelQueryExecutor(saturated, 4);
+      String caller = Thread.currentThread().getName();
+      List<Supplier<String>> queries = Arrays.asList(() -> Thread.currentThread().getName(),
+          () -> Thread.currentThread().getName());
+
+      assertEquals(executor.invokeAll(queries), Arrays.asList(caller, caller));
+    } finally {
+      saturated.shutdownNow();
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.linkedin.metadata.dao.utils;
 import com.linkedin.metadata.dao.GlobalAssetRegistry;
 import com.linkedin.testing.AspectFoo;
 import com.linkedin.testing.BarAsset;
+import com.linkedin.testing.EntityAsset;
 import com.linkedin.testing.urn.BarUrn;
 import com.linkedin.testing.urn.FooUrn;
 import org.testng.annotations.Test;
@@ -31,4 +32,24 @@ public class SQLSchemaUtilsTest {
         SQLSchemaUtils.getAspectColumnName(BarUrn.ENTITY_TYPE, "com.linkedin.testing.AspectBar"));
   }
 
+  @Test
+  public void testGetColumnNameOfAspectClassIsCachedUntilAssetRegistered() {
+    // no asset is registered yet, so the legacy column annotation is used
+    assertEquals(SQLSchemaUtils.getColumnName("columnnamecache", AspectFoo.class), "aspectfoo");
+    assertSame(SQLSchemaUtils.getAspectColumnName("columnnamecache", AspectFoo.class),
+        SQLSchemaUtils.getAspectColumnName("columnnamecache", AspectFoo.class));
+
+    GlobalAssetRegistry.register("columnnamecache", EntityAsset.class);
+
+    assertEquals(SQLSchemaUtils.getColumnName("columnnamecache", AspectFoo.class), "foo");
+    assertEquals(SQLSchemaUtils.getAspectColumnName("columnnamecache", AspectFoo.class), "a_foo");
+  }
+
+  @Test
+  public void testGetTableName() {
+    assertEquals(getTableName(FooUrn.ENTITY_TYPE), "metadata_entity_foo");
+    assertEquals(getTestTableName(FooUrn.ENTITY_TYPE), "metadata_entity_foo_test");
+    assertSame(getTableName(FooUrn.ENTITY_TYPE), getTableName(FooUrn.ENTITY_TYPE));
+  }
+
 }
\ No newline at end of file
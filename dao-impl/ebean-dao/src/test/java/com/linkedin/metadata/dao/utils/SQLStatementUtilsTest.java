@@ -69,6 +69,26 @@ public class SQLStatementUtilsTest {
     assertEquals(SQLStatementUtils.createAspectUpsertSql(fooUrn, AspectFoo.class, false, false), expectedSql);
   }
 
+  @Test
+  public void testCreateAspectBatchUpsertSql() {
+    String expectedSql =
+        "INSERT INTO metadata_entity_foo (urn, a_aspectbar, a_aspectfoo, lastmodifiedon, lastmodifiedby) VALUES "
+            + "(:urn0, :aspect0_0, :aspect0_1, :lastmodifiedon0, :lastmodifiedby0), "
+            + "(:urn1, :aspect1_0, :aspect1_1, :lastmodifiedon1, :lastmodifiedby1) ON DUPLICATE KEY UPDATE "
+            + "a_aspectbar = VALUES(a_aspectbar), a_aspectfoo = VALUES(a_aspectfoo), "
+            + "lastmodifiedon = VALUES(lastmodifiedon), deleted_ts = NULL;";
+    assertEquals(SQLStatementUtils.createAspectBatchUpsertSql("metadata_entity_foo",
+        Arrays.asList("a_aspectbar", "a_aspectfoo"), 2, false), expectedSql);
+
+    expectedSql =
+        "INSERT INTO metadata_entity_foo (urn, a_urn, a_aspectfoo, lastmodifiedon, lastmodifiedby) VALUES "
+            + "(:urn0, :a_urn0, :aspect0_0, :lastmodifiedon0, :lastmodifiedby0) ON DUPLICATE KEY UPDATE "
+            + "a_aspectfoo = VALUES(a_aspectfoo), a_urn = VALUES(a_urn), lastmodifiedon = VALUES(lastmodifiedon), "
+            + "deleted_ts = NULL;";
+    assertEquals(SQLStatementUtils.createAspectBatchUpsertSql("metadata_entity_foo",
+        Collections.singletonList("a_aspectfoo"), 1, true), expectedSql);
+  }
+
   @Test
   public void testCreateInsertAspectSql() {
     String expectedSql = "INSERT INTO %s (urn, a_urn, lastmodifiedon, lastmodifiedby,";
@@ -658,6 +678,48 @@ public class SQLStatementUtilsTest {
             + "JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL LIMIT 5 OFFSET 0");
   }
 
+  @Test
+  public void testCreateListAspectAfterUrnSql() throws URISyntaxException {
+    FooUrn fooUrn = new FooUrn(1);
+    assertEquals(
+        SQLStatementUtils.createListAspectAfterUrnSql(AspectFoo.class, fooUrn.getEntityType(), false, 5, false),
+        "SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby, createdfor FROM metadata_entity_foo "
+            + "WHERE a_aspectfoo IS NOT NULL AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL ORDER BY urn LIMIT 5");
+    assertEquals(
+        SQLStatementUtils.createListAspectAfterUrnSql(AspectFoo.class, fooUrn.getEntityType(), true, 5, true),
+        "SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby, createdfor, (SELECT COUNT(urn) FROM "
+            + "metadata_entity_foo WHERE a_aspectfoo IS NOT NULL AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL) "
+            + "as _total_count FROM metadata_entity_foo WHERE a_aspectfoo IS NOT NULL AND "
+            + "JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL AND urn > :lastUrn ORDER BY urn LIMIT 5");
+  }
+
+  @Test
+  public void testCreateFilterCountSql() {
+    IndexFilter indexFilter = new IndexFilter().setCriteria(new IndexCriterionArray(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.GREATER_THAN_OR_EQUAL_TO,
+            IndexValue.create(25))));
+
+    assertEquals(SQLStatementUtils.createFilterCountSql("foo", indexFilter, false, mockValidator),
+        "SELECT COUNT(urn) FROM metadata_entity_foo WHERE a_aspectfoo IS NOT NULL\n"
+            + "AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\n" + "AND i_aspectfoo$value >= 25\n"
+            + "AND deleted_ts IS NULL");
+    // the count embedded in the filter query is the same statement
+    assertTrue(SQLStatementUtils.createFilterSql("foo", indexFilter, true, false, mockValidator)
+        .startsWith("SELECT *, (" + SQLStatementUtils.createFilterCountSql("foo", indexFilter, false, mockValidator)
+            + ") as _total_count"));
+  }
+
+  @Test
+  public void testCreateAspectBrowseSql() {
+    assertEquals(SQLStatementUtils.createAspectBrowseSql("foo", AspectFoo.class, 10, 5),
+        "SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby, (SELECT COUNT(urn) FROM metadata_entity_foo) "
+            + "as _total_count FROM metadata_entity_foo WHERE JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL "
+            + "LIMIT 5 OFFSET 10");
+    assertEquals(SQLStatementUtils.createAspectBrowseSql("foo", AspectFoo.class, 10, 5, false),
+        "SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo "
+            + "WHERE JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL LIMIT 5 OFFSET 10");
+  }
+
   @Test
   public void testUpdateAspectWithOptimisticLockSql() {
     FooUrn fooUrn = makeFooUrn(1);
@@ -719,6 +781,17 @@ public class SQLStatementUtilsTest {
     assertConditionsEqual(SQLStatementUtils.createExistSql(fooUrn), expectedSql);
   }
 
+  @Test
+  public void testCreateEntityReadSql() {
+    FooUrn fooUrn = makeFooUrn(1);
+    assertEquals(SQLStatementUtils.createEntityReadSql(fooUrn, Arrays.asList("a_aspectfoo", "a_aspectbar")),
+        "SELECT urn, a_aspectfoo, a_aspectbar, lastmodifiedon, lastmodifiedby, createdfor FROM metadata_entity_foo "
+            + "WHERE urn = 'urn:li:foo:1' AND deleted_ts IS NULL");
+    assertEquals(SQLStatementUtils.createEntityReadSql(fooUrn, Collections.emptyList()),
+        "SELECT urn, lastmodifiedon, lastmodifiedby, createdfor FROM metadata_entity_foo "
+            + "WHERE urn = 'urn:li:foo:1' AND deleted_ts IS NULL");
+  }
+
   @Test
   public void testParseIndexFilterSkipsMissingVirtualColumn() {
     SchemaValidatorUtil mockValidator1 = mock(SchemaValidatorUtil.class);
@@ -0,0 +1,43 @@
+package com.linkedin.metadata.dao.utils;
+
+import org.testng.annotations.Test;
+
+import static com.linkedin.testing.TestUtils.*;
+import static org.testng.Assert.*;
+
+
+public class VisitedUrnSetTest {
+
+  @Test
+  public void testAddAndContains() {
+    VisitedUrnSet set = new VisitedUrnSet();
+
+    assertTrue(set.add(makeFooUrn(1).toString()));
+    assertFalse(set.add(makeFooUrn(1).toString()));
+    assertTrue(set.add(makeFooUrn(2).toString()));
+
+    assertTrue(set.contains(makeFooUrn(1).toString()));
+    assertTrue(set.contains(makeFooUrn(2).toString()));
+    assertFalse(set.contains(makeFooUrn(3).toString()));
+    assertEquals(set.size(), 2);
+  }
+
+  @Test
+  public void testGrowsPastExpectedSize() {
+    VisitedUrnSet set = new VisitedUrnSet(4);
+
+    for (int i = 0; i < 100_000; i++) {
+      assertTrue(set.add(makeFooUrn(i).toString()));
+    }
+    for (int i = 0; i < 100_000; i++) {
+      assertFalse(set.add(makeFooUrn(i).toString()));
+    }
+    assertEquals(set.size(), 100_000);
+    assertFalse(set.contains(makeFooUrn(100_000).toString()));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNegativeExpectedSize() {
+    new VisitedUrnSet(-1);
+  }
+}
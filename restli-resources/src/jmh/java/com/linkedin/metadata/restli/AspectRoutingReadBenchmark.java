@@ -0,0 +1,248 @@
+package com.linkedin.metadata.restli;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.AspectKey;
+import com.linkedin.metadata.dao.BaseBrowseDAO;
+import com.linkedin.metadata.dao.BaseLocalDAO;
+import com.linkedin.metadata.dao.BaseSearchDAO;
+import com.linkedin.metadata.events.IngestionTrackingContext;
+import com.linkedin.metadata.internal.IngestionParams;
+import com.linkedin.parseq.Task;
+import com.linkedin.restli.common.ComplexResourceKey;
+import com.linkedin.restli.common.EmptyRecord;
+import com.linkedin.testing.AspectAttributes;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.AspectFooBar;
+import com.linkedin.testing.AspectFooBaz;
+import com.linkedin.testing.EntityAspectUnion;
+import com.linkedin.testing.EntityAsset;
+import com.linkedin.testing.EntityDocument;
+import com.linkedin.testing.EntityKey;
+import com.linkedin.testing.EntitySnapshot;
+import com.linkedin.testing.EntityValue;
+import com.linkedin.testing.InternalEntityAspectUnion;
+import com.linkedin.testing.InternalEntitySnapshot;
+import com.linkedin.testing.localrelationship.AspectFooBarBaz;
+import com.linkedin.testing.urn.FooUrn;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.linkedin.testing.TestUtils.*;
+import static org.mockito.Mockito.*;
+
+
+/**
+ * Measures the latency distribution (see the p0.99 percentile) of getting a snapshot with one local aspect and
+ * {@code routingAspects} routing aspects, reading the routing aspects in turn on the request thread as done before,
+ * against reading them concurrently with each other and with the local DAO on a routing read executor.
+ *
+ * <p>Routing aspects are served by a local fake client taking 2 to 4 ms per read, and 20 ms for 1% of reads; the local
+ * DAO read takes 2 ms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AspectRoutingReadBenchmark {
+
+  private static final List<Class<? extends RecordTemplate>> ROUTING_ASPECTS =
+      Arrays.asList(AspectFoo.class, AspectFooBar.class, AspectFooBaz.class, AspectFooBarBaz.class,
+          AspectAttributes.class);
+  private static final long LOCAL_READ_MILLIS = 2;
+
+  @Param({"1", "3", "5"})
+  public int routingAspects;
+
+  @Param({"false", "true"})
+  public boolean concurrent;
+
+  private ExecutorService _executor;
+  private BenchmarkResource _resource;
+  private String _urn;
+  private String[] _aspectNames;
+
+  /**
+   * A routing client standing in for a remote GMS.
+   */
+  private static final class FakeRoutingGmsClient extends BaseAspectRoutingGmsClient {
+    private final RecordTemplate _aspect;
+
+    private FakeRoutingGmsClient(@Nonnull RecordTemplate aspect) {
+      super(FooUrn.ENTITY_TYPE);
+      _aspect = aspect;
+    }
+
+    @Override
+    public <URN extends Urn> RecordTemplate get(URN urn) {
+      final ThreadLocalRandom random = ThreadLocalRandom.current();
+      sleep(random.nextInt(100) == 0 ? 20 : 2 + random.nextInt(3));
+      return _aspect;
+    }
+
+    @Override
+    public <URN extends Urn> BackfillResult backfill(Set<URN> urn) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <URN extends Urn> void ingest(URN urn, RecordTemplate aspect) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <URN extends Urn> void ingestWithTracking(URN urn, RecordTemplate aspect,
+        @Nonnull IngestionTrackingContext trackingContext, @Nullable IngestionParams ingestionParams) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  private final class BenchmarkResource extends BaseAspectRoutingResource<
+      // format
+      ComplexResourceKey<EntityKey, EmptyRecord>, EntityValue, FooUrn, EntitySnapshot, EntityAspectUnion, EntityDocument,
+      InternalEntitySnapshot, InternalEntityAspectUnion, EntityAsset> {
+
+    private final BaseLocalDAO<InternalEntityAspectUnion, FooUrn> _localDAO;
+    private final AspectRoutingGmsClientManager _routingGmsClientManager = new AspectRoutingGmsClientManager();
+
+    @SuppressWarnings("unchecked")
+    private BenchmarkResource() {
+      super(EntitySnapshot.class, EntityAspectUnion.class, FooUrn.class, EntityValue.class, InternalEntitySnapshot.class,
+          InternalEntityAspectUnion.class, EntityAsset.class);
+      _localDAO = mock(BaseLocalDAO.class);
+      when(_localDAO.get(anySet())).thenAnswer(invocation -> {
+        sleep(LOCAL_READ_MILLIS);
+        final Set<AspectKey<FooUrn, ? extends RecordTemplate>> keys = invocation.getArgument(0);
+        return keys.stream()
+            .collect(Collectors.toMap(key -> key, key -> Optional.of(new AspectBar().setValue("bar"))));
+      });
+      for (Class<? extends RecordTemplate> aspectClass : ROUTING_ASPECTS.subList(0, routingAspects)) {
+        final RecordTemplate aspect;
+        try {
+          aspect = aspectClass.newInstance();
+        } catch (ReflectiveOperationException e) {
+          throw new RuntimeException(e);
+        }
+        _routingGmsClientManager.registerRoutingGmsClient(aspectClass, "set" + aspectClass.getSimpleName(),
+            new FakeRoutingGmsClient(aspect));
+      }
+    }
+
+    @Override
+    public AspectRoutingGmsClientManager getAspectRoutingGmsClientManager() {
+      return _routingGmsClientManager;
+    }
+
+    @Nullable
+    @Override
+    protected Executor getRoutingReadExecutor() {
+      return concurrent ? _executor : null;
+    }
+
+    @Nonnull
+    @Override
+    protected BaseLocalDAO<InternalEntityAspectUnion, FooUrn> getLocalDAO() {
+      return _localDAO;
+    }
+
+    @Nonnull
+    @Override
+    protected BaseSearchDAO<EntityDocument> getSearchDAO() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Nonnull
+    @Override
+    protected BaseBrowseDAO getBrowseDAO() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Nonnull
+    @Override
+    protected FooUrn createUrnFromString(@Nonnull String urnString) throws Exception {
+      return FooUrn.createFromString(urnString);
+    }
+
+    @Nonnull
+    @Override
+    protected FooUrn toUrn(@Nonnull ComplexResourceKey<EntityKey, EmptyRecord> key) {
+      return makeFooUrn(key.getKey().getId().intValue());
+    }
+
+    @Nonnull
+    @Override
+    protected ComplexResourceKey<EntityKey, EmptyRecord> toKey(@Nonnull FooUrn urn) {
+      return new ComplexResourceKey<>(new EntityKey().setId(urn.getIdAsLong()), new EmptyRecord());
+    }
+
+    @Nonnull
+    @Override
+    protected EntityValue toValue(@Nonnull EntitySnapshot snapshot) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Nonnull
+    @Override
+    protected EntitySnapshot toSnapshot(@Nonnull EntityValue value, @Nonnull FooUrn urn) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  @Setup
+  public void setup() {
+    _executor = Executors.newFixedThreadPool(16);
+    _resource = new BenchmarkResource();
+    _urn = makeFooUrn(1).toString();
+    _aspectNames = ROUTING_ASPECTS.subList(0, routingAspects)
+        .stream()
+        .map(Class::getCanonicalName)
+        .collect(Collectors.collectingAndThen(Collectors.toList(), names -> {
+          names.add(AspectBar.class.getCanonicalName());
+          return names.toArray(new String[0]);
+        }));
+  }
+
+  @TearDown
+  public void tearDown() {
+    _executor.shutdownNow();
+  }
+
+  @Benchmark
+  public Task<EntitySnapshot> getSnapshot() {
+    return _resource.getSnapshot(_urn, _aspectNames, false);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -5,11 +5,15 @@ import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.metadata.events.IngestionTrackingContext;
 import com.linkedin.metadata.internal.IngestionParams;
 import com.linkedin.restli.server.RestLiServiceException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.Getter;
 
+import static com.linkedin.restli.common.HttpStatus.*;
+
 
 /**
  * A client interacts with standard GMS APIs.
@@ -22,15 +26,59 @@ public abstract class BaseAspectRoutingGmsClient {
   @Getter
   private final String entityType;
 
+  /**
+   * How long, in milliseconds, a routing resource reading routing aspects concurrently waits for a read of this client,
+   * after which the read is abandoned and the aspect left out of the result. 0 waits until the read completes.
+   */
+  @Getter
+  private volatile long readTimeoutMillis = 0;
+
   public BaseAspectRoutingGmsClient(String entityType) {
     this.entityType = entityType;
   }
 
+  /**
+   * Sets how long a read of this client is waited for, see {@link #getReadTimeoutMillis()}.
+   */
+  public void setReadTimeoutMillis(long readTimeoutMillis) {
+    if (readTimeoutMillis < 0) {
+      throw new IllegalArgumentException("Read timeout must be non-negative: " + readTimeoutMillis);
+    }
+    this.readTimeoutMillis = readTimeoutMillis;
+  }
+
   /**
    * Retrieves the latest version of the routing aspect for an entity.
    */
   public abstract <URN extends Urn> RecordTemplate get(URN urn) throws RestLiServiceException;
 
+  /**
+   * Retrieves the latest version of the routing aspect for a batch of entities. Entities without the aspect are left out
+   * of the returned map.
+   *
+   * <p>The default implementation calls {@link #get(Urn)} for each entity in turn, clients of a GMS with a batch API
+   * should override it to read all entities in one call.
+   */
+  @Nonnull
+  public <URN extends Urn> Map<URN, RecordTemplate> batchGet(@Nonnull Set<URN> urns) throws RestLiServiceException {
+    final Map<URN, RecordTemplate> aspects = new HashMap<>();
+    for (URN urn : urns) {
+      final RecordTemplate aspect;
+      try {
+        aspect = get(urn);
+      } catch (RestLiServiceException e) {
+        if (e.getStatus() == S_404_NOT_FOUND) {
+          continue;
+        }
+        throw e;
+      }
+      if (aspect != null) {
+        aspects.put(urn, aspect);
+      }
+    }
+    return aspects;
+  }
+
   /**
    * Backfill the routing aspect value for a given set of entity identified by the urns.
    */
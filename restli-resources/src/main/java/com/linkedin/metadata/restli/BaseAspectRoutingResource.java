@@ -30,11 +30,18 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -97,6 +104,16 @@ public abstract class BaseAspectRoutingResource<
    */
   public abstract AspectRoutingGmsClientManager getAspectRoutingGmsClientManager();
 
+  /**
+   * Returns the executor that reads routing aspects from their GMS concurrently, with each other and with the local DAO
+   * read, or null to read them in turn on the request thread, which is the default. Concurrent reads are waited for up
+   * to {@link BaseAspectRoutingGmsClient#getReadTimeoutMillis()}, and the aspects not read by then are left out.
+   */
+  @Nullable
+  protected Executor getRoutingReadExecutor() {
+    return null;
+  }
+
   /**
    * Retrieves the value for an entity that is made up of latest versions of specified aspects.
    */
@@ -128,6 +145,8 @@ public abstract class BaseAspectRoutingResource<
         throw RestliUtils.resourceNotFoundException(String.format("Cannot find entity {%s} from Master GMS.", urn));
       }
       final Set<Class<? extends RecordTemplate>> nonRoutingAspects = getNonRoutingAspects(aspectClasses);
+      final RoutingAspectReads routingAspectReads =
+          new RoutingAspectReads(Collections.singleton(urn), getRoutingAspects(aspectClasses));
       final VALUE valueFromLocalDao;
       if (nonRoutingAspects.isEmpty()) {
         valueFromLocalDao =
@@ -135,10 +154,40 @@ public abstract class BaseAspectRoutingResource<
       } else {
         valueFromLocalDao = getValueFromLocalDao(id, nonRoutingAspects, isInternalModelsEnabled);
       }
-      return merge(valueFromLocalDao, getValueFromRoutingGms(toUrn(id), getRoutingAspects(aspectClasses)));
+      return merge(valueFromLocalDao, routingAspectReads.join().getOrDefault(urn, Collections.emptyList()));
     });
   }
 
+  /**
+   * With a {@link #getRoutingReadExecutor()}, reads the routing aspects of the urns from their GMS, with one batch read
+   * per routing aspect, while the other aspects are read from the local DAO, and merges them into the values. Used by
+   * batch gets. As with {@link #get(Object, String[])}, only entities in the local DAO are found, i.e. those with any of
+   * the requested local aspects or which otherwise exist there; the urns of the others are left out of the result.
+   * Without an executor, all aspects are read from the local DAO, as batch gets did before routing aspects could be
+   * read concurrently.
+   */
+  @Nonnull
+  @Override
+  protected Map<URN, VALUE> getInternal(@Nonnull Collection<URN> urns,
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses, boolean isInternalModelsEnabled) {
+    if (getRoutingReadExecutor() == null || !containsRoutingAspect(aspectClasses)) {
+      return super.getInternal(urns, aspectClasses, isInternalModelsEnabled);
+    }
+    final RoutingAspectReads routingAspectReads =
+        new RoutingAspectReads(new HashSet<>(urns), getRoutingAspects(aspectClasses));
+    final Set<Class<? extends RecordTemplate>> nonRoutingAspects = getNonRoutingAspects(aspectClasses);
+    final Map<URN, VALUE> values = nonRoutingAspects.isEmpty() ? new HashMap<>()
+        : new HashMap<>(getInternalNonEmpty(urns, nonRoutingAspects, isInternalModelsEnabled));
+    for (URN urn : urns) {
+      if (!values.containsKey(urn) && getLocalDAO().exists(urn)) {
+        values.put(urn, isInternalModelsEnabled ? toInternalValue(newInternalSnapshot(urn)) : toValue(newSnapshot(urn)));
+      }
+    }
+    final Map<URN, List<RecordTemplate>> routingAspects = routingAspectReads.join();
+    values.forEach((urn, value) -> merge(value, routingAspects.getOrDefault(urn, Collections.emptyList())));
+    return values;
+  }
+
   /**
    * Deprecated to use {@link #getAsset(String, String[])} .
    * An action method for getting a snapshot of aspects for an entity.
@@ -173,13 +222,12 @@ public abstract class BaseAspectRoutingResource<
               convertInternalAspectUnionToAspectUnion(_aspectUnionClass, aspectUnions));
         } else {
           final Set<Class<? extends RecordTemplate>> nonRoutingAspects = getNonRoutingAspects(aspectClasses);
+          final RoutingAspectReads routingAspectReads =
+              new RoutingAspectReads(Collections.singleton(urn), getRoutingAspects(aspectClasses));
           final List<INTERNAL_ASPECT_UNION> aspectsFromLocalDao =
               getInternalAspectsFromLocalDao(urn, nonRoutingAspects);
-          final Set<Class<? extends RecordTemplate>> routingAspects = getRoutingAspects(aspectClasses);
-          final List<INTERNAL_ASPECT_UNION> aspectsFromGms = routingAspects.stream()
-              .map(routingAspect -> getInternalAspectsFromGms(urn, routingAspect))
-              .flatMap(List::stream)
-              .collect(Collectors.toList());
+          final List<INTERNAL_ASPECT_UNION> aspectsFromGms =
+              routingAspectReads.joinAspectUnions(urn, _internalAspectUnionClass);
           return ModelUtils.newSnapshot(_snapshotClass, urn, convertInternalAspectUnionToAspectUnion(_aspectUnionClass,
               Stream.concat(aspectsFromGms.stream(), aspectsFromLocalDao.stream()).collect(Collectors.toList())));
         }
@@ -192,12 +240,10 @@ public abstract class BaseAspectRoutingResource<
           return ModelUtils.newSnapshot(_snapshotClass, urn, aspectUnions);
         } else {
           final Set<Class<? extends RecordTemplate>> nonRoutingAspects = getNonRoutingAspects(aspectClasses);
+          final RoutingAspectReads routingAspectReads =
+              new RoutingAspectReads(Collections.singleton(urn), getRoutingAspects(aspectClasses));
           final List<ASPECT_UNION> aspectsFromLocalDao = getAspectsFromLocalDao(urn, nonRoutingAspects);
-          final Set<Class<? extends RecordTemplate>> routingAspects = getRoutingAspects(aspectClasses);
-          final List<ASPECT_UNION> aspectsFromGms = routingAspects.stream()
-              .map(routingAspect -> getAspectsFromGms(urn, routingAspect))
-              .flatMap(List::stream)
-              .collect(Collectors.toList());
+          final List<ASPECT_UNION> aspectsFromGms = routingAspectReads.joinAspectUnions(urn, _aspectUnionClass);
           return ModelUtils.newSnapshot(_snapshotClass, urn,
               Stream.concat(aspectsFromGms.stream(), aspectsFromLocalDao.stream()).collect(Collectors.toList()));
         }
@@ -224,13 +270,12 @@ public abstract class BaseAspectRoutingResource<
           return ModelUtils.newAsset(_assetClass, urn, aspectUnions);
         } else {
           final Set<Class<? extends RecordTemplate>> nonRoutingAspects = getNonRoutingAspects(aspectClasses);
+          final RoutingAspectReads routingAspectReads =
+              new RoutingAspectReads(Collections.singleton(urn), getRoutingAspects(aspectClasses));
           final List<INTERNAL_ASPECT_UNION> aspectsFromLocalDao =
               getInternalAspectsFromLocalDao(urn, nonRoutingAspects);
-          final Set<Class<? extends RecordTemplate>> routingAspects = getRoutingAspects(aspectClasses);
-          final List<INTERNAL_ASPECT_UNION> aspectsFromGms = routingAspects.stream()
-              .map(routingAspect -> getInternalAspectsFromGms(urn, routingAspect))
-              .flatMap(List::stream)
-              .collect(Collectors.toList());
+          final List<INTERNAL_ASPECT_UNION> aspectsFromGms =
+              routingAspectReads.joinAspectUnions(urn, _internalAspectUnionClass);
           return ModelUtils.newAsset(_assetClass, urn,
               Stream.concat(aspectsFromGms.stream(), aspectsFromLocalDao.stream()).collect(Collectors.toList()));
         }
@@ -633,34 +678,6 @@ public abstract class BaseAspectRoutingResource<
         .collect(Collectors.toList());
   }
 
-  /**
-   * Get aspect value from routing aspect GMS.
-   */
-  @Nonnull
-  @ParametersAreNonnullByDefault
-  private List<ASPECT_UNION> getAspectsFromGms(URN urn, Class aspectClass) {
-    final List<? extends RecordTemplate> routingAspects =
-        getValueFromRoutingGms(urn, Collections.singletonList(aspectClass));
-    if (routingAspects.isEmpty()) {
-      return new ArrayList<>();
-    }
-    return Collections.singletonList(ModelUtils.newAspectUnion(_aspectUnionClass, routingAspects.get(0)));
-  }
-
-  /**
-   * Get internal aspect value from routing aspect GMS.
-   */
-  @Nonnull
-  @ParametersAreNonnullByDefault
-  private List<INTERNAL_ASPECT_UNION> getInternalAspectsFromGms(URN urn, Class aspectClass) {
-    final List<? extends RecordTemplate> routingAspects =
-        getValueFromRoutingGms(urn, Collections.singletonList(aspectClass));
-    if (routingAspects.isEmpty()) {
-      return new ArrayList<>();
-    }
-    return Collections.singletonList(ModelUtils.newAspectUnion(_internalAspectUnionClass, routingAspects.get(0)));
-  }
-
   /**
    * Merge routing aspect value from GMS into entity value retrieved from Local DAO.
    * @param valueFromLocalDao Entity value retrieved from Local DAO
@@ -745,22 +762,104 @@ public abstract class BaseAspectRoutingResource<
     }
   }
 
-  @Nullable
-  private List<? extends RecordTemplate> getValueFromRoutingGms(@Nonnull URN urn,
-      Collection<Class<? extends RecordTemplate>> routeAspectClasses) {
-    return routeAspectClasses.stream().map(routeAspectClass -> {
-      try {
-        return getAspectRoutingGmsClientManager().getRoutingGmsClient(routeAspectClass).get(urn);
-      } catch (Exception e) {
-        String logMessage = String.format("Couldn't find routing aspect %s for %s", routeAspectClass.getSimpleName(), urn);
-        if (e instanceof RestLiServiceException && ((RestLiServiceException) e).getStatus() == S_404_NOT_FOUND) {
-         log.warn(logMessage, e);
+  /**
+   * Reads a routing aspect of the urns from its GMS, with a single get for a single urn. Failed reads are logged and
+   * yield no aspects.
+   */
+  @Nonnull
+  private Map<URN, RecordTemplate> readRoutingAspect(@Nonnull Set<URN> urns,
+      @Nonnull Class<? extends RecordTemplate> routeAspectClass) {
+    try {
+      final BaseAspectRoutingGmsClient routingGmsClient =
+          getAspectRoutingGmsClientManager().getRoutingGmsClient(routeAspectClass);
+      if (urns.size() == 1) {
+        final URN urn = urns.iterator().next();
+        final RecordTemplate aspect = routingGmsClient.get(urn);
+        return aspect == null ? Collections.emptyMap() : Collections.singletonMap(urn, aspect);
+      }
+      final Map<URN, RecordTemplate> aspects = routingGmsClient.batchGet(urns);
+      return aspects == null ? Collections.emptyMap() : aspects;
+    } catch (Exception e) {
+      String logMessage = String.format("Couldn't find routing aspect %s for %s", routeAspectClass.getSimpleName(),
+          urns.size() == 1 ? urns.iterator().next() : urns);
+      if (e instanceof RestLiServiceException && ((RestLiServiceException) e).getStatus() == S_404_NOT_FOUND) {
+        log.warn(logMessage, e);
+      } else {
+        log.error(logMessage, e);
+      }
+      return Collections.emptyMap();
+    }
+  }
+
+  /**
+   * The reads of the routing aspects of a set of urns from their GMS, started on construction so that they run while
+   * the local DAO is read. With a {@link #getRoutingReadExecutor()}, each routing aspect is read concurrently and waited
+   * for up to the read timeout of its client, counted from the start of the reads; without one, they are read in turn
+   * on the calling thread. Aspects whose read fails or times out are left out of the result.
+   */
+  private final class RoutingAspectReads {
+    private final long _startNanos = System.nanoTime();
+    private final Map<Class<? extends RecordTemplate>, CompletableFuture<Map<URN, RecordTemplate>>> _reads =
+        new LinkedHashMap<>();
+
+    private RoutingAspectReads(@Nonnull Set<URN> urns,
+        @Nonnull Collection<Class<? extends RecordTemplate>> routingAspectClasses) {
+      final Executor executor = getRoutingReadExecutor();
+      for (Class<? extends RecordTemplate> routingAspectClass : routingAspectClasses) {
+        CompletableFuture<Map<URN, RecordTemplate>> read;
+        if (executor == null) {
+          read = CompletableFuture.completedFuture(readRoutingAspect(urns, routingAspectClass));
         } else {
-          log.error(logMessage, e);
+          try {
+            read = CompletableFuture.supplyAsync(() -> readRoutingAspect(urns, routingAspectClass), executor);
+          } catch (RejectedExecutionException e) {
+            // a saturated executor degrades to reading on the calling thread
+            read = CompletableFuture.completedFuture(readRoutingAspect(urns, routingAspectClass));
+          }
         }
-        return null;
+        _reads.put(routingAspectClass, read);
       }
-    }).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Waits for the reads and returns the routing aspects read for each urn.
+     */
+    @Nonnull
+    private Map<URN, List<RecordTemplate>> join() {
+      final Map<URN, List<RecordTemplate>> aspectsByUrn = new HashMap<>();
+      _reads.forEach((routingAspectClass, read) -> {
+        final long timeoutMillis =
+            getAspectRoutingGmsClientManager().getRoutingGmsClient(routingAspectClass).getReadTimeoutMillis();
+        Map<URN, RecordTemplate> aspects = Collections.emptyMap();
+        try {
+          aspects = timeoutMillis == 0 ? read.get()
+              : read.get(_startNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMillis) - System.nanoTime(),
+                  TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+          read.cancel(false);
+          log.error("Timed out after {} ms reading routing aspect {}", timeoutMillis, routingAspectClass.getSimpleName());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          log.error("Interrupted reading routing aspect {}", routingAspectClass.getSimpleName(), e);
+        } catch (ExecutionException e) {
+          log.error("Failed to read routing aspect {}", routingAspectClass.getSimpleName(), e.getCause());
+        }
+        aspects.forEach((urn, aspect) -> aspectsByUrn.computeIfAbsent(urn, key -> new ArrayList<>()).add(aspect));
+      });
+      return aspectsByUrn;
+    }
+
+    /**
+     * Waits for the reads and returns the routing aspects read for the urn, wrapped in aspect unions.
+     */
+    @Nonnull
+    private <UNION extends UnionTemplate> List<UNION> joinAspectUnions(@Nonnull URN urn,
+        @Nonnull Class<UNION> aspectUnionClass) {
+      return join().getOrDefault(urn, Collections.emptyList())
+          .stream()
+          .map(aspect -> ModelUtils.newAspectUnion(aspectUnionClass, aspect))
+          .collect(Collectors.toList());
+    }
   }
 
   /**
@@ -50,6 +50,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -180,6 +181,28 @@ public abstract class BaseEntityResource<
     return null; // override in resource class only if needed
   }
 
+  /**
+   * Returns the {@link ShadowDaoDispatcher} taking shadow DAO writes and reads off the request thread. If null, shadow
+   * writes are applied right after the primary writes and shadow reads run after the primary reads, on the request
+   * thread.
+   *
+   * <p>With a dispatcher, responses are built from the primary reads only, which is what they resolve to anyway since
+   * shadow values are only used when they are equal to the primary ones.
+   */
+  @Nullable
+  protected ShadowDaoDispatcher getShadowDaoDispatcher() {
+    return null; // override in resource class only if needed
+  }
+
+  /**
+   * Returns whether the aspects of an ingested snapshot or asset are written to the local DAO with a single
+   * {@link BaseLocalDAO#addAll} call, which reads their latest values and writes the changed ones together in one
+   * transaction, instead of one {@link BaseLocalDAO#add} call and transaction per aspect.
+   */
+  protected boolean isBatchIngestionEnabled() {
+    return false; // override in resource class only if needed
+  }
+
   /**
    * Creates an URN from its string representation.
    */
@@ -236,8 +259,8 @@ public abstract class BaseEntityResource<
       final URN urn = toUrn(id);
       BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO = getShadowReadLocalDAO();
       if (!getLocalDAO().exists(urn)) {
-        if (shadowReadLocalDAO != null && shadowReadLocalDAO.exists(urn)) {
-          log.warn("Entity {} exists in shadow DAO but not in local DAO. Ignoring shadow-only data.", urn);
+        if (shadowReadLocalDAO != null) {
+          warnIfOnlyInShadow(urn, shadowReadLocalDAO);
         }
         throw RestliUtils.resourceNotFoundException();
       }
@@ -315,6 +338,13 @@ public abstract class BaseEntityResource<
         statuses.put(urnMap.get(entry.getKey()), HttpStatus.S_404_NOT_FOUND);
         return true;
       });
+      // keys left out by getInternal don't exist either
+      urnMap.forEach((urn, key) -> {
+        if (!statuses.containsKey(key)) {
+          errors.put(key, new RestLiServiceException(HttpStatus.S_404_NOT_FOUND));
+          statuses.put(key, HttpStatus.S_404_NOT_FOUND);
+        }
+      });
       return new BatchResult<>(
           batchResult.entrySet().stream().collect(Collectors.toMap(e -> urnMap.get(e.getKey()), Map.Entry::getValue)),
           statuses, errors);
@@ -403,17 +433,8 @@ public abstract class BaseEntityResource<
     return RestliUtils.toTask(() -> {
       final URN urn = (URN) ModelUtils.getUrnFromSnapshot(snapshot);
       final AuditStamp auditStamp = getAuditor().requestAuditStamp(getContext().getRawRequestContext());
-      ModelUtils.getAspectsFromSnapshot(snapshot).stream().forEach(aspect -> {
-        if (!aspectsToIgnore.contains(aspect.getClass())) {
-          // Write to primary
-          getLocalDAO().add(urn, aspect, auditStamp, trackingContext, ingestionParams);
-          final BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowDao = getShadowLocalDAO();
-          // dual-write to shadow
-          if (shadowDao != null) {
-            shadowDao.add(urn, aspect, auditStamp, trackingContext, ingestionParams);
-          }
-        }
-      });
+      ingestAspects(urn, ModelUtils.getAspectsFromSnapshot(snapshot), aspectsToIgnore, auditStamp, trackingContext,
+          ingestionParams, false);
       return null;
     });
   }
@@ -433,16 +454,8 @@ public abstract class BaseEntityResource<
     return RestliUtils.toTask(() -> {
       final URN urn = (URN) ModelUtils.getUrnFromSnapshot(snapshot);
       final AuditStamp auditStamp = getAuditor().requestAuditStamp(getContext().getRawRequestContext());
-      ModelUtils.getAspectsFromSnapshot(snapshot).stream().forEach(aspect -> {
-        if (!aspectsToIgnore.contains(aspect.getClass())) {
-          getLocalDAO().rawAdd(urn, aspect, auditStamp, trackingContext, ingestionParams);
-          final BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowDao = getShadowLocalDAO();
-          // dual-write to shadow
-          if (shadowDao != null) {
-            shadowDao.add(urn, aspect, auditStamp, trackingContext, ingestionParams);
-          }
-        }
-      });
+      ingestAspects(urn, ModelUtils.getAspectsFromSnapshot(snapshot), aspectsToIgnore, auditStamp, trackingContext,
+          ingestionParams, true);
       return null;
     });
   }
@@ -463,16 +476,8 @@ public abstract class BaseEntityResource<
       final AuditStamp auditStamp = getAuditor().requestAuditStamp(getContext().getRawRequestContext());
       IngestionTrackingContext ingestionTrackingContext =
           ingestionParams != null ? ingestionParams.getIngestionTrackingContext() : null;
-      ModelUtils.getAspectsFromAsset(asset).stream().forEach(aspect -> {
-        if (!aspectsToIgnore.contains(aspect.getClass())) {
-          getLocalDAO().add(urn, aspect, auditStamp, ingestionTrackingContext, ingestionParams);
-          final BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowDao = getShadowLocalDAO();
-          // dual-write to shadow
-          if (shadowDao != null) {
-            shadowDao.add(urn, aspect, auditStamp, ingestionTrackingContext, ingestionParams);
-          }
-        }
-      });
+      ingestAspects(urn, ModelUtils.getAspectsFromAsset(asset), aspectsToIgnore, auditStamp, ingestionTrackingContext,
+          ingestionParams, false);
       return null;
     });
   }
@@ -493,20 +498,63 @@ public abstract class BaseEntityResource<
       final AuditStamp auditStamp = getAuditor().requestAuditStamp(getContext().getRawRequestContext());
       IngestionTrackingContext ingestionTrackingContext =
           ingestionParams != null ? ingestionParams.getIngestionTrackingContext() : null;
-      ModelUtils.getAspectsFromAsset(asset).stream().forEach(aspect -> {
-        if (!aspectsToIgnore.contains(aspect.getClass())) {
-          getLocalDAO().rawAdd(urn, aspect, auditStamp, ingestionTrackingContext, ingestionParams);
-          final BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowDao = getShadowLocalDAO();
-          // dual-write to shadow
-          if (shadowDao != null) {
-            shadowDao.add(urn, aspect, auditStamp, ingestionTrackingContext, ingestionParams);
-          }
-        }
-      });
+      ingestAspects(urn, ModelUtils.getAspectsFromAsset(asset), aspectsToIgnore, auditStamp, ingestionTrackingContext,
+          ingestionParams, true);
       return null;
     });
   }
 
+  /**
+   * Writes the aspects, except the ignored ones, to the local DAO and dual-writes them to the shadow DAO, if any.
+   */
+  private void ingestAspects(@Nonnull URN urn, @Nonnull List<RecordTemplate> aspects,
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectsToIgnore, @Nonnull AuditStamp auditStamp,
+      @Nullable IngestionTrackingContext trackingContext, @Nullable IngestionParams ingestionParams, boolean isRawUpdate) {
+    final List<RecordTemplate> aspectsToIngest = aspects.stream()
+        .filter(aspect -> !aspectsToIgnore.contains(aspect.getClass()))
+        .collect(Collectors.toList());
+    if (isBatchIngestionEnabled()) {
+      if (aspectsToIngest.isEmpty()) {
+        return;
+      }
+      if (isRawUpdate) {
+        getLocalDAO().rawAddAll(urn, aspectsToIngest, auditStamp, trackingContext, ingestionParams);
+      } else {
+        getLocalDAO().addAll(urn, aspectsToIngest, auditStamp, trackingContext, ingestionParams);
+      }
+      // dual-write to shadow
+      aspectsToIngest.forEach(aspect -> addToShadowLocalDAO(urn, aspect, auditStamp, trackingContext, ingestionParams));
+      return;
+    }
+    aspectsToIngest.forEach(aspect -> {
+      // Write to primary
+      if (isRawUpdate) {
+        getLocalDAO().rawAdd(urn, aspect, auditStamp, trackingContext, ingestionParams);
+      } else {
+        getLocalDAO().add(urn, aspect, auditStamp, trackingContext, ingestionParams);
+      }
+      // dual-write to shadow
+      addToShadowLocalDAO(urn, aspect, auditStamp, trackingContext, ingestionParams);
+    });
+  }
+
+  /**
+   * Writes the aspect to the shadow DAO, if any, either right away or through the {@link ShadowDaoDispatcher}.
+   */
+  private void addToShadowLocalDAO(@Nonnull URN urn, @Nonnull RecordTemplate aspect, @Nonnull AuditStamp auditStamp,
+      @Nullable IngestionTrackingContext trackingContext, @Nullable IngestionParams ingestionParams) {
+    final BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowDao = getShadowLocalDAO();
+    if (shadowDao == null) {
+      return;
+    }
+    final ShadowDaoDispatcher dispatcher = getShadowDaoDispatcher();
+    if (dispatcher == null) {
+      shadowDao.add(urn, aspect, auditStamp, trackingContext, ingestionParams);
+    } else if (!dispatcher.dispatchWrite(urn, () -> shadowDao.add(urn, aspect, auditStamp, trackingContext, ingestionParams))) {
+      log.warn("Dropped shadow write of aspect {} for URN {}", aspect.getClass().getSimpleName(), urn);
+    }
+  }
+
   /**
    * Deprecated to use {@link #getAsset(String, String[])} instead.
    * An action method for getting a snapshot of aspects for an entity.
@@ -574,15 +622,8 @@ public abstract class BaseEntityResource<
 
         BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO = getShadowReadLocalDAO();
         if (shadowReadLocalDAO == null) {
-          if (!getLocalDAO().exists(urn)) {
-            throw RestliUtils.resourceNotFoundException();
-          }
-
-          final Set<AspectKey<URN, ? extends RecordTemplate>> keys = parseAspectsParam(aspectNames, true).stream()
-              .map(aspectClass -> new AspectKey<>(aspectClass, urn, LATEST_VERSION))
-              .collect(Collectors.toSet());
-
-          final List<UnionTemplate> aspects = getLocalDAO().get(keys)
+          final List<UnionTemplate> aspects = getLocalDAO().getIfExists(urn, parseAspectsParam(aspectNames, true))
+              .orElseThrow(RestliUtils::resourceNotFoundException)
               .values()
               .stream()
               .filter(java.util.Optional::isPresent)
@@ -615,9 +656,7 @@ public abstract class BaseEntityResource<
   private ASSET getAssetWithShadowComparison(@Nonnull URN urn, @Nullable String[] aspectNames, BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO) {
 
     if (!getLocalDAO().exists(urn)) {
-      if (shadowReadLocalDAO.exists(urn)) {
-        log.warn("Entity {} exists in shadow DAO but not in local DAO. Ignoring shadow-only data.", urn);
-      }
+      warnIfOnlyInShadow(urn, shadowReadLocalDAO);
       throw RestliUtils.resourceNotFoundException();
     }
 
@@ -626,6 +665,17 @@ public abstract class BaseEntityResource<
         .map(aspectClass -> new AspectKey<>(aspectClass, urn, LATEST_VERSION))
         .collect(Collectors.toSet());
 
+    final ShadowDaoDispatcher dispatcher = getShadowDaoDispatcher();
+    if (dispatcher != null) {
+      final List<UnionTemplate> aspects = getWithAsyncShadowComparison(keys, shadowReadLocalDAO, dispatcher)
+          .values()
+          .stream()
+          .filter(java.util.Optional::isPresent)
+          .map(aspect -> ModelUtils.newAspectUnion(_internalAspectUnionClass, aspect.get()))
+          .collect(Collectors.toList());
+      return ModelUtils.newAsset(_assetClass, urn, aspects);
+    }
+
     // Fetch results from both DAOs
     Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> localResults =
         getLocalDAO().get(keys);
@@ -1252,6 +1302,17 @@ public abstract class BaseEntityResource<
       boolean isInternalModelsEnabled,
       @Nonnull BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO) {
 
+    final ShadowDaoDispatcher dispatcher = getShadowDaoDispatcher();
+    if (dispatcher != null) {
+      final Map<URN, List<UnionTemplate>> urnAspectsMap =
+          urns.stream().collect(Collectors.toMap(Function.identity(), urn -> new ArrayList<>()));
+      getWithAsyncShadowComparison(keys, shadowReadLocalDAO, dispatcher)
+          .forEach((key, aspect) -> aspect.ifPresent(metadata -> urnAspectsMap.get(key.getUrn()).add(ModelUtils.newAspectUnion(
+              (Class<? extends ASPECT_UNION>) (isInternalModelsEnabled ? _internalAspectUnionClass : _aspectUnionClass),
+              metadata))));
+      return urnAspectsMap;
+    }
+
     Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> localResults =
         getLocalDAO().get(keys);
 
@@ -1294,6 +1355,74 @@ public abstract class BaseEntityResource<
   }
 
 
+  /**
+   * Reads the keys from the local DAO while the shadow DAO reads them concurrently, and compares the results of both
+   * off the request thread.
+   *
+   * @return the local results
+   */
+  @Nonnull
+  private Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> getWithAsyncShadowComparison(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys,
+      @Nonnull BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO, @Nonnull ShadowDaoDispatcher dispatcher) {
+    final CompletableFuture<Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>>> shadowResults =
+        dispatcher.readAsync(() -> shadowReadLocalDAO.get(keys));
+    final Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> localResults =
+        getLocalDAO().get(keys);
+    dispatcher.compareAsync(shadowResults, localResults, (local, shadow) -> compareShadowResults(keys, local, shadow));
+    return localResults;
+  }
+
+  /**
+   * Logs the differences between the local and shadow results of the keys.
+   *
+   * @return true if the local and shadow results are the same
+   */
+  private boolean compareShadowResults(@Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys,
+      @Nonnull Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> localResults,
+      @Nonnull Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> shadowResults) {
+    boolean matches = true;
+    for (AspectKey<URN, ? extends RecordTemplate> key : keys) {
+      java.util.Optional<? extends RecordTemplate> localValue = localResults.getOrDefault(key, java.util.Optional.empty());
+      java.util.Optional<? extends RecordTemplate> shadowValue = shadowResults.getOrDefault(key, java.util.Optional.empty());
+      if (localValue.isPresent() && shadowValue.isPresent()) {
+        if (!Objects.equals(localValue.get(), shadowValue.get())) {
+          log.warn("Aspect mismatch for URN {} and aspect {}", key.getUrn(), key.getAspectClass().getSimpleName());
+          matches = false;
+        }
+      } else if (shadowValue.isPresent()) {
+        log.warn("Only shadow value present for URN {} and aspect {}. Skipping shadow-only data.", key.getUrn(),
+            key.getAspectClass().getSimpleName());
+        matches = false;
+      } else if (localValue.isPresent()) {
+        log.warn("Only local value present for URN {} and aspect {}. Using local.", key.getUrn(),
+            key.getAspectClass().getSimpleName());
+        matches = false;
+      }
+    }
+    return matches;
+  }
+
+  /**
+   * Logs a warning if an entity missing from the local DAO exists in the shadow DAO, checking it off the request thread
+   * if there is a {@link ShadowDaoDispatcher}.
+   */
+  private void warnIfOnlyInShadow(@Nonnull URN urn, @Nonnull BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO) {
+    final ShadowDaoDispatcher dispatcher = getShadowDaoDispatcher();
+    if (dispatcher == null) {
+      if (shadowReadLocalDAO.exists(urn)) {
+        log.warn("Entity {} exists in shadow DAO but not in local DAO. Ignoring shadow-only data.", urn);
+      }
+      return;
+    }
+    dispatcher.compareAsync(dispatcher.readAsync(() -> shadowReadLocalDAO.exists(urn)), false, (local, shadow) -> {
+      if (shadow) {
+        log.warn("Entity {} exists in shadow DAO but not in local DAO. Ignoring shadow-only data.", urn);
+      }
+      return !shadow;
+    });
+  }
+
   @Nonnull
   private SNAPSHOT newSnapshot(@Nonnull URN urn, @Nonnull List<UnionTemplate> aspects) {
     return ModelUtils.newSnapshot(_snapshotClass, urn, aspects);
@@ -0,0 +1,269 @@
+package com.linkedin.metadata.restli;
+
+import com.linkedin.common.urn.Urn;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Takes the shadow DAO work of dual writes and dual reads off the request thread.
+ *
+ * <p>Shadow writes are queued and applied in the background. Writes of the same urn go to the same single-threaded
+ * stripe, so they are applied in the order they were dispatched. Once the queue of a stripe is full, new writes are
+ * either dropped or block the caller until there is room, depending on the {@link OverflowPolicy}.
+ *
+ * <p>Shadow reads run on a separate pool, concurrently with the primary read done by the caller, and the comparison
+ * of their results is done on that pool too. Shadow reads and comparisons are dropped when the pool is saturated, as
+ * they never affect the response: the future of a dropped shadow read completes exceptionally with a
+ * {@link RejectedExecutionException}.
+ */
+@Slf4j
+public class ShadowDaoDispatcher implements AutoCloseable {
+
+  /**
+   * What to do with a shadow write when the queue of its stripe is full.
+   */
+  public enum OverflowPolicy {
+    // drop the write, it is counted as dropped
+    DROP,
+    // block the caller until the write can be queued
+    BLOCK
+  }
+
+  /**
+   * Statistics of a {@link ShadowDaoDispatcher}.
+   */
+  @Value
+  public static class Stats {
+    // shadow writes waiting to be applied
+    int pendingWriteCount;
+    // shadow writes applied successfully
+    long writeCount;
+    // shadow writes which threw
+    long failedWriteCount;
+    // shadow writes dropped because their queue was full or the dispatcher was closed
+    long droppedWriteCount;
+    // comparisons of shadow and primary reads done
+    long comparisonCount;
+    // comparisons which found a mismatch
+    long mismatchCount;
+    // shadow reads or comparisons which threw
+    long failedReadCount;
+    // shadow reads or comparisons dropped because the read pool was saturated or the dispatcher was closed
+    long droppedReadCount;
+  }
+
+  private final ThreadPoolExecutor[] _writeStripes;
+  private final ThreadPoolExecutor _readExecutor;
+  private final AtomicLong _writeCount = new AtomicLong();
+  private final AtomicLong _failedWriteCount = new AtomicLong();
+  private final AtomicLong _droppedWriteCount = new AtomicLong();
+  private final AtomicLong _comparisonCount = new AtomicLong();
+  private final AtomicLong _mismatchCount = new AtomicLong();
+  private final AtomicLong _failedReadCount = new AtomicLong();
+  private final AtomicLong _droppedReadCount = new AtomicLong();
+
+  /**
+   * Constructor for ShadowDaoDispatcher.
+   *
+   * @param writeThreads number of write stripes, each applying its writes on a single thread
+   * @param writeQueueCapacity maximum number of writes waiting in each stripe
+   * @param overflowPolicy what to do with writes of a full stripe
+   * @param readThreads number of threads running shadow reads and comparisons
+   * @param readQueueCapacity maximum number of shadow reads and comparisons waiting for a thread
+   */
+  public ShadowDaoDispatcher(int writeThreads, int writeQueueCapacity, @Nonnull OverflowPolicy overflowPolicy,
+      int readThreads, int readQueueCapacity) {
+    if (writeThreads < 1 || writeQueueCapacity < 1 || readThreads < 1 || readQueueCapacity < 1) {
+      throw new IllegalArgumentException(String.format(
+          "writeThreads, writeQueueCapacity, readThreads and readQueueCapacity must be positive: %d, %d, %d, %d",
+          writeThreads, writeQueueCapacity, readThreads, readQueueCapacity));
+    }
+    final RejectedExecutionHandler writeOverflowHandler =
+        overflowPolicy == OverflowPolicy.BLOCK ? ShadowDaoDispatcher::blockUntilQueued : new ThreadPoolExecutor.AbortPolicy();
+    _writeStripes = new ThreadPoolExecutor[writeThreads];
+    for (int i = 0; i < writeThreads; i++) {
+      _writeStripes[i] = newExecutor("shadow-dao-write-" + i, 1, writeQueueCapacity, writeOverflowHandler);
+    }
+    // rejected tasks must throw, so that the futures waiting for them complete exceptionally instead of never
+    _readExecutor = newExecutor("shadow-dao-read", readThreads, readQueueCapacity, (runnable, executor) -> {
+      _droppedReadCount.incrementAndGet();
+      throw new RejectedExecutionException("Shadow DAO read pool is saturated or closed");
+    });
+  }
+
+  /**
+   * Queues a shadow write of the urn.
+   *
+   * @return false if the write was dropped
+   */
+  public boolean dispatchWrite(@Nonnull Urn urn, @Nonnull Runnable write) {
+    try {
+      _writeStripes[Math.floorMod(urn.hashCode(), _writeStripes.length)].execute(() -> {
+        try {
+          write.run();
+          _writeCount.incrementAndGet();
+        } catch (RuntimeException e) {
+          _failedWriteCount.incrementAndGet();
+          log.warn("Shadow write of {} failed", urn, e);
+        }
+      });
+      return true;
+    } catch (RejectedExecutionException e) {
+      _droppedWriteCount.incrementAndGet();
+      return false;
+    }
+  }
+
+  /**
+   * Starts a shadow read in the background, to be run concurrently with the primary read of the caller.
+   *
+   * @return the result of the shadow read, completed exceptionally if the read was dropped
+   */
+  @Nonnull
+  public <T> CompletableFuture<T> readAsync(@Nonnull Supplier<T> shadowRead) {
+    final ShadowRead<T> read = new ShadowRead<>(shadowRead);
+    try {
+      _readExecutor.execute(read);
+    } catch (RejectedExecutionException e) {
+      read._result.completeExceptionally(e);
+    }
+    return read._result;
+  }
+
+  /**
+   * Compares the result of a shadow read started with {@link #readAsync} to the primary result once it is available,
+   * on the read pool.
+   *
+   * @param shadowResult result of the shadow read
+   * @param primaryResult result of the primary read
+   * @param matches compares the primary and shadow results, logging any mismatch, and returns whether they match
+   */
+  public <T> void compareAsync(@Nonnull CompletableFuture<T> shadowResult, @Nonnull T primaryResult,
+      @Nonnull BiPredicate<T, T> matches) {
+    shadowResult.thenAcceptAsync(shadow -> {
+      _comparisonCount.incrementAndGet();
+      if (!matches.test(primaryResult, shadow)) {
+        _mismatchCount.incrementAndGet();
+      }
+    }, _readExecutor).whenComplete((result, e) -> {
+      // dropped shadow reads and comparisons are already counted as such
+      if (e != null && !(unwrap(e) instanceof RejectedExecutionException)) {
+        _failedReadCount.incrementAndGet();
+        log.warn("Shadow read or comparison failed", e);
+      }
+    });
+  }
+
+  /**
+   * Returns the current statistics of the dispatcher.
+   */
+  @Nonnull
+  public Stats getStats() {
+    int pendingWriteCount = 0;
+    for (ThreadPoolExecutor stripe : _writeStripes) {
+      pendingWriteCount += stripe.getQueue().size();
+    }
+    return new Stats(pendingWriteCount, _writeCount.get(), _failedWriteCount.get(), _droppedWriteCount.get(),
+        _comparisonCount.get(), _mismatchCount.get(), _failedReadCount.get(), _droppedReadCount.get());
+  }
+
+  /**
+   * Stops accepting work and waits up to the given time for the queued shadow writes to be applied.
+   *
+   * @return true if all queued writes were applied in time
+   */
+  public boolean close(long timeout, @Nonnull TimeUnit unit) throws InterruptedException {
+    for (Runnable dropped : _readExecutor.shutdownNow()) {
+      _droppedReadCount.incrementAndGet();
+      if (dropped instanceof ShadowRead) {
+        ((ShadowRead<?>) dropped)._result.completeExceptionally(new RejectedExecutionException("Shadow DAO dispatcher is closed"));
+      }
+    }
+    for (ThreadPoolExecutor stripe : _writeStripes) {
+      stripe.shutdown();
+    }
+    final long deadline = System.nanoTime() + unit.toNanos(timeout);
+    for (ThreadPoolExecutor stripe : _writeStripes) {
+      if (!stripe.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Stops accepting work and waits up to 30 seconds for the queued shadow writes to be applied.
+   */
+  @Override
+  public void close() throws InterruptedException {
+    if (!close(30, TimeUnit.SECONDS)) {
+      log.warn("Shadow writes were still pending when closing the dispatcher: {}", getStats());
+    }
+  }
+
+  private static void blockUntilQueued(@Nonnull Runnable runnable, @Nonnull ThreadPoolExecutor executor) {
+    if (executor.isShutdown()) {
+      throw new RejectedExecutionException("Shadow DAO dispatcher is closed");
+    }
+    try {
+      executor.getQueue().put(runnable);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException("Interrupted while waiting to queue a shadow write", e);
+    }
+    // the dispatcher may have been closed while waiting, in which case the thread of the stripe may have exited already
+    if (executor.isShutdown() && executor.getQueue().remove(runnable)) {
+      throw new RejectedExecutionException("Shadow DAO dispatcher is closed");
+    }
+  }
+
+  /**
+   * A shadow read queued on the read pool, whose result is completed exceptionally if it is dropped when closing.
+   */
+  private static final class ShadowRead<T> implements Runnable {
+    private final Supplier<T> _read;
+    private final CompletableFuture<T> _result = new CompletableFuture<>();
+
+    private ShadowRead(@Nonnull Supplier<T> read) {
+      _read = read;
+    }
+
+    @Override
+    public void run() {
+      try {
+        _result.complete(_read.get());
+      } catch (Throwable t) {
+        _result.completeExceptionally(t);
+      }
+    }
+  }
+
+  @Nonnull
+  private static Throwable unwrap(@Nonnull Throwable throwable) {
+    return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+  }
+
+  @Nonnull
+  private static ThreadPoolExecutor newExecutor(@Nonnull String name, int threads, int queueCapacity,
+      @Nonnull RejectedExecutionHandler rejectedExecutionHandler) {
+    final AtomicLong threadCount = new AtomicLong();
+    return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          final Thread thread = new Thread(runnable, threads == 1 ? name : name + "-" + threadCount.getAndIncrement());
+          thread.setDaemon(true);
+          return thread;
+        }, rejectedExecutionHandler);
+  }
+}
@@ -18,7 +18,10 @@ import com.linkedin.metadata.restli.ingestion.SampleAspectCallbackRoutingClient;
 import com.linkedin.parseq.BaseEngineTest;
 import com.linkedin.restli.common.ComplexResourceKey;
 import com.linkedin.restli.common.EmptyRecord;
+import com.linkedin.restli.common.HttpStatus;
+import com.linkedin.restli.server.BatchResult;
 import com.linkedin.restli.server.ResourceContext;
+import com.linkedin.restli.server.RestLiServiceException;
 import com.linkedin.testing.AspectAttributes;
 import com.linkedin.testing.AspectBar;
 import com.linkedin.testing.AspectBaz;
@@ -45,6 +48,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.testng.annotations.BeforeMethod;
@@ -206,6 +213,23 @@ public class BaseAspectRoutingResourceTest extends BaseEngineTest {
     assertEquals(value.getId(), urn.getIdAsLong());
   }
 
+  @Test
+  public void testGetNotFoundSkipsRoutingAspects() {
+    FooUrn urn = makeFooUrn(1234);
+
+    when(_mockLocalDAO.exists(urn)).thenReturn(false);
+
+    try {
+      runAndWait(_resource.get(makeResourceKey(urn),
+          new String[]{AspectFoo.class.getCanonicalName(), AspectBar.class.getCanonicalName()}));
+      fail("An exception should've been thrown!");
+    } catch (RestLiServiceException e) {
+      assertEquals(e.getStatus(), HttpStatus.S_404_NOT_FOUND);
+    }
+    verifyNoInteractions(_mockAspectFooGmsClient);
+    verify(_mockLocalDAO, never()).get(anySet());
+  }
+
   @Test
   public void testGetWithoutRoutingAspect() {
     FooUrn urn = makeFooUrn(1234);
@@ -294,6 +318,172 @@ public class BaseAspectRoutingResourceTest extends BaseEngineTest {
     assertFalse(value.hasFoo());
   }
 
+  @Test
+  public void testGetReadsRoutingAspectsConcurrentlyWithTimeout() throws Exception {
+    FooUrn urn = makeFooUrn(1234);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectAttributes attributes = new AspectAttributes();
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    TestResource resource = new TestResource() {
+      @Override
+      protected Executor getRoutingReadExecutor() {
+        return executor;
+      }
+    };
+
+    when(_mockLocalDAO.exists(urn)).thenReturn(true);
+    when(_mockAspectFooGmsClient.get(urn)).thenAnswer(invocation -> {
+      release.await();
+      return foo;
+    });
+    when(_mockAspectFooGmsClient.getReadTimeoutMillis()).thenReturn(50L);
+    when(_mockAspectAttributeGmsClient.get(urn)).thenReturn(attributes);
+
+    try {
+      EntityValue value = runAndWait(resource.get(makeResourceKey(urn),
+          new String[]{AspectFoo.class.getCanonicalName(), AspectAttributes.class.getCanonicalName()}));
+
+      // the timed out routing aspect is left out, the other one is returned
+      assertFalse(value.hasFoo());
+      assertTrue(value.hasAttributes());
+      assertEquals(value.getAttributes(), attributes);
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testBatchGetWithRoutingAspect() {
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectBar bar1 = new AspectBar().setValue("bar1");
+    AspectBar bar2 = new AspectBar().setValue("bar2");
+    AspectKey<FooUrn, AspectBar> barKey1 = new AspectKey<>(AspectBar.class, urn1, LATEST_VERSION);
+    AspectKey<FooUrn, AspectBar> barKey2 = new AspectKey<>(AspectBar.class, urn2, LATEST_VERSION);
+
+    TestResource resource = new TestResource() {
+      @Override
+      protected Executor getRoutingReadExecutor() {
+        return Runnable::run;
+      }
+    };
+
+    when(_mockLocalDAO.get(ImmutableSet.of(barKey1, barKey2))).thenReturn(
+        ImmutableMap.of(barKey1, Optional.of(bar1), barKey2, Optional.of(bar2)));
+    when(_mockAspectFooGmsClient.batchGet(ImmutableSet.of(urn1, urn2))).thenReturn(ImmutableMap.of(urn1, foo));
+
+    Map<ComplexResourceKey<EntityKey, EmptyRecord>, EntityValue> values =
+        runAndWait(resource.batchGet(ImmutableSet.of(makeResourceKey(urn1), makeResourceKey(urn2)),
+            new String[]{AspectFoo.class.getCanonicalName(), AspectBar.class.getCanonicalName()}));
+
+    // one batch read of the routing aspect for all urns
+    verify(_mockAspectFooGmsClient, times(1)).batchGet(ImmutableSet.of(urn1, urn2));
+    verify(_mockAspectFooGmsClient, never()).get(any());
+    EntityValue value1 = values.get(makeResourceKey(urn1));
+    assertEquals(value1.getFoo(), foo);
+    assertEquals(value1.getBar(), bar1);
+    EntityValue value2 = values.get(makeResourceKey(urn2));
+    assertFalse(value2.hasFoo());
+    assertEquals(value2.getBar(), bar2);
+  }
+
+  @Test
+  public void testBatchGetWithRoutingAspectWithoutExecutor() {
+    FooUrn urn1 = makeFooUrn(1);
+    AspectBar bar1 = new AspectBar().setValue("bar1");
+    AspectKey<FooUrn, AspectFoo> fooKey1 = new AspectKey<>(AspectFoo.class, urn1, LATEST_VERSION);
+    AspectKey<FooUrn, AspectBar> barKey1 = new AspectKey<>(AspectBar.class, urn1, LATEST_VERSION);
+
+    when(_mockLocalDAO.get(ImmutableSet.of(fooKey1, barKey1))).thenReturn(
+        ImmutableMap.of(fooKey1, Optional.empty(), barKey1, Optional.of(bar1)));
+
+    Map<ComplexResourceKey<EntityKey, EmptyRecord>, EntityValue> values =
+        runAndWait(_resource.batchGet(ImmutableSet.of(makeResourceKey(urn1)),
+            new String[]{AspectFoo.class.getCanonicalName(), AspectBar.class.getCanonicalName()}));
+
+    // all aspects are read from the local DAO, without any remote call
+    verifyNoInteractions(_mockAspectFooGmsClient);
+    assertEquals(values.get(makeResourceKey(urn1)).getBar(), bar1);
+  }
+
+  @Test
+  public void testBatchGetWithErrorsIgnoresEntitiesOnlyInRoutingGms() {
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectBar bar1 = new AspectBar().setValue("bar1");
+    AspectKey<FooUrn, AspectBar> barKey1 = new AspectKey<>(AspectBar.class, urn1, LATEST_VERSION);
+    AspectKey<FooUrn, AspectBar> barKey2 = new AspectKey<>(AspectBar.class, urn2, LATEST_VERSION);
+    TestResource resource = new TestResource() {
+      @Override
+      protected Executor getRoutingReadExecutor() {
+        return Runnable::run;
+      }
+    };
+
+    when(_mockLocalDAO.get(ImmutableSet.of(barKey1, barKey2))).thenReturn(
+        ImmutableMap.of(barKey1, Optional.of(bar1), barKey2, Optional.empty()));
+    when(_mockAspectFooGmsClient.batchGet(ImmutableSet.of(urn1, urn2))).thenReturn(
+        ImmutableMap.of(urn1, foo, urn2, foo));
+
+    BatchResult<ComplexResourceKey<EntityKey, EmptyRecord>, EntityValue> result =
+        runAndWait(resource.batchGetWithErrors(ImmutableSet.of(makeResourceKey(urn1), makeResourceKey(urn2)),
+            new String[]{AspectFoo.class.getCanonicalName(), AspectBar.class.getCanonicalName()}));
+
+    assertEquals(result.get(makeResourceKey(urn1)).getFoo(), foo);
+    // urn2 is only in the routing GMS
+    assertFalse(result.containsKey(makeResourceKey(urn2)));
+    assertEquals(result.getErrors().get(makeResourceKey(urn2)).getStatus(), HttpStatus.S_404_NOT_FOUND);
+  }
+
+  @Test
+  public void testBatchGetWithErrorsOfRoutingAspectsOnly() {
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    TestResource resource = new TestResource() {
+      @Override
+      protected Executor getRoutingReadExecutor() {
+        return Runnable::run;
+      }
+    };
+
+    // as with get, existence in the local DAO decides whether an entity is found when no local aspect is requested
+    when(_mockLocalDAO.exists(urn1)).thenReturn(true);
+    when(_mockLocalDAO.exists(urn2)).thenReturn(false);
+    when(_mockAspectFooGmsClient.batchGet(ImmutableSet.of(urn1, urn2))).thenReturn(
+        ImmutableMap.of(urn1, foo, urn2, foo));
+
+    BatchResult<ComplexResourceKey<EntityKey, EmptyRecord>, EntityValue> result =
+        runAndWait(resource.batchGetWithErrors(ImmutableSet.of(makeResourceKey(urn1), makeResourceKey(urn2)),
+            new String[]{AspectFoo.class.getCanonicalName()}));
+
+    verify(_mockLocalDAO, never()).get(anySet());
+    assertEquals(result.get(makeResourceKey(urn1)).getFoo(), foo);
+    assertFalse(result.containsKey(makeResourceKey(urn2)));
+    assertEquals(result.getErrors().get(makeResourceKey(urn2)).getStatus(), HttpStatus.S_404_NOT_FOUND);
+  }
+
+  @Test
+  public void testRoutingGmsClientDefaultBatchGet() {
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    FooUrn urn3 = makeFooUrn(3);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    BaseAspectRoutingGmsClient client = mock(BaseAspectRoutingGmsClient.class, CALLS_REAL_METHODS);
+    doReturn(foo).when(client).get(urn1);
+    doReturn(null).when(client).get(urn2);
+    doThrow(new RestLiServiceException(HttpStatus.S_404_NOT_FOUND)).when(client).get(urn3);
+
+    assertEquals(client.batchGet(ImmutableSet.of(urn1, urn2, urn3)), ImmutableMap.of(urn1, foo));
+
+    doThrow(new RestLiServiceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR)).when(client).get(urn3);
+    assertThrows(RestLiServiceException.class, () -> client.batchGet(ImmutableSet.of(urn1, urn3)));
+  }
+
   @Test
   public void testIngestWithRoutingAspect() {
     FooUrn urn = makeFooUrn(1);
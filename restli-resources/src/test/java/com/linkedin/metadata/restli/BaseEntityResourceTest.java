@@ -64,6 +64,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.testng.annotations.BeforeMethod;
@@ -245,6 +246,7 @@ public class BaseEntityResourceTest extends BaseEngineTest {
   @BeforeMethod
   public void setup() {
     _mockLocalDAO = mock(BaseLocalDAO.class);
+    when(_mockLocalDAO.getIfExists(any(), any())).thenCallRealMethod();
   }
 
   @Test
@@ -621,6 +623,55 @@ public class BaseEntityResourceTest extends BaseEngineTest {
     verifyNoMoreInteractions(_mockLocalDAO);
   }
 
+  @Test
+  public void testIngestWithBatchIngestion() {
+    FooUrn urn = makeFooUrn(1);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectBar bar = new AspectBar().setValue("bar");
+    List<EntityAspectUnion> aspects = Arrays.asList(ModelUtils.newAspectUnion(EntityAspectUnion.class, foo),
+        ModelUtils.newAspectUnion(EntityAspectUnion.class, bar));
+    EntitySnapshot snapshot = ModelUtils.newSnapshot(EntitySnapshot.class, urn, aspects);
+    TestResource resource = new TestResource() {
+      @Override
+      protected boolean isBatchIngestionEnabled() {
+        return true;
+      }
+    };
+
+    runAndWait(resource.ingest(snapshot));
+
+    verify(_mockLocalDAO, times(1)).addAll(eq(urn), eq(Arrays.asList(foo, bar)), any(), eq(null), eq(null));
+    verify(_mockLocalDAO, never()).add(any(), any(RecordTemplate.class), any(), any(), any());
+  }
+
+  @Test
+  public void testIngestWithShadowDaoDispatcher() throws InterruptedException {
+    FooUrn urn = makeFooUrn(1);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    EntitySnapshot snapshot = ModelUtils.newSnapshot(EntitySnapshot.class, urn,
+        Collections.singletonList(ModelUtils.newAspectUnion(EntityAspectUnion.class, foo)));
+    BaseLocalDAO<InternalEntityAspectUnion, FooUrn> mockShadowLocalDAO = mock(BaseLocalDAO.class);
+    ShadowDaoDispatcher dispatcher = new ShadowDaoDispatcher(1, 10, ShadowDaoDispatcher.OverflowPolicy.BLOCK, 1, 10);
+    TestResource resource = new TestResource() {
+      @Override
+      protected BaseLocalDAO<InternalEntityAspectUnion, FooUrn> getShadowLocalDAO() {
+        return mockShadowLocalDAO;
+      }
+
+      @Override
+      protected ShadowDaoDispatcher getShadowDaoDispatcher() {
+        return dispatcher;
+      }
+    };
+
+    runAndWait(resource.ingest(snapshot));
+
+    verify(_mockLocalDAO, times(1)).add(eq(urn), eq(foo), any(), eq(null), eq(null));
+    assertTrue(dispatcher.close(10, TimeUnit.SECONDS));
+    verify(mockShadowLocalDAO, times(1)).add(eq(urn), eq(foo), any(), eq(null), eq(null));
+    assertEquals(dispatcher.getStats().getWriteCount(), 1);
+  }
+
   @Test
   public void testIngestWithTracking() {
     FooUrn urn = makeFooUrn(1);
@@ -124,6 +124,24 @@ public class BaseSingleAspectEntitySimpleKeyResourceTest extends BaseEngineTest
     }
   }
 
+  @Test
+  public void testGetWithoutAspect() throws URISyntaxException {
+    long id1 = 100L;
+
+    SingleAspectEntityUrn urn = new SingleAspectEntityUrn(id1);
+    AspectKey<SingleAspectEntityUrn, AspectBar> aspectKey = new AspectKey<>(AspectBar.class, urn, LATEST_VERSION);
+    when(_mockLocalDao.exists(urn)).thenReturn(true);
+    when(_mockLocalDao.get(Collections.singleton(aspectKey))).thenReturn(
+        Collections.singletonMap(aspectKey, Optional.empty()));
+
+    try {
+      runAndWait(_resource.get(id1, new String[0]));
+      fail("An exception should've been thrown!");
+    } catch (RestLiServiceException e) {
+      assertEquals(e.getStatus(), HttpStatus.S_404_NOT_FOUND);
+    }
+  }
+
   @Test
   public void testIngest() throws URISyntaxException {
     long id1 = 100L;
@@ -0,0 +1,142 @@
+package com.linkedin.metadata.restli;
+
+import com.linkedin.testing.urn.FooUrn;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+import static com.linkedin.testing.TestUtils.*;
+import static org.testng.Assert.*;
+
+
+public class ShadowDaoDispatcherTest {
+
+  @Test
+  public void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new ShadowDaoDispatcher(0, 1, ShadowDaoDispatcher.OverflowPolicy.DROP, 1, 1));
+    assertThrows(IllegalArgumentException.class, () -> new ShadowDaoDispatcher(1, 0, ShadowDaoDispatcher.OverflowPolicy.DROP, 1, 1));
+    assertThrows(IllegalArgumentException.class, () -> new ShadowDaoDispatcher(1, 1, ShadowDaoDispatcher.OverflowPolicy.DROP, 0, 1));
+    assertThrows(IllegalArgumentException.class, () -> new ShadowDaoDispatcher(1, 1, ShadowDaoDispatcher.OverflowPolicy.DROP, 1, 0));
+  }
+
+  @Test
+  public void testWritesOfUrnAreAppliedInOrder() throws InterruptedException {
+    ShadowDaoDispatcher dispatcher = new ShadowDaoDispatcher(4, 100, ShadowDaoDispatcher.OverflowPolicy.BLOCK, 1, 1);
+    FooUrn urn = makeFooUrn(1);
+    List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+
+    for (int i = 0; i < 50; i++) {
+      final int value = i;
+      assertTrue(dispatcher.dispatchWrite(urn, () -> applied.add(value)));
+    }
+    dispatcher.dispatchWrite(urn, () -> {
+      throw new IllegalStateException("shadow write failed");
+    });
+
+    assertTrue(dispatcher.close(10, TimeUnit.SECONDS));
+    assertEquals(applied.size(), 50);
+    for (int i = 0; i < 50; i++) {
+      assertEquals(applied.get(i).intValue(), i);
+    }
+    assertEquals(dispatcher.getStats().getWriteCount(), 50);
+    assertEquals(dispatcher.getStats().getFailedWriteCount(), 1);
+    assertEquals(dispatcher.getStats().getPendingWriteCount(), 0);
+  }
+
+  @Test
+  public void testWritesAreDroppedWhenQueueIsFull() throws InterruptedException {
+    ShadowDaoDispatcher dispatcher = new ShadowDaoDispatcher(1, 1, ShadowDaoDispatcher.OverflowPolicy.DROP, 1, 1);
+    FooUrn urn = makeFooUrn(1);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    // the first write occupies the only thread, the second one fills the queue
+    assertTrue(dispatcher.dispatchWrite(urn, () -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }));
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    assertTrue(dispatcher.dispatchWrite(urn, () -> { }));
+
+    assertFalse(dispatcher.dispatchWrite(urn, () -> { }));
+    assertEquals(dispatcher.getStats().getDroppedWriteCount(), 1);
+    assertEquals(dispatcher.getStats().getPendingWriteCount(), 1);
+
+    release.countDown();
+    assertTrue(dispatcher.close(10, TimeUnit.SECONDS));
+    assertEquals(dispatcher.getStats().getWriteCount(), 2);
+    assertFalse(dispatcher.dispatchWrite(urn, () -> { }));
+    assertEquals(dispatcher.getStats().getDroppedWriteCount(), 2);
+  }
+
+  @Test
+  public void testComparisons() throws InterruptedException {
+    ShadowDaoDispatcher dispatcher = new ShadowDaoDispatcher(1, 1, ShadowDaoDispatcher.OverflowPolicy.DROP, 2, 10);
+
+    dispatcher.compareAsync(dispatcher.readAsync(() -> "foo"), "foo", String::equals);
+    dispatcher.compareAsync(dispatcher.readAsync(() -> "bar"), "foo", String::equals);
+    CompletableFuture<String> failed = dispatcher.readAsync(() -> {
+      throw new IllegalStateException("shadow read failed");
+    });
+    dispatcher.compareAsync(failed, "foo", String::equals);
+
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+    while (dispatcher.getStats().getComparisonCount() + dispatcher.getStats().getFailedReadCount() < 3
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+
+    assertEquals(dispatcher.getStats().getComparisonCount(), 2);
+    assertEquals(dispatcher.getStats().getMismatchCount(), 1);
+    assertEquals(dispatcher.getStats().getFailedReadCount(), 1);
+    dispatcher.close();
+  }
+
+  @Test
+  public void testReadsAreDroppedWhenPoolIsSaturated() throws InterruptedException {
+    ShadowDaoDispatcher dispatcher = new ShadowDaoDispatcher(1, 1, ShadowDaoDispatcher.OverflowPolicy.DROP, 1, 1);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    // the first read occupies the only thread, the second one fills the queue
+    CompletableFuture<String> running = dispatcher.readAsync(() -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return "foo";
+    });
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    CompletableFuture<String> queued = dispatcher.readAsync(() -> "foo");
+
+    CompletableFuture<String> dropped = dispatcher.readAsync(() -> "foo");
+    assertTrue(dropped.isCompletedExceptionally());
+    dispatcher.compareAsync(dropped, "foo", String::equals);
+    assertEquals(dispatcher.getStats().getDroppedReadCount(), 1);
+    assertEquals(dispatcher.getStats().getFailedReadCount(), 0);
+
+    // queued reads, and the comparison of a read completing once the dispatcher is closed, are dropped as well
+    dispatcher.compareAsync(running, "foo", String::equals);
+    dispatcher.close();
+    assertTrue(queued.isCompletedExceptionally());
+    release.countDown();
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+    while (dispatcher.getStats().getDroppedReadCount() < 3 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(dispatcher.getStats().getDroppedReadCount(), 3);
+    assertEquals(dispatcher.getStats().getComparisonCount(), 0);
+    assertEquals(dispatcher.getStats().getFailedReadCount(), 0);
+    assertTrue(dispatcher.readAsync(() -> "foo").isCompletedExceptionally());
+  }
+}
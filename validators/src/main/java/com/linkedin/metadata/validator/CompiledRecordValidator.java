@@ -0,0 +1,313 @@
+package com.linkedin.metadata.validator;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.data.Data;
+import com.linkedin.data.DataComplex;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.schema.ArrayDataSchema;
+import com.linkedin.data.schema.DataSchema;
+import com.linkedin.data.schema.EnumDataSchema;
+import com.linkedin.data.schema.FixedDataSchema;
+import com.linkedin.data.schema.MapDataSchema;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.schema.UnionDataSchema;
+import com.linkedin.data.schema.validation.CoercionMode;
+import com.linkedin.data.schema.validation.RequiredMode;
+import com.linkedin.data.schema.validation.UnrecognizedFieldMode;
+import com.linkedin.data.schema.validation.ValidateDataAgainstSchema;
+import com.linkedin.data.schema.validation.ValidationOptions;
+import com.linkedin.data.schema.validation.ValidationResult;
+import com.linkedin.data.template.RecordTemplate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Validates records against their schema the way {@link ValidateDataAgainstSchema} does with {@link CoercionMode#NORMAL}
+ * and {@link UnrecognizedFieldMode#DISALLOW}, from a plan compiled once per record class instead of walking the schema
+ * and the data generically on every validation.
+ *
+ * <p>The plan checks in a single pass over the data that every field is known and holds a value of exactly the type its
+ * schema calls for, and collects the defaults of absent required fields. Defaults are only filled in, with
+ * {@link RequiredMode#FIXUP_ABSENT_WITH_DEFAULT}, once the whole record passed. Data the plan doesn't take as is, e.g.
+ * an invalid value or an {@link Integer} in a long field that the generic validator would coerce, is left untouched and
+ * handed to {@link ValidateDataAgainstSchema}, so results and fixes are always the ones of the generic validator. So are
+ * those of records whose schema has types the plan doesn't know.
+ *
+ * <p>Validators are held by a {@link ClassValue} per required mode, so they don't keep classes from being unloaded.
+ */
+public final class CompiledRecordValidator {
+
+  private static final ValidationOptions FIXUP_OPTIONS =
+      new ValidationOptions(RequiredMode.FIXUP_ABSENT_WITH_DEFAULT, CoercionMode.NORMAL, UnrecognizedFieldMode.DISALLOW);
+
+  private static final ClassValue<CompiledRecordValidator> FILLING_DEFAULTS = new ClassValue<CompiledRecordValidator>() {
+    @Override
+    @SuppressWarnings("unchecked")
+    protected CompiledRecordValidator computeValue(@Nonnull Class<?> recordClass) {
+      return new CompiledRecordValidator(ValidationUtils.getRecordSchema((Class<? extends RecordTemplate>) recordClass),
+          FIXUP_OPTIONS);
+    }
+  };
+
+  private static final ClassValue<CompiledRecordValidator> NOT_FILLING_DEFAULTS = new ClassValue<CompiledRecordValidator>() {
+    @Override
+    @SuppressWarnings("unchecked")
+    protected CompiledRecordValidator computeValue(@Nonnull Class<?> recordClass) {
+      return new CompiledRecordValidator(ValidationUtils.getRecordSchema((Class<? extends RecordTemplate>) recordClass),
+          ValidationUtils.VALIDATION_OPTIONS);
+    }
+  };
+
+  private final ValidationOptions _options;
+  // null if the schema has types the plan doesn't know, every record is then validated generically
+  private final RecordCheck _plan;
+
+  private CompiledRecordValidator(@Nonnull RecordDataSchema schema, @Nonnull ValidationOptions options) {
+    _options = options;
+    _plan = compile(schema, options.getRequiredMode() == RequiredMode.FIXUP_ABSENT_WITH_DEFAULT);
+  }
+
+  /**
+   * Returns the validator of the record class, which fills in the defaults of absent required fields with
+   * {@link RequiredMode#FIXUP_ABSENT_WITH_DEFAULT} and only checks that they have one with
+   * {@link RequiredMode#CAN_BE_ABSENT_IF_HAS_DEFAULT}, the only supported modes.
+   */
+  @Nonnull
+  public static CompiledRecordValidator of(@Nonnull Class<? extends RecordTemplate> recordClass,
+      @Nonnull RequiredMode requiredMode) {
+    switch (requiredMode) {
+      case FIXUP_ABSENT_WITH_DEFAULT:
+        return FILLING_DEFAULTS.get(recordClass);
+      case CAN_BE_ABSENT_IF_HAS_DEFAULT:
+        return NOT_FILLING_DEFAULTS.get(recordClass);
+      default:
+        throw new IllegalArgumentException("Unsupported required mode " + requiredMode);
+    }
+  }
+
+  /**
+   * Validates the record, filling in defaults and fixing values in place as {@link ValidateDataAgainstSchema} would.
+   *
+   * @param record record of the class of the validator
+   * @return the validation error messages, or null if the record is valid
+   */
+  @Nullable
+  public String validate(@Nonnull RecordTemplate record) {
+    if (_plan != null) {
+      final Fixups fixups = new Fixups();
+      if (_plan.check(record.data(), fixups)) {
+        fixups.apply();
+        return null;
+      }
+    }
+    final ValidationResult result = ValidateDataAgainstSchema.validate(record, _options);
+    return result.isValid() ? null : result.getMessages().toString();
+  }
+
+  @Nullable
+  private static RecordCheck compile(@Nonnull RecordDataSchema schema, boolean fillDefaults) {
+    try {
+      return new Compiler(fillDefaults).compileRecord(schema);
+    } catch (UnsupportedOperationException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Checks a value without changing it. Returns false if the value is invalid or the generic validator would fix it.
+   */
+  private interface Check {
+    boolean check(@Nonnull Object value, @Nonnull Fixups fixups);
+  }
+
+  /**
+   * Defaults to fill in once the whole record passed.
+   */
+  private static final class Fixups {
+    private List<DataMap> _maps;
+    private List<RecordDataSchema.Field> _fields;
+
+    void add(@Nonnull DataMap map, @Nonnull RecordDataSchema.Field field) {
+      if (_maps == null) {
+        _maps = new ArrayList<>();
+        _fields = new ArrayList<>();
+      }
+      _maps.add(map);
+      _fields.add(field);
+    }
+
+    void apply() {
+      if (_maps == null) {
+        return;
+      }
+      for (int i = 0; i < _maps.size(); i++) {
+        Object defaultValue = _fields.get(i).getDefault();
+        if (defaultValue instanceof DataComplex) {
+          try {
+            defaultValue = ((DataComplex) defaultValue).copy();
+          } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+          }
+        }
+        _maps.get(i).put(_fields.get(i).getName(), defaultValue);
+      }
+    }
+  }
+
+  private static final class RecordCheck implements Check {
+    private final boolean _fillDefaults;
+    private final Map<String, Check> _fieldChecks = new HashMap<>();
+    private final List<RecordDataSchema.Field> _requiredFields = new ArrayList<>();
+
+    private RecordCheck(boolean fillDefaults) {
+      _fillDefaults = fillDefaults;
+    }
+
+    @Override
+    public boolean check(@Nonnull Object value, @Nonnull Fixups fixups) {
+      if (!(value instanceof DataMap)) {
+        return false;
+      }
+      final DataMap map = (DataMap) value;
+      for (Map.Entry<String, Object> entry : map.entrySet()) {
+        final Check fieldCheck = _fieldChecks.get(entry.getKey());
+        if (fieldCheck == null || !fieldCheck.check(entry.getValue(), fixups)) {
+          return false;
+        }
+      }
+      for (RecordDataSchema.Field field : _requiredFields) {
+        if (!map.containsKey(field.getName())) {
+          if (field.getDefault() == null || (_fillDefaults && map.isReadOnly())) {
+            return false;
+          }
+          if (_fillDefaults) {
+            fixups.add(map, field);
+          }
+        }
+      }
+      return true;
+    }
+  }
+
+  private static final class Compiler {
+    private final boolean _fillDefaults;
+    // records compiled so far, so that recursive schemas refer to the check being compiled
+    private final Map<RecordDataSchema, RecordCheck> _records = new IdentityHashMap<>();
+
+    private Compiler(boolean fillDefaults) {
+      _fillDefaults = fillDefaults;
+    }
+
+    @Nonnull
+    private RecordCheck compileRecord(@Nonnull RecordDataSchema schema) {
+      RecordCheck check = _records.get(schema);
+      if (check != null) {
+        return check;
+      }
+      check = new RecordCheck(_fillDefaults);
+      _records.put(schema, check);
+      for (RecordDataSchema.Field field : schema.getFields()) {
+        check._fieldChecks.put(field.getName(), compile(field.getType()));
+        if (!field.getOptional()) {
+          check._requiredFields.add(field);
+        }
+      }
+      return check;
+    }
+
+    @Nonnull
+    private Check compile(@Nonnull DataSchema schema) {
+      final DataSchema dereferenced = schema.getDereferencedDataSchema();
+      switch (dereferenced.getType()) {
+        case STRING:
+          return (value, fixups) -> value instanceof String;
+        case BOOLEAN:
+          return (value, fixups) -> value instanceof Boolean;
+        case INT:
+          return (value, fixups) -> value instanceof Integer;
+        case LONG:
+          return (value, fixups) -> value instanceof Long;
+        case FLOAT:
+          return (value, fixups) -> value instanceof Float;
+        case DOUBLE:
+          return (value, fixups) -> value instanceof Double;
+        case BYTES:
+          return (value, fixups) -> value instanceof ByteString;
+        case NULL:
+          return (value, fixups) -> value == Data.NULL;
+        case FIXED:
+          final int size = ((FixedDataSchema) dereferenced).getSize();
+          return (value, fixups) -> value instanceof ByteString && ((ByteString) value).length() == size;
+        case ENUM:
+          final Set<String> symbols = new HashSet<>(((EnumDataSchema) dereferenced).getSymbols());
+          return (value, fixups) -> value instanceof String && symbols.contains(value);
+        case RECORD:
+          return compileRecord((RecordDataSchema) dereferenced);
+        case ARRAY:
+          final Check itemCheck = compile(((ArrayDataSchema) dereferenced).getItems());
+          return (value, fixups) -> {
+            if (!(value instanceof DataList)) {
+              return false;
+            }
+            for (Object item : (DataList) value) {
+              if (!itemCheck.check(item, fixups)) {
+                return false;
+              }
+            }
+            return true;
+          };
+        case MAP:
+          final Check valueCheck = compile(((MapDataSchema) dereferenced).getValues());
+          return (value, fixups) -> {
+            if (!(value instanceof DataMap)) {
+              return false;
+            }
+            for (Object mapValue : ((DataMap) value).values()) {
+              if (!valueCheck.check(mapValue, fixups)) {
+                return false;
+              }
+            }
+            return true;
+          };
+        case UNION:
+          return compileUnion((UnionDataSchema) dereferenced);
+        default:
+          throw new UnsupportedOperationException("Unsupported schema type " + dereferenced.getType());
+      }
+    }
+
+    @Nonnull
+    private Check compileUnion(@Nonnull UnionDataSchema schema) {
+      final Map<String, Check> memberChecks = new HashMap<>();
+      boolean hasNullMember = false;
+      for (UnionDataSchema.Member member : schema.getMembers()) {
+        if (member.getType().getDereferencedType() == DataSchema.Type.NULL) {
+          hasNullMember = true;
+        } else {
+          memberChecks.put(member.getUnionMemberKey(), compile(member.getType()));
+        }
+      }
+      final boolean acceptsNull = hasNullMember;
+      return (value, fixups) -> {
+        if (value == Data.NULL) {
+          return acceptsNull;
+        }
+        if (!(value instanceof DataMap) || ((DataMap) value).size() != 1) {
+          return false;
+        }
+        final Map.Entry<String, Object> member = ((DataMap) value).entrySet().iterator().next();
+        final Check memberCheck = memberChecks.get(member.getKey());
+        return memberCheck != null && memberCheck.check(member.getValue(), fixups);
+      };
+    }
+  }
+}
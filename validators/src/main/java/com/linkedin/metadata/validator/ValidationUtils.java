@@ -9,9 +9,7 @@ import com.linkedin.data.schema.UnionDataSchema;
 import com.linkedin.data.schema.validation.CoercionMode;
 import com.linkedin.data.schema.validation.RequiredMode;
 import com.linkedin.data.schema.validation.UnrecognizedFieldMode;
-import com.linkedin.data.schema.validation.ValidateDataAgainstSchema;
 import com.linkedin.data.schema.validation.ValidationOptions;
-import com.linkedin.data.schema.validation.ValidationResult;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.UnionTemplate;
 import com.linkedin.metadata.aspect.SoftDeletedAspect;
@@ -229,9 +227,10 @@ public final class ValidationUtils {
    * <p>Reference ticket: META-21242</p>
    */
   public static void validateAgainstSchema(@Nonnull RecordTemplate model) {
-    ValidationResult result = ValidateDataAgainstSchema.validate(model, VALIDATION_OPTIONS);
-    if (!result.isValid()) {
-      invalidSchema(String.valueOf(result.getMessages()));
+    final String errors =
+        CompiledRecordValidator.of(model.getClass(), RequiredMode.CAN_BE_ABSENT_IF_HAS_DEFAULT).validate(model);
+    if (errors != null) {
+      invalidSchema("%s", errors);
     }
   }
 